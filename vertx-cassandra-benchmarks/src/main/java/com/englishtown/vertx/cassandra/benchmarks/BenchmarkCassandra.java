@@ -0,0 +1,105 @@
+package com.englishtown.vertx.cassandra.benchmarks;
+
+import com.datastax.driver.core.Cluster;
+import com.englishtown.vertx.cassandra.CassandraSession;
+import com.englishtown.vertx.cassandra.impl.DefaultCassandraSession;
+import com.englishtown.vertx.cassandra.impl.JsonCassandraConfigurator;
+import com.englishtown.vertx.cassandra.keyspacebuilder.KeyspaceBuilder;
+import com.englishtown.vertx.cassandra.tablebuilder.TableBuilder;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import org.apache.cassandra.service.EmbeddedCassandraService;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Connects the benchmarks to cassandra.
+ * <p>
+ * An embedded cassandra is started in the benchmark JVM unless {@code -Dbenchmark.cassandra.seeds} is a pipe
+ * delimited list of hosts to use instead.  The embedded server also allocates, so measure allocations/op against an
+ * external cluster or the stub target.
+ */
+final class BenchmarkCassandra {
+
+    static final String KEYSPACE = "vertx_cassandra_benchmarks";
+    static final String TABLE = "entity";
+
+    static final String PROPERTY_SEEDS = "benchmark.cassandra.seeds";
+    static final String PROPERTY_PORT = "benchmark.cassandra.port";
+
+    // Matches native_transport_port in the vertx-cassandra test cassandra.yaml
+    private static final int EMBEDDED_PORT = 19042;
+    private static final int DEFAULT_PORT = 9042;
+
+    private static EmbeddedCassandraService cassandraService;
+
+    private BenchmarkCassandra() {
+    }
+
+    /**
+     * Connects a session and creates the benchmark keyspace and table with a single row with id "1"
+     *
+     * @param vertx the vert.x instance
+     * @return the connected session
+     * @throws Exception if cassandra could not be started or connected to
+     */
+    static synchronized CassandraSession connect(Vertx vertx) throws Exception {
+
+        String seeds = System.getProperty(PROPERTY_SEEDS);
+        int port;
+
+        if (seeds == null || seeds.isEmpty()) {
+            startEmbedded();
+            seeds = "localhost";
+            port = Integer.getInteger(PROPERTY_PORT, EMBEDDED_PORT);
+        } else {
+            port = Integer.getInteger(PROPERTY_PORT, DEFAULT_PORT);
+        }
+
+        JsonArray seedsArray = new JsonArray();
+        for (String seed : seeds.split("\\|")) {
+            seedsArray.add(seed);
+        }
+
+        JsonObject config = new JsonObject()
+                .put(JsonCassandraConfigurator.CONFIG_SEEDS, seedsArray)
+                .put(JsonCassandraConfigurator.CONFIG_PORT, port);
+
+        CassandraSession session = new DefaultCassandraSession(Cluster.builder(),
+                new JsonCassandraConfigurator(config), vertx);
+
+        CompletableFuture<Void> ready = new CompletableFuture<>();
+        session.onReady(result -> {
+            if (result.failed()) {
+                ready.completeExceptionally(result.cause());
+            } else {
+                ready.complete(null);
+            }
+        });
+        ready.get();
+
+        session.execute(KeyspaceBuilder.create(KEYSPACE)
+                .ifNotExists()
+                .simpleStrategy(1));
+
+        session.execute(TableBuilder.create(KEYSPACE, TABLE)
+                .ifNotExists()
+                .column("id", "text")
+                .column("value", "text")
+                .primaryKey("id"));
+
+        session.execute("INSERT INTO " + KEYSPACE + "." + TABLE + " (id, value) VALUES ('1', 'benchmark')");
+
+        return session;
+    }
+
+    private static void startEmbedded() throws Exception {
+        if (cassandraService == null) {
+            System.setProperty("cassandra.storagedir", "target/cassandra");
+            cassandraService = new EmbeddedCassandraService();
+            cassandraService.start();
+        }
+    }
+
+}
@@ -0,0 +1,34 @@
+package com.englishtown.vertx.cassandra.benchmarks;
+
+import com.datastax.driver.mapping.annotations.Column;
+import com.datastax.driver.mapping.annotations.PartitionKey;
+import com.datastax.driver.mapping.annotations.Table;
+
+/**
+ * The entity mapped to the {@link BenchmarkCassandra} table
+ */
+@Table(keyspace = BenchmarkCassandra.KEYSPACE, name = BenchmarkCassandra.TABLE)
+public class BenchmarkEntity {
+
+    @PartitionKey
+    private String id;
+    @Column
+    private String value;
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    public void setValue(String value) {
+        this.value = value;
+    }
+
+}
@@ -0,0 +1,111 @@
+package com.englishtown.vertx.cassandra.benchmarks;
+
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.Session;
+import com.datastax.driver.core.SimpleStatement;
+import com.datastax.driver.core.Statement;
+import com.englishtown.vertx.cassandra.CassandraSession;
+import com.google.common.util.concurrent.FutureCallback;
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link CassandraSession#executeAsync} from a vert.x context, compared with blocking on the future of the
+ * underlying driver {@link Session}.
+ * <p>
+ * The stub target replaces the driver session with {@link StubSession} so only the vert.x wrapper is measured, the
+ * cassandra target runs a single partition read against {@link BenchmarkCassandra}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class CassandraSessionBenchmark {
+
+    @Param({"stub", "cassandra"})
+    public String target;
+
+    private Vertx vertx;
+    private Context context;
+    private CassandraSession session;
+    private Session driverSession;
+    private Statement statement;
+
+    @Setup
+    public void setup() throws Exception {
+        vertx = Vertx.vertx();
+        context = vertx.getOrCreateContext();
+        session = "stub".equals(target) ? new StubCassandraSession(vertx) : BenchmarkCassandra.connect(vertx);
+        driverSession = session.getSession();
+        statement = new SimpleStatement("SELECT * FROM " + BenchmarkCassandra.KEYSPACE + "."
+                + BenchmarkCassandra.TABLE + " WHERE id = ?", "1");
+    }
+
+    @TearDown
+    public void tearDown() {
+        session.close();
+        vertx.close();
+    }
+
+    /**
+     * The driver session without the vert.x session's execution chain or callbacks, as a baseline
+     */
+    @Benchmark
+    public ResultSet executeAsyncDriver() {
+        return driverSession.executeAsync(statement).getUninterruptibly();
+    }
+
+    @Benchmark
+    public ResultSet executeAsyncCallback() {
+        CompletableFuture<ResultSet> done = new CompletableFuture<>();
+
+        context.runOnContext(aVoid -> session.executeAsync(statement, new FutureCallback<ResultSet>() {
+            @Override
+            public void onSuccess(ResultSet result) {
+                done.complete(result);
+            }
+
+            @Override
+            public void onFailure(Throwable t) {
+                done.completeExceptionally(t);
+            }
+        }));
+
+        return done.join();
+    }
+
+    @Benchmark
+    public ResultSet executeAsyncHandler() {
+        CompletableFuture<ResultSet> done = new CompletableFuture<>();
+
+        context.runOnContext(aVoid -> session.executeAsync(statement, result -> {
+            if (result.succeeded()) {
+                done.complete(result.result());
+            } else {
+                done.completeExceptionally(result.cause());
+            }
+        }));
+
+        return done.join();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(CassandraSessionBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build();
+
+        new Runner(options).run();
+    }
+
+}
@@ -0,0 +1,107 @@
+package com.englishtown.vertx.cassandra.benchmarks;
+
+import com.datastax.driver.core.BoundStatement;
+import com.datastax.driver.core.PreparedStatement;
+import com.datastax.driver.core.Row;
+import com.datastax.driver.core.Statement;
+import com.datastax.driver.mapping.Mapper;
+import com.datastax.driver.mapping.MappingManager;
+import com.englishtown.vertx.cassandra.CassandraSession;
+import com.englishtown.vertx.cassandra.mapping.EntityCodec;
+import com.englishtown.vertx.cassandra.mapping.impl.CodecMapper;
+import com.englishtown.vertx.cassandra.mapping.impl.RowResultSet;
+import io.vertx.core.Vertx;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the {@link EntityCodec} generated for {@link BenchmarkEntity} with the driver's reflective mapper, reading
+ * an entity from a row and binding the insert of an entity.
+ * <p>
+ * Only the mapping is measured.  The row is read and the insert prepared once, in the setup, against
+ * {@link BenchmarkCassandra}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class EntityCodecBenchmark {
+
+    private Vertx vertx;
+    private CassandraSession session;
+    private Mapper<BenchmarkEntity> mapper;
+    private EntityCodec<BenchmarkEntity> codec;
+    private PreparedStatement insert;
+    private Row row;
+    private RowResultSet resultSet = new RowResultSet();
+    private BenchmarkEntity entity;
+
+    @Setup
+    public void setup() throws Exception {
+        vertx = Vertx.vertx();
+        session = BenchmarkCassandra.connect(vertx);
+        mapper = new MappingManager(session).mapper(BenchmarkEntity.class);
+
+        codec = CodecMapper.findCodec(BenchmarkEntity.class);
+        if (codec == null) {
+            throw new IllegalStateException("No codec was generated for " + BenchmarkEntity.class.getName());
+        }
+
+        String table = BenchmarkCassandra.KEYSPACE + "." + BenchmarkCassandra.TABLE;
+        String columns = String.join(",", codec.getColumns());
+        row = session.execute("SELECT " + columns + " FROM " + table + " WHERE id = '1'").one();
+        insert = session.prepare("INSERT INTO " + table + " (" + columns + ") VALUES (?,?)");
+
+        entity = new BenchmarkEntity();
+        entity.setId("2");
+        entity.setValue("benchmark");
+
+        // Prepares the mapper's insert
+        mapper.saveQuery(entity);
+    }
+
+    @TearDown
+    public void tearDown() {
+        session.close();
+        vertx.close();
+    }
+
+    @Benchmark
+    public BenchmarkEntity decodeReflective() {
+        return mapper.map(resultSet.reset(row)).one();
+    }
+
+    @Benchmark
+    public BenchmarkEntity decodeGenerated() {
+        return codec.decode(row);
+    }
+
+    @Benchmark
+    public Statement encodeReflective() {
+        return mapper.saveQuery(entity);
+    }
+
+    @Benchmark
+    public Statement encodeGenerated() {
+        BoundStatement statement = insert.bind();
+        codec.encode(entity, statement);
+        return statement;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(EntityCodecBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build();
+
+        new Runner(options).run();
+    }
+
+}
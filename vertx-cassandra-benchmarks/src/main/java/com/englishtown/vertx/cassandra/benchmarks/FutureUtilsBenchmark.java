@@ -0,0 +1,112 @@
+package com.englishtown.vertx.cassandra.benchmarks;
+
+import com.englishtown.vertx.cassandra.FutureUtils;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.SettableFuture;
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the latency and allocations of the {@link FutureUtils} dispatch modes.
+ * <p>
+ * The gc profiler reports allocations/op.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.AverageTime, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class FutureUtilsBenchmark {
+
+    @Param({"CONTEXT", "INLINE"})
+    public FutureUtils.DispatchMode mode;
+
+    private Vertx vertx;
+    private Context context;
+
+    @Setup
+    public void setup() {
+        vertx = Vertx.vertx();
+        context = vertx.getOrCreateContext();
+    }
+
+    @TearDown
+    public void tearDown() {
+        vertx.close();
+    }
+
+    /**
+     * The future completes on the vert.x context that added the callback, e.g. a cached prepared statement or a driver
+     * sharing the vert.x event loop
+     */
+    @Benchmark
+    public Object completeOnContext() {
+        CompletableFuture<Object> done = new CompletableFuture<>();
+
+        context.runOnContext(aVoid -> {
+            SettableFuture<Object> future = SettableFuture.create();
+            FutureUtils.addCallback(future, new DoneCallback(done), vertx, mode);
+            future.set(Boolean.TRUE);
+        });
+
+        return done.join();
+    }
+
+    /**
+     * The future completes on a foreign thread, e.g. a driver netty thread
+     */
+    @Benchmark
+    public Object completeOffContext() {
+        CompletableFuture<Object> done = new CompletableFuture<>();
+        CompletableFuture<Void> registered = new CompletableFuture<>();
+        SettableFuture<Object> future = SettableFuture.create();
+
+        context.runOnContext(aVoid -> {
+            FutureUtils.addCallback(future, new DoneCallback(done), vertx, mode);
+            registered.complete(null);
+        });
+
+        registered.join();
+        future.set(Boolean.TRUE);
+
+        return done.join();
+    }
+
+    private static class DoneCallback implements FutureCallback<Object> {
+
+        private final CompletableFuture<Object> done;
+
+        private DoneCallback(CompletableFuture<Object> done) {
+            this.done = done;
+        }
+
+        @Override
+        public void onSuccess(Object result) {
+            done.complete(result);
+        }
+
+        @Override
+        public void onFailure(Throwable t) {
+            done.completeExceptionally(t);
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(FutureUtilsBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build();
+
+        new Runner(options).run();
+    }
+
+}
@@ -0,0 +1,86 @@
+package com.englishtown.vertx.cassandra.benchmarks;
+
+import com.englishtown.vertx.cassandra.keyspacebuilder.BuiltKeyspaceStatement;
+import com.englishtown.vertx.cassandra.keyspacebuilder.KeyspaceBuilder;
+import com.englishtown.vertx.cassandra.tablebuilder.PrimaryKeyType;
+import com.englishtown.vertx.cassandra.tablebuilder.TableBuilder;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures building CQL with the {@link TableBuilder} and {@link KeyspaceBuilder}.  No cassandra is required.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class SchemaBuilderBenchmark {
+
+    @Benchmark
+    public String createTable() {
+        return TableBuilder.create("test_keyspace", "test_table")
+                .ifNotExists()
+                .column("col1", "text")
+                .column("col2", "int")
+                .column("col3", "blob")
+                .staticColumn("col4", "uuid")
+                .primaryKey("col1", PrimaryKeyType.PARTITIONING)
+                .primaryKey("col2", PrimaryKeyType.CLUSTERING)
+                .getQueryString();
+    }
+
+    @Benchmark
+    public String alterTable() {
+        return TableBuilder.alter("test_keyspace", "test_table")
+                .addColumn("col5", "text")
+                .getQueryString();
+    }
+
+    @Benchmark
+    public String dropTable() {
+        return TableBuilder.drop("test_keyspace", "test_table")
+                .ifExists()
+                .getQueryString();
+    }
+
+    @Benchmark
+    public String createKeyspace() {
+        BuiltKeyspaceStatement statement = KeyspaceBuilder.create("test_keyspace")
+                .ifNotExists()
+                .networkTopologyStrategy()
+                .dc("dc1", 3)
+                .dc("dc2", 3);
+        return statement.getQueryString();
+    }
+
+    @Benchmark
+    public String alterKeyspace() {
+        BuiltKeyspaceStatement statement = KeyspaceBuilder.alter("test_keyspace")
+                .simpleStrategy(3);
+        return statement.getQueryString();
+    }
+
+    @Benchmark
+    public String dropKeyspace() {
+        return KeyspaceBuilder.drop("test_keyspace")
+                .ifExists()
+                .getQueryString();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(SchemaBuilderBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build();
+
+        new Runner(options).run();
+    }
+
+}
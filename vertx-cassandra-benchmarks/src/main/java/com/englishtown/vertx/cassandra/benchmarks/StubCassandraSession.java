@@ -0,0 +1,29 @@
+package com.englishtown.vertx.cassandra.benchmarks;
+
+import com.datastax.driver.core.Cluster;
+import com.englishtown.vertx.cassandra.impl.DefaultCassandraSession;
+import com.englishtown.vertx.cassandra.impl.JsonCassandraConfigurator;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * A {@link DefaultCassandraSession} over a {@link StubSession}.  The cluster is never built or connected.
+ */
+class StubCassandraSession extends DefaultCassandraSession {
+
+    StubCassandraSession(Vertx vertx) {
+        super(Cluster.builder(), new JsonCassandraConfigurator(new JsonObject()) {
+            @Override
+            public void onReady(Handler<AsyncResult<Void>> callback) {
+                // Never initialized, the stub session is installed by the constructor
+            }
+        }, vertx);
+
+        session = StubSession.create();
+        initResult = Future.succeededFuture();
+    }
+
+}
@@ -0,0 +1,97 @@
+package com.englishtown.vertx.cassandra.benchmarks;
+
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.ResultSetFuture;
+import com.datastax.driver.core.Session;
+import com.google.common.util.concurrent.AbstractFuture;
+import com.google.common.util.concurrent.Futures;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A driver {@link Session} that never touches the network.  Every execute returns a new, already completed future
+ * with an empty {@link ResultSet}, so a benchmark measures only the code wrapped around the driver.
+ */
+final class StubSession {
+
+    private StubSession() {
+    }
+
+    static Session create() {
+        ResultSet resultSet = proxy(ResultSet.class, (proxy, method, args) -> defaultValue(proxy, method, args));
+
+        return proxy(Session.class, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "executeAsync":
+                    return new CompletedResultSetFuture(resultSet);
+                case "execute":
+                    return resultSet;
+                case "isClosed":
+                    return false;
+                case "getLoggedKeyspace":
+                case "getCluster":
+                    return null;
+                default:
+                    if (method.getDeclaringClass() == Object.class) {
+                        return defaultValue(proxy, method, args);
+                    }
+                    throw new UnsupportedOperationException("The stub session does not support " + method.getName());
+            }
+        });
+    }
+
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(StubSession.class.getClassLoader(), new Class<?>[]{type}, handler));
+    }
+
+    private static Object defaultValue(Object proxy, Method method, Object[] args) {
+        switch (method.getName()) {
+            case "equals":
+                return proxy == args[0];
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            case "toString":
+                return "Stub" + method.getDeclaringClass().getSimpleName();
+        }
+
+        Class<?> type = method.getReturnType();
+        if (type == boolean.class) {
+            // isExhausted, isFullyFetched and wasApplied
+            return true;
+        }
+        if (type == int.class) {
+            return 0;
+        }
+        if (type == Iterator.class) {
+            return Collections.emptyIterator();
+        }
+        if (type == List.class) {
+            return Collections.emptyList();
+        }
+        return null;
+    }
+
+    private static class CompletedResultSetFuture extends AbstractFuture<ResultSet> implements ResultSetFuture {
+
+        private CompletedResultSetFuture(ResultSet resultSet) {
+            set(resultSet);
+        }
+
+        @Override
+        public ResultSet getUninterruptibly() {
+            return Futures.getUnchecked(this);
+        }
+
+        @Override
+        public ResultSet getUninterruptibly(long timeout, TimeUnit unit) {
+            return getUninterruptibly();
+        }
+    }
+
+}
@@ -0,0 +1,116 @@
+package com.englishtown.vertx.cassandra.benchmarks;
+
+import com.englishtown.vertx.cassandra.CassandraSession;
+import com.englishtown.vertx.cassandra.mapping.VertxMapper;
+import com.englishtown.vertx.cassandra.mapping.impl.DefaultVertxMapper;
+import com.englishtown.vertx.cassandra.mapping.impl.DefaultVertxMappingManager;
+import com.google.common.util.concurrent.FutureCallback;
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link VertxMapper#getAsync} and {@link VertxMapper#saveAsync} against {@link BenchmarkCassandra}, with the
+ * codec generated for {@link BenchmarkEntity} and with the driver's reflective mapper.
+ * <p>
+ * The driver mapper reads the cluster metadata, so there is no stub target.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class VertxMapperBenchmark {
+
+    private Vertx vertx;
+    private Context context;
+    private CassandraSession session;
+    private VertxMapper<BenchmarkEntity> mapper;
+    private VertxMapper<BenchmarkEntity> reflectiveMapper;
+    private BenchmarkEntity entity;
+
+    @Setup
+    public void setup() throws Exception {
+        vertx = Vertx.vertx();
+        context = vertx.getOrCreateContext();
+        session = BenchmarkCassandra.connect(vertx);
+        DefaultVertxMappingManager manager = new DefaultVertxMappingManager(session);
+        mapper = manager.mapper(BenchmarkEntity.class);
+        reflectiveMapper = new DefaultVertxMapper<>(manager.getMappingManager().mapper(BenchmarkEntity.class), vertx);
+
+        entity = new BenchmarkEntity();
+        entity.setId("2");
+        entity.setValue("benchmark");
+    }
+
+    @TearDown
+    public void tearDown() {
+        session.close();
+        vertx.close();
+    }
+
+    @Benchmark
+    public BenchmarkEntity getAsync() {
+        CompletableFuture<BenchmarkEntity> done = new CompletableFuture<>();
+        context.runOnContext(aVoid -> mapper.getAsync(new DoneCallback<>(done), "1"));
+        return done.join();
+    }
+
+    @Benchmark
+    public Void saveAsync() {
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        context.runOnContext(aVoid -> mapper.saveAsync(entity, new DoneCallback<>(done)));
+        return done.join();
+    }
+
+    @Benchmark
+    public BenchmarkEntity getAsyncReflective() {
+        CompletableFuture<BenchmarkEntity> done = new CompletableFuture<>();
+        context.runOnContext(aVoid -> reflectiveMapper.getAsync(new DoneCallback<>(done), "1"));
+        return done.join();
+    }
+
+    @Benchmark
+    public Void saveAsyncReflective() {
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        context.runOnContext(aVoid -> reflectiveMapper.saveAsync(entity, new DoneCallback<>(done)));
+        return done.join();
+    }
+
+    private static class DoneCallback<V> implements FutureCallback<V> {
+
+        private final CompletableFuture<V> done;
+
+        private DoneCallback(CompletableFuture<V> done) {
+            this.done = done;
+        }
+
+        @Override
+        public void onSuccess(V result) {
+            done.complete(result);
+        }
+
+        @Override
+        public void onFailure(Throwable t) {
+            done.completeExceptionally(t);
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(VertxMapperBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build();
+
+        new Runner(options).run();
+    }
+
+}
@@ -0,0 +1,85 @@
+package com.englishtown.vertx.cassandra.benchmarks;
+
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.SimpleStatement;
+import com.datastax.driver.core.Statement;
+import com.englishtown.promises.WhenFactory;
+import com.englishtown.vertx.cassandra.CassandraSession;
+import com.englishtown.vertx.cassandra.promises.WhenCassandraSession;
+import com.englishtown.vertx.cassandra.promises.impl.DefaultWhenCassandraSession;
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the conversion of driver futures to when.java promises in {@link DefaultWhenCassandraSession}.
+ * <p>
+ * See {@link CassandraSessionBenchmark} for the targets.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class WhenCassandraSessionBenchmark {
+
+    @Param({"stub", "cassandra"})
+    public String target;
+
+    private Vertx vertx;
+    private Context context;
+    private CassandraSession session;
+    private WhenCassandraSession whenSession;
+    private Statement statement;
+
+    @Setup
+    public void setup() throws Exception {
+        vertx = Vertx.vertx();
+        context = vertx.getOrCreateContext();
+        session = "stub".equals(target) ? new StubCassandraSession(vertx) : BenchmarkCassandra.connect(vertx);
+        whenSession = new DefaultWhenCassandraSession(session, WhenFactory.createSync(), vertx);
+        statement = new SimpleStatement("SELECT * FROM " + BenchmarkCassandra.KEYSPACE + "."
+                + BenchmarkCassandra.TABLE + " WHERE id = ?", "1");
+    }
+
+    @TearDown
+    public void tearDown() {
+        session.close();
+        vertx.close();
+    }
+
+    @Benchmark
+    public ResultSet executeAsync() {
+        CompletableFuture<ResultSet> done = new CompletableFuture<>();
+
+        context.runOnContext(aVoid -> whenSession.executeAsync(statement)
+                .then(result -> {
+                    done.complete(result);
+                    return null;
+                })
+                .otherwise(t -> {
+                    done.completeExceptionally(t);
+                    return null;
+                }));
+
+        return done.join();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(WhenCassandraSessionBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build();
+
+        new Runner(options).run();
+    }
+
+}
@@ -0,0 +1,31 @@
+package com.englishtown.vertx.cassandra.mapping;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Enables the entity cache for mappers of the annotated entity class returned by {@link VertxMappingManager#mapper(Class)}
+ *
+ * @see EntityCacheOptions
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface CachedEntity {
+
+    /**
+     * The maximum number of cached entities
+     *
+     * @return the maximum size
+     */
+    long maximumSize() default EntityCacheOptions.DEFAULT_MAXIMUM_SIZE;
+
+    /**
+     * How long entities are cached after they are loaded
+     *
+     * @return the TTL in milliseconds
+     */
+    long ttlMillis() default EntityCacheOptions.DEFAULT_TTL_MILLIS;
+
+}
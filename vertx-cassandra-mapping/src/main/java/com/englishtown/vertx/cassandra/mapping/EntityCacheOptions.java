@@ -0,0 +1,71 @@
+package com.englishtown.vertx.cassandra.mapping;
+
+/**
+ * Options for caching the entities returned by {@link VertxMapper#getAsync}.
+ * <p>
+ * Entities are cached by primary key for the TTL, and the least recently used entities are evicted once the cache holds
+ * {@link #getMaximumSize()} entities.
+ */
+public class EntityCacheOptions {
+
+    public static final long DEFAULT_MAXIMUM_SIZE = 1000;
+    public static final long DEFAULT_TTL_MILLIS = 60000;
+
+    private long maximumSize = DEFAULT_MAXIMUM_SIZE;
+    private long ttlMillis = DEFAULT_TTL_MILLIS;
+
+    public EntityCacheOptions() {
+    }
+
+    public EntityCacheOptions(CachedEntity annotation) {
+        setMaximumSize(annotation.maximumSize());
+        setTtlMillis(annotation.ttlMillis());
+    }
+
+    /**
+     * The maximum number of cached entities
+     *
+     * @return the maximum size
+     */
+    public long getMaximumSize() {
+        return maximumSize;
+    }
+
+    /**
+     * Sets the maximum number of cached entities
+     *
+     * @param maximumSize the maximum size
+     * @return this {@code EntityCacheOptions}
+     */
+    public EntityCacheOptions setMaximumSize(long maximumSize) {
+        if (maximumSize < 1) {
+            throw new IllegalArgumentException("maximum_size must be at least 1");
+        }
+        this.maximumSize = maximumSize;
+        return this;
+    }
+
+    /**
+     * How long entities are cached after they are loaded
+     *
+     * @return the TTL in milliseconds
+     */
+    public long getTtlMillis() {
+        return ttlMillis;
+    }
+
+    /**
+     * Sets how long entities are cached after they are loaded
+     *
+     * @param ttlMillis the TTL in milliseconds
+     * @return this {@code EntityCacheOptions}
+     */
+    public EntityCacheOptions setTtlMillis(long ttlMillis) {
+        if (ttlMillis < 1) {
+            throw new IllegalArgumentException("ttl_millis must be at least 1");
+        }
+        this.ttlMillis = ttlMillis;
+        return this;
+    }
+
+}
@@ -0,0 +1,93 @@
+package com.englishtown.vertx.cassandra.mapping;
+
+import com.datastax.driver.core.ConsistencyLevel;
+import com.datastax.driver.core.Row;
+import com.datastax.driver.core.SettableByIndexData;
+
+import java.util.List;
+
+/**
+ * Reads and writes the columns of a mapped entity without reflection.
+ * <p>
+ * Implementations are generated at compile time, when enabled, by
+ * {@link com.englishtown.vertx.cassandra.mapping.processor.EntityCodecProcessor} for classes annotated with
+ * {@link com.datastax.driver.mapping.annotations.Table}, in the entity's package and named after the entity with the
+ * {@link #CLASS_SUFFIX}.  The vert.x mappers use the generated codec of an entity when there is one, and the driver's
+ * reflective mapper otherwise.
+ *
+ * @param <T> the entity type
+ */
+public interface EntityCodec<T> {
+
+    /**
+     * Appended to the binary name of the entity class to name its generated codec
+     */
+    String CLASS_SUFFIX = "_VertxCodec";
+
+    /**
+     * The entity class
+     *
+     * @return the entity class
+     */
+    Class<T> getEntityClass();
+
+    /**
+     * The keyspace of the entity's table, quoted if it is case sensitive
+     *
+     * @return the keyspace, or null to use the session's keyspace
+     */
+    String getKeyspace();
+
+    /**
+     * The entity's table, quoted if it is case sensitive
+     *
+     * @return the table name
+     */
+    String getTable();
+
+    /**
+     * The mapped columns, quoted if they are case sensitive.  The partition key and clustering columns come first, in
+     * primary key order.
+     *
+     * @return the column names
+     */
+    List<String> getColumns();
+
+    /**
+     * The number of partition key and clustering columns
+     *
+     * @return the primary key size
+     */
+    int getPrimaryKeySize();
+
+    /**
+     * The read consistency of the entity's {@link com.datastax.driver.mapping.annotations.Table} annotation
+     *
+     * @return the consistency level, or null to use the default
+     */
+    ConsistencyLevel getReadConsistency();
+
+    /**
+     * The write consistency of the entity's {@link com.datastax.driver.mapping.annotations.Table} annotation
+     *
+     * @return the consistency level, or null to use the default
+     */
+    ConsistencyLevel getWriteConsistency();
+
+    /**
+     * Creates an entity from a row.  Columns that are not in the row are left unset.
+     *
+     * @param row the row
+     * @return the entity
+     */
+    T decode(Row row);
+
+    /**
+     * Sets the values of the entity's columns, in {@link #getColumns()} order
+     *
+     * @param entity the entity
+     * @param data   the statement or value to set
+     */
+    void encode(T entity, SettableByIndexData<?> data);
+
+}
@@ -1,8 +1,13 @@
 package com.englishtown.vertx.cassandra.mapping;
 
+import com.datastax.driver.core.Statement;
 import com.datastax.driver.mapping.Mapper;
+import com.englishtown.vertx.cassandra.CassandraReadStream;
 import com.google.common.util.concurrent.FutureCallback;
 
+import java.util.Collection;
+import java.util.List;
+
 /**
  * Vert.x wrapper over a datastax {@link Mapper}
  */
@@ -18,4 +23,37 @@ public interface VertxMapper<T> {
 
     void getAsync(FutureCallback<T> callback, Object... primaryKey);
 
+    /**
+     * Gets several entities, with a bounded number of queries in flight, and runs the callback once
+     *
+     * @param primaryKeys the primary key values of each entity
+     * @param callback    receives the entities in the order of the keys, with null for keys that do not exist
+     */
+    void getAllAsync(List<Object[]> primaryKeys, FutureCallback<List<T>> callback);
+
+    /**
+     * Saves several entities in unlogged batches per partition and runs the callback once
+     *
+     * @param entities the entities
+     * @param callback the callback
+     */
+    void saveAllAsync(Collection<T> entities, FutureCallback<Void> callback);
+
+    /**
+     * Deletes several entities in unlogged batches per partition and runs the callback once
+     *
+     * @param entities the entities
+     * @param callback the callback
+     */
+    void deleteAllAsync(Collection<T> entities, FutureCallback<Void> callback);
+
+    /**
+     * Executes a query and streams the rows mapped to entities.  Pages are fetched asynchronously as the stream is
+     * consumed, so only the current page is held in memory.
+     *
+     * @param statement the statement to execute
+     * @return the stream of entities
+     */
+    CassandraReadStream<T> mapStream(Statement statement);
+
 }
@@ -1,6 +1,8 @@
 package com.englishtown.vertx.cassandra.mapping;
 
 import com.datastax.driver.mapping.MappingManager;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Handler;
 
 /**
  * Vert.x wrapper over a datastax {@link com.datastax.driver.mapping.MappingManager}
@@ -15,7 +17,9 @@ public interface VertxMappingManager {
     MappingManager getMappingManager();
 
     /**
-     * Returns a vert.x wrapped {@link com.datastax.driver.mapping.Mapper}
+     * Returns a vert.x wrapped {@link com.datastax.driver.mapping.Mapper}.  The entity cache is enabled if the class is
+     * annotated with {@link CachedEntity}, and entities are read and written with the class's generated
+     * {@link EntityCodec} when there is one.
      *
      * @param klass
      * @param <T>
@@ -23,4 +27,45 @@ public interface VertxMappingManager {
      */
     <T> VertxMapper<T> mapper(Class<T> klass);
 
+    /**
+     * Returns a vert.x wrapped {@link com.datastax.driver.mapping.Mapper} that caches the entities returned by
+     * {@code getAsync}.  Mappers of the same class share one cache, which is created with the options of the first
+     * mapper that enables it, so writes through any of them invalidate the cached entity.
+     *
+     * @param klass
+     * @param cacheOptions the entity cache options, or null to disable the cache
+     * @param <T>
+     * @return
+     */
+    <T> VertxMapper<T> mapper(Class<T> klass, EntityCacheOptions cacheOptions);
+
+    /**
+     * Returns a vert.x wrapped accessor for an interface annotated with
+     * {@link com.datastax.driver.mapping.annotations.Accessor}.  Methods that return a {@code ListenableFuture} or
+     * {@code ResultSetFuture} complete on the caller's vert.x context.  The accessor's queries are prepared once, when
+     * the first accessor of the class is created, which blocks so accessors should be created when a verticle starts.
+     *
+     * @param klass
+     * @param <T>
+     * @return
+     */
+    <T> T accessor(Class<T> klass);
+
+    /**
+     * Builds the mappers of the entity classes and prepares their get, save and delete queries on a worker thread once
+     * the session is ready, so the first requests do not block the event loop
+     *
+     * @param callback called once all classes are warmed up
+     * @param classes  the entity classes
+     */
+    void warmUp(Handler<AsyncResult<Void>> callback, Class<?>... classes);
+
+    /**
+     * Callback for when the session is ready and the entity classes in the {@code cassandra.mapping.warm_up} config
+     * are warmed up
+     *
+     * @param callback
+     */
+    void onReady(Handler<AsyncResult<Void>> callback);
+
 }
@@ -0,0 +1,124 @@
+package com.englishtown.vertx.cassandra.mapping.impl;
+
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.ResultSetFuture;
+import com.englishtown.vertx.cassandra.FutureUtils;
+import com.google.common.util.concurrent.ForwardingListenableFuture;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import io.vertx.core.Vertx;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Wraps a datastax accessor so its async methods complete on the caller's vert.x context.
+ * <p>
+ * Methods that return a {@link ListenableFuture} or {@link ResultSetFuture} return a future whose listeners run on the
+ * vert.x context of the call, so listeners added with a direct executor run on the context.  The future itself is
+ * completed by the driver, so a blocking get does not wait for the context and behaves as it does on the driver
+ * future.  Other methods, and the statements the accessor prepared when it was created, are passed through unchanged.
+ */
+public class AccessorProxy implements InvocationHandler {
+
+    private final Object accessor;
+    private final Vertx vertx;
+
+    private AccessorProxy(Object accessor, Vertx vertx) {
+        this.accessor = accessor;
+        this.vertx = vertx;
+    }
+
+    /**
+     * Creates the vert.x proxy for an accessor
+     *
+     * @param klass    the accessor interface
+     * @param accessor the accessor created by the datastax mapping manager
+     * @param vertx    the vertx instance
+     * @param <T>      the accessor type
+     * @return the proxy
+     */
+    public static <T> T create(Class<T> klass, T accessor, Vertx vertx) {
+        Object proxy = Proxy.newProxyInstance(klass.getClassLoader(), new Class<?>[]{klass},
+                new AccessorProxy(accessor, vertx));
+        return klass.cast(proxy);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+
+        if (method.getDeclaringClass() == Object.class) {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    return "Vert.x " + accessor;
+            }
+        }
+
+        Object result;
+        try {
+            result = method.invoke(accessor, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+
+        Class<?> returnType = method.getReturnType();
+        if (result == null) {
+            return null;
+        } else if (returnType == ResultSetFuture.class) {
+            return new ContextResultSetFuture((ResultSetFuture) result, contextExecutor());
+        } else if (returnType == ListenableFuture.class) {
+            return new ContextFuture<>((ListenableFuture<Object>) result, contextExecutor());
+        }
+        return result;
+    }
+
+    private Executor contextExecutor() {
+        return FutureUtils.executor(vertx.getOrCreateContext(), FutureUtils.getDefaultDispatchMode());
+    }
+
+    private static class ContextFuture<V> extends ForwardingListenableFuture.SimpleForwardingListenableFuture<V> {
+
+        private final Executor context;
+
+        private ContextFuture(ListenableFuture<V> future, Executor context) {
+            super(future);
+            this.context = context;
+        }
+
+        @Override
+        public void addListener(Runnable listener, Executor executor) {
+            super.addListener(() -> context.execute(() -> executor.execute(listener)), MoreExecutors.directExecutor());
+        }
+    }
+
+    private static class ContextResultSetFuture extends ContextFuture<ResultSet> implements ResultSetFuture {
+
+        private final ResultSetFuture future;
+
+        private ContextResultSetFuture(ResultSetFuture future, Executor context) {
+            super(future, context);
+            this.future = future;
+        }
+
+        @Override
+        public ResultSet getUninterruptibly() {
+            return future.getUninterruptibly();
+        }
+
+        @Override
+        public ResultSet getUninterruptibly(long timeout, TimeUnit unit) throws TimeoutException {
+            return future.getUninterruptibly(timeout, unit);
+        }
+    }
+
+}
@@ -0,0 +1,261 @@
+package com.englishtown.vertx.cassandra.mapping.impl;
+
+import com.datastax.driver.core.BoundStatement;
+import com.datastax.driver.core.ConsistencyLevel;
+import com.datastax.driver.core.PreparedStatement;
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.Row;
+import com.datastax.driver.core.Session;
+import com.datastax.driver.core.Statement;
+import com.datastax.driver.mapping.Mapper;
+import com.englishtown.vertx.cassandra.mapping.EntityCodec;
+import com.google.common.base.Function;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Gets and saves entities with their generated {@link EntityCodec} instead of the driver's reflective mapper.
+ * <p>
+ * The select and insert queries are built from the codec's columns and prepared asynchronously on first use, and a
+ * failed prepare is retried by the next request.  The options set on the driver mapper do not apply, only the
+ * consistency levels of the entity's {@link com.datastax.driver.mapping.annotations.Table} annotation.
+ */
+public class CodecMapper<T> {
+
+    private static final ClassValue<EntityCodec<?>> CODECS = new ClassValue<EntityCodec<?>>() {
+        @Override
+        protected EntityCodec<?> computeValue(Class<?> type) {
+            return loadCodec(type);
+        }
+    };
+
+    private final EntityCodec<T> codec;
+    private final Session session;
+    private final String selectQuery;
+    private final String insertQuery;
+    private final AtomicReference<ListenableFuture<PreparedStatement>> select = new AtomicReference<>();
+    private final AtomicReference<ListenableFuture<PreparedStatement>> insert = new AtomicReference<>();
+
+    public CodecMapper(EntityCodec<T> codec, Session session) {
+        this.codec = codec;
+        this.session = session;
+        this.selectQuery = selectQuery(codec);
+        this.insertQuery = insertQuery(codec);
+    }
+
+    /**
+     * Creates a codec mapper for an entity class with a generated codec
+     *
+     * @param entityClass the entity class
+     * @param session     the session to execute the queries with
+     * @return the codec mapper, or null if the class has no generated codec
+     */
+    public static <T> CodecMapper<T> create(Class<T> entityClass, Session session) {
+        EntityCodec<T> codec = findCodec(entityClass);
+        return codec == null ? null : new CodecMapper<>(codec, session);
+    }
+
+    /**
+     * Returns the generated codec of an entity class
+     *
+     * @param entityClass the entity class
+     * @return the codec, or null if none was generated for the class
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> EntityCodec<T> findCodec(Class<T> entityClass) {
+        return (EntityCodec<T>) CODECS.get(entityClass);
+    }
+
+    /**
+     * Gets an entity with the codec mapper, or with the driver mapper when there is no codec mapper or the primary key
+     * is followed by {@link Mapper.Option}s, which only the driver mapper applies
+     *
+     * @param mapper      the driver mapper
+     * @param codecMapper the codec mapper, or null
+     * @param primaryKey  the primary key values, optionally followed by mapper options
+     * @return the future for the entity, which also reports the errors of an invalid key
+     */
+    public static <T> ListenableFuture<T> load(Mapper<T> mapper, CodecMapper<T> codecMapper, Object... primaryKey) {
+        try {
+            if (codecMapper == null || hasOptions(primaryKey)) {
+                return mapper.getAsync(primaryKey);
+            }
+            return codecMapper.getAsync(primaryKey);
+        } catch (RuntimeException e) {
+            return Futures.immediateFailedFuture(e);
+        }
+    }
+
+    static boolean hasOptions(Object... primaryKey) {
+        for (Object value : primaryKey) {
+            if (value instanceof Mapper.Option) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public EntityCodec<T> getCodec() {
+        return codec;
+    }
+
+    /**
+     * Gets an entity by primary key
+     *
+     * @param primaryKey the primary key values
+     * @return the future for the entity, which returns null if there is no entity with the key and fails with an
+     * {@link IllegalArgumentException} if the key is invalid
+     */
+    public ListenableFuture<T> getAsync(Object... primaryKey) {
+        try {
+            checkPrimaryKey(primaryKey);
+        } catch (IllegalArgumentException e) {
+            return Futures.immediateFailedFuture(e);
+        }
+
+        ListenableFuture<ResultSet> future = Futures.transformAsync(prepare(select, selectQuery), prepared -> {
+            BoundStatement statement = prepared.bind(primaryKey);
+            setConsistencyLevel(statement, codec.getReadConsistency());
+            return session.executeAsync(statement);
+        }, MoreExecutors.directExecutor());
+
+        return Futures.transform(future, (Function<ResultSet, T>) resultSet -> {
+            Row row = resultSet.one();
+            return row == null ? null : codec.decode(row);
+        }, MoreExecutors.directExecutor());
+    }
+
+    /**
+     * Saves an entity
+     *
+     * @param entity the entity
+     * @return the future for the save
+     */
+    public ListenableFuture<Void> saveAsync(T entity) {
+        ListenableFuture<ResultSet> future = Futures.transformAsync(prepare(insert, insertQuery),
+                prepared -> session.executeAsync(bindInsert(prepared, entity)),
+                MoreExecutors.directExecutor());
+
+        return Futures.transform(future, (Function<ResultSet, Void>) resultSet -> null,
+                MoreExecutors.directExecutor());
+    }
+
+    /**
+     * Binds the insert of an entity, waiting for the query to be prepared, so must not be called on an event loop
+     *
+     * @param entity the entity
+     * @return the bound statement
+     */
+    public Statement saveQuery(T entity) {
+        return bindInsert(Futures.getUnchecked(prepare(insert, insertQuery)), entity);
+    }
+
+    private BoundStatement bindInsert(PreparedStatement prepared, T entity) {
+        BoundStatement statement = prepared.bind();
+        codec.encode(entity, statement);
+        setConsistencyLevel(statement, codec.getWriteConsistency());
+        return statement;
+    }
+
+    private void checkPrimaryKey(Object... primaryKey) {
+        List<String> columns = codec.getColumns();
+        int size = codec.getPrimaryKeySize();
+        if (primaryKey.length != size) {
+            throw new IllegalArgumentException(String.format(
+                    "Invalid number of PRIMARY KEY columns provided, %d expected but got %d", size, primaryKey.length));
+        }
+        for (int i = 0; i < size; i++) {
+            if (primaryKey[i] == null) {
+                throw new IllegalArgumentException("Invalid null value for PRIMARY KEY column " + columns.get(i));
+            }
+        }
+    }
+
+    private ListenableFuture<PreparedStatement> prepare(AtomicReference<ListenableFuture<PreparedStatement>> prepared,
+                                                        String query) {
+        ListenableFuture<PreparedStatement> existing = prepared.get();
+        if (existing != null) {
+            return existing;
+        }
+
+        SettableFuture<PreparedStatement> preparing = SettableFuture.create();
+        if (!prepared.compareAndSet(null, preparing)) {
+            return prepare(prepared, query);
+        }
+
+        Futures.addCallback(session.prepareAsync(query), new FutureCallback<PreparedStatement>() {
+            @Override
+            public void onSuccess(PreparedStatement result) {
+                preparing.set(result);
+            }
+
+            @Override
+            public void onFailure(Throwable t) {
+                // Prepare again on the next request
+                prepared.compareAndSet(preparing, null);
+                preparing.setException(t);
+            }
+        }, MoreExecutors.directExecutor());
+
+        return preparing;
+    }
+
+    private static void setConsistencyLevel(Statement statement, ConsistencyLevel consistencyLevel) {
+        if (consistencyLevel != null) {
+            statement.setConsistencyLevel(consistencyLevel);
+        }
+    }
+
+    static String selectQuery(EntityCodec<?> codec) {
+        List<String> columns = codec.getColumns();
+        StringBuilder query = new StringBuilder("SELECT ")
+                .append(String.join(",", columns))
+                .append(" FROM ")
+                .append(tableName(codec))
+                .append(" WHERE ");
+        for (int i = 0; i < codec.getPrimaryKeySize(); i++) {
+            query.append(i == 0 ? "" : " AND ").append(columns.get(i)).append("=?");
+        }
+        return query.append(';').toString();
+    }
+
+    static String insertQuery(EntityCodec<?> codec) {
+        List<String> columns = codec.getColumns();
+        StringBuilder query = new StringBuilder("INSERT INTO ")
+                .append(tableName(codec))
+                .append(" (")
+                .append(String.join(",", columns))
+                .append(") VALUES (");
+        for (int i = 0; i < columns.size(); i++) {
+            query.append(i == 0 ? "?" : ",?");
+        }
+        return query.append(");").toString();
+    }
+
+    private static String tableName(EntityCodec<?> codec) {
+        String keyspace = codec.getKeyspace();
+        return keyspace == null ? codec.getTable() : keyspace + "." + codec.getTable();
+    }
+
+    private static EntityCodec<?> loadCodec(Class<?> entityClass) {
+        ClassLoader classLoader = entityClass.getClassLoader();
+        if (classLoader == null) {
+            return null;
+        }
+        try {
+            Class<?> codecClass = Class.forName(entityClass.getName() + EntityCodec.CLASS_SUFFIX, true, classLoader);
+            return (EntityCodec<?>) codecClass.newInstance();
+        } catch (ClassNotFoundException e) {
+            return null;
+        } catch (ReflectiveOperationException | ClassCastException e) {
+            throw new IllegalStateException("Could not create the generated codec of " + entityClass.getName(), e);
+        }
+    }
+
+}
@@ -1,22 +1,51 @@
 package com.englishtown.vertx.cassandra.mapping.impl;
 
+import com.datastax.driver.core.Statement;
 import com.datastax.driver.mapping.Mapper;
+import com.englishtown.vertx.cassandra.CassandraReadStream;
+import com.englishtown.vertx.cassandra.CassandraSession;
 import com.englishtown.vertx.cassandra.FutureUtils;
+import com.englishtown.vertx.cassandra.mapping.EntityCodec;
 import com.englishtown.vertx.cassandra.mapping.VertxMapper;
 import com.google.common.util.concurrent.FutureCallback;
 import com.google.common.util.concurrent.ListenableFuture;
 import io.vertx.core.Vertx;
 
+import java.util.Collection;
+import java.util.List;
+
 /**
  * Default implementation of {@link VertxMapper}
  */
 public class DefaultVertxMapper<T> implements VertxMapper<T> {
 
     private final Mapper<T> mapper;
+    private final CodecMapper<T> codecMapper;
+    private final EntityCache<T> cache;
+    private final MapperBatch<T> batch;
+    private final CassandraSession session;
     private final Vertx vertx;
 
     public DefaultVertxMapper(Mapper<T> mapper, Vertx vertx) {
+        this(mapper, null, null, null, vertx);
+    }
+
+    public DefaultVertxMapper(Mapper<T> mapper, EntityCache<T> cache, CassandraSession session) {
+        this(mapper, null, cache, session);
+    }
+
+    public DefaultVertxMapper(Mapper<T> mapper, CodecMapper<T> codecMapper, EntityCache<T> cache,
+                              CassandraSession session) {
+        this(mapper, codecMapper, cache, session, session.getVertx());
+    }
+
+    private DefaultVertxMapper(Mapper<T> mapper, CodecMapper<T> codecMapper, EntityCache<T> cache,
+                               CassandraSession session, Vertx vertx) {
         this.mapper = mapper;
+        this.codecMapper = codecMapper;
+        this.cache = cache;
+        this.session = session;
+        this.batch = new MapperBatch<>(mapper, codecMapper, cache, vertx);
         this.vertx = vertx;
     }
 
@@ -27,25 +56,59 @@ public class DefaultVertxMapper<T> implements VertxMapper<T> {
 
     @Override
     public void saveAsync(T entity, FutureCallback<Void> callback) {
-        ListenableFuture<Void> future = mapper.saveAsync(entity);
+        ListenableFuture<Void> future;
+        if (cache != null) {
+            future = cache.save(entity);
+        } else {
+            future = codecMapper == null ? mapper.saveAsync(entity) : codecMapper.saveAsync(entity);
+        }
         FutureUtils.addCallback(future, callback, vertx);
     }
 
     @Override
     public void deleteAsync(T entity, FutureCallback<Void> callback) {
-        ListenableFuture<Void> future = mapper.deleteAsync(entity);
+        ListenableFuture<Void> future = cache == null ? mapper.deleteAsync(entity) : cache.delete(entity);
         FutureUtils.addCallback(future, callback, vertx);
     }
 
     @Override
     public void deleteAsync(FutureCallback<Void> callback, Object... primaryKey) {
-        ListenableFuture<Void> future = mapper.deleteAsync(primaryKey);
+        ListenableFuture<Void> future = cache == null ? mapper.deleteAsync(primaryKey) : cache.delete(primaryKey);
         FutureUtils.addCallback(future, callback, vertx);
     }
 
     @Override
     public void getAsync(FutureCallback<T> callback, Object... primaryKey) {
-        ListenableFuture<T> future = mapper.getAsync(primaryKey);
+        ListenableFuture<T> future;
+        if (cache != null) {
+            future = cache.get(primaryKey);
+        } else {
+            future = CodecMapper.load(mapper, codecMapper, primaryKey);
+        }
         FutureUtils.addCallback(future, callback, vertx);
     }
+
+    @Override
+    public void getAllAsync(List<Object[]> primaryKeys, FutureCallback<List<T>> callback) {
+        FutureUtils.addCallback(batch.getAll(primaryKeys), callback, vertx);
+    }
+
+    @Override
+    public void saveAllAsync(Collection<T> entities, FutureCallback<Void> callback) {
+        FutureUtils.addCallback(batch.saveAll(entities), callback, vertx);
+    }
+
+    @Override
+    public void deleteAllAsync(Collection<T> entities, FutureCallback<Void> callback) {
+        FutureUtils.addCallback(batch.deleteAll(entities), callback, vertx);
+    }
+
+    @Override
+    public CassandraReadStream<T> mapStream(Statement statement) {
+        if (session == null) {
+            throw new IllegalStateException("Streaming requires a mapper created by a VertxMappingManager");
+        }
+        EntityCodec<T> codec = codecMapper == null ? null : codecMapper.getCodec();
+        return new EntityReadStream<>(session.queryStream(statement), mapper, codec);
+    }
 }
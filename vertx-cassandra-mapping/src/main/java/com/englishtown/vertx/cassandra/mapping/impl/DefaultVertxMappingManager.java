@@ -3,10 +3,17 @@ package com.englishtown.vertx.cassandra.mapping.impl;
 import com.datastax.driver.mapping.Mapper;
 import com.datastax.driver.mapping.MappingManager;
 import com.englishtown.vertx.cassandra.CassandraSession;
+import com.englishtown.vertx.cassandra.mapping.EntityCacheOptions;
 import com.englishtown.vertx.cassandra.mapping.VertxMapper;
 import com.englishtown.vertx.cassandra.mapping.VertxMappingManager;
 
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Handler;
+
 import javax.inject.Inject;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * Default implementation of {@link VertxMappingManager}
@@ -15,11 +22,16 @@ public class DefaultVertxMappingManager implements VertxMappingManager {
 
     private final CassandraSession session;
     private final MappingManager mappingManager;
+    private final ConcurrentMap<Class<?>, CodecMapper<?>> codecMappers = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Class<?>, EntityCache<?>> caches = new ConcurrentHashMap<>();
+    private final MapperWarmUp warmUp;
 
     @Inject
     public DefaultVertxMappingManager(CassandraSession session) {
         this.session = session;
         this.mappingManager = new MappingManager(session);
+        this.warmUp = new MapperWarmUp(mappingManager, session);
+        warmUp.start();
     }
 
     /**
@@ -40,7 +52,59 @@ public class DefaultVertxMappingManager implements VertxMappingManager {
      */
     @Override
     public <T> VertxMapper<T> mapper(Class<T> klass) {
+        return mapper(klass, EntityCache.getOptions(klass));
+    }
+
+    /**
+     * Returns a vert.x wrapped {@link Mapper} with an entity cache
+     *
+     * @param klass
+     * @param cacheOptions
+     * @return
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> VertxMapper<T> mapper(Class<T> klass, EntityCacheOptions cacheOptions) {
         Mapper<T> mapper = getMappingManager().mapper(klass);
-        return new DefaultVertxMapper<>(mapper, session.getVertx());
+        CodecMapper<T> codecMapper = (CodecMapper<T>) codecMappers.computeIfAbsent(klass,
+                k -> CodecMapper.create(klass, session));
+        EntityCache<T> cache = cacheOptions == null
+                ? null
+                : (EntityCache<T>) caches.computeIfAbsent(klass,
+                k -> new EntityCache<>(mapper, codecMapper, klass, cacheOptions));
+        return new DefaultVertxMapper<>(mapper, codecMapper, cache, session);
+    }
+
+    /**
+     * Returns a vert.x wrapped accessor
+     *
+     * @param klass
+     * @return
+     */
+    @Override
+    public <T> T accessor(Class<T> klass) {
+        T accessor = getMappingManager().createAccessor(klass);
+        return AccessorProxy.create(klass, accessor, session.getVertx());
+    }
+
+    /**
+     * Warms up the mappers of the entity classes
+     *
+     * @param callback
+     * @param classes
+     */
+    @Override
+    public void warmUp(Handler<AsyncResult<Void>> callback, Class<?>... classes) {
+        warmUp.warmUp(Arrays.asList(classes), callback);
+    }
+
+    /**
+     * Callback for when the session is ready and the configured entity classes are warmed up
+     *
+     * @param callback
+     */
+    @Override
+    public void onReady(Handler<AsyncResult<Void>> callback) {
+        warmUp.onReady(callback);
     }
 }
@@ -0,0 +1,300 @@
+package com.englishtown.vertx.cassandra.mapping.impl;
+
+import com.datastax.driver.mapping.Mapper;
+import com.datastax.driver.mapping.annotations.ClusteringColumn;
+import com.datastax.driver.mapping.annotations.PartitionKey;
+import com.englishtown.vertx.cassandra.mapping.CachedEntity;
+import com.englishtown.vertx.cassandra.mapping.EntityCacheOptions;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
+
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache of the entities loaded by a {@link Mapper}, keyed by primary key.
+ * <p>
+ * The cache holds the future for the entity so concurrent misses for the same key share a single query, and failed
+ * loads are not cached.  Writes through the cache invalidate the entity's key when they start and again when they
+ * complete, so a load that overlaps a write is not kept.  The primary key of an entity is read from its
+ * {@link PartitionKey} and {@link ClusteringColumn} fields or getters.
+ * <p>
+ * Cached entities are shared by all callers and must not be modified.
+ */
+public class EntityCache<T> {
+
+    private final Mapper<T> mapper;
+    private final CodecMapper<T> codecMapper;
+    private final List<KeyColumn> primaryKey;
+    private final Cache<List<Object>, ListenableFuture<T>> cache;
+
+    public EntityCache(Mapper<T> mapper, Class<T> entityClass, EntityCacheOptions options) {
+        this(mapper, null, entityClass, options);
+    }
+
+    public EntityCache(Mapper<T> mapper, CodecMapper<T> codecMapper, Class<T> entityClass,
+                       EntityCacheOptions options) {
+        this.mapper = mapper;
+        this.codecMapper = codecMapper;
+        this.primaryKey = primaryKey(entityClass);
+        this.cache = CacheBuilder.newBuilder()
+                .maximumSize(options.getMaximumSize())
+                .expireAfterWrite(options.getTtlMillis(), TimeUnit.MILLISECONDS)
+                .build();
+    }
+
+    /**
+     * Returns the cache options of an entity class annotated with {@link CachedEntity}
+     *
+     * @param entityClass the entity class
+     * @return the options, or null if the class is not annotated
+     */
+    public static EntityCacheOptions getOptions(Class<?> entityClass) {
+        CachedEntity annotation = entityClass.getAnnotation(CachedEntity.class);
+        return annotation == null ? null : new EntityCacheOptions(annotation);
+    }
+
+    /**
+     * Returns the cached entity, or loads it with the {@link CodecMapper} if the entity has a generated codec or
+     * {@link Mapper#getAsync(Object...)} otherwise, and caches it
+     *
+     * @param primaryKey the primary key values
+     * @return the future for the entity, which returns null if there is no entity with the key
+     */
+    public ListenableFuture<T> get(Object... primaryKey) {
+
+        List<Object> key = Arrays.asList(primaryKey.clone());
+
+        ListenableFuture<T> cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        SettableFuture<T> loading = SettableFuture.create();
+        ListenableFuture<T> existing = cache.asMap().putIfAbsent(key, loading);
+        if (existing != null) {
+            // Another request is loading the same entity
+            return existing;
+        }
+
+        ListenableFuture<T> future = CodecMapper.load(mapper, codecMapper, primaryKey);
+
+        Futures.addCallback(future, new FutureCallback<T>() {
+            @Override
+            public void onSuccess(T result) {
+                loading.set(result);
+            }
+
+            @Override
+            public void onFailure(Throwable t) {
+                cache.asMap().remove(key, loading);
+                loading.setException(t);
+            }
+        }, MoreExecutors.directExecutor());
+
+        return loading;
+    }
+
+    /**
+     * Saves the entity with the {@link CodecMapper} or {@link Mapper#saveAsync(Object)} and invalidates its key
+     *
+     * @param entity the entity
+     * @return the future for the save
+     */
+    public ListenableFuture<Void> save(T entity) {
+        return write(keyOf(entity),
+                () -> codecMapper == null ? mapper.saveAsync(entity) : codecMapper.saveAsync(entity));
+    }
+
+    /**
+     * Deletes the entity with {@link Mapper#deleteAsync(Object)} and invalidates its key
+     *
+     * @param entity the entity
+     * @return the future for the delete
+     */
+    public ListenableFuture<Void> delete(T entity) {
+        return write(keyOf(entity), () -> mapper.deleteAsync(entity));
+    }
+
+    /**
+     * Deletes the entity with {@link Mapper#deleteAsync(Object...)} and invalidates the key
+     *
+     * @param primaryKey the primary key values
+     * @return the future for the delete
+     */
+    public ListenableFuture<Void> delete(Object... primaryKey) {
+        return write(Arrays.asList(primaryKey.clone()), () -> mapper.deleteAsync(primaryKey));
+    }
+
+    /**
+     * Removes all cached entities
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * The number of cached entities, including loads in progress
+     *
+     * @return the size
+     */
+    public long size() {
+        return cache.size();
+    }
+
+    /**
+     * Runs a write of several entities and invalidates their keys when it starts and completes
+     *
+     * @param entities the entities
+     * @param write    starts the write
+     * @return the future for the write
+     */
+    ListenableFuture<Void> writeAll(Collection<T> entities, Supplier<ListenableFuture<Void>> write) {
+        List<List<Object>> keys = new ArrayList<>(entities.size());
+        for (T entity : entities) {
+            List<Object> key = keyOf(entity);
+            if (key == null) {
+                // Cannot invalidate by key
+                keys = null;
+                break;
+            }
+            keys.add(key);
+        }
+
+        List<List<Object>> invalidate = keys;
+        Runnable invalidateKeys = () -> {
+            if (invalidate == null) {
+                cache.invalidateAll();
+            } else {
+                cache.invalidateAll(invalidate);
+            }
+        };
+
+        invalidateKeys.run();
+        ListenableFuture<Void> future = write.get();
+        future.addListener(invalidateKeys, MoreExecutors.directExecutor());
+        return future;
+    }
+
+    private ListenableFuture<Void> write(List<Object> key, Supplier<ListenableFuture<Void>> write) {
+        invalidate(key);
+        ListenableFuture<Void> future = write.get();
+        future.addListener(() -> invalidate(key), MoreExecutors.directExecutor());
+        return future;
+    }
+
+    private void invalidate(List<Object> key) {
+        if (key == null) {
+            cache.invalidateAll();
+        } else {
+            cache.invalidate(key);
+        }
+    }
+
+    /**
+     * Reads the primary key of an entity, or returns null if it cannot be read so the whole cache is invalidated
+     */
+    List<Object> keyOf(T entity) {
+        if (primaryKey.isEmpty() || entity == null) {
+            return null;
+        }
+        try {
+            List<Object> key = new ArrayList<>(primaryKey.size());
+            for (KeyColumn column : primaryKey) {
+                key.add(column.get(entity));
+            }
+            return key;
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static List<KeyColumn> primaryKey(Class<?> entityClass) {
+        List<KeyColumn> columns = new ArrayList<>();
+
+        for (Class<?> c = entityClass; c != null && c != Object.class; c = c.getSuperclass()) {
+            for (Field field : c.getDeclaredFields()) {
+                KeyColumn column = KeyColumn.of(field, getter(entityClass, field));
+                if (column != null) {
+                    columns.add(column);
+                }
+            }
+        }
+        for (Method method : entityClass.getMethods()) {
+            if (method.getParameterCount() == 0) {
+                KeyColumn column = KeyColumn.of(method, method);
+                if (column != null) {
+                    columns.add(column);
+                }
+            }
+        }
+
+        columns.sort(Comparator.comparing((KeyColumn column) -> column.clustering)
+                .thenComparingInt(column -> column.position));
+        return columns;
+    }
+
+    private static Method getter(Class<?> entityClass, Field field) {
+        String name = Character.toUpperCase(field.getName().charAt(0)) + field.getName().substring(1);
+        for (String prefix : new String[]{"get", "is"}) {
+            try {
+                return entityClass.getMethod(prefix + name);
+            } catch (NoSuchMethodException e) {
+                // Try the next prefix
+            }
+        }
+        return null;
+    }
+
+    private static class KeyColumn {
+
+        private final boolean clustering;
+        private final int position;
+        private final Field field;
+        private final Method getter;
+
+        private KeyColumn(boolean clustering, int position, Field field, Method getter) {
+            this.clustering = clustering;
+            this.position = position;
+            this.field = field;
+            this.getter = getter;
+        }
+
+        private static KeyColumn of(AccessibleObject member, Method getter) {
+            PartitionKey partitionKey = member.getAnnotation(PartitionKey.class);
+            ClusteringColumn clusteringColumn = member.getAnnotation(ClusteringColumn.class);
+            if (partitionKey == null && clusteringColumn == null) {
+                return null;
+            }
+
+            Field field = null;
+            if (getter == null) {
+                field = (Field) member;
+                field.setAccessible(true);
+            } else {
+                getter.setAccessible(true);
+            }
+            return partitionKey != null
+                    ? new KeyColumn(false, partitionKey.value(), field, getter)
+                    : new KeyColumn(true, clusteringColumn.value(), field, getter);
+        }
+
+        private Object get(Object entity) throws ReflectiveOperationException {
+            return getter != null ? getter.invoke(entity) : field.get(entity);
+        }
+    }
+
+}
@@ -0,0 +1,115 @@
+package com.englishtown.vertx.cassandra.mapping.impl;
+
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.Row;
+import com.datastax.driver.mapping.Mapper;
+import com.englishtown.vertx.cassandra.CassandraReadStream;
+import com.englishtown.vertx.cassandra.mapping.EntityCodec;
+import io.vertx.core.Handler;
+
+/**
+ * {@link CassandraReadStream} that maps the rows of a query to entities as they are emitted.
+ * <p>
+ * Paging, back-pressure and prefetching are those of the row stream, so only the current page is held in memory.
+ * {@link Mapper#map(ResultSet)} fetches the next page synchronously when its result set is exhausted, so each row is
+ * mapped through a {@link RowResultSet}, or decoded by the entity's generated {@link EntityCodec} when there is one.
+ * If a row cannot be mapped the stream is paused and the failure is passed to the exception handler.
+ */
+public class EntityReadStream<T> implements CassandraReadStream<T> {
+
+    private final CassandraReadStream<Row> rows;
+    private final Mapper<T> mapper;
+    private final EntityCodec<T> codec;
+    private final RowResultSet resultSet = new RowResultSet();
+    private Handler<Throwable> exceptionHandler;
+
+    public EntityReadStream(CassandraReadStream<Row> rows, Mapper<T> mapper) {
+        this(rows, mapper, null);
+    }
+
+    public EntityReadStream(CassandraReadStream<Row> rows, Mapper<T> mapper, EntityCodec<T> codec) {
+        this.rows = rows;
+        this.mapper = mapper;
+        this.codec = codec;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CassandraReadStream<T> exceptionHandler(Handler<Throwable> handler) {
+        exceptionHandler = handler;
+        rows.exceptionHandler(handler);
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CassandraReadStream<T> handler(Handler<T> handler) {
+        if (handler == null) {
+            rows.handler(null);
+            return this;
+        }
+
+        rows.handler(row -> {
+            T entity;
+            try {
+                entity = map(row);
+            } catch (RuntimeException e) {
+                rows.pause();
+                if (exceptionHandler != null) {
+                    exceptionHandler.handle(e);
+                }
+                return;
+            }
+            handler.handle(entity);
+        });
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CassandraReadStream<T> pause() {
+        rows.pause();
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CassandraReadStream<T> resume() {
+        rows.resume();
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CassandraReadStream<T> endHandler(Handler<Void> endHandler) {
+        rows.endHandler(endHandler);
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CassandraReadStream<T> fetch(long amount) {
+        rows.fetch(amount);
+        return this;
+    }
+
+    private T map(Row row) {
+        if (codec != null) {
+            return codec.decode(row);
+        }
+        return mapper.map(resultSet.reset(row)).one();
+    }
+
+}
@@ -0,0 +1,249 @@
+package com.englishtown.vertx.cassandra.mapping.impl;
+
+import com.datastax.driver.core.*;
+import com.datastax.driver.mapping.Mapper;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
+import io.vertx.core.Vertx;
+
+import java.nio.ByteBuffer;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Runs the multiple entity operations of the vert.x mappers.
+ * <p>
+ * Gets run with at most {@link #MAX_CONCURRENCY} in flight.  Writes are bound with the mapper's query methods, or the
+ * entity's generated codec, on a worker thread, as both prepare their statements synchronously on first use, grouped
+ * into unlogged batches of up to {@link #MAX_BATCH_SIZE} statements for the same partition, and executed with at most
+ * {@link #MAX_CONCURRENCY} in flight.  The returned futures complete once, when every operation has succeeded or the
+ * first one has failed.
+ */
+public class MapperBatch<T> {
+
+    public static final int MAX_CONCURRENCY = 32;
+    public static final int MAX_BATCH_SIZE = 50;
+
+    private final Mapper<T> mapper;
+    private final CodecMapper<T> codecMapper;
+    private final EntityCache<T> cache;
+    private final Vertx vertx;
+
+    public MapperBatch(Mapper<T> mapper, EntityCache<T> cache, Vertx vertx) {
+        this(mapper, null, cache, vertx);
+    }
+
+    public MapperBatch(Mapper<T> mapper, CodecMapper<T> codecMapper, EntityCache<T> cache, Vertx vertx) {
+        this.mapper = mapper;
+        this.codecMapper = codecMapper;
+        this.cache = cache;
+        this.vertx = vertx;
+    }
+
+    /**
+     * Gets the entities for a list of primary keys
+     *
+     * @param primaryKeys the primary key values of each entity
+     * @return the future for the entities, in the order of the keys with null for keys that do not exist
+     */
+    public ListenableFuture<List<T>> getAll(List<Object[]> primaryKeys) {
+        List<Supplier<ListenableFuture<T>>> gets = new ArrayList<>(primaryKeys.size());
+        for (Object[] primaryKey : primaryKeys) {
+            gets.add(() -> cache != null ? cache.get(primaryKey) : get(primaryKey));
+        }
+        return new FanOut<>(gets).start();
+    }
+
+    /**
+     * Saves the entities
+     *
+     * @param entities the entities
+     * @return the future for the saves
+     */
+    public ListenableFuture<Void> saveAll(Collection<T> entities) {
+        return write(entities,
+                entity -> codecMapper == null ? mapper.saveQuery(entity) : codecMapper.saveQuery(entity));
+    }
+
+    /**
+     * Deletes the entities
+     *
+     * @param entities the entities
+     * @return the future for the deletes
+     */
+    public ListenableFuture<Void> deleteAll(Collection<T> entities) {
+        return write(entities, entity -> mapper.deleteQuery(entity));
+    }
+
+    private ListenableFuture<T> get(Object[] primaryKey) {
+        return CodecMapper.load(mapper, codecMapper, primaryKey);
+    }
+
+    private ListenableFuture<Void> write(Collection<T> entities, Function<T, Statement> query) {
+        List<T> copy = new ArrayList<>(entities);
+        if (cache == null) {
+            return execute(copy, query);
+        }
+        return cache.writeAll(copy, () -> execute(copy, query));
+    }
+
+    private ListenableFuture<Void> execute(List<T> entities, Function<T, Statement> query) {
+
+        SettableFuture<Void> result = SettableFuture.create();
+        if (entities.isEmpty()) {
+            result.set(null);
+            return result;
+        }
+
+        vertx.<List<Statement>>executeBlocking(future -> future.complete(statements(entities, query)), false, ar -> {
+            if (ar.failed()) {
+                result.setException(ar.cause());
+                return;
+            }
+
+            Session session = mapper.getManager().getSession();
+            List<Supplier<ListenableFuture<ResultSet>>> writes = new ArrayList<>(ar.result().size());
+            for (Statement statement : ar.result()) {
+                writes.add(() -> session.executeAsync(statement));
+            }
+
+            Futures.addCallback(new FanOut<>(writes).start(), new FutureCallback<List<ResultSet>>() {
+                @Override
+                public void onSuccess(List<ResultSet> resultSets) {
+                    result.set(null);
+                }
+
+                @Override
+                public void onFailure(Throwable t) {
+                    result.setException(t);
+                }
+            }, MoreExecutors.directExecutor());
+        });
+
+        return result;
+    }
+
+    /**
+     * Binds the queries and groups the statements for the same partition into batches
+     */
+    List<Statement> statements(List<T> entities, Function<T, Statement> query) {
+
+        Configuration configuration = mapper.getManager().getSession().getCluster().getConfiguration();
+        ProtocolVersion protocolVersion = configuration.getProtocolOptions().getProtocolVersion();
+        CodecRegistry codecRegistry = configuration.getCodecRegistry();
+
+        List<Statement> statements = new ArrayList<>();
+        Map<ByteBuffer, List<Statement>> partitions = new LinkedHashMap<>();
+
+        for (T entity : entities) {
+            Statement statement = query.apply(entity);
+            ByteBuffer routingKey = statement.getRoutingKey(protocolVersion, codecRegistry);
+            if (routingKey == null) {
+                statements.add(statement);
+            } else {
+                partitions.computeIfAbsent(routingKey, k -> new ArrayList<>()).add(statement);
+            }
+        }
+
+        for (List<Statement> partition : partitions.values()) {
+            for (int i = 0; i < partition.size(); i += MAX_BATCH_SIZE) {
+                List<Statement> chunk = partition.subList(i, Math.min(i + MAX_BATCH_SIZE, partition.size()));
+                statements.add(chunk.size() == 1 ? chunk.get(0) : batch(chunk));
+            }
+        }
+
+        return statements;
+    }
+
+    private static Statement batch(List<Statement> statements) {
+        BatchStatement batch = new BatchStatement(BatchStatement.Type.UNLOGGED);
+        batch.addAll(statements);
+
+        // The mapper's consistency option is set on each statement, a batch uses its own
+        ConsistencyLevel consistency = statements.get(0).getConsistencyLevel();
+        if (consistency != null) {
+            batch.setConsistencyLevel(consistency);
+        }
+        return batch;
+    }
+
+    /**
+     * Runs a list of async operations with at most {@link #MAX_CONCURRENCY} in flight
+     */
+    private static class FanOut<R> {
+
+        private final List<Supplier<ListenableFuture<R>>> operations;
+        private final AtomicReferenceArray<R> results;
+        private final SettableFuture<List<R>> result = SettableFuture.create();
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicInteger remaining;
+        // Only one thread starts operations at a time, an operation that completes inline asks it to continue
+        private final AtomicInteger wip = new AtomicInteger();
+        private int next;
+
+        private FanOut(List<Supplier<ListenableFuture<R>>> operations) {
+            this.operations = operations;
+            this.results = new AtomicReferenceArray<>(operations.size());
+            this.remaining = new AtomicInteger(operations.size());
+        }
+
+        private ListenableFuture<List<R>> start() {
+            if (operations.isEmpty()) {
+                result.set(new ArrayList<>());
+            } else {
+                drain();
+            }
+            return result;
+        }
+
+        private void drain() {
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+            do {
+                while (!result.isDone() && next < operations.size() && inFlight.get() < MAX_CONCURRENCY) {
+                    inFlight.incrementAndGet();
+                    run(next++);
+                }
+            } while (wip.decrementAndGet() != 0);
+        }
+
+        private void run(int index) {
+            ListenableFuture<R> future;
+            try {
+                future = operations.get(index).get();
+            } catch (RuntimeException e) {
+                future = Futures.immediateFailedFuture(e);
+            }
+
+            Futures.addCallback(future, new FutureCallback<R>() {
+                @Override
+                public void onSuccess(R value) {
+                    results.set(index, value);
+                    inFlight.decrementAndGet();
+                    if (remaining.decrementAndGet() == 0) {
+                        List<R> list = new ArrayList<>(results.length());
+                        for (int i = 0; i < results.length(); i++) {
+                            list.add(results.get(i));
+                        }
+                        result.set(list);
+                    } else {
+                        drain();
+                    }
+                }
+
+                @Override
+                public void onFailure(Throwable t) {
+                    result.setException(t);
+                }
+            }, MoreExecutors.directExecutor());
+        }
+    }
+
+}
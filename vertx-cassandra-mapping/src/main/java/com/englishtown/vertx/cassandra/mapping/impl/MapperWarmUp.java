@@ -0,0 +1,181 @@
+package com.englishtown.vertx.cassandra.mapping.impl;
+
+import com.datastax.driver.core.exceptions.DriverInternalError;
+import com.datastax.driver.mapping.Mapper;
+import com.datastax.driver.mapping.MappingManager;
+import com.englishtown.vertx.cassandra.CassandraSession;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.logging.Logger;
+import io.vertx.core.logging.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Builds mappers and prepares their queries on a worker thread, so the first requests do not block the event loop.
+ * <p>
+ * Creating a mapper reads the table metadata, and the mapper prepares each query synchronously the first time it is
+ * used.  Warming up a class creates its mapper and prepares the get, delete and save queries with the mapper's default
+ * options.  The mapper prepares a query before binding the values, so the get and delete queries are bound with null
+ * primary keys and the resulting {@link IllegalArgumentException} is ignored.  The driver throws it as the cause of a
+ * {@link DriverInternalError} because the values are bound once the query is prepared.
+ * <p>
+ * The save query is prepared for all columns, the query used by the driver's default {@code saveNullFields(true)}.  A
+ * mapper that skips null fields prepares a query for each combination of set columns on first use instead.  The save
+ * query is only warmed up for classes with a public no-argument constructor that does not fail.
+ */
+public class MapperWarmUp {
+
+    public static final String CONFIG_CASSANDRA = "cassandra";
+    public static final String CONFIG_MAPPING = "mapping";
+    public static final String CONFIG_WARM_UP = "warm_up";
+
+    private static final Logger logger = LoggerFactory.getLogger(MapperWarmUp.class);
+
+    private final MappingManager mappingManager;
+    private final CassandraSession session;
+    private final List<Handler<AsyncResult<Void>>> onReadyCallbacks = new ArrayList<>();
+    private AsyncResult<Void> readyResult;
+
+    public MapperWarmUp(MappingManager mappingManager, CassandraSession session) {
+        this.mappingManager = mappingManager;
+        this.session = session;
+    }
+
+    /**
+     * Warms up the entity classes listed in the {@code cassandra.mapping.warm_up} config of the current verticle, and
+     * runs the {@link #onReady(Handler)} callbacks once they are warmed up and the session is ready
+     */
+    public void start() {
+        List<Class<?>> classes;
+        try {
+            classes = getConfiguredClasses(getConfig(session.getVertx()));
+        } catch (ClassNotFoundException e) {
+            ready(Future.failedFuture(e));
+            return;
+        }
+
+        if (classes.isEmpty()) {
+            session.onReady(this::ready);
+        } else {
+            warmUp(classes, this::ready);
+        }
+    }
+
+    /**
+     * Callback for when the session is ready and the configured classes are warmed up
+     *
+     * @param callback the callback
+     */
+    public void onReady(Handler<AsyncResult<Void>> callback) {
+        if (readyResult != null) {
+            callback.handle(readyResult);
+        } else {
+            onReadyCallbacks.add(callback);
+        }
+    }
+
+    /**
+     * Warms up the mappers of the entity classes once the session is ready
+     *
+     * @param classes  the entity classes
+     * @param callback called once all classes are warmed up, or with the first failure
+     */
+    public void warmUp(List<Class<?>> classes, Handler<AsyncResult<Void>> callback) {
+        session.onReady(result -> {
+            if (result.failed()) {
+                callback.handle(result);
+                return;
+            }
+            session.getVertx().<Void>executeBlocking(future -> {
+                try {
+                    for (Class<?> klass : classes) {
+                        prepare(klass);
+                    }
+                    future.complete();
+                } catch (Exception e) {
+                    future.fail(e);
+                }
+            }, false, callback);
+        });
+    }
+
+    <T> void prepare(Class<T> klass) throws Exception {
+        Mapper<T> mapper = mappingManager.mapper(klass);
+        int primaryKeySize = mapper.getTableMetadata().getPrimaryKey().size();
+
+        prepareWithNullKey(() -> mapper.getQuery(new Object[primaryKeySize]));
+        prepareWithNullKey(() -> mapper.deleteQuery(new Object[primaryKeySize]));
+
+        T entity;
+        try {
+            entity = klass.newInstance();
+        } catch (Exception e) {
+            // Nothing to bind, the save query is prepared on first use
+            logger.debug("Skipping the save query warm up of " + klass.getName(), e);
+            return;
+        }
+        try {
+            mapper.saveQuery(entity, Mapper.Option.saveNullFields(true));
+        } catch (IllegalArgumentException e) {
+            // The save query is prepared before the values are bound
+        }
+    }
+
+    private static void prepareWithNullKey(Runnable query) {
+        try {
+            query.run();
+        } catch (IllegalArgumentException e) {
+            // Expected, the query is prepared before the null primary key is rejected
+        } catch (DriverInternalError e) {
+            if (!(e.getCause() instanceof IllegalArgumentException)) {
+                throw e;
+            }
+        }
+    }
+
+    private void ready(AsyncResult<Void> result) {
+        readyResult = result;
+        onReadyCallbacks.forEach(handler -> handler.handle(result));
+        onReadyCallbacks.clear();
+    }
+
+    private static JsonObject getConfig(Vertx vertx) {
+        Context context = vertx == null ? null : vertx.getOrCreateContext();
+        JsonObject config = context == null ? null : context.config();
+        return config == null ? new JsonObject() : config.getJsonObject(CONFIG_CASSANDRA, new JsonObject());
+    }
+
+    /**
+     * Loads the entity classes listed in the {@code mapping.warm_up} array of the cassandra config
+     *
+     * @param config the cassandra config
+     * @return the entity classes
+     * @throws ClassNotFoundException if a class cannot be loaded
+     */
+    static List<Class<?>> getConfiguredClasses(JsonObject config) throws ClassNotFoundException {
+        JsonObject mapping = config.getJsonObject(CONFIG_MAPPING);
+        JsonArray warmUp = mapping == null ? null : mapping.getJsonArray(CONFIG_WARM_UP);
+        if (warmUp == null || warmUp.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        if (classLoader == null) {
+            classLoader = MapperWarmUp.class.getClassLoader();
+        }
+        List<Class<?>> classes = new ArrayList<>(warmUp.size());
+        for (int i = 0; i < warmUp.size(); i++) {
+            classes.add(Class.forName(warmUp.getString(i), true, classLoader));
+        }
+        return classes;
+    }
+
+}
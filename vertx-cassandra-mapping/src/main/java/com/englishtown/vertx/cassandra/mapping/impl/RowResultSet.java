@@ -0,0 +1,110 @@
+package com.englishtown.vertx.cassandra.mapping.impl;
+
+import com.datastax.driver.core.ColumnDefinitions;
+import com.datastax.driver.core.ExecutionInfo;
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.Row;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Fully fetched {@link ResultSet} over a single row, to map rows one at a time with
+ * {@link com.datastax.driver.mapping.Mapper#map(ResultSet)}
+ */
+public class RowResultSet implements ResultSet {
+
+    private ColumnDefinitions columnDefinitions;
+    private Row row;
+
+    /**
+     * Resets the result set to return a row
+     *
+     * @param row the row
+     * @return this result set
+     */
+    public RowResultSet reset(Row row) {
+        this.row = row;
+        this.columnDefinitions = row.getColumnDefinitions();
+        return this;
+    }
+
+    @Override
+    public ColumnDefinitions getColumnDefinitions() {
+        return columnDefinitions;
+    }
+
+    @Override
+    public boolean wasApplied() {
+        return true;
+    }
+
+    @Override
+    public boolean isExhausted() {
+        return row == null;
+    }
+
+    @Override
+    public boolean isFullyFetched() {
+        return true;
+    }
+
+    @Override
+    public int getAvailableWithoutFetching() {
+        return row == null ? 0 : 1;
+    }
+
+    @Override
+    public ListenableFuture<ResultSet> fetchMoreResults() {
+        return Futures.<ResultSet>immediateFuture(this);
+    }
+
+    @Override
+    public Row one() {
+        Row one = row;
+        row = null;
+        return one;
+    }
+
+    @Override
+    public List<Row> all() {
+        List<Row> all = new ArrayList<>(1);
+        if (row != null) {
+            all.add(one());
+        }
+        return all;
+    }
+
+    @Override
+    public Iterator<Row> iterator() {
+        return new Iterator<Row>() {
+            @Override
+            public boolean hasNext() {
+                return !isExhausted();
+            }
+
+            @Override
+            public Row next() {
+                if (isExhausted()) {
+                    throw new NoSuchElementException();
+                }
+                return one();
+            }
+        };
+    }
+
+    @Override
+    public ExecutionInfo getExecutionInfo() {
+        return null;
+    }
+
+    @Override
+    public List<ExecutionInfo> getAllExecutionInfo() {
+        return Collections.emptyList();
+    }
+}
@@ -0,0 +1,510 @@
+package com.englishtown.vertx.cassandra.mapping.processor;
+
+import com.datastax.driver.core.ConsistencyLevel;
+import com.datastax.driver.mapping.annotations.ClusteringColumn;
+import com.datastax.driver.mapping.annotations.Column;
+import com.datastax.driver.mapping.annotations.PartitionKey;
+import com.datastax.driver.mapping.annotations.Table;
+import com.datastax.driver.mapping.annotations.Transient;
+import com.englishtown.vertx.cassandra.mapping.EntityCodec;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import java.beans.Introspector;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Generates an {@link EntityCodec} for each class annotated with {@link Table}, so the vert.x mappers read and write
+ * the entity's columns without reflection.
+ * <p>
+ * Properties are the non-static, non-transient fields of the class and its superclasses, read and written with their
+ * getters and setters or directly when those are not accessible, and named like the driver's mapper names them.  A
+ * class is left to the reflective mapper, with a note, if the codec cannot map it the same way: when mapping
+ * annotations are on its methods, it has getter and setter pairs without a field, or a property uses a custom codec, a
+ * user defined type, an enum or another mapping annotation such as {@code @Frozen} or {@code @Computed}.
+ * <p>
+ * The processor is not registered as a service, so it only runs when named with the {@code -processor} compiler option
+ * or in the {@code annotationProcessors} of the maven compiler plugin.
+ */
+@SupportedAnnotationTypes("com.datastax.driver.mapping.annotations.Table")
+public class EntityCodecProcessor extends AbstractProcessor {
+
+    private static final String MAPPING_ANNOTATIONS = "com.datastax.driver.mapping.annotations.";
+    private static final String UDT_ANNOTATION = MAPPING_ANNOTATIONS + "UDT";
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (Element element : roundEnv.getElementsAnnotatedWith(Table.class)) {
+            if (element.getKind() != ElementKind.CLASS) {
+                continue;
+            }
+            TypeElement entity = (TypeElement) element;
+            try {
+                write(entity, properties(entity));
+            } catch (UnsupportedEntityException e) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE, "No " + EntityCodec.CLASS_SUFFIX
+                        + " generated for " + entity.getQualifiedName() + ", " + e.getMessage(), entity);
+            } catch (IOException e) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Could not write the "
+                        + EntityCodec.CLASS_SUFFIX + " of " + entity.getQualifiedName() + ": " + e, entity);
+            }
+        }
+        // Leave @Table to other processors
+        return false;
+    }
+
+    private List<Property> properties(TypeElement entity) throws UnsupportedEntityException {
+
+        checkEntity(entity);
+
+        // Fields of the class shadow those of its superclasses, as they do for the driver's mapper
+        Map<String, VariableElement> fields = new LinkedHashMap<>();
+        Set<String> fieldNames = new HashSet<>();
+        Set<String> getters = new HashSet<>();
+        Set<String> setters = new HashSet<>();
+        for (TypeElement type = entity; type != null; type = superclass(type)) {
+            for (VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+                fieldNames.add(field.getSimpleName().toString());
+                Set<Modifier> modifiers = field.getModifiers();
+                if (!modifiers.contains(Modifier.STATIC) && !modifiers.contains(Modifier.TRANSIENT)
+                        && field.getAnnotation(Transient.class) == null) {
+                    fields.putIfAbsent(field.getSimpleName().toString(), field);
+                }
+            }
+            for (ExecutableElement method : ElementFilter.methodsIn(type.getEnclosedElements())) {
+                if (hasMappingAnnotation(method)) {
+                    throw new UnsupportedEntityException("mapping annotations on methods are not supported");
+                }
+                addAccessor(method, getters, setters);
+            }
+        }
+
+        // The driver's mapper also maps getter and setter pairs that have no field
+        for (String getter : getters) {
+            if (setters.contains(getter) && !fieldNames.contains(getter)) {
+                throw new UnsupportedEntityException(getter + " is a property without a field");
+            }
+        }
+
+        List<Property> properties = new ArrayList<>(fields.size());
+        for (VariableElement field : fields.values()) {
+            properties.add(property(entity, field));
+        }
+
+        // The primary key comes first, partition key then clustering columns
+        properties.sort(Comparator.comparingInt((Property property) -> property.keyOrder)
+                .thenComparingInt(property -> property.keyPosition));
+
+        if (properties.isEmpty() || properties.get(0).keyOrder != Property.PARTITION_KEY) {
+            throw new UnsupportedEntityException("it has no @PartitionKey");
+        }
+        return properties;
+    }
+
+    /**
+     * Adds the bean property name of a public getter or setter, named the way {@link Introspector} names them
+     */
+    private static void addAccessor(ExecutableElement method, Set<String> getters, Set<String> setters) {
+        Set<Modifier> modifiers = method.getModifiers();
+        if (!modifiers.contains(Modifier.PUBLIC) || modifiers.contains(Modifier.STATIC)) {
+            return;
+        }
+        String name = method.getSimpleName().toString();
+        int parameters = method.getParameters().size();
+        if (parameters == 0 && name.startsWith("get") && name.length() > 3
+                && method.getReturnType().getKind() != TypeKind.VOID) {
+            getters.add(Introspector.decapitalize(name.substring(3)));
+        } else if (parameters == 0 && name.startsWith("is") && name.length() > 2
+                && method.getReturnType().getKind() == TypeKind.BOOLEAN) {
+            getters.add(Introspector.decapitalize(name.substring(2)));
+        } else if (parameters == 1 && name.startsWith("set") && name.length() > 3) {
+            setters.add(Introspector.decapitalize(name.substring(3)));
+        }
+    }
+
+    private void checkEntity(TypeElement entity) throws UnsupportedEntityException {
+        Set<Modifier> modifiers = entity.getModifiers();
+        if (modifiers.contains(Modifier.ABSTRACT) || !entity.getTypeParameters().isEmpty()) {
+            throw new UnsupportedEntityException("it is abstract or generic");
+        }
+        for (Element type = entity; type instanceof TypeElement; type = type.getEnclosingElement()) {
+            if (type.getModifiers().contains(Modifier.PRIVATE)
+                    || (type.getEnclosingElement() instanceof TypeElement
+                    && !type.getModifiers().contains(Modifier.STATIC))) {
+                throw new UnsupportedEntityException("it is private or an inner class");
+            }
+        }
+        boolean constructor = ElementFilter.constructorsIn(entity.getEnclosedElements()).stream()
+                .anyMatch(c -> c.getParameters().isEmpty() && isAccessible(c, entity));
+        if (!constructor) {
+            throw new UnsupportedEntityException("it has no accessible no-arg constructor");
+        }
+    }
+
+    private Property property(TypeElement entity, VariableElement field) throws UnsupportedEntityException {
+
+        String name = field.getSimpleName().toString();
+        for (AnnotationMirror annotation : field.getAnnotationMirrors()) {
+            String annotationName = annotation.getAnnotationType().toString();
+            if (annotationName.startsWith(MAPPING_ANNOTATIONS)
+                    && !annotationName.equals(Column.class.getName())
+                    && !annotationName.equals(PartitionKey.class.getName())
+                    && !annotationName.equals(ClusteringColumn.class.getName())) {
+                throw new UnsupportedEntityException(name + " is annotated with @"
+                        + annotation.getAnnotationType().asElement().getSimpleName());
+            }
+            if (annotationName.equals(Column.class.getName())) {
+                boolean codec = annotation.getElementValues().keySet().stream()
+                        .anyMatch(key -> key.getSimpleName().contentEquals("codec"));
+                if (codec) {
+                    throw new UnsupportedEntityException(name + " has a custom codec");
+                }
+            }
+        }
+
+        Property property = new Property();
+        property.type = field.asType();
+        property.column = columnName(name, field.getAnnotation(Column.class));
+
+        PartitionKey partitionKey = field.getAnnotation(PartitionKey.class);
+        ClusteringColumn clusteringColumn = field.getAnnotation(ClusteringColumn.class);
+        if (partitionKey != null) {
+            property.keyOrder = Property.PARTITION_KEY;
+            property.keyPosition = partitionKey.value();
+        } else if (clusteringColumn != null) {
+            property.keyOrder = Property.CLUSTERING_COLUMN;
+            property.keyPosition = clusteringColumn.value();
+        }
+
+        setAccessors(entity, field, property);
+        setValueType(name, property);
+        return property;
+    }
+
+    private void setAccessors(TypeElement entity, VariableElement field, Property property)
+            throws UnsupportedEntityException {
+
+        String name = field.getSimpleName().toString();
+        String capitalized = Character.toUpperCase(name.charAt(0)) + name.substring(1);
+
+        for (ExecutableElement method : ElementFilter.methodsIn(
+                processingEnv.getElementUtils().getAllMembers(entity))) {
+            if (method.getModifiers().contains(Modifier.STATIC) || !isAccessible(method, entity)) {
+                continue;
+            }
+            String methodName = method.getSimpleName().toString();
+            List<? extends VariableElement> parameters = method.getParameters();
+            if (parameters.isEmpty() && isSameType(method.getReturnType(), property.type)
+                    && (methodName.equals("get" + capitalized)
+                    || (methodName.equals("is" + capitalized) && property.type.getKind() == TypeKind.BOOLEAN))) {
+                property.getter = methodName;
+            } else if (parameters.size() == 1 && isSameType(parameters.get(0).asType(), property.type)
+                    && methodName.equals("set" + capitalized)) {
+                property.setter = methodName;
+            }
+        }
+
+        boolean fieldAccessible = isAccessible(field, entity);
+        if (property.getter == null && !fieldAccessible) {
+            throw new UnsupportedEntityException(name + " has no accessible getter");
+        }
+        if (property.setter == null && (!fieldAccessible || field.getModifiers().contains(Modifier.FINAL))) {
+            throw new UnsupportedEntityException(name + " has no accessible setter");
+        }
+        property.field = name;
+    }
+
+    private void setValueType(String name, Property property) throws UnsupportedEntityException {
+        TypeMirror type = property.type;
+
+        switch (type.getKind()) {
+            case INT:
+                property.primitive = "Int";
+                return;
+            case LONG:
+                property.primitive = "Long";
+                return;
+            case BOOLEAN:
+                property.primitive = "Bool";
+                return;
+            case FLOAT:
+                property.primitive = "Float";
+                return;
+            case DOUBLE:
+                property.primitive = "Double";
+                return;
+            case SHORT:
+                property.primitive = "Short";
+                return;
+            case BYTE:
+                property.primitive = "Byte";
+                return;
+            case DECLARED:
+                break;
+            default:
+                throw new UnsupportedEntityException(name + " has an unsupported type " + type);
+        }
+
+        checkDeclaredType(name, (DeclaredType) type);
+        if (((DeclaredType) type).getTypeArguments().isEmpty()) {
+            property.className = processingEnv.getTypeUtils().erasure(type).toString();
+        } else {
+            property.typeToken = type.toString();
+        }
+    }
+
+    private void checkDeclaredType(String name, DeclaredType type) throws UnsupportedEntityException {
+        TypeElement element = (TypeElement) type.asElement();
+        if (element.getKind() == ElementKind.ENUM) {
+            throw new UnsupportedEntityException(name + " is an enum");
+        }
+        for (AnnotationMirror annotation : element.getAnnotationMirrors()) {
+            if (annotation.getAnnotationType().toString().equals(UDT_ANNOTATION)) {
+                throw new UnsupportedEntityException(name + " is a user defined type");
+            }
+        }
+        if (type.getTypeArguments().isEmpty() && !element.getTypeParameters().isEmpty()) {
+            throw new UnsupportedEntityException(name + " has a raw type");
+        }
+        for (TypeMirror argument : type.getTypeArguments()) {
+            if (argument.getKind() != TypeKind.DECLARED) {
+                throw new UnsupportedEntityException(name + " has an unsupported type argument " + argument);
+            }
+            checkDeclaredType(name, (DeclaredType) argument);
+        }
+    }
+
+    private void write(TypeElement entity, List<Property> properties) throws IOException, UnsupportedEntityException {
+
+        Table table = entity.getAnnotation(Table.class);
+        String readConsistency = consistencyLevel(table.readConsistency());
+        String writeConsistency = consistencyLevel(table.writeConsistency());
+        String keyspace = table.keyspace().isEmpty()
+                ? null
+                : caseSensitive(table.keyspace(), table.caseSensitiveKeyspace());
+        String tableName = caseSensitive(table.name(), table.caseSensitiveTable());
+
+        String packageName = processingEnv.getElementUtils().getPackageOf(entity).getQualifiedName().toString();
+        String binaryName = processingEnv.getElementUtils().getBinaryName(entity).toString();
+        String codecName = (packageName.isEmpty() ? binaryName : binaryName.substring(packageName.length() + 1))
+                + EntityCodec.CLASS_SUFFIX;
+        String entityName = entity.getQualifiedName().toString();
+
+        int primaryKeySize = 0;
+        while (primaryKeySize < properties.size() && properties.get(primaryKeySize).keyOrder != Property.REGULAR) {
+            primaryKeySize++;
+        }
+
+        JavaFileObject file = processingEnv.getFiler().createSourceFile(
+                packageName.isEmpty() ? codecName : packageName + "." + codecName, entity);
+
+        try (Writer writer = file.openWriter(); PrintWriter out = new PrintWriter(writer)) {
+
+            out.println("// Generated by " + EntityCodecProcessor.class.getName() + ", do not edit");
+            if (!packageName.isEmpty()) {
+                out.println("package " + packageName + ";");
+            }
+            out.println();
+            out.println("public final class " + codecName + " implements "
+                    + EntityCodec.class.getName() + "<" + entityName + "> {");
+            out.println();
+
+            out.println("    private static final java.util.List<java.lang.String> COLUMNS =");
+            out.print("            java.util.Collections.unmodifiableList(java.util.Arrays.asList(");
+            for (int i = 0; i < properties.size(); i++) {
+                out.print((i == 0 ? "" : ", ") + literal(properties.get(i).column));
+            }
+            out.println("));");
+            for (int i = 0; i < properties.size(); i++) {
+                String typeToken = properties.get(i).typeToken;
+                if (typeToken != null) {
+                    out.println("    private static final com.google.common.reflect.TypeToken<" + typeToken
+                            + "> TYPE_" + i + " =");
+                    out.println("            new com.google.common.reflect.TypeToken<" + typeToken + ">() {");
+                    out.println("            };");
+                }
+            }
+            out.println();
+
+            writeGetter(out, "java.lang.Class<" + entityName + ">", "getEntityClass", entityName + ".class");
+            writeGetter(out, "java.lang.String", "getKeyspace", keyspace == null ? "null" : literal(keyspace));
+            writeGetter(out, "java.lang.String", "getTable", literal(tableName));
+            writeGetter(out, "java.util.List<java.lang.String>", "getColumns", "COLUMNS");
+            writeGetter(out, "int", "getPrimaryKeySize", String.valueOf(primaryKeySize));
+            writeGetter(out, ConsistencyLevel.class.getName(), "getReadConsistency", readConsistency);
+            writeGetter(out, ConsistencyLevel.class.getName(), "getWriteConsistency", writeConsistency);
+
+            out.println("    @Override");
+            out.println("    public " + entityName + " decode(com.datastax.driver.core.Row row) {");
+            out.println("        com.datastax.driver.core.ColumnDefinitions columns = row.getColumnDefinitions();");
+            out.println("        " + entityName + " entity = new " + entityName + "();");
+            out.println("        int i;");
+            for (int i = 0; i < properties.size(); i++) {
+                Property property = properties.get(i);
+                out.println("        if ((i = columns.getIndexOf(" + literal(property.column) + ")) >= 0) {");
+                out.println("            " + property.write("entity", property.get("row", "i", "TYPE_" + i)) + ";");
+                out.println("        }");
+            }
+            out.println("        return entity;");
+            out.println("    }");
+            out.println();
+
+            out.println("    @Override");
+            out.println("    public void encode(" + entityName + " entity, "
+                    + "com.datastax.driver.core.SettableByIndexData<?> data) {");
+            for (int i = 0; i < properties.size(); i++) {
+                Property property = properties.get(i);
+                out.println("        " + property.set("data", String.valueOf(i), property.read("entity"),
+                        "TYPE_" + i) + ";");
+            }
+            out.println("    }");
+            out.println();
+            out.println("}");
+        }
+    }
+
+    private static void writeGetter(PrintWriter out, String type, String name, String value) {
+        out.println("    @Override");
+        out.println("    public " + type + " " + name + "() {");
+        out.println("        return " + value + ";");
+        out.println("    }");
+        out.println();
+    }
+
+    private boolean hasMappingAnnotation(Element element) {
+        return element.getAnnotationMirrors().stream()
+                .anyMatch(annotation -> annotation.getAnnotationType().toString().startsWith(MAPPING_ANNOTATIONS));
+    }
+
+    private boolean isAccessible(Element member, TypeElement entity) {
+        Set<Modifier> modifiers = member.getModifiers();
+        if (modifiers.contains(Modifier.PRIVATE)) {
+            return false;
+        }
+        if (modifiers.contains(Modifier.PUBLIC)) {
+            return true;
+        }
+        // Package private and protected members are accessible from the same package
+        return processingEnv.getElementUtils().getPackageOf(member)
+                .equals(processingEnv.getElementUtils().getPackageOf(entity));
+    }
+
+    private boolean isSameType(TypeMirror t1, TypeMirror t2) {
+        return processingEnv.getTypeUtils().isSameType(t1, t2);
+    }
+
+    private TypeElement superclass(TypeElement type) {
+        TypeMirror superclass = type.getSuperclass();
+        if (superclass.getKind() != TypeKind.DECLARED) {
+            return null;
+        }
+        TypeElement element = (TypeElement) ((DeclaredType) superclass).asElement();
+        return element.getQualifiedName().contentEquals(Object.class.getName()) ? null : element;
+    }
+
+    private static String columnName(String fieldName, Column column) {
+        String name = column == null || column.name().isEmpty() ? fieldName : column.name();
+        return caseSensitive(name, column != null && column.caseSensitive());
+    }
+
+    private static String caseSensitive(String name, boolean caseSensitive) {
+        return caseSensitive ? "\"" + name + "\"" : name.toLowerCase();
+    }
+
+    private static String consistencyLevel(String name) throws UnsupportedEntityException {
+        if (name.isEmpty()) {
+            return "null";
+        }
+        try {
+            return ConsistencyLevel.class.getName() + "." + ConsistencyLevel.valueOf(name.toUpperCase()).name();
+        } catch (IllegalArgumentException e) {
+            throw new UnsupportedEntityException("its consistency level " + name + " is not valid");
+        }
+    }
+
+    private static String literal(String value) {
+        return "\"" + value.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+    }
+
+    /**
+     * A mapped field and how the generated code reads and writes it
+     */
+    private static class Property {
+
+        private static final int PARTITION_KEY = 0;
+        private static final int CLUSTERING_COLUMN = 1;
+        private static final int REGULAR = 2;
+
+        private int keyOrder = REGULAR;
+        private int keyPosition;
+        private String column;
+        private TypeMirror type;
+        private String field;
+        private String getter;
+        private String setter;
+        // One of the primitive accessor suffix, the class name or the parameterized type
+        private String primitive;
+        private String className;
+        private String typeToken;
+
+        private String read(String entity) {
+            return getter == null ? entity + "." + field : entity + "." + getter + "()";
+        }
+
+        private String write(String entity, String value) {
+            return setter == null ? entity + "." + field + " = " + value : entity + "." + setter + "(" + value + ")";
+        }
+
+        private String get(String row, String index, String typeTokenField) {
+            if (primitive != null) {
+                return row + ".get" + primitive + "(" + index + ")";
+            }
+            return row + ".get(" + index + ", " + (className != null ? className + ".class" : typeTokenField) + ")";
+        }
+
+        private String set(String data, String index, String value, String typeTokenField) {
+            if (primitive != null) {
+                return data + ".set" + primitive + "(" + index + ", " + value + ")";
+            }
+            return data + ".set(" + index + ", " + value + ", "
+                    + (className != null ? className + ".class" : typeTokenField) + ")";
+        }
+    }
+
+    private static class UnsupportedEntityException extends Exception {
+
+        private UnsupportedEntityException(String message) {
+            super(message);
+        }
+    }
+
+}
@@ -1,9 +1,14 @@
 package com.englishtown.vertx.cassandra.mapping.promises;
 
+import com.datastax.driver.core.Statement;
 import com.datastax.driver.mapping.Mapper;
 import com.englishtown.promises.Promise;
+import com.englishtown.vertx.cassandra.CassandraReadStream;
 import com.englishtown.vertx.cassandra.mapping.VertxMapper;
 
+import java.util.Collection;
+import java.util.List;
+
 /**
  * When.java wrapper over {@link VertxMapper}
  */
@@ -19,4 +24,37 @@ public interface WhenVertxMapper<T> {
 
     Promise<T> getAsync(Object... primaryKey);
 
+    /**
+     * Gets several entities, with a bounded number of queries in flight
+     *
+     * @param primaryKeys the primary key values of each entity
+     * @return a promise for the entities in the order of the keys, with null for keys that do not exist
+     */
+    Promise<List<T>> getAllAsync(List<Object[]> primaryKeys);
+
+    /**
+     * Saves several entities in unlogged batches per partition
+     *
+     * @param entities the entities
+     * @return a promise that resolves once all entities are saved
+     */
+    Promise<Void> saveAllAsync(Collection<T> entities);
+
+    /**
+     * Deletes several entities in unlogged batches per partition
+     *
+     * @param entities the entities
+     * @return a promise that resolves once all entities are deleted
+     */
+    Promise<Void> deleteAllAsync(Collection<T> entities);
+
+    /**
+     * Executes a query and streams the rows mapped to entities.  Pages are fetched asynchronously as the stream is
+     * consumed, so only the current page is held in memory.
+     *
+     * @param statement the statement to execute
+     * @return the stream of entities
+     */
+    CassandraReadStream<T> mapStream(Statement statement);
+
 }
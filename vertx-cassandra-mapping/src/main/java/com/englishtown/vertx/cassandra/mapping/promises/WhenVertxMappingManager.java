@@ -1,6 +1,10 @@
 package com.englishtown.vertx.cassandra.mapping.promises;
 
 import com.datastax.driver.mapping.MappingManager;
+import com.englishtown.promises.Promise;
+import com.englishtown.vertx.cassandra.mapping.CachedEntity;
+import com.englishtown.vertx.cassandra.mapping.EntityCacheOptions;
+import com.englishtown.vertx.cassandra.mapping.EntityCodec;
 import com.englishtown.vertx.cassandra.mapping.VertxMappingManager;
 
 /**
@@ -16,7 +20,9 @@ public interface WhenVertxMappingManager {
     MappingManager getMappingManager();
 
     /**
-     * Returns a vert.x wrapped {@link com.datastax.driver.mapping.Mapper}
+     * Returns a vert.x wrapped {@link com.datastax.driver.mapping.Mapper}.  The entity cache is enabled if the class is
+     * annotated with {@link CachedEntity}, and entities are read and written with the class's generated
+     * {@link EntityCodec} when there is one.
      *
      * @param klass
      * @param <T>
@@ -24,5 +30,45 @@ public interface WhenVertxMappingManager {
      */
     <T> WhenVertxMapper<T> mapper(Class<T> klass);
 
+    /**
+     * Returns a vert.x wrapped {@link com.datastax.driver.mapping.Mapper} that caches the entities returned by
+     * {@code getAsync}.  Mappers of the same class share one cache, which is created with the options of the first
+     * mapper that enables it, so writes through any of them invalidate the cached entity.
+     *
+     * @param klass
+     * @param cacheOptions the entity cache options, or null to disable the cache
+     * @param <T>
+     * @return
+     */
+    <T> WhenVertxMapper<T> mapper(Class<T> klass, EntityCacheOptions cacheOptions);
+
+    /**
+     * Returns a vert.x wrapped accessor for an interface annotated with
+     * {@link com.datastax.driver.mapping.annotations.Accessor}.  Methods that return a {@code ListenableFuture} or
+     * {@code ResultSetFuture} complete on the caller's vert.x context.  The accessor's queries are prepared once, when
+     * the first accessor of the class is created, which blocks so accessors should be created when a verticle starts.
+     *
+     * @param klass
+     * @param <T>
+     * @return
+     */
+    <T> T accessor(Class<T> klass);
+
+    /**
+     * Builds the mappers of the entity classes and prepares their get, save and delete queries on a worker thread once
+     * the session is ready, so the first requests do not block the event loop
+     *
+     * @param classes the entity classes
+     * @return a promise that resolves once all classes are warmed up
+     */
+    Promise<Void> warmUp(Class<?>... classes);
+
+    /**
+     * Promise for when the session is ready and the entity classes in the {@code cassandra.mapping.warm_up} config
+     * are warmed up
+     *
+     * @return
+     */
+    Promise<Void> ready();
 
 }
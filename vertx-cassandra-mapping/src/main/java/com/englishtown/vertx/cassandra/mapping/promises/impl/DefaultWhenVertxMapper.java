@@ -1,26 +1,59 @@
 package com.englishtown.vertx.cassandra.mapping.promises.impl;
 
+import com.datastax.driver.core.Statement;
 import com.datastax.driver.mapping.Mapper;
 import com.englishtown.promises.Deferred;
 import com.englishtown.promises.Promise;
 import com.englishtown.promises.When;
+import com.englishtown.vertx.cassandra.CassandraReadStream;
+import com.englishtown.vertx.cassandra.CassandraSession;
 import com.englishtown.vertx.cassandra.FutureUtils;
+import com.englishtown.vertx.cassandra.mapping.EntityCodec;
+import com.englishtown.vertx.cassandra.mapping.impl.CodecMapper;
+import com.englishtown.vertx.cassandra.mapping.impl.EntityCache;
+import com.englishtown.vertx.cassandra.mapping.impl.EntityReadStream;
+import com.englishtown.vertx.cassandra.mapping.impl.MapperBatch;
 import com.englishtown.vertx.cassandra.mapping.promises.WhenVertxMapper;
 import com.google.common.util.concurrent.FutureCallback;
 import com.google.common.util.concurrent.ListenableFuture;
 import io.vertx.core.Vertx;
 
+import java.util.Collection;
+import java.util.List;
+
 /**
  * Default implementation of {@link WhenVertxMapper}
  */
 public class DefaultWhenVertxMapper<T> implements WhenVertxMapper<T> {
 
     private final Mapper<T> mapper;
+    private final CodecMapper<T> codecMapper;
+    private final EntityCache<T> cache;
+    private final MapperBatch<T> batch;
+    private final CassandraSession session;
     private final When when;
     private final Vertx vertx;
 
     public DefaultWhenVertxMapper(Mapper<T> mapper, When when, Vertx vertx) {
+        this(mapper, null, null, null, when, vertx);
+    }
+
+    public DefaultWhenVertxMapper(Mapper<T> mapper, EntityCache<T> cache, When when, CassandraSession session) {
+        this(mapper, null, cache, when, session);
+    }
+
+    public DefaultWhenVertxMapper(Mapper<T> mapper, CodecMapper<T> codecMapper, EntityCache<T> cache, When when,
+                                  CassandraSession session) {
+        this(mapper, codecMapper, cache, session, when, session.getVertx());
+    }
+
+    private DefaultWhenVertxMapper(Mapper<T> mapper, CodecMapper<T> codecMapper, EntityCache<T> cache,
+                                   CassandraSession session, When when, Vertx vertx) {
         this.mapper = mapper;
+        this.codecMapper = codecMapper;
+        this.cache = cache;
+        this.session = session;
+        this.batch = new MapperBatch<>(mapper, codecMapper, cache, vertx);
         this.when = when;
         this.vertx = vertx;
     }
@@ -32,22 +65,52 @@ public class DefaultWhenVertxMapper<T> implements WhenVertxMapper<T> {
 
     @Override
     public Promise<Void> saveAsync(T entity) {
-        return convertFuture(mapper.saveAsync(entity));
+        if (cache != null) {
+            return convertFuture(cache.save(entity));
+        }
+        return convertFuture(codecMapper == null ? mapper.saveAsync(entity) : codecMapper.saveAsync(entity));
     }
 
     @Override
     public Promise<Void> deleteAsync(T entity) {
-        return convertFuture(mapper.deleteAsync(entity));
+        return convertFuture(cache == null ? mapper.deleteAsync(entity) : cache.delete(entity));
     }
 
     @Override
     public Promise<Void> deleteAsync(Object... primaryKey) {
-        return convertFuture(mapper.deleteAsync(primaryKey));
+        return convertFuture(cache == null ? mapper.deleteAsync(primaryKey) : cache.delete(primaryKey));
     }
 
     @Override
     public Promise<T> getAsync(Object... primaryKey) {
-        return convertFuture(mapper.getAsync(primaryKey));
+        if (cache != null) {
+            return convertFuture(cache.get(primaryKey));
+        }
+        return convertFuture(codecMapper == null ? mapper.getAsync(primaryKey) : codecMapper.getAsync(primaryKey));
+    }
+
+    @Override
+    public Promise<List<T>> getAllAsync(List<Object[]> primaryKeys) {
+        return convertFuture(batch.getAll(primaryKeys));
+    }
+
+    @Override
+    public Promise<Void> saveAllAsync(Collection<T> entities) {
+        return convertFuture(batch.saveAll(entities));
+    }
+
+    @Override
+    public Promise<Void> deleteAllAsync(Collection<T> entities) {
+        return convertFuture(batch.deleteAll(entities));
+    }
+
+    @Override
+    public CassandraReadStream<T> mapStream(Statement statement) {
+        if (session == null) {
+            throw new IllegalStateException("Streaming requires a mapper created by a WhenVertxMappingManager");
+        }
+        EntityCodec<T> codec = codecMapper == null ? null : codecMapper.getCodec();
+        return new EntityReadStream<>(session.queryStream(statement), mapper, codec);
     }
 
     private <T> Promise<T> convertFuture(ListenableFuture<T> future) {
@@ -2,12 +2,24 @@ package com.englishtown.vertx.cassandra.mapping.promises.impl;
 
 import com.datastax.driver.mapping.Mapper;
 import com.datastax.driver.mapping.MappingManager;
+import com.englishtown.promises.Deferred;
+import com.englishtown.promises.Promise;
 import com.englishtown.promises.When;
 import com.englishtown.vertx.cassandra.CassandraSession;
+import com.englishtown.vertx.cassandra.mapping.EntityCacheOptions;
+import com.englishtown.vertx.cassandra.mapping.impl.AccessorProxy;
+import com.englishtown.vertx.cassandra.mapping.impl.CodecMapper;
+import com.englishtown.vertx.cassandra.mapping.impl.EntityCache;
+import com.englishtown.vertx.cassandra.mapping.impl.MapperWarmUp;
 import com.englishtown.vertx.cassandra.mapping.promises.WhenVertxMapper;
 import com.englishtown.vertx.cassandra.mapping.promises.WhenVertxMappingManager;
 
+import io.vertx.core.AsyncResult;
+
 import javax.inject.Inject;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * Default implementation of {@link WhenVertxMappingManager}
@@ -17,12 +29,17 @@ public class DefaultWhenVertxMappingManager implements WhenVertxMappingManager {
     private final CassandraSession session;
     private final When when;
     private final MappingManager mappingManager;
+    private final ConcurrentMap<Class<?>, CodecMapper<?>> codecMappers = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Class<?>, EntityCache<?>> caches = new ConcurrentHashMap<>();
+    private final MapperWarmUp warmUp;
 
     @Inject
     public DefaultWhenVertxMappingManager(CassandraSession session, When when) {
         this.session = session;
         this.when = when;
         this.mappingManager = new MappingManager(session);
+        this.warmUp = new MapperWarmUp(mappingManager, session);
+        warmUp.start();
     }
 
     /**
@@ -43,7 +60,71 @@ public class DefaultWhenVertxMappingManager implements WhenVertxMappingManager {
      */
     @Override
     public <T> WhenVertxMapper<T> mapper(Class<T> klass) {
+        return mapper(klass, EntityCache.getOptions(klass));
+    }
+
+    /**
+     * Returns a vert.x wrapped {@link Mapper} with an entity cache
+     *
+     * @param klass
+     * @param cacheOptions
+     * @return
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> WhenVertxMapper<T> mapper(Class<T> klass, EntityCacheOptions cacheOptions) {
         Mapper<T> mapper = getMappingManager().mapper(klass);
-        return new DefaultWhenVertxMapper<>(mapper, when, session.getVertx());
+        CodecMapper<T> codecMapper = (CodecMapper<T>) codecMappers.computeIfAbsent(klass,
+                k -> CodecMapper.create(klass, session));
+        EntityCache<T> cache = cacheOptions == null
+                ? null
+                : (EntityCache<T>) caches.computeIfAbsent(klass,
+                k -> new EntityCache<>(mapper, codecMapper, klass, cacheOptions));
+        return new DefaultWhenVertxMapper<>(mapper, codecMapper, cache, when, session);
+    }
+
+    /**
+     * Returns a vert.x wrapped accessor
+     *
+     * @param klass
+     * @return
+     */
+    @Override
+    public <T> T accessor(Class<T> klass) {
+        T accessor = getMappingManager().createAccessor(klass);
+        return AccessorProxy.create(klass, accessor, session.getVertx());
+    }
+
+    /**
+     * Warms up the mappers of the entity classes
+     *
+     * @param classes
+     * @return
+     */
+    @Override
+    public Promise<Void> warmUp(Class<?>... classes) {
+        Deferred<Void> d = when.defer();
+        warmUp.warmUp(Arrays.asList(classes), result -> resolve(d, result));
+        return d.getPromise();
+    }
+
+    /**
+     * Promise for when the session is ready and the configured entity classes are warmed up
+     *
+     * @return
+     */
+    @Override
+    public Promise<Void> ready() {
+        Deferred<Void> d = when.defer();
+        warmUp.onReady(result -> resolve(d, result));
+        return d.getPromise();
+    }
+
+    private void resolve(Deferred<Void> d, AsyncResult<Void> result) {
+        if (result.succeeded()) {
+            d.resolve((Void) null);
+        } else {
+            d.reject(result.cause());
+        }
     }
 }
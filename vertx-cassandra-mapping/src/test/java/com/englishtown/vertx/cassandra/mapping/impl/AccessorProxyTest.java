@@ -0,0 +1,171 @@
+package com.englishtown.vertx.cassandra.mapping.impl;
+
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.ResultSetFuture;
+import com.datastax.driver.mapping.Result;
+import com.englishtown.vertx.cassandra.mapping.integration.TestEntity;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
+import io.vertx.core.Context;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for {@link AccessorProxy}
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class AccessorProxyTest {
+
+    private TestAccessor proxy;
+    private List<Handler<Void>> scheduled = new ArrayList<>();
+
+    @Mock
+    private TestAccessor accessor;
+    @Mock
+    private Vertx vertx;
+    @Mock
+    private Context context;
+    @Mock
+    private Result<TestEntity> result;
+    @Mock
+    private ResultSet resultSet;
+    @Mock
+    private ResultSetFuture resultSetFuture;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setUp() throws Exception {
+
+        when(vertx.getOrCreateContext()).thenReturn(context);
+        doAnswer(invocation -> {
+            scheduled.add((Handler<Void>) invocation.getArguments()[0]);
+            return null;
+        }).when(context).runOnContext(any(Handler.class));
+
+        proxy = AccessorProxy.create(TestAccessor.class, accessor, vertx);
+
+    }
+
+    private void runScheduled() {
+        for (Handler<Void> handler : scheduled) {
+            handler.handle(null);
+        }
+        scheduled.clear();
+    }
+
+    @Test
+    public void testListenableFuture() throws Exception {
+
+        SettableFuture<Result<TestEntity>> future = SettableFuture.create();
+        when(accessor.getAllAsync("1")).thenReturn(future);
+
+        ListenableFuture<Result<TestEntity>> contextFuture = proxy.getAllAsync("1");
+        assertNotSame(future, contextFuture);
+
+        List<Result<TestEntity>> results = new ArrayList<>();
+        contextFuture.addListener(() -> results.add(Futures.getUnchecked(contextFuture)),
+                MoreExecutors.directExecutor());
+
+        // Completed by the driver, but the listener does not run until it is on the context
+        future.set(result);
+        assertSame(result, contextFuture.get());
+        assertTrue(results.isEmpty());
+
+        runScheduled();
+        assertEquals(Collections.singletonList(result), results);
+
+    }
+
+    @Test
+    public void testResultSetFuture() throws Exception {
+
+        when(accessor.executeAsync("1")).thenReturn(resultSetFuture);
+        when(resultSetFuture.getUninterruptibly()).thenReturn(resultSet);
+
+        ResultSetFuture contextFuture = proxy.executeAsync("1");
+        assertSame(resultSet, contextFuture.getUninterruptibly());
+        assertTrue(scheduled.isEmpty());
+
+    }
+
+    @Test
+    public void testGet_On_Context() throws Exception {
+
+        Vertx vertx = Vertx.vertx();
+        try {
+            SettableFuture<Result<TestEntity>> future = SettableFuture.create();
+            when(accessor.getAllAsync("1")).thenReturn(future);
+            TestAccessor proxy = AccessorProxy.create(TestAccessor.class, accessor, vertx);
+
+            CompletableFuture<Result<TestEntity>> got = new CompletableFuture<>();
+            CompletableFuture<Boolean> onContext = new CompletableFuture<>();
+            vertx.runOnContext(aVoid -> {
+                Context context = Vertx.currentContext();
+                ListenableFuture<Result<TestEntity>> contextFuture = proxy.getAllAsync("1");
+                contextFuture.addListener(() -> onContext.complete(Vertx.currentContext() == context),
+                        MoreExecutors.directExecutor());
+
+                // A blocking get on the context thread does not wait for the context
+                future.set(result);
+                try {
+                    got.complete(contextFuture.get(5, TimeUnit.SECONDS));
+                } catch (Exception e) {
+                    got.completeExceptionally(e);
+                }
+            });
+
+            assertSame(result, got.get(10, TimeUnit.SECONDS));
+            assertTrue(onContext.get(10, TimeUnit.SECONDS));
+        } finally {
+            vertx.close();
+        }
+
+    }
+
+    @Test
+    public void testSync() throws Exception {
+
+        when(accessor.getAll("1")).thenReturn(result);
+        assertSame(result, proxy.getAll("1"));
+        assertTrue(scheduled.isEmpty());
+
+    }
+
+    @Test
+    public void testObjectMethods() throws Exception {
+
+        assertTrue(proxy.equals(proxy));
+        assertFalse(proxy.equals(accessor));
+        assertEquals(System.identityHashCode(proxy), proxy.hashCode());
+        assertNotNull(proxy.toString());
+
+    }
+
+    public interface TestAccessor {
+
+        ListenableFuture<Result<TestEntity>> getAllAsync(String id);
+
+        ResultSetFuture executeAsync(String id);
+
+        Result<TestEntity> getAll(String id);
+
+    }
+
+}
@@ -0,0 +1,262 @@
+package com.englishtown.vertx.cassandra.mapping.impl;
+
+import com.datastax.driver.core.BoundStatement;
+import com.datastax.driver.core.ColumnDefinitions;
+import com.datastax.driver.core.ConsistencyLevel;
+import com.datastax.driver.core.PreparedStatement;
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.ResultSetFuture;
+import com.datastax.driver.core.Row;
+import com.datastax.driver.core.Session;
+import com.datastax.driver.core.SettableByIndexData;
+import com.datastax.driver.mapping.Mapper;
+import com.englishtown.vertx.cassandra.integration.IntegrationTestBase;
+import com.englishtown.vertx.cassandra.mapping.EntityCodec;
+import com.englishtown.vertx.cassandra.mapping.integration.TestEntity;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Matchers;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import java.util.Arrays;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.Assert.*;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for {@link CodecMapper} and the codec generated for {@link TestEntity}
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class CodecMapperTest {
+
+    private static final String SELECT = "SELECT id,prop1,prop2 FROM " + IntegrationTestBase.TEST_KEYSPACE
+            + ".test_entity WHERE id=?;";
+    private static final String INSERT = "INSERT INTO " + IntegrationTestBase.TEST_KEYSPACE
+            + ".test_entity (id,prop1,prop2) VALUES (?,?,?);";
+
+    private CodecMapper<TestEntity> codecMapper;
+    private EntityCodec<TestEntity> codec;
+
+    @Mock
+    private Session session;
+    @Mock
+    private Mapper<TestEntity> rawMapper;
+    @Mock
+    private PreparedStatement prepared;
+    @Mock
+    private BoundStatement bound;
+    @Mock
+    private ResultSetFuture resultSetFuture;
+    @Mock
+    private ResultSet resultSet;
+    @Mock
+    private Row row;
+    @Mock
+    private ColumnDefinitions columnDefinitions;
+    @Mock
+    private SettableByIndexData data;
+
+    @Before
+    public void setUp() throws Exception {
+
+        when(session.prepareAsync(anyString())).thenReturn(Futures.immediateFuture(prepared));
+        when(prepared.bind()).thenReturn(bound);
+        when(prepared.bind(Matchers.<Object>anyVararg())).thenReturn(bound);
+        when(session.executeAsync(bound)).thenReturn(resultSetFuture);
+
+        when(resultSetFuture.isDone()).thenReturn(true);
+        when(resultSetFuture.get()).thenReturn(resultSet);
+        when(resultSetFuture.getUninterruptibly()).thenReturn(resultSet);
+        doAnswer(invocation -> {
+            ((Runnable) invocation.getArguments()[0]).run();
+            return null;
+        }).when(resultSetFuture).addListener(any(Runnable.class), any());
+
+        when(row.getColumnDefinitions()).thenReturn(columnDefinitions);
+        when(columnDefinitions.getIndexOf(anyString())).thenReturn(-1);
+        when(columnDefinitions.getIndexOf("id")).thenReturn(0);
+        when(columnDefinitions.getIndexOf("prop2")).thenReturn(1);
+        when(row.get(0, String.class)).thenReturn("1");
+        when(row.get(1, Integer.class)).thenReturn(2);
+
+        codecMapper = CodecMapper.create(TestEntity.class, session);
+        assertNotNull(codecMapper);
+        codec = codecMapper.getCodec();
+
+    }
+
+    @Test
+    public void testFindCodec() throws Exception {
+
+        assertSame(TestEntity.class, codec.getEntityClass());
+        assertEquals(IntegrationTestBase.TEST_KEYSPACE, codec.getKeyspace());
+        assertEquals(TestEntity.TABLE_NAME, codec.getTable());
+        assertEquals(Arrays.asList("id", "prop1", "prop2"), codec.getColumns());
+        assertEquals(1, codec.getPrimaryKeySize());
+        assertNull(codec.getReadConsistency());
+        assertNull(codec.getWriteConsistency());
+
+        assertSame(codec, CodecMapper.findCodec(TestEntity.class));
+        assertNull(CodecMapper.findCodec(CodecMapperTest.class));
+        assertNull(CodecMapper.create(CodecMapperTest.class, session));
+
+    }
+
+    @Test
+    public void testDecode() throws Exception {
+
+        TestEntity entity = codec.decode(row);
+
+        assertEquals("1", entity.getId());
+        assertNull(entity.getProp1());
+        assertEquals(Integer.valueOf(2), entity.getProp2());
+
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testEncode() throws Exception {
+
+        TestEntity entity = new TestEntity();
+        entity.setId("1");
+        entity.setProp2(2);
+
+        codec.encode(entity, data);
+
+        verify(data).set(0, "1", String.class);
+        verify(data).set(1, null, String.class);
+        verify(data).set(2, 2, Integer.class);
+
+    }
+
+    @Test
+    public void testQueries() throws Exception {
+
+        assertEquals(SELECT, CodecMapper.selectQuery(codec));
+        assertEquals(INSERT, CodecMapper.insertQuery(codec));
+
+    }
+
+    @Test
+    public void testGetAsync() throws Exception {
+
+        when(resultSet.one()).thenReturn(row);
+
+        TestEntity entity = codecMapper.getAsync("1").get();
+        assertEquals("1", entity.getId());
+
+        when(resultSet.one()).thenReturn(null);
+        assertNull(codecMapper.getAsync("2").get());
+
+        // Prepared once
+        verify(session).prepareAsync(SELECT);
+        verify(prepared).bind("1");
+        verify(prepared).bind("2");
+
+    }
+
+    @Test
+    public void testGetAsync_Null_Key() throws Exception {
+        assertInvalidKey(codecMapper.getAsync((Object) null));
+    }
+
+    @Test
+    public void testGetAsync_Invalid_Key() throws Exception {
+        assertInvalidKey(codecMapper.getAsync("1", "2"));
+    }
+
+    private void assertInvalidKey(ListenableFuture<TestEntity> future) throws Exception {
+        try {
+            future.get();
+            fail();
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof IllegalArgumentException);
+        }
+        verify(session, never()).prepareAsync(anyString());
+    }
+
+    @Test
+    public void testLoad() throws Exception {
+
+        when(resultSet.one()).thenReturn(row);
+
+        assertEquals("1", CodecMapper.load(rawMapper, codecMapper, "1").get().getId());
+        verify(rawMapper, never()).getAsync(Matchers.<Object>anyVararg());
+
+    }
+
+    @Test
+    public void testLoad_Options() throws Exception {
+
+        // Only the driver mapper applies the options
+        Mapper.Option option = Mapper.Option.consistencyLevel(ConsistencyLevel.QUORUM);
+        when(rawMapper.getAsync("1", option)).thenReturn(Futures.immediateFuture(null));
+
+        assertNull(CodecMapper.load(rawMapper, codecMapper, "1", option).get());
+        verify(rawMapper).getAsync("1", option);
+        verify(session, never()).prepareAsync(anyString());
+
+    }
+
+    @Test
+    public void testLoad_No_Codec_Mapper() throws Exception {
+
+        IllegalArgumentException e = new IllegalArgumentException("Unit test exception");
+        when(rawMapper.getAsync("1")).thenThrow(e);
+
+        ListenableFuture<TestEntity> future = CodecMapper.load(rawMapper, null, "1");
+        try {
+            future.get();
+            fail();
+        } catch (ExecutionException ex) {
+            assertSame(e, ex.getCause());
+        }
+
+    }
+
+    @Test
+    public void testGetAsync_Prepare_Failed() throws Exception {
+
+        RuntimeException e = new RuntimeException("Unit test exception");
+        when(session.prepareAsync(anyString()))
+                .thenReturn(Futures.immediateFailedFuture(e))
+                .thenReturn(Futures.immediateFuture(prepared));
+        when(resultSet.one()).thenReturn(row);
+
+        ListenableFuture<TestEntity> future = codecMapper.getAsync("1");
+        try {
+            future.get();
+            fail();
+        } catch (ExecutionException ex) {
+            assertSame(e, ex.getCause());
+        }
+
+        // Prepared again
+        assertEquals("1", codecMapper.getAsync("1").get().getId());
+        verify(session, times(2)).prepareAsync(SELECT);
+
+    }
+
+    @Test
+    public void testSaveAsync() throws Exception {
+
+        TestEntity entity = new TestEntity();
+        entity.setId("1");
+
+        assertNull(codecMapper.saveAsync(entity).get());
+        assertSame(bound, codecMapper.saveQuery(entity));
+
+        verify(session).prepareAsync(INSERT);
+        verify(bound, times(2)).set(0, "1", String.class);
+        verify(session).executeAsync(bound);
+
+    }
+
+}
@@ -1,6 +1,8 @@
 package com.englishtown.vertx.cassandra.mapping.impl;
 
 import com.datastax.driver.mapping.Mapper;
+import com.englishtown.vertx.cassandra.CassandraSession;
+import com.englishtown.vertx.cassandra.mapping.EntityCacheOptions;
 import com.englishtown.vertx.cassandra.mapping.integration.TestEntity;
 import com.google.common.util.concurrent.FutureCallback;
 import com.google.common.util.concurrent.ListenableFuture;
@@ -12,9 +14,13 @@ import org.mockito.Matchers;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 
+import java.util.Collections;
+import java.util.List;
+
 import static org.junit.Assert.*;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -32,10 +38,14 @@ public class DefaultVertxMapperTest {
     @Mock
     private Vertx vertx;
     @Mock
+    private CassandraSession session;
+    @Mock
     private FutureCallback<Void> voidCallback;
     @Mock
     private FutureCallback<TestEntity> entityCallback;
     @Mock
+    private FutureCallback<List<TestEntity>> entitiesCallback;
+    @Mock
     private ListenableFuture<Void> voidFuture;
     @Mock
     private ListenableFuture<TestEntity> entityFuture;
@@ -100,4 +110,35 @@ public class DefaultVertxMapperTest {
 
     }
 
-}
\ No newline at end of file
+    @Test
+    public void testGetAllAsync() throws Exception {
+
+        Object key1 = new Object();
+        Object key2 = new Object();
+
+        mapper.getAllAsync(Collections.singletonList(new Object[]{key1, key2}), entitiesCallback);
+        verify(rawMapper).getAsync(eq(key1), eq(key2));
+        verify(entityFuture, times(2)).addListener(any(), any());
+
+    }
+
+    @Test
+    public void testGetAsync_Cached() throws Exception {
+
+        EntityCache<TestEntity> cache = new EntityCache<>(rawMapper, TestEntity.class, new EntityCacheOptions());
+        when(session.getVertx()).thenReturn(vertx);
+        mapper = new DefaultVertxMapper<>(rawMapper, cache, session);
+        Object key = new Object();
+        when(rawMapper.getAsync(eq(key))).thenReturn(entityFuture);
+
+        mapper.getAsync(entityCallback, key);
+        mapper.getAsync(entityCallback, key);
+        verify(rawMapper, times(1)).getAsync(eq(key));
+
+        mapper.saveAsync(entity, voidCallback);
+        verify(rawMapper).saveAsync(eq(entity));
+        verify(voidFuture, times(2)).addListener(any(), any());
+
+    }
+
+}
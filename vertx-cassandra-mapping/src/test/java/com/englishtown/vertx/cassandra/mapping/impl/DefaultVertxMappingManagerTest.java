@@ -3,6 +3,7 @@ package com.englishtown.vertx.cassandra.mapping.impl;
 import com.datastax.driver.core.*;
 import com.datastax.driver.mapping.MappingManager;
 import com.englishtown.vertx.cassandra.CassandraSession;
+import com.englishtown.vertx.cassandra.mapping.EntityCacheOptions;
 import com.englishtown.vertx.cassandra.mapping.VertxMapper;
 import com.englishtown.vertx.cassandra.mapping.integration.TestEntity;
 import org.junit.Before;
@@ -74,4 +75,14 @@ public class DefaultVertxMappingManagerTest {
 
     }
 
+    @Test
+    public void testMapper_EntityCache() throws Exception {
+
+        VertxMapper<TestEntity> mapper = manager.mapper(TestEntity.class, new EntityCacheOptions());
+
+        assertNotNull(mapper);
+        assertNotNull(mapper.getMapper());
+
+    }
+
 }
@@ -0,0 +1,172 @@
+package com.englishtown.vertx.cassandra.mapping.impl;
+
+import com.datastax.driver.mapping.Mapper;
+import com.datastax.driver.mapping.annotations.ClusteringColumn;
+import com.datastax.driver.mapping.annotations.PartitionKey;
+import com.englishtown.vertx.cassandra.mapping.CachedEntity;
+import com.englishtown.vertx.cassandra.mapping.EntityCacheOptions;
+import com.englishtown.vertx.cassandra.mapping.integration.TestEntity;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.SettableFuture;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Matchers;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyVararg;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link EntityCache}
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class EntityCacheTest {
+
+    private EntityCache<TestEntity> cache;
+    private TestEntity entity = new TestEntity();
+    private SettableFuture<TestEntity> getFuture = SettableFuture.create();
+    private SettableFuture<Void> writeFuture = SettableFuture.create();
+
+    @Mock
+    private Mapper<TestEntity> mapper;
+
+    @Before
+    public void setUp() throws Exception {
+
+        entity.setId("1");
+
+        when(mapper.getAsync(anyVararg())).thenReturn(getFuture);
+        when(mapper.saveAsync(any(TestEntity.class))).thenReturn(writeFuture);
+        when(mapper.deleteAsync(any(TestEntity.class))).thenReturn(writeFuture);
+
+        cache = new EntityCache<>(mapper, TestEntity.class, new EntityCacheOptions());
+
+    }
+
+    @Test
+    public void testGet() throws Exception {
+
+        ListenableFuture<TestEntity> future1 = cache.get("1");
+        ListenableFuture<TestEntity> future2 = cache.get("1");
+
+        // The second request waits for the first query
+        verify(mapper, times(1)).getAsync(eq("1"));
+        assertFalse(future1.isDone());
+
+        getFuture.set(entity);
+        assertSame(entity, future1.get());
+        assertSame(entity, future2.get());
+
+        assertSame(entity, cache.get("1").get());
+        verify(mapper, times(1)).getAsync(eq("1"));
+        assertEquals(1, cache.size());
+
+    }
+
+    @Test
+    public void testGet_Failed() throws Exception {
+
+        ListenableFuture<TestEntity> future = cache.get("1");
+        getFuture.setException(new RuntimeException("Unit test exception"));
+
+        assertTrue(future.isDone());
+        assertEquals(0, cache.size());
+
+    }
+
+    @Test
+    public void testSave() throws Exception {
+
+        cache.get("1");
+        getFuture.set(entity);
+        assertEquals(1, cache.size());
+
+        ListenableFuture<Void> future = cache.save(entity);
+        verify(mapper).saveAsync(eq(entity));
+        assertEquals(0, cache.size());
+
+        // A load that overlaps the save is not kept
+        when(mapper.getAsync(anyVararg())).thenReturn(SettableFuture.create());
+        cache.get("1");
+        writeFuture.set(null);
+
+        assertTrue(future.isDone());
+        assertEquals(0, cache.size());
+
+    }
+
+    @Test
+    public void testDelete() throws Exception {
+
+        cache.get("1");
+        getFuture.set(entity);
+
+        cache.delete(entity);
+        verify(mapper).deleteAsync(eq(entity));
+        assertEquals(0, cache.size());
+
+    }
+
+    @Test
+    public void testDelete_ById() throws Exception {
+
+        when(mapper.deleteAsync(Matchers.<Object>anyVararg())).thenReturn(writeFuture);
+
+        cache.get("1");
+        getFuture.set(entity);
+
+        cache.delete((Object) "1");
+        verify(mapper).deleteAsync(eq("1"));
+        assertEquals(0, cache.size());
+
+    }
+
+    @Test
+    public void testKeyOf() throws Exception {
+
+        assertEquals(Arrays.<Object>asList("1"), cache.keyOf(entity));
+
+        EntityCache<CompositeEntity> compositeCache =
+                new EntityCache<>(null, CompositeEntity.class, new EntityCacheOptions());
+        assertEquals(Arrays.<Object>asList("a", 2, "c"), compositeCache.keyOf(new CompositeEntity()));
+
+    }
+
+    @Test
+    public void testGetOptions() throws Exception {
+
+        assertNull(EntityCache.getOptions(TestEntity.class));
+
+        EntityCacheOptions options = EntityCache.getOptions(CompositeEntity.class);
+        assertNotNull(options);
+        assertEquals(10, options.getMaximumSize());
+        assertEquals(EntityCacheOptions.DEFAULT_TTL_MILLIS, options.getTtlMillis());
+
+    }
+
+    @CachedEntity(maximumSize = 10)
+    public static class CompositeEntity {
+
+        @ClusteringColumn
+        private String clustering = "c";
+        @PartitionKey(1)
+        private int bucket = 2;
+        @PartitionKey
+        private String id = "a";
+
+        public String getId() {
+            return id;
+        }
+
+    }
+
+}
@@ -0,0 +1,120 @@
+package com.englishtown.vertx.cassandra.mapping.impl;
+
+import com.datastax.driver.core.ColumnDefinitions;
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.Row;
+import com.datastax.driver.mapping.Mapper;
+import com.datastax.driver.mapping.Result;
+import com.englishtown.vertx.cassandra.CassandraReadStream;
+import com.englishtown.vertx.cassandra.mapping.integration.TestEntity;
+import io.vertx.core.Handler;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for {@link EntityReadStream}
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class EntityReadStreamTest {
+
+    private EntityReadStream<TestEntity> stream;
+    private List<TestEntity> entities = new ArrayList<>();
+    private Handler<Row> rowHandler;
+
+    @Mock
+    private CassandraReadStream<Row> rows;
+    @Mock
+    private Mapper<TestEntity> mapper;
+    @Mock
+    private Row row;
+    @Mock
+    private ColumnDefinitions columnDefinitions;
+    @Mock
+    private Handler<Throwable> exceptionHandler;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setUp() throws Exception {
+
+        when(row.getColumnDefinitions()).thenReturn(columnDefinitions);
+
+        // Map the row the way the driver's result does, reading it from the result set
+        when(mapper.map(any(ResultSet.class))).thenAnswer(invocation -> {
+            ResultSet rs = (ResultSet) invocation.getArguments()[0];
+            assertTrue(rs.isFullyFetched());
+            assertSame(columnDefinitions, rs.getColumnDefinitions());
+            Result<TestEntity> result = mock(Result.class);
+            TestEntity entity = new TestEntity();
+            entity.setId(rs.one() == row ? "1" : null);
+            assertTrue(rs.isExhausted());
+            when(result.one()).thenReturn(entity);
+            return result;
+        });
+
+        stream = new EntityReadStream<>(rows, mapper);
+        stream.exceptionHandler(exceptionHandler);
+        stream.handler(entities::add);
+
+        ArgumentCaptor<Handler> captor = ArgumentCaptor.forClass(Handler.class);
+        verify(rows).handler(captor.capture());
+        rowHandler = captor.getValue();
+
+    }
+
+    @Test
+    public void testHandler() throws Exception {
+
+        rowHandler.handle(row);
+        rowHandler.handle(row);
+
+        assertEquals(2, entities.size());
+        assertEquals("1", entities.get(1).getId());
+        verify(exceptionHandler, never()).handle(any());
+
+    }
+
+    @Test
+    public void testHandler_Map_Failed() throws Exception {
+
+        RuntimeException e = new RuntimeException("Unit test exception");
+        doThrow(e).when(mapper).map(any(ResultSet.class));
+
+        rowHandler.handle(row);
+
+        assertTrue(entities.isEmpty());
+        verify(rows).pause();
+        verify(exceptionHandler).handle(e);
+
+    }
+
+    @Test
+    public void testFlowControl() throws Exception {
+
+        Handler<Void> endHandler = v -> {
+        };
+
+        assertSame(stream, stream.pause());
+        assertSame(stream, stream.fetch(10));
+        assertSame(stream, stream.resume());
+        assertSame(stream, stream.endHandler(endHandler));
+
+        verify(rows).pause();
+        verify(rows).fetch(10);
+        verify(rows).resume();
+        verify(rows).endHandler(endHandler);
+        verify(rows).exceptionHandler(exceptionHandler);
+
+    }
+
+}
@@ -0,0 +1,202 @@
+package com.englishtown.vertx.cassandra.mapping.impl;
+
+import com.datastax.driver.core.*;
+import com.datastax.driver.mapping.Mapper;
+import com.datastax.driver.mapping.MappingManager;
+import com.englishtown.vertx.cassandra.mapping.integration.TestEntity;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.SettableFuture;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.Assert.*;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyBoolean;
+import static org.mockito.Matchers.anyVararg;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for {@link MapperBatch}
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class MapperBatchTest {
+
+    private MapperBatch<TestEntity> batch;
+
+    @Mock
+    private Mapper<TestEntity> mapper;
+    @Mock
+    private MappingManager manager;
+    @Mock
+    private Session session;
+    @Mock
+    private Cluster cluster;
+    @Mock
+    private Configuration configuration;
+    @Mock
+    private ProtocolOptions protocolOptions;
+    @Mock
+    private Vertx vertx;
+    @Mock
+    private ResultSetFuture resultSetFuture;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setUp() throws Exception {
+
+        when(mapper.getManager()).thenReturn(manager);
+        when(manager.getSession()).thenReturn(session);
+        when(session.getCluster()).thenReturn(cluster);
+        when(cluster.getConfiguration()).thenReturn(configuration);
+        when(configuration.getProtocolOptions()).thenReturn(protocolOptions);
+        when(protocolOptions.getProtocolVersion()).thenReturn(ProtocolVersion.NEWEST_SUPPORTED);
+        when(configuration.getCodecRegistry()).thenReturn(CodecRegistry.DEFAULT_INSTANCE);
+
+        doAnswer(invocation -> {
+            Handler<Future<Object>> blocking = (Handler<Future<Object>>) invocation.getArguments()[0];
+            Handler<AsyncResult<Object>> handler = (Handler<AsyncResult<Object>>) invocation.getArguments()[2];
+            Future<Object> future = Future.future();
+            try {
+                blocking.handle(future);
+            } catch (RuntimeException e) {
+                future.fail(e);
+            }
+            handler.handle(future);
+            return null;
+        }).when(vertx).executeBlocking(any(Handler.class), anyBoolean(), any(Handler.class));
+
+        when(session.executeAsync(any(Statement.class))).thenReturn(resultSetFuture);
+        doAnswer(invocation -> {
+            ((Runnable) invocation.getArguments()[0]).run();
+            return null;
+        }).when(resultSetFuture).addListener(any(Runnable.class), any());
+
+        batch = new MapperBatch<>(mapper, null, vertx);
+
+    }
+
+    @Test
+    public void testGetAll() throws Exception {
+
+        List<SettableFuture<TestEntity>> futures = new ArrayList<>();
+        when(mapper.getAsync(anyVararg())).thenAnswer(invocation -> {
+            SettableFuture<TestEntity> future = SettableFuture.create();
+            futures.add(future);
+            return future;
+        });
+
+        List<Object[]> keys = new ArrayList<>();
+        for (int i = 0; i < MapperBatch.MAX_CONCURRENCY + 10; i++) {
+            keys.add(new Object[]{String.valueOf(i)});
+        }
+
+        ListenableFuture<List<TestEntity>> result = batch.getAll(keys);
+        assertEquals(MapperBatch.MAX_CONCURRENCY, futures.size());
+
+        // Completing a get starts the next one
+        for (int i = 0; i < keys.size(); i++) {
+            TestEntity entity = new TestEntity();
+            entity.setId(String.valueOf(i));
+            futures.get(i).set(i == 1 ? null : entity);
+        }
+
+        assertEquals(keys.size(), futures.size());
+        List<TestEntity> entities = result.get();
+        assertEquals(keys.size(), entities.size());
+        assertEquals("0", entities.get(0).getId());
+        assertNull(entities.get(1));
+        assertEquals("40", entities.get(40).getId());
+
+    }
+
+    @Test
+    public void testGetAll_Failed() throws Exception {
+
+        when(mapper.getAsync(anyVararg())).thenReturn(
+                Futures.immediateFuture(new TestEntity()),
+                Futures.<TestEntity>immediateFailedFuture(new RuntimeException("Unit test exception")));
+
+        ListenableFuture<List<TestEntity>> result =
+                batch.getAll(Arrays.asList(new Object[]{"1"}, new Object[]{"2"}, new Object[]{"3"}));
+
+        assertTrue(result.isDone());
+        try {
+            result.get();
+            fail();
+        } catch (ExecutionException e) {
+            assertEquals("Unit test exception", e.getCause().getMessage());
+        }
+        verify(mapper, times(2)).getAsync(anyVararg());
+
+    }
+
+    @Test
+    public void testGetAll_Empty() throws Exception {
+
+        assertEquals(0, batch.getAll(new ArrayList<>()).get().size());
+
+    }
+
+    @Test
+    public void testSaveAll() throws Exception {
+
+        Statement partition1a = statement(1);
+        Statement partition1b = statement(1);
+        Statement partition2 = statement(2);
+        TestEntity entity1a = new TestEntity();
+        TestEntity entity1b = new TestEntity();
+        TestEntity entity2 = new TestEntity();
+        when(mapper.saveQuery(entity1a)).thenReturn(partition1a);
+        when(mapper.saveQuery(entity1b)).thenReturn(partition1b);
+        when(mapper.saveQuery(entity2)).thenReturn(partition2);
+
+        ListenableFuture<Void> result = batch.saveAll(Arrays.asList(entity1a, entity2, entity1b));
+        assertTrue(result.isDone());
+        result.get();
+
+        ArgumentCaptor<Statement> captor = ArgumentCaptor.forClass(Statement.class);
+        verify(session, times(2)).executeAsync(captor.capture());
+
+        BatchStatement batchStatement = (BatchStatement) captor.getAllValues().get(0);
+        assertEquals(2, batchStatement.size());
+        assertSame(partition2, captor.getAllValues().get(1));
+
+    }
+
+    @Test
+    public void testDeleteAll() throws Exception {
+
+        TestEntity entity = new TestEntity();
+        Statement statement = mock(Statement.class);
+        when(mapper.deleteQuery(entity)).thenReturn(statement);
+
+        batch.deleteAll(Arrays.asList(entity)).get();
+
+        verify(session).executeAsync(eq(statement));
+
+    }
+
+    private Statement statement(int partition) {
+        Statement statement = mock(Statement.class);
+        when(statement.getRoutingKey(any(ProtocolVersion.class), any(CodecRegistry.class)))
+                .thenReturn(ByteBuffer.wrap(new byte[]{(byte) partition}));
+        return statement;
+    }
+
+}
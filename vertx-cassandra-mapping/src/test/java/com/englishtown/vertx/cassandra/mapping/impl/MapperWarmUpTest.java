@@ -0,0 +1,199 @@
+package com.englishtown.vertx.cassandra.mapping.impl;
+
+import com.datastax.driver.core.ColumnMetadata;
+import com.datastax.driver.core.TableMetadata;
+import com.datastax.driver.core.exceptions.DriverInternalError;
+import com.datastax.driver.mapping.Mapper;
+import com.datastax.driver.mapping.MappingManager;
+import com.englishtown.vertx.cassandra.CassandraSession;
+import com.englishtown.vertx.cassandra.mapping.integration.TestEntity;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentMatcher;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyBoolean;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for {@link MapperWarmUp}
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class MapperWarmUpTest {
+
+    private MapperWarmUp warmUp;
+    private AsyncResult<Void> sessionReady = Future.succeededFuture();
+
+    @Mock
+    private MappingManager mappingManager;
+    @Mock
+    private CassandraSession session;
+    @Mock
+    private Vertx vertx;
+    @Mock
+    private Mapper<TestEntity> mapper;
+    @Mock
+    private TableMetadata tableMetadata;
+    @Mock
+    private ColumnMetadata columnMetadata;
+    @Mock
+    private Handler<AsyncResult<Void>> callback;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setUp() throws Exception {
+
+        when(session.getVertx()).thenReturn(vertx);
+        doAnswer(invocation -> {
+            ((Handler<AsyncResult<Void>>) invocation.getArguments()[0]).handle(sessionReady);
+            return null;
+        }).when(session).onReady(any(Handler.class));
+
+        doAnswer(invocation -> {
+            Handler<Future<Object>> blocking = (Handler<Future<Object>>) invocation.getArguments()[0];
+            Handler<AsyncResult<Object>> handler = (Handler<AsyncResult<Object>>) invocation.getArguments()[2];
+            Future<Object> future = Future.future();
+            blocking.handle(future);
+            handler.handle(future);
+            return null;
+        }).when(vertx).executeBlocking(any(Handler.class), anyBoolean(), any(Handler.class));
+
+        when(mappingManager.mapper(TestEntity.class)).thenReturn(mapper);
+        when(mapper.getTableMetadata()).thenReturn(tableMetadata);
+        when(tableMetadata.getPrimaryKey()).thenReturn(Collections.singletonList(columnMetadata));
+        // The driver wraps the exception thrown while binding the prepared query
+        IllegalArgumentException nullKey = new IllegalArgumentException("Invalid null value for PRIMARY KEY");
+        when(mapper.getQuery(any())).thenThrow(new DriverInternalError("Unexpected exception thrown", nullKey));
+        when(mapper.deleteQuery((Object) any())).thenThrow(nullKey);
+
+        warmUp = new MapperWarmUp(mappingManager, session);
+
+    }
+
+    @Test
+    public void testWarmUp() throws Exception {
+
+        warmUp.warmUp(Collections.singletonList(TestEntity.class), callback);
+
+        verify(mapper).getQuery(any());
+        verify(mapper).deleteQuery((Object) isNull());
+        verify(mapper).saveQuery(any(TestEntity.class), any(Mapper.Option.class));
+        verify(callback).handle(argThat(new ResultMatcher(true)));
+
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testWarmUp_Constructor_Failed() throws Exception {
+
+        Mapper<FailingEntity> failingMapper = mock(Mapper.class);
+        when(mappingManager.mapper(FailingEntity.class)).thenReturn(failingMapper);
+        when(failingMapper.getTableMetadata()).thenReturn(tableMetadata);
+
+        warmUp.warmUp(Collections.singletonList(FailingEntity.class), callback);
+
+        verify(failingMapper).deleteQuery((Object) isNull());
+        verify(failingMapper, never()).saveQuery(any(FailingEntity.class), any(Mapper.Option.class));
+        verify(callback).handle(argThat(new ResultMatcher(true)));
+
+    }
+
+    @Test
+    public void testWarmUp_Prepare_Failed() throws Exception {
+
+        reset(mapper);
+        when(mapper.getTableMetadata()).thenReturn(tableMetadata);
+        when(mapper.getQuery(any())).thenThrow(new DriverInternalError("Unit test exception"));
+
+        warmUp.warmUp(Collections.singletonList(TestEntity.class), callback);
+        verify(callback).handle(argThat(new ResultMatcher(false)));
+
+    }
+
+    @Test
+    public void testWarmUp_Failed() throws Exception {
+
+        when(mappingManager.mapper(TestEntity.class)).thenThrow(new IllegalArgumentException("Unknown table"));
+
+        warmUp.warmUp(Collections.singletonList(TestEntity.class), callback);
+        verify(callback).handle(argThat(new ResultMatcher(false)));
+
+    }
+
+    @Test
+    public void testWarmUp_Session_Failed() throws Exception {
+
+        sessionReady = Future.failedFuture("Unit test exception");
+
+        warmUp.warmUp(Collections.singletonList(TestEntity.class), callback);
+        verify(callback).handle(argThat(new ResultMatcher(false)));
+        verifyZeroInteractions(mappingManager);
+
+    }
+
+    @Test
+    public void testOnReady() throws Exception {
+
+        warmUp.onReady(callback);
+        verify(callback, never()).handle(any());
+
+        warmUp.start();
+        verify(callback).handle(argThat(new ResultMatcher(true)));
+
+    }
+
+    @Test
+    public void testGetConfiguredClasses() throws Exception {
+
+        assertTrue(MapperWarmUp.getConfiguredClasses(new JsonObject()).isEmpty());
+
+        List<Class<?>> classes = MapperWarmUp.getConfiguredClasses(new JsonObject()
+                .put("mapping", new JsonObject()
+                        .put("warm_up", new JsonArray().add(TestEntity.class.getName()))));
+        assertEquals(Collections.singletonList(TestEntity.class), classes);
+
+    }
+
+    @Test(expected = ClassNotFoundException.class)
+    public void testGetConfiguredClasses_Unknown() throws Exception {
+
+        MapperWarmUp.getConfiguredClasses(new JsonObject()
+                .put("mapping", new JsonObject()
+                        .put("warm_up", new JsonArray().add("com.example.Unknown"))));
+
+    }
+
+    public static class FailingEntity {
+        public FailingEntity() {
+            throw new IllegalStateException("Unit test exception");
+        }
+    }
+
+    private static class ResultMatcher extends ArgumentMatcher<AsyncResult<Void>> {
+
+        private final boolean succeeded;
+
+        private ResultMatcher(boolean succeeded) {
+            this.succeeded = succeeded;
+        }
+
+        @Override
+        public boolean matches(Object argument) {
+            return argument instanceof AsyncResult && ((AsyncResult<?>) argument).succeeded() == succeeded;
+        }
+    }
+
+}
@@ -1,13 +1,21 @@
 package com.englishtown.vertx.cassandra.mapping.integration;
 
 import com.datastax.driver.core.Statement;
+import com.datastax.driver.core.querybuilder.QueryBuilder;
+import com.datastax.driver.mapping.Result;
 import com.englishtown.vertx.cassandra.integration.IntegrationTestBase;
 import com.englishtown.vertx.cassandra.mapping.VertxMapper;
 import com.englishtown.vertx.cassandra.mapping.VertxMappingManager;
 import com.englishtown.vertx.cassandra.tablebuilder.TableBuilder;
 import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.function.Consumer;
 
 /**
@@ -74,6 +82,90 @@ public abstract class MappingIntegrationTest extends IntegrationTestBase {
 
     }
 
+    @Test
+    public void testWarmUp() throws Exception {
+
+        manager.warmUp(result -> {
+            if (result.failed()) {
+                result.cause().printStackTrace();
+                fail(result.cause().getMessage());
+            }
+
+            VertxMapper<TestEntity> mapper = manager.mapper(TestEntity.class);
+            mapper.getAsync(callback(entity -> {
+                assertNull(entity);
+                testComplete();
+            }), "warm-up");
+
+        }, TestEntity.class);
+
+        await();
+
+    }
+
+    @Test
+    public void testAccessor() throws Exception {
+
+        VertxMapper<TestEntity> mapper = manager.mapper(TestEntity.class);
+        TestAccessor accessor = manager.accessor(TestAccessor.class);
+
+        TestEntity entity = new TestEntity();
+        entity.setId("2");
+        entity.setProp1("p1");
+
+        mapper.saveAsync(entity, callback(aVoid -> {
+
+            Context context = vertx.getOrCreateContext();
+            ListenableFuture<Result<TestEntity>> future = accessor.getAsync(entity.getId());
+
+            future.addListener(() -> {
+                assertEquals(context, Vertx.currentContext());
+                try {
+                    assertEquals("p1", future.get().one().getProp1());
+                } catch (Exception e) {
+                    fail(e.getMessage());
+                }
+                testComplete();
+            }, MoreExecutors.directExecutor());
+
+        }));
+
+        await();
+
+    }
+
+    @Test
+    public void testMapStream() throws Exception {
+
+        VertxMapper<TestEntity> mapper = manager.mapper(TestEntity.class);
+
+        List<TestEntity> entities = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            TestEntity entity = new TestEntity();
+            entity.setId("stream-" + i);
+            entity.setProp2(i);
+            entities.add(entity);
+        }
+
+        mapper.saveAllAsync(entities, callback(aVoid -> {
+
+            Statement select = QueryBuilder.select().all().from(TEST_KEYSPACE, TestEntity.TABLE_NAME).setFetchSize(10);
+            List<TestEntity> streamed = new ArrayList<>();
+
+            mapper.mapStream(select)
+                    .exceptionHandler(t -> fail(t.getMessage()))
+                    .endHandler(v -> {
+                        assertEquals(25, streamed.stream().filter(e -> e.getId().startsWith("stream-")).count());
+                        testComplete();
+                    })
+                    .handler(streamed::add);
+
+        }));
+
+        await();
+
+    }
+
     private <T> FutureCallback<T> callback(Consumer<T> onSuccess) {
         return new FutureCallback<T>() {
             @Override
@@ -0,0 +1,18 @@
+package com.englishtown.vertx.cassandra.mapping.integration;
+
+import com.datastax.driver.mapping.Result;
+import com.datastax.driver.mapping.annotations.Accessor;
+import com.datastax.driver.mapping.annotations.Query;
+import com.englishtown.vertx.cassandra.integration.IntegrationTestBase;
+import com.google.common.util.concurrent.ListenableFuture;
+
+/**
+ *
+ */
+@Accessor
+public interface TestAccessor {
+
+    @Query("SELECT * FROM " + IntegrationTestBase.TEST_KEYSPACE + "." + TestEntity.TABLE_NAME + " WHERE id = ?")
+    ListenableFuture<Result<TestEntity>> getAsync(String id);
+
+}
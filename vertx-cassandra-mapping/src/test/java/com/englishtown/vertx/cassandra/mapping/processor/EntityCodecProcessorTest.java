@@ -0,0 +1,162 @@
+package com.englishtown.vertx.cassandra.mapping.processor;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.Assert.*;
+import static org.junit.Assume.assumeNotNull;
+
+/**
+ * Unit tests for {@link EntityCodecProcessor}
+ */
+public class EntityCodecProcessorTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private JavaCompiler compiler;
+    private Path sources;
+    private Path generated;
+
+    @Before
+    public void setUp() throws Exception {
+
+        compiler = ToolProvider.getSystemJavaCompiler();
+        assumeNotNull(compiler);
+
+        sources = folder.newFolder("sources").toPath();
+        generated = folder.newFolder("generated").toPath();
+
+    }
+
+    private String compile(String className, String source) throws Exception {
+
+        Path file = sources.resolve(className + ".java");
+        Files.write(file, source.getBytes(StandardCharsets.UTF_8));
+
+        ByteArrayOutputStream err = new ByteArrayOutputStream();
+        int result = compiler.run(null, null, err,
+                "-proc:only",
+                "-processor", EntityCodecProcessor.class.getName(),
+                "-classpath", System.getProperty("java.class.path"),
+                "-s", generated.toString(),
+                "-d", folder.getRoot().toString(),
+                file.toString());
+
+        String output = new String(err.toByteArray(), StandardCharsets.UTF_8);
+        assertEquals(output, 0, result);
+        return output;
+    }
+
+    private String generated(String className) throws Exception {
+        File file = generated.resolve("codec/" + className + "_VertxCodec.java").toFile();
+        return file.exists() ? new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8) : null;
+    }
+
+    @Test
+    public void testGenerate() throws Exception {
+
+        compile("Entity", "package codec;\n" +
+                "import com.datastax.driver.mapping.annotations.*;\n" +
+                "@Table(keyspace = \"Test\", name = \"Entity\", caseSensitiveTable = true,\n" +
+                "        readConsistency = \"QUORUM\")\n" +
+                "public class Entity {\n" +
+                "    @ClusteringColumn private String sort;\n" +
+                "    @PartitionKey(1) String bucket;\n" +
+                "    @PartitionKey private String id;\n" +
+                "    @Column(name = \"Count\", caseSensitive = true) private int count;\n" +
+                "    private java.util.List<String> tags;\n" +
+                "    @Transient private String ignored;\n" +
+                "    private static String constant;\n" +
+                "    public String getSort() { return sort; }\n" +
+                "    public void setSort(String sort) { this.sort = sort; }\n" +
+                "    public String getId() { return id; }\n" +
+                "    public void setId(String id) { this.id = id; }\n" +
+                "    public int getCount() { return count; }\n" +
+                "    public void setCount(int count) { this.count = count; }\n" +
+                "    public java.util.List<String> getTags() { return tags; }\n" +
+                "    public void setTags(java.util.List<String> tags) { this.tags = tags; }\n" +
+                "}\n");
+
+        String codec = generated("Entity");
+        assertNotNull(codec);
+
+        // Primary key first, case sensitive names quoted and others lower cased
+        assertTrue(codec, codec.contains(
+                "java.util.Arrays.asList(\"id\", \"bucket\", \"sort\", \"\\\"Count\\\"\", \"tags\")"));
+        assertTrue(codec, codec.contains("return \"test\";"));
+        assertTrue(codec, codec.contains("return \"\\\"Entity\\\"\";"));
+        assertTrue(codec, codec.contains("return 3;"));
+        assertTrue(codec, codec.contains("com.datastax.driver.core.ConsistencyLevel.QUORUM"));
+
+        // Getters and setters, or the field when they are missing
+        assertTrue(codec, codec.contains("entity.setId(row.get(i, java.lang.String.class));"));
+        assertTrue(codec, codec.contains("entity.bucket = row.get(i, java.lang.String.class);"));
+        assertTrue(codec, codec.contains("entity.setCount(row.getInt(i));"));
+        assertTrue(codec, codec.contains("data.setInt(3, entity.getCount());"));
+        assertTrue(codec, codec.contains("data.set(4, entity.getTags(), TYPE_4);"));
+        assertFalse(codec, codec.contains("ignored"));
+        assertFalse(codec, codec.contains("constant"));
+
+    }
+
+    @Test
+    public void testUnsupported() throws Exception {
+
+        String output = compile("Unsupported", "package codec;\n" +
+                "import com.datastax.driver.mapping.annotations.*;\n" +
+                "@Table(name = \"unsupported\")\n" +
+                "public class Unsupported {\n" +
+                "    public enum State { ON, OFF }\n" +
+                "    @PartitionKey public String id;\n" +
+                "    public State state;\n" +
+                "}\n");
+
+        assertNull(generated("Unsupported"));
+        assertTrue(output, output.contains("state is an enum"));
+
+    }
+
+    @Test
+    public void testProperty_Without_Field() throws Exception {
+
+        String output = compile("Fieldless", "package codec;\n" +
+                "import com.datastax.driver.mapping.annotations.*;\n" +
+                "@Table(name = \"fieldless\")\n" +
+                "public class Fieldless {\n" +
+                "    @PartitionKey public String id;\n" +
+                "    private String first;\n" +
+                "    public String getName() { return first; }\n" +
+                "    public void setName(String name) { this.first = name; }\n" +
+                "}\n");
+
+        assertNull(generated("Fieldless"));
+        assertTrue(output, output.contains("name is a property without a field"));
+
+    }
+
+    @Test
+    public void testNoAccessor() throws Exception {
+
+        compile("NoAccessor", "package codec;\n" +
+                "import com.datastax.driver.mapping.annotations.*;\n" +
+                "@Table(name = \"no_accessor\")\n" +
+                "public class NoAccessor {\n" +
+                "    @PartitionKey private String id;\n" +
+                "}\n");
+
+        assertNull(generated("NoAccessor"));
+
+    }
+
+}
@@ -0,0 +1,87 @@
+package com.englishtown.vertx.cassandra;
+
+/**
+ * Options for retrying idempotent statements with an exponential backoff.
+ * <p>
+ * Retries are scheduled with a vert.x timer, so no driver or event loop thread is blocked while waiting.
+ */
+public class BackoffRetryOptions {
+
+    public static final int DEFAULT_MAX_RETRIES = 3;
+    public static final long DEFAULT_BASE_DELAY_MILLIS = 50;
+    public static final long DEFAULT_MAX_DELAY_MILLIS = 1000;
+
+    private int maxRetries = DEFAULT_MAX_RETRIES;
+    private long baseDelayMillis = DEFAULT_BASE_DELAY_MILLIS;
+    private long maxDelayMillis = DEFAULT_MAX_DELAY_MILLIS;
+
+    /**
+     * The maximum number of times a statement is retried after the first attempt
+     *
+     * @return the maximum retries
+     */
+    public int getMaxRetries() {
+        return maxRetries;
+    }
+
+    /**
+     * Sets the maximum number of times a statement is retried after the first attempt
+     *
+     * @param maxRetries the maximum retries
+     * @return this {@code BackoffRetryOptions}
+     */
+    public BackoffRetryOptions setMaxRetries(int maxRetries) {
+        if (maxRetries < 0) {
+            throw new IllegalArgumentException("max_retries cannot be negative");
+        }
+        this.maxRetries = maxRetries;
+        return this;
+    }
+
+    /**
+     * The delay before the first retry.  The delay doubles for each subsequent retry.
+     *
+     * @return the base delay in milliseconds
+     */
+    public long getBaseDelayMillis() {
+        return baseDelayMillis;
+    }
+
+    /**
+     * Sets the delay before the first retry
+     *
+     * @param baseDelayMillis the base delay in milliseconds
+     * @return this {@code BackoffRetryOptions}
+     */
+    public BackoffRetryOptions setBaseDelayMillis(long baseDelayMillis) {
+        if (baseDelayMillis < 1) {
+            throw new IllegalArgumentException("base_delay_millis must be at least 1");
+        }
+        this.baseDelayMillis = baseDelayMillis;
+        return this;
+    }
+
+    /**
+     * The upper bound of the delay between retries
+     *
+     * @return the maximum delay in milliseconds
+     */
+    public long getMaxDelayMillis() {
+        return maxDelayMillis;
+    }
+
+    /**
+     * Sets the upper bound of the delay between retries
+     *
+     * @param maxDelayMillis the maximum delay in milliseconds
+     * @return this {@code BackoffRetryOptions}
+     */
+    public BackoffRetryOptions setMaxDelayMillis(long maxDelayMillis) {
+        if (maxDelayMillis < 1) {
+            throw new IllegalArgumentException("max_delay_millis must be at least 1");
+        }
+        this.maxDelayMillis = maxDelayMillis;
+        return this;
+    }
+
+}
@@ -0,0 +1,61 @@
+package com.englishtown.vertx.cassandra;
+
+/**
+ * Snapshot of the progress of a {@link BulkWriter}
+ */
+public class BulkWriteProgress {
+
+    private final long written;
+    private final long failed;
+    private final long pending;
+    private final long elapsedMillis;
+
+    public BulkWriteProgress(long written, long failed, long pending, long elapsedMillis) {
+        this.written = written;
+        this.failed = failed;
+        this.pending = pending;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    /**
+     * @return the number of statements executed successfully
+     */
+    public long getWritten() {
+        return written;
+    }
+
+    /**
+     * @return the number of statements that failed
+     */
+    public long getFailed() {
+        return failed;
+    }
+
+    /**
+     * @return the number of statements buffered, queued or in flight
+     */
+    public long getPending() {
+        return pending;
+    }
+
+    /**
+     * @return the milliseconds since the first statement was written
+     */
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    /**
+     * @return the completed statements (written or failed) per second since the first statement was written
+     */
+    public double getRate() {
+        return elapsedMillis == 0 ? 0 : (written + failed) * 1000.0 / elapsedMillis;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("written=%d, failed=%d, pending=%d, elapsed=%dms, rate=%.1f/s",
+                written, failed, pending, elapsedMillis, getRate());
+    }
+
+}
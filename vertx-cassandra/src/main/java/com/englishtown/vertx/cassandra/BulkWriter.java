@@ -0,0 +1,75 @@
+package com.englishtown.vertx.cassandra;
+
+import com.datastax.driver.core.Statement;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Handler;
+import io.vertx.core.streams.WriteStream;
+
+/**
+ * A {@link WriteStream} of statements for loading large amounts of data.
+ * <p>
+ * Statements are grouped by the primary replica of their routing key and executed with bounded concurrency per host,
+ * see {@link BulkWriterOptions}.  Statements without a routing key, such as unprepared simple statements, are executed
+ * in a separate group.  Statements may complete in any order.
+ * <p>
+ * The grouping only bounds the load on each replica.  Statements reach their primary replica only when the cluster's
+ * load balancing policy is a {@code TokenAwarePolicy}, otherwise the driver sends them to any coordinator.
+ * <p>
+ * A failed statement is reported to the exception handler and writing continues.  After {@link #end()}, the
+ * completion handler is called once every statement has completed, and fails with the first failure if any statement
+ * failed.
+ * <p>
+ * All methods must be called on the vert.x context that created the writer.
+ */
+public interface BulkWriter extends WriteStream<Statement> {
+
+    /**
+     * Sets a handler called with each failed statement's error
+     *
+     * @param handler the exception handler
+     * @return a reference to this, so the API can be used fluently
+     */
+    @Override
+    BulkWriter exceptionHandler(Handler<Throwable> handler);
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    BulkWriter write(Statement statement);
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    BulkWriter setWriteQueueMaxSize(int maxSize);
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    BulkWriter drainHandler(Handler<Void> handler);
+
+    /**
+     * Sets a handler called periodically with the progress, see {@link BulkWriterOptions#getProgressIntervalMillis()},
+     * and once more on completion
+     *
+     * @param handler the progress handler
+     * @return a reference to this, so the API can be used fluently
+     */
+    BulkWriter progressHandler(Handler<BulkWriteProgress> handler);
+
+    /**
+     * Sets a handler called after {@link #end()} once all statements have completed
+     *
+     * @param handler the completion handler
+     * @return a reference to this, so the API can be used fluently
+     */
+    BulkWriter completionHandler(Handler<AsyncResult<BulkWriteProgress>> handler);
+
+    /**
+     * @return the current progress
+     */
+    BulkWriteProgress getProgress();
+
+}
@@ -0,0 +1,116 @@
+package com.englishtown.vertx.cassandra;
+
+/**
+ * Options for a {@link BulkWriter}.
+ * <p>
+ * Statements are buffered in a window of up to {@link #getSortWindowSize()} statements, sorted by token and queued
+ * per primary replica.  Each replica has at most {@link #getMaxConcurrencyPerHost()} statements in flight, so a slow
+ * or hot node does not hold up writes to the others.
+ */
+public class BulkWriterOptions {
+
+    public static final int DEFAULT_MAX_CONCURRENCY_PER_HOST = 32;
+    public static final int DEFAULT_SORT_WINDOW_SIZE = 1000;
+    public static final int DEFAULT_WRITE_QUEUE_MAX_SIZE = 10000;
+    public static final long DEFAULT_PROGRESS_INTERVAL_MILLIS = 1000;
+
+    private int maxConcurrencyPerHost = DEFAULT_MAX_CONCURRENCY_PER_HOST;
+    private int sortWindowSize = DEFAULT_SORT_WINDOW_SIZE;
+    private int writeQueueMaxSize = DEFAULT_WRITE_QUEUE_MAX_SIZE;
+    private long progressIntervalMillis = DEFAULT_PROGRESS_INTERVAL_MILLIS;
+
+    /**
+     * The maximum number of statements in flight to each primary replica
+     *
+     * @return the maximum concurrency per host
+     */
+    public int getMaxConcurrencyPerHost() {
+        return maxConcurrencyPerHost;
+    }
+
+    /**
+     * Sets the maximum number of statements in flight to each primary replica
+     *
+     * @param maxConcurrencyPerHost the maximum concurrency per host
+     * @return this {@code BulkWriterOptions}
+     */
+    public BulkWriterOptions setMaxConcurrencyPerHost(int maxConcurrencyPerHost) {
+        if (maxConcurrencyPerHost < 1) {
+            throw new IllegalArgumentException("max_concurrency_per_host must be at least 1");
+        }
+        this.maxConcurrencyPerHost = maxConcurrencyPerHost;
+        return this;
+    }
+
+    /**
+     * The maximum number of statements buffered and sorted by token before they are queued to their replicas.  The
+     * buffer is also flushed whenever a replica runs out of work.
+     *
+     * @return the sort window size
+     */
+    public int getSortWindowSize() {
+        return sortWindowSize;
+    }
+
+    /**
+     * Sets the maximum number of statements buffered and sorted by token before they are queued to their replicas
+     *
+     * @param sortWindowSize the sort window size
+     * @return this {@code BulkWriterOptions}
+     */
+    public BulkWriterOptions setSortWindowSize(int sortWindowSize) {
+        if (sortWindowSize < 1) {
+            throw new IllegalArgumentException("sort_window_size must be at least 1");
+        }
+        this.sortWindowSize = sortWindowSize;
+        return this;
+    }
+
+    /**
+     * The number of pending statements (buffered, queued or in flight) at which {@link BulkWriter#writeQueueFull()}
+     * returns true
+     *
+     * @return the write queue max size
+     */
+    public int getWriteQueueMaxSize() {
+        return writeQueueMaxSize;
+    }
+
+    /**
+     * Sets the number of pending statements at which the write queue is full
+     *
+     * @param writeQueueMaxSize the write queue max size
+     * @return this {@code BulkWriterOptions}
+     */
+    public BulkWriterOptions setWriteQueueMaxSize(int writeQueueMaxSize) {
+        if (writeQueueMaxSize < 1) {
+            throw new IllegalArgumentException("write_queue_max_size must be at least 1");
+        }
+        this.writeQueueMaxSize = writeQueueMaxSize;
+        return this;
+    }
+
+    /**
+     * How often the progress handler is called.  0 only reports progress on completion.
+     *
+     * @return the progress interval in milliseconds
+     */
+    public long getProgressIntervalMillis() {
+        return progressIntervalMillis;
+    }
+
+    /**
+     * Sets how often the progress handler is called
+     *
+     * @param progressIntervalMillis the progress interval in milliseconds, 0 to only report on completion
+     * @return this {@code BulkWriterOptions}
+     */
+    public BulkWriterOptions setProgressIntervalMillis(long progressIntervalMillis) {
+        if (progressIntervalMillis < 0) {
+            throw new IllegalArgumentException("progress_interval_millis cannot be negative");
+        }
+        this.progressIntervalMillis = progressIntervalMillis;
+        return this;
+    }
+
+}
@@ -0,0 +1,59 @@
+package com.englishtown.vertx.cassandra;
+
+import com.datastax.driver.core.BoundStatement;
+import com.datastax.driver.core.CodecRegistry;
+import com.datastax.driver.core.PagingState;
+import com.datastax.driver.core.Statement;
+import com.datastax.driver.core.StatementWrapper;
+
+/**
+ * Marks a bound read statement whose result may be served from the session's result cache, see
+ * {@link ResultCacheOptions}.  Results are keyed by the prepared query, the bound values and the consistency level.
+ * <p>
+ * Only results that fit in a single page are cached.  Statements with a fetch size or a paging state are always
+ * executed, so a later page is never served for the first page.  Set the paging state on this statement rather than
+ * on the wrapped bound statement.  When no result cache is configured the statement is executed as usual.
+ */
+public class CacheableStatement extends StatementWrapper {
+
+    private final BoundStatement statement;
+    private volatile boolean pagingState;
+
+    public CacheableStatement(BoundStatement statement) {
+        super(statement);
+        this.statement = statement;
+    }
+
+    /**
+     * @return the wrapped bound statement
+     */
+    public BoundStatement getStatement() {
+        return statement;
+    }
+
+    /**
+     * @return true if a paging state was set on this statement
+     */
+    public boolean hasPagingState() {
+        return pagingState;
+    }
+
+    @Override
+    public Statement setPagingState(PagingState pagingState, CodecRegistry codecRegistry) {
+        this.pagingState = pagingState != null;
+        return super.setPagingState(pagingState, codecRegistry);
+    }
+
+    @Override
+    public Statement setPagingState(PagingState pagingState) {
+        this.pagingState = pagingState != null;
+        return super.setPagingState(pagingState);
+    }
+
+    @Override
+    public Statement setPagingStateUnsafe(byte[] pagingState) {
+        this.pagingState = pagingState != null;
+        return super.setPagingStateUnsafe(pagingState);
+    }
+
+}
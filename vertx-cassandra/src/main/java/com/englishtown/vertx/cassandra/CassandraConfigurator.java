@@ -3,6 +3,8 @@ package com.englishtown.vertx.cassandra;
 import com.datastax.driver.core.*;
 import com.datastax.driver.core.policies.LoadBalancingPolicy;
 import com.datastax.driver.core.policies.ReconnectionPolicy;
+import com.datastax.driver.core.policies.RetryPolicy;
+import com.datastax.driver.core.policies.SpeculativeExecutionPolicy;
 import io.vertx.core.AsyncResult;
 import io.vertx.core.Handler;
 
@@ -41,6 +43,34 @@ public interface CassandraConfigurator {
      */
     ReconnectionPolicy getReconnectionPolicy();
 
+    /**
+     * Optional speculative execution policy
+     *
+     * @return
+     */
+    default SpeculativeExecutionPolicy getSpeculativeExecutionPolicy() {
+        return null;
+    }
+
+    /**
+     * Optional driver retry policy
+     *
+     * @return
+     */
+    default RetryPolicy getRetryPolicy() {
+        return null;
+    }
+
+    /**
+     * Optional options to retry idempotent statements with a backoff.  Statements are only retried by the session when
+     * options are provided.
+     *
+     * @return
+     */
+    default BackoffRetryOptions getBackoffRetryOptions() {
+        return null;
+    }
+
     /**
      * Optional pooling options
      *
@@ -76,6 +106,61 @@ public interface CassandraConfigurator {
      */
     AuthProvider getAuthProvider();
 
+    /**
+     * Optional maximum number of prepared statements cached by the session
+     *
+     * @return
+     */
+    default Integer getPreparedStatementCacheSize() {
+        return null;
+    }
+
+    /**
+     * Optional write coalescing options.  Writes are only coalesced when options are provided.
+     *
+     * @return
+     */
+    default WriteCoalescingOptions getWriteCoalescingOptions() {
+        return null;
+    }
+
+    /**
+     * Optional result cache options.  Results of {@link CacheableStatement}s are only cached when options are provided.
+     *
+     * @return
+     */
+    default ResultCacheOptions getResultCacheOptions() {
+        return null;
+    }
+
+    /**
+     * Optional adaptive concurrency limit options.  In-flight queries are only limited when options are provided.
+     *
+     * @return
+     */
+    default ConcurrencyLimitOptions getConcurrencyLimitOptions() {
+        return null;
+    }
+
+    /**
+     * Optional time allowed for the session to connect before initialization fails.  Defaults to 30 seconds, 0 waits
+     * indefinitely.
+     *
+     * @return
+     */
+    default Long getInitTimeoutMillis() {
+        return null;
+    }
+
+    /**
+     * Optional name of a driver cluster shared by all sessions in the vert.x instance configured with the same name
+     *
+     * @return
+     */
+    default String getSharedClusterName() {
+        return null;
+    }
+
     /**
      * Register a callback for when the configurator is ready to use
      *
@@ -0,0 +1,58 @@
+package com.englishtown.vertx.cassandra;
+
+import io.vertx.core.Handler;
+import io.vertx.core.streams.ReadStream;
+
+/**
+ * A {@link ReadStream} of cassandra query results that fetches pages asynchronously.
+ * <p>
+ * In addition to {@link #pause()} and {@link #resume()}, demand can be requested explicitly with {@link #fetch(long)}.
+ *
+ * @param <T> the type of the items emitted
+ */
+public interface CassandraReadStream<T> extends ReadStream<T> {
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    CassandraReadStream<T> exceptionHandler(Handler<Throwable> handler);
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    CassandraReadStream<T> handler(Handler<T> handler);
+
+    /**
+     * Stops emitting items until {@link #resume()} or {@link #fetch(long)} is called.  No further pages are fetched
+     * while the stream is paused.
+     *
+     * @return a reference to this, so the API can be used fluently
+     */
+    @Override
+    CassandraReadStream<T> pause();
+
+    /**
+     * Resumes emitting items with unbounded demand
+     *
+     * @return a reference to this, so the API can be used fluently
+     */
+    @Override
+    CassandraReadStream<T> resume();
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    CassandraReadStream<T> endHandler(Handler<Void> endHandler);
+
+    /**
+     * Requests the given number of additional items from a paused stream
+     *
+     * @param amount the number of items to emit
+     * @return a reference to this, so the API can be used fluently
+     */
+    CassandraReadStream<T> fetch(long amount);
+
+}
@@ -6,6 +6,8 @@ import io.vertx.core.AsyncResult;
 import io.vertx.core.Handler;
 import io.vertx.core.Vertx;
 
+import java.util.List;
+
 /**
  * Interface that represents a cassandra session
  */
@@ -27,6 +29,24 @@ public interface CassandraSession extends Session, AutoCloseable {
      */
     void executeAsync(String query, final FutureCallback<ResultSet> callback);
 
+    /**
+     * Executes a cassandra statement asynchronously.  Ensures the handler is executed on the correct vert.x context.
+     * <p>
+     * A vert.x {@link io.vertx.core.Future} can be passed as the handler for composition with other vert.x code.
+     *
+     * @param statement the statement to execute
+     * @param handler   the handler for the result set
+     */
+    void executeAsync(Statement statement, Handler<AsyncResult<ResultSet>> handler);
+
+    /**
+     * Executes a cassandra CQL query asynchronously.  Ensures the handler is executed on the correct vert.x context.
+     *
+     * @param query   the CQL query to execute
+     * @param handler the handler for the result set
+     */
+    void executeAsync(String query, Handler<AsyncResult<ResultSet>> handler);
+
     /**
      * Prepares the provided query statement
      *
@@ -35,6 +55,14 @@ public interface CassandraSession extends Session, AutoCloseable {
      */
     void prepareAsync(RegularStatement statement, FutureCallback<PreparedStatement> callback);
 
+    /**
+     * Prepares the provided query statement.  Ensures the handler is executed on the correct vert.x context.
+     *
+     * @param statement the query statement to prepare
+     * @param handler   the handler for the prepared statement
+     */
+    void prepareAsync(RegularStatement statement, Handler<AsyncResult<PreparedStatement>> handler);
+
     /**
      * Prepares the provided query
      *
@@ -43,6 +71,97 @@ public interface CassandraSession extends Session, AutoCloseable {
      */
     void prepareAsync(String query, FutureCallback<PreparedStatement> callback);
 
+    /**
+     * Prepares the provided query.  Ensures the handler is executed on the correct vert.x context.
+     *
+     * @param query   the query to prepare
+     * @param handler the handler for the prepared statement
+     */
+    void prepareAsync(String query, Handler<AsyncResult<PreparedStatement>> handler);
+
+    /**
+     * Executes a CQL query asynchronously using a prepared statement cached by the session.  The query is only prepared
+     * on first use.  Ensures the callback is executed on the correct vert.x context.
+     *
+     * @param query    the CQL query to prepare and execute
+     * @param callback the callback for on completion
+     * @param values   the values to bind to the prepared statement
+     */
+    void executePreparedAsync(String query, FutureCallback<ResultSet> callback, Object... values);
+
+    /**
+     * Executes a CQL query asynchronously using a prepared statement cached by the session.  The query is only prepared
+     * on first use.  Ensures the handler is executed on the correct vert.x context.
+     *
+     * @param query   the CQL query to prepare and execute
+     * @param handler the handler for the result set
+     * @param values  the values to bind to the prepared statement
+     */
+    void executePreparedAsync(String query, Handler<AsyncResult<ResultSet>> handler, Object... values);
+
+    /**
+     * Gets the prepared statement for a CQL query from the cache used by {@code executePreparedAsync}, preparing it on
+     * first use.  Ensures the handler is executed on the correct vert.x context.
+     *
+     * @param query   the CQL query to prepare
+     * @param handler the handler for the prepared statement
+     */
+    void getPreparedAsync(String query, Handler<AsyncResult<PreparedStatement>> handler);
+
+    /**
+     * Executes a query and streams the resulting rows.  Pages are fetched asynchronously as the stream is consumed, so
+     * large results never block the event loop and memory is bounded by the fetch size while the stream is paused.
+     *
+     * @param statement the statement to execute
+     * @return the stream of rows
+     */
+    CassandraReadStream<Row> queryStream(Statement statement);
+
+    /**
+     * Scans a whole table by splitting the token ring into ranges and querying up to {@code parallelism} ranges at
+     * once.  Rows are streamed as pages arrive, in no particular order, and pages are only fetched as the stream is
+     * consumed.  The session must be ready.
+     *
+     * @param keyspace    the keyspace name
+     * @param table       the table name
+     * @param columns     the columns to select, or null for all columns
+     * @param parallelism the maximum number of range queries in flight
+     * @return the stream of rows
+     */
+    CassandraReadStream<Row> scanTable(String keyspace, String table, List<String> columns, int parallelism);
+
+    /**
+     * Creates a writer for loading large numbers of statements.  Statements are grouped by the primary replica of their
+     * token range and executed with bounded concurrency per host.  Statements are only sent to that replica when the
+     * load balancing policy is token aware.  The session must be ready.
+     *
+     * @param options the bulk writer options
+     * @return the bulk writer
+     */
+    BulkWriter bulkWriter(BulkWriterOptions options);
+
+    /**
+     * Applies schema statements with the default {@link SchemaOptions}.  Ensures the handler is executed on the correct
+     * vert.x context.
+     *
+     * @param statements the schema statements, usually built by the table and keyspace builders
+     * @param handler    the handler called once all statements are applied and the cluster agrees on the schema
+     */
+    void applySchema(List<? extends RegularStatement> statements, Handler<AsyncResult<Void>> handler);
+
+    /**
+     * Applies schema statements without blocking.  Statements on the same keyspace or table are executed in order, each
+     * waiting for the cluster to agree on the schema of the previous one, and independent statements are pipelined.
+     * Agreement is polled asynchronously when the driver gives up waiting for it.  The session must be ready, and the
+     * handler is executed on the correct vert.x context.
+     *
+     * @param statements the schema statements, usually built by the table and keyspace builders
+     * @param options    the schema options
+     * @param handler    the handler called once all statements are applied and the cluster agrees on the schema
+     */
+    void applySchema(List<? extends RegularStatement> statements, SchemaOptions options,
+                     Handler<AsyncResult<Void>> handler);
+
     /**
      * Returns cassandra metadata
      *
@@ -51,7 +170,8 @@ public interface CassandraSession extends Session, AutoCloseable {
     Metadata getMetadata();
 
     /**
-     * Reconnects to the cluster with a new session.  Any existing session is closed asynchronously.
+     * Reconnects to the cluster with a new session without blocking.  Any existing session is closed asynchronously.
+     * Use {@link #reconnectAsync(Handler)} to know when the new session is in use.
      */
     void reconnect();
 
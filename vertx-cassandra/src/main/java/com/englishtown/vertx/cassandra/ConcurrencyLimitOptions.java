@@ -0,0 +1,130 @@
+package com.englishtown.vertx.cassandra;
+
+/**
+ * Options for the adaptive limit on in-flight queries per session.
+ * <p>
+ * The limit follows an additive increase/multiplicative decrease scheme: it grows by one while queries complete below
+ * the latency threshold with the limit in use, and is multiplied by the backoff ratio when a query is slower than the
+ * threshold or fails because a host is overloaded or timed out.
+ */
+public class ConcurrencyLimitOptions {
+
+    public static final int DEFAULT_INITIAL_LIMIT = 64;
+    public static final int DEFAULT_MIN_LIMIT = 4;
+    public static final int DEFAULT_MAX_LIMIT = 1024;
+    public static final int DEFAULT_MAX_QUEUE_SIZE = 1024;
+    public static final double DEFAULT_BACKOFF_RATIO = 0.9;
+    public static final long DEFAULT_LATENCY_THRESHOLD_MILLIS = 500;
+
+    private int initialLimit = DEFAULT_INITIAL_LIMIT;
+    private int minLimit = DEFAULT_MIN_LIMIT;
+    private int maxLimit = DEFAULT_MAX_LIMIT;
+    private int maxQueueSize = DEFAULT_MAX_QUEUE_SIZE;
+    private double backoffRatio = DEFAULT_BACKOFF_RATIO;
+    private long latencyThresholdMillis = DEFAULT_LATENCY_THRESHOLD_MILLIS;
+
+    /**
+     * The limit in use before any queries have completed
+     *
+     * @return the initial limit
+     */
+    public int getInitialLimit() {
+        return initialLimit;
+    }
+
+    public ConcurrencyLimitOptions setInitialLimit(int initialLimit) {
+        if (initialLimit < 1) {
+            throw new IllegalArgumentException("initial_limit must be at least 1");
+        }
+        this.initialLimit = initialLimit;
+        return this;
+    }
+
+    /**
+     * The lowest the limit can be reduced to
+     *
+     * @return the minimum limit
+     */
+    public int getMinLimit() {
+        return minLimit;
+    }
+
+    public ConcurrencyLimitOptions setMinLimit(int minLimit) {
+        if (minLimit < 1) {
+            throw new IllegalArgumentException("min_limit must be at least 1");
+        }
+        this.minLimit = minLimit;
+        return this;
+    }
+
+    /**
+     * The highest the limit can be raised to
+     *
+     * @return the maximum limit
+     */
+    public int getMaxLimit() {
+        return maxLimit;
+    }
+
+    public ConcurrencyLimitOptions setMaxLimit(int maxLimit) {
+        if (maxLimit < 1) {
+            throw new IllegalArgumentException("max_limit must be at least 1");
+        }
+        this.maxLimit = maxLimit;
+        return this;
+    }
+
+    /**
+     * The number of queries that can wait for a permit.  Queries are rejected with a
+     * {@link java.util.concurrent.RejectedExecutionException} once the queue is full.  Zero rejects as soon as the
+     * limit is reached.
+     *
+     * @return the maximum queue size
+     */
+    public int getMaxQueueSize() {
+        return maxQueueSize;
+    }
+
+    public ConcurrencyLimitOptions setMaxQueueSize(int maxQueueSize) {
+        if (maxQueueSize < 0) {
+            throw new IllegalArgumentException("max_queue_size cannot be negative");
+        }
+        this.maxQueueSize = maxQueueSize;
+        return this;
+    }
+
+    /**
+     * The ratio the limit is multiplied by when a query is slow or dropped
+     *
+     * @return the backoff ratio
+     */
+    public double getBackoffRatio() {
+        return backoffRatio;
+    }
+
+    public ConcurrencyLimitOptions setBackoffRatio(double backoffRatio) {
+        if (backoffRatio <= 0 || backoffRatio >= 1) {
+            throw new IllegalArgumentException("backoff_ratio must be between 0 and 1");
+        }
+        this.backoffRatio = backoffRatio;
+        return this;
+    }
+
+    /**
+     * Queries slower than the threshold reduce the limit
+     *
+     * @return the latency threshold in milliseconds
+     */
+    public long getLatencyThresholdMillis() {
+        return latencyThresholdMillis;
+    }
+
+    public ConcurrencyLimitOptions setLatencyThresholdMillis(long latencyThresholdMillis) {
+        if (latencyThresholdMillis < 1) {
+            throw new IllegalArgumentException("latency_threshold_millis must be at least 1");
+        }
+        this.latencyThresholdMillis = latencyThresholdMillis;
+        return this;
+    }
+
+}
@@ -1,19 +1,80 @@
 package com.englishtown.vertx.cassandra;
 
 import com.google.common.util.concurrent.FutureCallback;
-import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.Uninterruptibles;
+import io.vertx.core.AsyncResult;
 import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
 import io.vertx.core.Vertx;
+import io.vertx.core.logging.Logger;
+import io.vertx.core.logging.LoggerFactory;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
 
 /**
  * Future vert.x utils
  */
 public class FutureUtils {
 
+    /**
+     * System property to override the default {@link DispatchMode}
+     */
+    public static final String DISPATCH_MODE_PROP_NAME = "vertx.cassandra.dispatchMode";
+
+    private static final Logger logger = LoggerFactory.getLogger(FutureUtils.class);
+
+    private static final DispatchMode DEFAULT_DISPATCH_MODE = DispatchMode.fromString(System.getProperty(DISPATCH_MODE_PROP_NAME));
+
     private FutureUtils() {
     }
 
+    /**
+     * How future callbacks are handed back to the vert.x context
+     */
+    public enum DispatchMode {
+        /**
+         * Always schedule the callback with {@link Context#runOnContext(io.vertx.core.Handler)}
+         */
+        CONTEXT,
+        /**
+         * Run the callback inline when the future completes on the captured context, otherwise schedule it with
+         * {@link Context#runOnContext(io.vertx.core.Handler)}.  A future that is already complete when the callback is
+         * added is also scheduled, so the callback never runs before the caller returns.
+         */
+        INLINE,
+        /**
+         * Same dispatch as {@link #INLINE}, and the cassandra driver shares the vert.x netty event loops so futures
+         * are completed on vert.x event loop threads
+         */
+        EVENT_LOOP;
+
+        static DispatchMode fromString(String value) {
+            if (value == null || value.isEmpty()) {
+                return INLINE;
+            }
+            try {
+                return valueOf(value.toUpperCase());
+            } catch (IllegalArgumentException e) {
+                logger.warn("Invalid " + DISPATCH_MODE_PROP_NAME + " value " + value + ", using " + INLINE);
+                return INLINE;
+            }
+        }
+    }
+
+    /**
+     * Returns the dispatch mode used when none is specified.  Defaults to {@link DispatchMode#INLINE} and can be set
+     * with the {@value #DISPATCH_MODE_PROP_NAME} system property.
+     *
+     * @return the default dispatch mode
+     */
+    public static DispatchMode getDefaultDispatchMode() {
+        return DEFAULT_DISPATCH_MODE;
+    }
+
     /**
      * Add a future callback to run on the vert.x context
      *
@@ -23,8 +84,121 @@ public class FutureUtils {
      * @param <V>
      */
     public static <V> void addCallback(final ListenableFuture<V> future, FutureCallback<? super V> callback, Vertx vertx) {
-        final Context context = vertx.getOrCreateContext();
-        Futures.addCallback(future, callback, command -> context.runOnContext(aVoid -> command.run()));
+        addCallback(future, callback, vertx, DEFAULT_DISPATCH_MODE);
+    }
+
+    /**
+     * Add a future callback to run on the vert.x context
+     *
+     * @param future   listenable future to have the callback added to
+     * @param callback the callback for the listenable future
+     * @param vertx
+     * @param mode     how the callback is dispatched to the vert.x context
+     * @param <V>
+     */
+    public static <V> void addCallback(final ListenableFuture<V> future, FutureCallback<? super V> callback, Vertx vertx, DispatchMode mode) {
+        addHandler(future, result -> {
+            if (result.succeeded()) {
+                callback.onSuccess(result.result());
+            } else {
+                callback.onFailure(result.cause());
+            }
+        }, vertx, mode);
+    }
+
+    /**
+     * Add a vert.x handler to run on the vert.x context when the future completes.
+     * <p>
+     * The handler is attached directly as the future listener, so there is no intermediate callback and a single
+     * allocation per future.  A vert.x {@link Future} can be passed as the handler.
+     *
+     * @param future  listenable future to have the handler added to
+     * @param handler the handler for the async result
+     * @param vertx
+     * @param <V>
+     */
+    public static <V> void addHandler(final ListenableFuture<V> future, Handler<AsyncResult<V>> handler, Vertx vertx) {
+        addHandler(future, handler, vertx, DEFAULT_DISPATCH_MODE);
+    }
+
+    /**
+     * Add a vert.x handler to run on the vert.x context when the future completes.
+     *
+     * @param future  listenable future to have the handler added to
+     * @param handler the handler for the async result
+     * @param vertx
+     * @param mode    how the handler is dispatched to the vert.x context
+     * @param <V>
+     */
+    public static <V> void addHandler(final ListenableFuture<V> future, Handler<AsyncResult<V>> handler, Vertx vertx, DispatchMode mode) {
+        ContextListener<V> listener = new ContextListener<>(future, handler, vertx.getOrCreateContext(), mode);
+        future.addListener(listener, MoreExecutors.directExecutor());
+        listener.added = true;
+    }
+
+    /**
+     * Returns an executor that runs commands on the provided vert.x context
+     *
+     * @param context the vert.x context
+     * @param mode    how commands are dispatched to the context
+     * @return the context executor
+     */
+    public static Executor executor(Context context, DispatchMode mode) {
+        if (mode == DispatchMode.CONTEXT) {
+            return command -> context.runOnContext(aVoid -> command.run());
+        }
+        return command -> {
+            if (Vertx.currentContext() == context) {
+                command.run();
+            } else {
+                context.runOnContext(aVoid -> command.run());
+            }
+        };
+    }
+
+    /**
+     * Future listener that hands the result of a future to a vert.x handler on the context
+     */
+    private static class ContextListener<V> implements Runnable, Handler<Void> {
+
+        private final ListenableFuture<V> future;
+        private final Handler<AsyncResult<V>> handler;
+        private final Context context;
+        private final DispatchMode mode;
+        // Only read inline on the context thread that added the listener, a future completed while the listener
+        // was being added is scheduled so the handler never runs before the caller returns
+        private boolean added;
+
+        private ContextListener(ListenableFuture<V> future, Handler<AsyncResult<V>> handler, Context context, DispatchMode mode) {
+            this.future = future;
+            this.handler = handler;
+            this.context = context;
+            this.mode = mode;
+        }
+
+        @Override
+        public void run() {
+            if (mode != DispatchMode.CONTEXT && added && Vertx.currentContext() == context) {
+                handle(null);
+            } else {
+                context.runOnContext(this);
+            }
+        }
+
+        @Override
+        public void handle(Void aVoid) {
+            V value;
+            try {
+                value = Uninterruptibles.getUninterruptibly(future);
+            } catch (ExecutionException e) {
+                handler.handle(Future.failedFuture(e.getCause()));
+                return;
+            } catch (RuntimeException e) {
+                handler.handle(Future.failedFuture(e));
+                return;
+            }
+            handler.handle(Future.succeededFuture(value));
+        }
     }
 
 }
@@ -0,0 +1,114 @@
+package com.englishtown.vertx.cassandra;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Options for caching the results of {@link CacheableStatement}s.
+ * <p>
+ * Results are cached for the TTL of their table, or the default TTL, and the least recently used results are evicted
+ * once the cache holds {@link #getMaximumSize()} results.
+ */
+public class ResultCacheOptions {
+
+    public static final long DEFAULT_MAXIMUM_SIZE = 10000;
+    public static final long DEFAULT_TTL_MILLIS = 1000;
+
+    private long maximumSize = DEFAULT_MAXIMUM_SIZE;
+    private long ttlMillis = DEFAULT_TTL_MILLIS;
+    private final Map<String, Long> tableTtlMillis = new HashMap<>();
+
+    /**
+     * The maximum number of cached results
+     *
+     * @return the maximum size
+     */
+    public long getMaximumSize() {
+        return maximumSize;
+    }
+
+    /**
+     * Sets the maximum number of cached results
+     *
+     * @param maximumSize the maximum size
+     * @return this {@code ResultCacheOptions}
+     */
+    public ResultCacheOptions setMaximumSize(long maximumSize) {
+        if (maximumSize < 1) {
+            throw new IllegalArgumentException("maximum_size must be at least 1");
+        }
+        this.maximumSize = maximumSize;
+        return this;
+    }
+
+    /**
+     * How long results are cached for tables without their own TTL
+     *
+     * @return the default TTL in milliseconds
+     */
+    public long getTtlMillis() {
+        return ttlMillis;
+    }
+
+    /**
+     * Sets how long results are cached for tables without their own TTL
+     *
+     * @param ttlMillis the default TTL in milliseconds
+     * @return this {@code ResultCacheOptions}
+     */
+    public ResultCacheOptions setTtlMillis(long ttlMillis) {
+        if (ttlMillis < 1) {
+            throw new IllegalArgumentException("ttl_millis must be at least 1");
+        }
+        this.ttlMillis = ttlMillis;
+        return this;
+    }
+
+    /**
+     * Sets how long results are cached for a table
+     *
+     * @param keyspace  the keyspace name
+     * @param table     the table name
+     * @param ttlMillis the TTL in milliseconds
+     * @return this {@code ResultCacheOptions}
+     */
+    public ResultCacheOptions setTableTtlMillis(String keyspace, String table, long ttlMillis) {
+        if (ttlMillis < 1) {
+            throw new IllegalArgumentException("ttl_millis must be at least 1");
+        }
+        tableTtlMillis.put(tableKey(keyspace, table), ttlMillis);
+        return this;
+    }
+
+    /**
+     * How long results are cached for a table
+     *
+     * @param keyspace the keyspace name, may be null
+     * @param table    the table name, may be null
+     * @return the table TTL, or the default TTL, in milliseconds
+     */
+    public long getTtlMillis(String keyspace, String table) {
+        if (keyspace == null || table == null) {
+            return ttlMillis;
+        }
+        return tableTtlMillis.getOrDefault(tableKey(keyspace, table), ttlMillis);
+    }
+
+    /**
+     * The longest TTL of any table
+     *
+     * @return the maximum TTL in milliseconds
+     */
+    public long getMaxTtlMillis() {
+        long max = ttlMillis;
+        for (long ttl : tableTtlMillis.values()) {
+            max = Math.max(max, ttl);
+        }
+        return max;
+    }
+
+    private static String tableKey(String keyspace, String table) {
+        return keyspace.toLowerCase() + "." + table.toLowerCase();
+    }
+
+}
@@ -0,0 +1,403 @@
+package com.englishtown.vertx.cassandra;
+
+import com.datastax.driver.core.*;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.Json;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.net.InetAddress;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Date;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Encodes rows to JSON or a compact binary format directly from the serialized column values.
+ * <p>
+ * A codec is created once per {@link ColumnDefinitions}, e.g. once per {@link ResultSet}, and resolves the column
+ * names and types up front.  Text, numeric, boolean, uuid and blob columns are then written straight from the row
+ * bytes without creating Java objects.  Other types are deserialized with their {@link TypeCodec}.
+ * <p>
+ * JSON values follow {@link JsonObject} conventions: timestamps are epoch milliseconds, blobs are base64, uuids,
+ * inet addresses, dates, varints and decimals are strings, and user types are objects.
+ */
+public final class RowCodec {
+
+    private static final byte[] NULL = "null".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+
+    private enum Kind {
+        TEXT, INT, BIGINT, SMALLINT, TINYINT, BOOLEAN, DOUBLE, FLOAT, UUID, BLOB, OTHER
+    }
+
+    private final ProtocolVersion protocolVersion;
+    private final String[] names;
+    private final byte[][] jsonNames;
+    private final Kind[] kinds;
+    private final TypeCodec<Object>[] codecs;
+
+    @SuppressWarnings("unchecked")
+    private RowCodec(ColumnDefinitions definitions, CodecRegistry codecRegistry, ProtocolVersion protocolVersion) {
+        this.protocolVersion = protocolVersion;
+
+        int size = definitions.size();
+        names = new String[size];
+        jsonNames = new byte[size][];
+        kinds = new Kind[size];
+        codecs = new TypeCodec[size];
+
+        for (int i = 0; i < size; i++) {
+            DataType type = definitions.getType(i);
+            names[i] = definitions.getName(i);
+            // {"name": for the first column, ,"name": for the others
+            jsonNames[i] = ((i == 0 ? "{" : ",") + Json.encode(names[i]) + ":").getBytes(StandardCharsets.UTF_8);
+            kinds[i] = kindOf(type);
+            codecs[i] = codecRegistry.codecFor(type);
+        }
+    }
+
+    /**
+     * Creates a codec for rows with the given columns
+     *
+     * @param definitions     the columns, e.g. {@link ResultSet#getColumnDefinitions()}
+     * @param codecRegistry   the registry used to deserialize column types without a direct encoding
+     * @param protocolVersion the protocol version the rows were serialized with
+     * @return the codec
+     */
+    public static RowCodec create(ColumnDefinitions definitions, CodecRegistry codecRegistry, ProtocolVersion protocolVersion) {
+        return new RowCodec(definitions, codecRegistry, protocolVersion);
+    }
+
+    /**
+     * Creates a codec for rows with the given columns, using the codec registry and protocol version of the cluster
+     *
+     * @param definitions the columns, e.g. {@link ResultSet#getColumnDefinitions()}
+     * @param cluster     the cluster the rows were read from
+     * @return the codec
+     */
+    public static RowCodec create(ColumnDefinitions definitions, Cluster cluster) {
+        Configuration configuration = cluster.getConfiguration();
+        return create(definitions,
+                configuration.getCodecRegistry(),
+                configuration.getProtocolOptions().getProtocolVersion());
+    }
+
+    /**
+     * Appends the row as a JSON object keyed by column name
+     *
+     * @param row    the row to encode
+     * @param buffer the buffer to append to
+     * @return the buffer
+     */
+    public Buffer encodeJson(Row row, Buffer buffer) {
+        if (names.length == 0) {
+            return buffer.appendString("{}");
+        }
+        for (int i = 0; i < names.length; i++) {
+            buffer.appendBytes(jsonNames[i]);
+            appendJsonValue(i, row.getBytesUnsafe(i), buffer);
+        }
+        return buffer.appendByte((byte) '}');
+    }
+
+    /**
+     * Appends the rows as a JSON array of objects.
+     * <p>
+     * Iterating a {@link ResultSet} past {@link ResultSet#getAvailableWithoutFetching()} fetches the next page
+     * synchronously, so only pass rows that have already been fetched when on an event loop.
+     *
+     * @param rows   the rows to encode
+     * @param buffer the buffer to append to
+     * @return the buffer
+     */
+    public Buffer encodeJsonArray(Iterable<Row> rows, Buffer buffer) {
+        buffer.appendByte((byte) '[');
+        boolean first = true;
+        for (Row row : rows) {
+            if (!first) {
+                buffer.appendByte((byte) ',');
+            }
+            encodeJson(row, buffer);
+            first = false;
+        }
+        return buffer.appendByte((byte) ']');
+    }
+
+    /**
+     * Appends the row in a compact binary format: for each column in order, the length of the value as an int (-1 for
+     * null) followed by the value serialized with the native protocol, as read by {@link TypeCodec#deserialize}.
+     *
+     * @param row    the row to encode
+     * @param buffer the buffer to append to
+     * @return the buffer
+     */
+    public Buffer encodeBinary(Row row, Buffer buffer) {
+        for (int i = 0; i < names.length; i++) {
+            ByteBuffer bytes = row.getBytesUnsafe(i);
+            if (bytes == null) {
+                buffer.appendInt(-1);
+            } else {
+                buffer.appendInt(bytes.remaining());
+                appendBytes(bytes, buffer);
+            }
+        }
+        return buffer;
+    }
+
+    /**
+     * Converts the row to a {@link JsonObject} keyed by column name
+     *
+     * @param row the row to convert
+     * @return the json object
+     */
+    public JsonObject toJson(Row row) {
+        JsonObject json = new JsonObject();
+        for (int i = 0; i < names.length; i++) {
+            ByteBuffer bytes = row.getBytesUnsafe(i);
+            json.put(names[i], bytes == null ? null : toJsonValue(codecs[i].deserialize(bytes.duplicate(), protocolVersion)));
+        }
+        return json;
+    }
+
+    private void appendJsonValue(int i, ByteBuffer bytes, Buffer buffer) {
+
+        if (bytes == null || (bytes.remaining() == 0 && kinds[i] != Kind.TEXT && kinds[i] != Kind.BLOB)) {
+            buffer.appendBytes(NULL);
+            return;
+        }
+
+        int p = bytes.position();
+
+        switch (kinds[i]) {
+            case TEXT:
+                appendJsonString(bytes, buffer);
+                break;
+            case INT:
+                buffer.appendString(Integer.toString(bytes.getInt(p)));
+                break;
+            case BIGINT:
+                buffer.appendString(Long.toString(bytes.getLong(p)));
+                break;
+            case SMALLINT:
+                buffer.appendString(Short.toString(bytes.getShort(p)));
+                break;
+            case TINYINT:
+                buffer.appendString(Byte.toString(bytes.get(p)));
+                break;
+            case BOOLEAN:
+                buffer.appendString(bytes.get(p) != 0 ? "true" : "false");
+                break;
+            case DOUBLE:
+                appendJsonNumber(bytes.getDouble(p), buffer);
+                break;
+            case FLOAT:
+                appendJsonNumber(bytes.getFloat(p), buffer);
+                break;
+            case UUID:
+                buffer.appendByte((byte) '"')
+                        .appendString(new UUID(bytes.getLong(p), bytes.getLong(p + 8)).toString())
+                        .appendByte((byte) '"');
+                break;
+            case BLOB:
+                buffer.appendByte((byte) '"');
+                appendBytes(Base64.getEncoder().encode(bytes.duplicate()), buffer);
+                buffer.appendByte((byte) '"');
+                break;
+            default:
+                Object value = toJsonValue(codecs[i].deserialize(bytes.duplicate(), protocolVersion));
+                buffer.appendString(Json.encode(value));
+        }
+    }
+
+    private static void appendJsonNumber(double value, Buffer buffer) {
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            // Not valid JSON numbers
+            buffer.appendByte((byte) '"').appendString(Double.toString(value)).appendByte((byte) '"');
+        } else {
+            buffer.appendString(Double.toString(value));
+        }
+    }
+
+    private static void appendJsonNumber(float value, Buffer buffer) {
+        if (Float.isNaN(value) || Float.isInfinite(value)) {
+            buffer.appendByte((byte) '"').appendString(Float.toString(value)).appendByte((byte) '"');
+        } else {
+            // The shortest float representation, widening to double would print 0.1f as 0.10000000149011612
+            buffer.appendString(Float.toString(value));
+        }
+    }
+
+    private static void appendJsonString(ByteBuffer bytes, Buffer buffer) {
+
+        byte[] array;
+        int offset;
+        int length = bytes.remaining();
+
+        if (bytes.hasArray()) {
+            array = bytes.array();
+            offset = bytes.arrayOffset() + bytes.position();
+        } else {
+            array = new byte[length];
+            bytes.duplicate().get(array);
+            offset = 0;
+        }
+
+        buffer.appendByte((byte) '"');
+
+        // UTF-8 multi-byte sequences are copied as is, only quotes, backslashes and control characters are escaped
+        int start = offset;
+        int end = offset + length;
+        for (int i = offset; i < end; i++) {
+            int b = array[i] & 0xff;
+            if (b < 0x20 || b == '"' || b == '\\') {
+                buffer.appendBytes(array, start, i - start);
+                appendEscape(b, buffer);
+                start = i + 1;
+            }
+        }
+        buffer.appendBytes(array, start, end - start);
+
+        buffer.appendByte((byte) '"');
+    }
+
+    private static void appendEscape(int b, Buffer buffer) {
+        buffer.appendByte((byte) '\\');
+        switch (b) {
+            case '"':
+            case '\\':
+                buffer.appendByte((byte) b);
+                break;
+            case '\n':
+                buffer.appendByte((byte) 'n');
+                break;
+            case '\r':
+                buffer.appendByte((byte) 'r');
+                break;
+            case '\t':
+                buffer.appendByte((byte) 't');
+                break;
+            case '\b':
+                buffer.appendByte((byte) 'b');
+                break;
+            case '\f':
+                buffer.appendByte((byte) 'f');
+                break;
+            default:
+                buffer.appendByte((byte) 'u')
+                        .appendByte((byte) '0')
+                        .appendByte((byte) '0')
+                        .appendByte(HEX[b >> 4])
+                        .appendByte(HEX[b & 0xf]);
+        }
+    }
+
+    private static void appendBytes(ByteBuffer bytes, Buffer buffer) {
+        if (bytes.hasArray()) {
+            buffer.appendBytes(bytes.array(), bytes.arrayOffset() + bytes.position(), bytes.remaining());
+        } else {
+            byte[] array = new byte[bytes.remaining()];
+            bytes.duplicate().get(array);
+            buffer.appendBytes(array);
+        }
+    }
+
+    private static Kind kindOf(DataType type) {
+        switch (type.getName()) {
+            case ASCII:
+            case TEXT:
+            case VARCHAR:
+                return Kind.TEXT;
+            case INT:
+                return Kind.INT;
+            case BIGINT:
+            case COUNTER:
+            case TIMESTAMP:
+                return Kind.BIGINT;
+            case SMALLINT:
+                return Kind.SMALLINT;
+            case TINYINT:
+                return Kind.TINYINT;
+            case BOOLEAN:
+                return Kind.BOOLEAN;
+            case DOUBLE:
+                return Kind.DOUBLE;
+            case FLOAT:
+                return Kind.FLOAT;
+            case UUID:
+            case TIMEUUID:
+                return Kind.UUID;
+            case BLOB:
+                return Kind.BLOB;
+            default:
+                return Kind.OTHER;
+        }
+    }
+
+    /**
+     * Converts a deserialized column value to a type accepted by {@link JsonObject}
+     */
+    private static Object toJsonValue(Object value) {
+
+        if (value == null || value instanceof String || value instanceof Boolean) {
+            return value;
+        }
+        if (value instanceof BigInteger || value instanceof BigDecimal) {
+            // Keep the precision
+            return value.toString();
+        }
+        if (value instanceof Number) {
+            return value;
+        }
+        if (value instanceof Date) {
+            return ((Date) value).getTime();
+        }
+        if (value instanceof InetAddress) {
+            return ((InetAddress) value).getHostAddress();
+        }
+        if (value instanceof ByteBuffer) {
+            ByteBuffer bytes = Base64.getEncoder().encode(((ByteBuffer) value).duplicate());
+            return new String(bytes.array(), bytes.arrayOffset(), bytes.remaining(), StandardCharsets.US_ASCII);
+        }
+        if (value instanceof Collection) {
+            JsonArray array = new JsonArray();
+            for (Object element : (Collection<?>) value) {
+                array.add(toJsonValue(element));
+            }
+            return array;
+        }
+        if (value instanceof Map) {
+            JsonObject json = new JsonObject();
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                json.put(String.valueOf(toJsonValue(entry.getKey())), toJsonValue(entry.getValue()));
+            }
+            return json;
+        }
+        if (value instanceof UDTValue) {
+            UDTValue udt = (UDTValue) value;
+            JsonObject json = new JsonObject();
+            int i = 0;
+            for (UserType.Field field : udt.getType()) {
+                json.put(field.getName(), toJsonValue(udt.getObject(i++)));
+            }
+            return json;
+        }
+        if (value instanceof TupleValue) {
+            TupleValue tuple = (TupleValue) value;
+            JsonArray array = new JsonArray();
+            for (int i = 0; i < tuple.getType().getComponentTypes().size(); i++) {
+                array.add(toJsonValue(tuple.getObject(i)));
+            }
+            return array;
+        }
+
+        // uuid, date, duration etc.
+        return value.toString();
+    }
+
+}
@@ -0,0 +1,89 @@
+package com.englishtown.vertx.cassandra;
+
+/**
+ * Options for {@link CassandraSession#applySchema(java.util.List, SchemaOptions, io.vertx.core.Handler)}.
+ * <p>
+ * Statements on different tables are executed up to {@link #getMaxConcurrency()} at a time.  When the driver reports
+ * the cluster has not agreed on a statement's schema change, the schema versions of the nodes are polled every
+ * {@link #getAgreementPollIntervalMillis()} until they match, for at most {@link #getAgreementTimeoutMillis()}.
+ */
+public class SchemaOptions {
+
+    public static final int DEFAULT_MAX_CONCURRENCY = 4;
+    public static final long DEFAULT_AGREEMENT_TIMEOUT_MILLIS = 30000;
+    public static final long DEFAULT_AGREEMENT_POLL_INTERVAL_MILLIS = 200;
+
+    private int maxConcurrency = DEFAULT_MAX_CONCURRENCY;
+    private long agreementTimeoutMillis = DEFAULT_AGREEMENT_TIMEOUT_MILLIS;
+    private long agreementPollIntervalMillis = DEFAULT_AGREEMENT_POLL_INTERVAL_MILLIS;
+
+    /**
+     * The maximum number of independent statements in flight
+     *
+     * @return the maximum concurrency
+     */
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    /**
+     * Sets the maximum number of independent statements in flight, 1 executes the statements one by one
+     *
+     * @param maxConcurrency the maximum concurrency
+     * @return this {@code SchemaOptions}
+     */
+    public SchemaOptions setMaxConcurrency(int maxConcurrency) {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("max_concurrency must be at least 1");
+        }
+        this.maxConcurrency = maxConcurrency;
+        return this;
+    }
+
+    /**
+     * How long to wait for schema agreement after a statement before failing
+     *
+     * @return the agreement timeout in milliseconds
+     */
+    public long getAgreementTimeoutMillis() {
+        return agreementTimeoutMillis;
+    }
+
+    /**
+     * Sets how long to wait for schema agreement after a statement before failing
+     *
+     * @param agreementTimeoutMillis the agreement timeout in milliseconds
+     * @return this {@code SchemaOptions}
+     */
+    public SchemaOptions setAgreementTimeoutMillis(long agreementTimeoutMillis) {
+        if (agreementTimeoutMillis < 0) {
+            throw new IllegalArgumentException("agreement_timeout_millis cannot be negative");
+        }
+        this.agreementTimeoutMillis = agreementTimeoutMillis;
+        return this;
+    }
+
+    /**
+     * How often the schema versions are polled while waiting for agreement
+     *
+     * @return the agreement poll interval in milliseconds
+     */
+    public long getAgreementPollIntervalMillis() {
+        return agreementPollIntervalMillis;
+    }
+
+    /**
+     * Sets how often the schema versions are polled while waiting for agreement
+     *
+     * @param agreementPollIntervalMillis the agreement poll interval in milliseconds
+     * @return this {@code SchemaOptions}
+     */
+    public SchemaOptions setAgreementPollIntervalMillis(long agreementPollIntervalMillis) {
+        if (agreementPollIntervalMillis < 1) {
+            throw new IllegalArgumentException("agreement_poll_interval_millis must be at least 1");
+        }
+        this.agreementPollIntervalMillis = agreementPollIntervalMillis;
+        return this;
+    }
+
+}
@@ -0,0 +1,60 @@
+package com.englishtown.vertx.cassandra;
+
+/**
+ * Options for coalescing single partition writes into unlogged batches
+ */
+public class WriteCoalescingOptions {
+
+    public static final int DEFAULT_MAX_BATCH_SIZE = 32;
+    public static final long DEFAULT_MAX_DELAY_MILLIS = 2;
+
+    private int maxBatchSize = DEFAULT_MAX_BATCH_SIZE;
+    private long maxDelayMillis = DEFAULT_MAX_DELAY_MILLIS;
+
+    /**
+     * The maximum number of statements grouped into a single batch.  A batch is sent as soon as it is full.
+     *
+     * @return the maximum batch size
+     */
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    /**
+     * Sets the maximum number of statements grouped into a single batch
+     *
+     * @param maxBatchSize the maximum batch size
+     * @return this {@code WriteCoalescingOptions}
+     */
+    public WriteCoalescingOptions setMaxBatchSize(int maxBatchSize) {
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("max_batch_size must be at least 1");
+        }
+        this.maxBatchSize = maxBatchSize;
+        return this;
+    }
+
+    /**
+     * The maximum time a statement waits for other statements to the same partition before its batch is sent
+     *
+     * @return the maximum delay in milliseconds
+     */
+    public long getMaxDelayMillis() {
+        return maxDelayMillis;
+    }
+
+    /**
+     * Sets the maximum time a statement waits for other statements to the same partition
+     *
+     * @param maxDelayMillis the maximum delay in milliseconds
+     * @return this {@code WriteCoalescingOptions}
+     */
+    public WriteCoalescingOptions setMaxDelayMillis(long maxDelayMillis) {
+        if (maxDelayMillis < 1) {
+            throw new IllegalArgumentException("max_delay_millis must be at least 1");
+        }
+        this.maxDelayMillis = maxDelayMillis;
+        return this;
+    }
+
+}
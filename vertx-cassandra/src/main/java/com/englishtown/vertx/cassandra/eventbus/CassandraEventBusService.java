@@ -0,0 +1,351 @@
+package com.englishtown.vertx.cassandra.eventbus;
+
+import com.datastax.driver.core.*;
+import com.datastax.driver.core.exceptions.InvalidTypeException;
+import com.datastax.driver.core.exceptions.PagingStateException;
+import com.datastax.driver.core.exceptions.QueryValidationException;
+import com.englishtown.vertx.cassandra.CassandraSession;
+import com.englishtown.vertx.cassandra.RowCodec;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.CompositeFuture;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.eventbus.DeliveryOptions;
+import io.vertx.core.eventbus.Message;
+import io.vertx.core.eventbus.MessageConsumer;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.logging.Logger;
+import io.vertx.core.logging.LoggerFactory;
+
+import java.time.DateTimeException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Exposes a {@link CassandraSession} on the event bus so verticles without their own session can run CQL.
+ * <p>
+ * Messages are json objects with the action in the {@code action} header (or body field):
+ * <ul>
+ * <li>{@code execute}: {@code {"query": "...", "params": [...]}} replies {@code {"rows": [...], "paging_state": "..."}}</li>
+ * <li>{@code prepare}: {@code {"query": "..."}} replies {@code {"variables": [{"name": "...", "type": "..."}]}}</li>
+ * <li>{@code batch}: {@code {"statements": [{"query": "...", "params": [...]}]}} replies {@code {"applied": true}}</li>
+ * </ul>
+ * Queries with params are prepared once through the session's prepared statement cache and the JSON params are
+ * converted to the bind variable types.  Execute and batch messages also accept {@code consistency},
+ * {@code serial_consistency} and {@code idempotent}; execute accepts {@code fetch_size} and {@code paging_state}.
+ * <p>
+ * Invalid requests fail with {@link #FAILURE_BAD_REQUEST}, other errors with {@link #FAILURE_EXECUTION}.
+ */
+public class CassandraEventBusService {
+
+    public static final String DEFAULT_ADDRESS = "et.vertx.cassandra";
+
+    public static final String HEADER_ACTION = "action";
+    public static final String ACTION_EXECUTE = "execute";
+    public static final String ACTION_PREPARE = "prepare";
+    public static final String ACTION_BATCH = "batch";
+
+    public static final int FAILURE_BAD_REQUEST = 400;
+    public static final int FAILURE_EXECUTION = 500;
+
+    public static final String FIELD_ACTION = "action";
+    public static final String FIELD_QUERY = "query";
+    public static final String FIELD_PARAMS = "params";
+    public static final String FIELD_STATEMENTS = "statements";
+    public static final String FIELD_TYPE = "type";
+    public static final String FIELD_CONSISTENCY = "consistency";
+    public static final String FIELD_SERIAL_CONSISTENCY = "serial_consistency";
+    public static final String FIELD_FETCH_SIZE = "fetch_size";
+    public static final String FIELD_PAGING_STATE = "paging_state";
+    public static final String FIELD_IDEMPOTENT = "idempotent";
+    public static final String FIELD_ROWS = "rows";
+    public static final String FIELD_VARIABLES = "variables";
+    public static final String FIELD_NAME = "name";
+    public static final String FIELD_APPLIED = "applied";
+
+    private static final Logger logger = LoggerFactory.getLogger(CassandraEventBusService.class);
+
+    private final CassandraSession session;
+    private final Vertx vertx;
+    private DeliveryOptions replyOptions = new DeliveryOptions();
+    private MessageConsumer<JsonObject> consumer;
+
+    public CassandraEventBusService(CassandraSession session, Vertx vertx) {
+        this.session = session;
+        this.vertx = vertx;
+    }
+
+    /**
+     * Whether replies are delivered to local consumers without copying, see {@link SharedJsonObjectCodec}.  Remote
+     * consumers must register the codec as well.
+     *
+     * @param sharedReplies true to share reply objects with local consumers
+     * @return the service
+     */
+    public CassandraEventBusService setSharedReplies(boolean sharedReplies) {
+        if (sharedReplies) {
+            SharedJsonObjectCodec.register(vertx.eventBus());
+            replyOptions = new DeliveryOptions().setCodecName(SharedJsonObjectCodec.NAME);
+        } else {
+            replyOptions = new DeliveryOptions();
+        }
+        return this;
+    }
+
+    /**
+     * Starts consuming messages on the address
+     *
+     * @param address           the event bus address
+     * @param completionHandler called when the registration has propagated
+     */
+    public void register(String address, Handler<AsyncResult<Void>> completionHandler) {
+        if (consumer != null) {
+            throw new IllegalStateException("The service is already registered on " + consumer.address());
+        }
+        consumer = vertx.eventBus().consumer(address, this::handle);
+        consumer.completionHandler(completionHandler);
+    }
+
+    /**
+     * Stops consuming messages
+     *
+     * @param completionHandler called when the unregistration has propagated
+     */
+    public void unregister(Handler<AsyncResult<Void>> completionHandler) {
+        if (consumer == null) {
+            completionHandler.handle(Future.succeededFuture());
+            return;
+        }
+        consumer.unregister(completionHandler);
+        consumer = null;
+    }
+
+    void handle(Message<JsonObject> message) {
+
+        JsonObject body = message.body();
+        if (body == null) {
+            message.fail(FAILURE_BAD_REQUEST, "The message body must be a json object");
+            return;
+        }
+
+        String action = message.headers().get(HEADER_ACTION);
+        if (action == null) {
+            action = body.getString(FIELD_ACTION);
+        }
+        if (action == null) {
+            message.fail(FAILURE_BAD_REQUEST, "The " + HEADER_ACTION + " header is required");
+            return;
+        }
+
+        try {
+            switch (action) {
+                case ACTION_EXECUTE:
+                    execute(body, message);
+                    break;
+                case ACTION_PREPARE:
+                    prepare(body, message);
+                    break;
+                case ACTION_BATCH:
+                    batch(body, message);
+                    break;
+                default:
+                    message.fail(FAILURE_BAD_REQUEST, "Unknown action " + action);
+            }
+        } catch (RuntimeException e) {
+            fail(message, e);
+        }
+    }
+
+    private void execute(JsonObject body, Message<JsonObject> message) {
+        statement(body, ar -> {
+            if (ar.failed()) {
+                fail(message, ar.cause());
+                return;
+            }
+            Statement statement = ar.result();
+            try {
+                Integer fetchSize = body.getInteger(FIELD_FETCH_SIZE);
+                if (fetchSize != null) {
+                    statement.setFetchSize(fetchSize);
+                }
+                String pagingState = body.getString(FIELD_PAGING_STATE);
+                if (pagingState != null) {
+                    statement.setPagingState(PagingState.fromString(pagingState));
+                }
+            } catch (RuntimeException e) {
+                fail(message, e);
+                return;
+            }
+            session.executeAsync(statement, result -> {
+                if (result.failed()) {
+                    fail(message, result.cause());
+                    return;
+                }
+                message.reply(toReply(result.result()), replyOptions);
+            });
+        });
+    }
+
+    private void prepare(JsonObject body, Message<JsonObject> message) {
+        session.getPreparedAsync(query(body), ar -> {
+            if (ar.failed()) {
+                fail(message, ar.cause());
+                return;
+            }
+            JsonArray variables = new JsonArray();
+            for (ColumnDefinitions.Definition definition : ar.result().getVariables()) {
+                variables.add(new JsonObject()
+                        .put(FIELD_NAME, definition.getName())
+                        .put(FIELD_TYPE, definition.getType().toString()));
+            }
+            message.reply(new JsonObject().put(FIELD_VARIABLES, variables), replyOptions);
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private void batch(JsonObject body, Message<JsonObject> message) {
+
+        JsonArray statements = body.getJsonArray(FIELD_STATEMENTS);
+        if (statements == null || statements.isEmpty()) {
+            message.fail(FAILURE_BAD_REQUEST, "The " + FIELD_STATEMENTS + " field is required");
+            return;
+        }
+
+        String type = body.getString(FIELD_TYPE);
+        BatchStatement batch = new BatchStatement(type == null ? BatchStatement.Type.LOGGED
+                : BatchStatement.Type.valueOf(type.toUpperCase()));
+        applyOptions(body, batch);
+
+        List<Future> futures = new ArrayList<>(statements.size());
+        for (int i = 0; i < statements.size(); i++) {
+            Future<Statement> future = Future.future();
+            futures.add(future);
+            statement(statements.getJsonObject(i), future);
+        }
+
+        CompositeFuture.all(futures).setHandler(ar -> {
+            if (ar.failed()) {
+                fail(message, ar.cause());
+                return;
+            }
+            futures.forEach(f -> batch.add((Statement) f.result()));
+            session.executeAsync(batch, result -> {
+                if (result.failed()) {
+                    fail(message, result.cause());
+                    return;
+                }
+                message.reply(new JsonObject().put(FIELD_APPLIED, result.result().wasApplied()), replyOptions);
+            });
+        });
+    }
+
+    /**
+     * Builds a simple statement, or a bound statement from the cached prepared statement when there are params
+     */
+    private void statement(JsonObject request, Handler<AsyncResult<Statement>> handler) {
+
+        String query = query(request);
+        JsonArray params = request.getJsonArray(FIELD_PARAMS);
+
+        if (params == null || params.isEmpty()) {
+            SimpleStatement statement = new SimpleStatement(query);
+            applyOptions(request, statement);
+            handler.handle(Future.succeededFuture(statement));
+            return;
+        }
+
+        session.getPreparedAsync(query, ar -> {
+            if (ar.failed()) {
+                handler.handle(Future.failedFuture(ar.cause()));
+                return;
+            }
+            BoundStatement statement;
+            try {
+                statement = bind(ar.result(), params, request);
+            } catch (RuntimeException e) {
+                handler.handle(Future.failedFuture(e));
+                return;
+            }
+            handler.handle(Future.succeededFuture(statement));
+        });
+    }
+
+    private BoundStatement bind(PreparedStatement prepared, JsonArray params, JsonObject request) {
+        ColumnDefinitions variables = prepared.getVariables();
+        if (variables.size() != params.size()) {
+            throw new IllegalArgumentException("The query has " + variables.size() + " bind variables but "
+                    + params.size() + " params were provided");
+        }
+
+        Object[] values = new Object[params.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = JsonValues.convert(params.getValue(i), variables.getType(i));
+        }
+
+        BoundStatement statement = prepared.bind(values);
+        applyOptions(request, statement);
+        return statement;
+    }
+
+    private void applyOptions(JsonObject request, Statement statement) {
+        String consistency = request.getString(FIELD_CONSISTENCY);
+        if (consistency != null) {
+            statement.setConsistencyLevel(ConsistencyLevel.valueOf(consistency.toUpperCase()));
+        }
+        String serialConsistency = request.getString(FIELD_SERIAL_CONSISTENCY);
+        if (serialConsistency != null) {
+            statement.setSerialConsistencyLevel(ConsistencyLevel.valueOf(serialConsistency.toUpperCase()));
+        }
+        Boolean idempotent = request.getBoolean(FIELD_IDEMPOTENT);
+        if (idempotent != null) {
+            statement.setIdempotent(idempotent);
+        }
+    }
+
+    private String query(JsonObject request) {
+        String query = request.getString(FIELD_QUERY);
+        if (query == null || query.isEmpty()) {
+            throw new IllegalArgumentException("The " + FIELD_QUERY + " field is required");
+        }
+        return query;
+    }
+
+    /**
+     * Replies with the rows already fetched; the paging state lets the sender request the next page
+     */
+    private JsonObject toReply(ResultSet rs) {
+        RowCodec codec = RowCodec.create(rs.getColumnDefinitions(), session.getCluster());
+        JsonArray rows = new JsonArray();
+        for (int i = rs.getAvailableWithoutFetching(); i > 0; i--) {
+            rows.add(codec.toJson(rs.one()));
+        }
+
+        JsonObject reply = new JsonObject().put(FIELD_ROWS, rows);
+        PagingState pagingState = rs.getExecutionInfo().getPagingState();
+        if (pagingState != null) {
+            reply.put(FIELD_PAGING_STATE, pagingState.toString());
+        }
+        return reply;
+    }
+
+    private void fail(Message<JsonObject> message, Throwable t) {
+        if (isBadRequest(t)) {
+            message.fail(FAILURE_BAD_REQUEST, t.getMessage());
+        } else {
+            logger.error("Cassandra event bus request failed", t);
+            message.fail(FAILURE_EXECUTION, String.valueOf(t.getMessage()));
+        }
+    }
+
+    private boolean isBadRequest(Throwable t) {
+        return t instanceof IllegalArgumentException
+                || t instanceof ClassCastException
+                || t instanceof DateTimeException
+                || t instanceof InvalidTypeException
+                || t instanceof PagingStateException
+                || t instanceof QueryValidationException;
+    }
+
+}
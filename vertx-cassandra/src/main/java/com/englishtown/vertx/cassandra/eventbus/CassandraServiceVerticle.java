@@ -0,0 +1,60 @@
+package com.englishtown.vertx.cassandra.eventbus;
+
+import com.englishtown.vertx.cassandra.CassandraSession;
+import io.vertx.core.AbstractVerticle;
+import io.vertx.core.Future;
+import io.vertx.core.json.JsonObject;
+
+import javax.inject.Inject;
+
+/**
+ * Verticle that registers a {@link CassandraEventBusService} once the session is ready.
+ * <p>
+ * Config:
+ * <ul>
+ * <li>{@code address}: the event bus address, defaults to {@link CassandraEventBusService#DEFAULT_ADDRESS}</li>
+ * <li>{@code shared_replies}: deliver replies to local consumers without copying, defaults to false.  Only enable it
+ * when every consumer is in the same vert.x instance or has registered {@link SharedJsonObjectCodec}</li>
+ * </ul>
+ */
+public class CassandraServiceVerticle extends AbstractVerticle {
+
+    public static final String CONFIG_ADDRESS = "address";
+    public static final String CONFIG_SHARED_REPLIES = "shared_replies";
+
+    private final CassandraSession session;
+    private CassandraEventBusService service;
+
+    @Inject
+    public CassandraServiceVerticle(CassandraSession session) {
+        this.session = session;
+    }
+
+    @Override
+    public void start(Future<Void> startFuture) throws Exception {
+
+        JsonObject config = config();
+        String address = config.getString(CONFIG_ADDRESS, CassandraEventBusService.DEFAULT_ADDRESS);
+
+        service = new CassandraEventBusService(session, vertx)
+                .setSharedReplies(config.getBoolean(CONFIG_SHARED_REPLIES, false));
+
+        session.onReady(result -> {
+            if (result.failed()) {
+                startFuture.fail(result.cause());
+                return;
+            }
+            service.register(address, startFuture);
+        });
+    }
+
+    @Override
+    public void stop(Future<Void> stopFuture) throws Exception {
+        if (service == null) {
+            stopFuture.complete();
+            return;
+        }
+        service.unregister(stopFuture);
+    }
+
+}
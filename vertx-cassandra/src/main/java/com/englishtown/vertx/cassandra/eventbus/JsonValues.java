@@ -0,0 +1,156 @@
+package com.englishtown.vertx.cassandra.eventbus;
+
+import com.datastax.driver.core.DataType;
+import com.datastax.driver.core.LocalDate;
+import com.google.common.net.InetAddresses;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Converts JSON message values to the java types the driver binds for a CQL type
+ */
+final class JsonValues {
+
+    private JsonValues() {
+    }
+
+    /**
+     * Converts a JSON value to the java type of the CQL type
+     *
+     * @param value the JSON value, may be null
+     * @param type  the CQL type of the bind variable
+     * @return the converted value
+     * @throws IllegalArgumentException if the value cannot be converted
+     */
+    static Object convert(Object value, DataType type) {
+        if (value == null) {
+            return null;
+        }
+
+        switch (type.getName()) {
+            case ASCII:
+            case TEXT:
+            case VARCHAR:
+                return value.toString();
+            case BIGINT:
+            case COUNTER:
+            case TIME:
+                return exact(value, type, BigDecimal::longValueExact);
+            case INT:
+                return exact(value, type, BigDecimal::intValueExact);
+            case SMALLINT:
+                return exact(value, type, BigDecimal::shortValueExact);
+            case TINYINT:
+                return exact(value, type, BigDecimal::byteValueExact);
+            case DOUBLE:
+                return number(value).doubleValue();
+            case FLOAT:
+                return number(value).floatValue();
+            case VARINT:
+                return new BigInteger(value.toString());
+            case DECIMAL:
+                return new BigDecimal(value.toString());
+            case BOOLEAN:
+                return value instanceof Boolean ? value : Boolean.valueOf(value.toString());
+            case TIMESTAMP:
+                if (value instanceof Number) {
+                    return new Date(((Number) value).longValue());
+                }
+                return Date.from(Instant.parse(value.toString()));
+            case DATE:
+                if (value instanceof Number) {
+                    return LocalDate.fromDaysSinceEpoch(exact(value, type, BigDecimal::intValueExact));
+                }
+                java.time.LocalDate date = java.time.LocalDate.parse(value.toString());
+                return LocalDate.fromYearMonthDay(date.getYear(), date.getMonthValue(), date.getDayOfMonth());
+            case UUID:
+            case TIMEUUID:
+                return UUID.fromString(value.toString());
+            case BLOB:
+                return ByteBuffer.wrap(Base64.getDecoder().decode(value.toString()));
+            case INET:
+                // Only IP literals, a host name would be resolved with a blocking DNS lookup
+                try {
+                    return InetAddresses.forString(value.toString());
+                } catch (IllegalArgumentException e) {
+                    throw new IllegalArgumentException("Invalid inet value " + value, e);
+                }
+            case LIST:
+                return collection(value, type.getTypeArguments().get(0), new ArrayList<>());
+            case SET:
+                return collection(value, type.getTypeArguments().get(0), new LinkedHashSet<>());
+            case MAP:
+                return map(value, type.getTypeArguments().get(0), type.getTypeArguments().get(1));
+            default:
+                throw new IllegalArgumentException("Binding JSON values to " + type + " is not supported");
+        }
+    }
+
+    private static Number number(Object value) {
+        if (value instanceof Number) {
+            return (Number) value;
+        }
+        // Map keys are always strings in JSON
+        return new BigDecimal(value.toString());
+    }
+
+    /**
+     * Converts an integral value without truncating fractions or overflowing the CQL type
+     */
+    private static <T> T exact(Object value, DataType type, Function<BigDecimal, T> conversion) {
+        Number number = number(value);
+        BigDecimal decimal;
+        if (number instanceof BigDecimal) {
+            decimal = (BigDecimal) number;
+        } else if (number instanceof Double || number instanceof Float) {
+            decimal = new BigDecimal(number.toString());
+        } else if (number instanceof BigInteger) {
+            decimal = new BigDecimal((BigInteger) number);
+        } else {
+            decimal = BigDecimal.valueOf(number.longValue());
+        }
+        try {
+            return conversion.apply(decimal);
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Value " + value + " does not fit " + type, e);
+        }
+    }
+
+    private static Collection<Object> collection(Object value, DataType elementType, Collection<Object> result) {
+        Iterable<?> values;
+        if (value instanceof JsonArray) {
+            values = (JsonArray) value;
+        } else if (value instanceof Iterable) {
+            values = (Iterable<?>) value;
+        } else {
+            throw new IllegalArgumentException("Expected a JSON array for " + elementType + " elements but was " + value);
+        }
+        for (Object element : values) {
+            result.add(convert(element, elementType));
+        }
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<Object, Object> map(Object value, DataType keyType, DataType valueType) {
+        Map<String, Object> values;
+        if (value instanceof JsonObject) {
+            values = ((JsonObject) value).getMap();
+        } else if (value instanceof Map) {
+            values = (Map<String, Object>) value;
+        } else {
+            throw new IllegalArgumentException("Expected a JSON object for a map but was " + value);
+        }
+        Map<Object, Object> result = new LinkedHashMap<>();
+        values.forEach((k, v) -> result.put(convert(k, keyType), convert(v, valueType)));
+        return result;
+    }
+
+}
@@ -0,0 +1,61 @@
+package com.englishtown.vertx.cassandra.eventbus;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.eventbus.EventBus;
+import io.vertx.core.eventbus.MessageCodec;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Json object codec that delivers the same instance to local consumers instead of the copy made by the default
+ * codec.  Reply objects can be large (a page of rows) and are not modified after sending, so copying them is waste.
+ * <p>
+ * Consumers of local messages must not modify the body.  Remote delivery encodes the object as usual, which requires
+ * the codec to be registered on the receiving node too.
+ */
+public class SharedJsonObjectCodec implements MessageCodec<JsonObject, JsonObject> {
+
+    public static final String NAME = "et.cassandra.shared-json";
+
+    /**
+     * Registers the codec on the event bus if it is not registered already
+     *
+     * @param eventBus the event bus
+     */
+    public static void register(EventBus eventBus) {
+        try {
+            eventBus.registerCodec(new SharedJsonObjectCodec());
+        } catch (IllegalStateException e) {
+            // Already registered
+        }
+    }
+
+    @Override
+    public void encodeToWire(Buffer buffer, JsonObject json) {
+        Buffer encoded = json.toBuffer();
+        buffer.appendInt(encoded.length());
+        buffer.appendBuffer(encoded);
+    }
+
+    @Override
+    public JsonObject decodeFromWire(int pos, Buffer buffer) {
+        int length = buffer.getInt(pos);
+        pos += 4;
+        return new JsonObject(buffer.getBuffer(pos, pos + length));
+    }
+
+    @Override
+    public JsonObject transform(JsonObject json) {
+        return json;
+    }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public byte systemCodecID() {
+        return -1;
+    }
+
+}
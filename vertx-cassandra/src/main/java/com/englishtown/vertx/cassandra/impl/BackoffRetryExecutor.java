@@ -0,0 +1,112 @@
+package com.englishtown.vertx.cassandra.impl;
+
+import com.datastax.driver.core.Configuration;
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.Statement;
+import com.datastax.driver.core.exceptions.*;
+import com.englishtown.vertx.cassandra.BackoffRetryOptions;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
+import io.vertx.core.Vertx;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Retries idempotent statements that failed with a transient error, waiting an exponentially increasing delay with
+ * jitter between attempts.  The delay is a vert.x timer so no thread is blocked.
+ * <p>
+ * Statements that are not idempotent are executed once, as retrying them could apply a write twice.
+ */
+class BackoffRetryExecutor {
+
+    private final BackoffRetryOptions options;
+    private final Vertx vertx;
+    private final Supplier<Configuration> configuration;
+    private final Metrics metrics;
+
+    BackoffRetryExecutor(BackoffRetryOptions options, Vertx vertx, Supplier<Configuration> configuration, Metrics metrics) {
+        this.options = options;
+        this.vertx = vertx;
+        this.configuration = configuration;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Executes the statement, retrying transient failures if it is idempotent
+     *
+     * @param statement the statement to execute
+     * @param executor  executes a single attempt
+     * @return the future for the result of the last attempt
+     */
+    ListenableFuture<ResultSet> execute(Statement statement, Function<Statement, ListenableFuture<ResultSet>> executor) {
+
+        if (options.getMaxRetries() == 0 || !isIdempotent(statement)) {
+            return executor.apply(statement);
+        }
+
+        SettableFuture<ResultSet> result = SettableFuture.create();
+        attempt(statement, executor, 0, result);
+        return result;
+    }
+
+    private void attempt(Statement statement, Function<Statement, ListenableFuture<ResultSet>> executor, int retry,
+                         SettableFuture<ResultSet> result) {
+
+        ListenableFuture<ResultSet> future;
+        try {
+            future = executor.apply(statement);
+        } catch (RuntimeException e) {
+            future = Futures.immediateFailedFuture(e);
+        }
+
+        Futures.addCallback(future, new FutureCallback<ResultSet>() {
+            @Override
+            public void onSuccess(ResultSet rs) {
+                result.set(rs);
+            }
+
+            @Override
+            public void onFailure(Throwable t) {
+                if (retry < options.getMaxRetries() && isTransient(t)) {
+                    metrics.onBackoffRetry();
+                    vertx.setTimer(getDelay(retry), id -> attempt(statement, executor, retry + 1, result));
+                } else {
+                    result.setException(t);
+                }
+            }
+        }, MoreExecutors.directExecutor());
+    }
+
+    private boolean isIdempotent(Statement statement) {
+        Boolean idempotent = statement.isIdempotent();
+        if (idempotent == null) {
+            return configuration.get().getQueryOptions().getDefaultIdempotence();
+        }
+        return idempotent;
+    }
+
+    long getDelay(int retry) {
+        long delay = options.getBaseDelayMillis() << Math.min(retry, 30);
+        delay = Math.min(options.getMaxDelayMillis(), delay);
+        // Equal jitter so that clients failing together do not retry together
+        long half = delay / 2;
+        return Math.max(1, half + ThreadLocalRandom.current().nextLong(delay - half + 1));
+    }
+
+    static boolean isTransient(Throwable t) {
+        return t instanceof OperationTimedOutException
+                || t instanceof ReadTimeoutException
+                || t instanceof WriteTimeoutException
+                || t instanceof UnavailableException
+                || t instanceof OverloadedException
+                || t instanceof BootstrappingException
+                || t instanceof BusyPoolException
+                || t instanceof NoHostAvailableException;
+    }
+
+}
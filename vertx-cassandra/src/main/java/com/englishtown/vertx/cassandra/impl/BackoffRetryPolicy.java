@@ -0,0 +1,82 @@
+package com.englishtown.vertx.cassandra.impl;
+
+import com.datastax.driver.core.Cluster;
+import com.datastax.driver.core.ConsistencyLevel;
+import com.datastax.driver.core.Statement;
+import com.datastax.driver.core.WriteType;
+import com.datastax.driver.core.exceptions.DriverException;
+import com.datastax.driver.core.policies.DefaultRetryPolicy;
+import com.datastax.driver.core.policies.RetryPolicy;
+import com.englishtown.vertx.cassandra.BackoffRetryOptions;
+
+/**
+ * The driver retry policy used with {@link BackoffRetryExecutor}.  Idempotent statements are retried by the session
+ * with a backoff, so the driver rethrows the errors the session retries.  Every other statement, and every statement
+ * when retries are disabled, gets the {@link DefaultRetryPolicy} behaviour.
+ */
+class BackoffRetryPolicy implements RetryPolicy {
+
+    private final BackoffRetryOptions options;
+    private final RetryPolicy delegate = DefaultRetryPolicy.INSTANCE;
+    private volatile boolean defaultIdempotence;
+
+    BackoffRetryPolicy(BackoffRetryOptions options) {
+        this.options = options;
+    }
+
+    @Override
+    public RetryDecision onReadTimeout(Statement statement, ConsistencyLevel cl, int requiredResponses,
+                                       int receivedResponses, boolean dataRetrieved, int nbRetry) {
+        if (isRetriedBySession(statement)) {
+            return RetryDecision.rethrow();
+        }
+        return delegate.onReadTimeout(statement, cl, requiredResponses, receivedResponses, dataRetrieved, nbRetry);
+    }
+
+    @Override
+    public RetryDecision onWriteTimeout(Statement statement, ConsistencyLevel cl, WriteType writeType,
+                                        int requiredAcks, int receivedAcks, int nbRetry) {
+        if (isRetriedBySession(statement)) {
+            return RetryDecision.rethrow();
+        }
+        return delegate.onWriteTimeout(statement, cl, writeType, requiredAcks, receivedAcks, nbRetry);
+    }
+
+    @Override
+    public RetryDecision onUnavailable(Statement statement, ConsistencyLevel cl, int requiredReplica,
+                                       int aliveReplica, int nbRetry) {
+        if (isRetriedBySession(statement)) {
+            return RetryDecision.rethrow();
+        }
+        return delegate.onUnavailable(statement, cl, requiredReplica, aliveReplica, nbRetry);
+    }
+
+    @Override
+    public RetryDecision onRequestError(Statement statement, ConsistencyLevel cl, DriverException e, int nbRetry) {
+        // Connection errors are not retried by the session, so the driver still tries the next host for them
+        if (isRetriedBySession(statement) && BackoffRetryExecutor.isTransient(e)) {
+            return RetryDecision.rethrow();
+        }
+        return delegate.onRequestError(statement, cl, e, nbRetry);
+    }
+
+    @Override
+    public void init(Cluster cluster) {
+        defaultIdempotence = cluster.getConfiguration().getQueryOptions().getDefaultIdempotence();
+        delegate.init(cluster);
+    }
+
+    @Override
+    public void close() {
+        delegate.close();
+    }
+
+    private boolean isRetriedBySession(Statement statement) {
+        if (options.getMaxRetries() == 0) {
+            return false;
+        }
+        Boolean idempotent = statement.isIdempotent();
+        return idempotent == null ? defaultIdempotence : idempotent;
+    }
+
+}
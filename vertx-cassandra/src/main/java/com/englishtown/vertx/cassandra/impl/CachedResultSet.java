@@ -0,0 +1,124 @@
+package com.englishtown.vertx.cassandra.impl;
+
+import com.datastax.driver.core.ColumnDefinitions;
+import com.datastax.driver.core.ExecutionInfo;
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.Row;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Fully fetched {@link ResultSet} over cached rows.  Rows are immutable, so each reader gets its own result set over
+ * the same rows.
+ */
+class CachedResultSet implements ResultSet {
+
+    private final Rows rows;
+    private int position;
+
+    CachedResultSet(Rows rows) {
+        this.rows = rows;
+    }
+
+    @Override
+    public ColumnDefinitions getColumnDefinitions() {
+        return rows.columnDefinitions;
+    }
+
+    @Override
+    public boolean wasApplied() {
+        return rows.applied;
+    }
+
+    @Override
+    public boolean isExhausted() {
+        return position >= rows.rows.size();
+    }
+
+    @Override
+    public boolean isFullyFetched() {
+        return true;
+    }
+
+    @Override
+    public int getAvailableWithoutFetching() {
+        return rows.rows.size() - position;
+    }
+
+    @Override
+    public ListenableFuture<ResultSet> fetchMoreResults() {
+        return Futures.<ResultSet>immediateFuture(this);
+    }
+
+    @Override
+    public Row one() {
+        return isExhausted() ? null : rows.rows.get(position++);
+    }
+
+    @Override
+    public List<Row> all() {
+        List<Row> all = new ArrayList<>(rows.rows.subList(position, rows.rows.size()));
+        position = rows.rows.size();
+        return all;
+    }
+
+    @Override
+    public Iterator<Row> iterator() {
+        return new Iterator<Row>() {
+            @Override
+            public boolean hasNext() {
+                return !isExhausted();
+            }
+
+            @Override
+            public Row next() {
+                if (isExhausted()) {
+                    throw new NoSuchElementException();
+                }
+                return one();
+            }
+        };
+    }
+
+    @Override
+    public ExecutionInfo getExecutionInfo() {
+        return rows.executionInfo;
+    }
+
+    @Override
+    public List<ExecutionInfo> getAllExecutionInfo() {
+        return Collections.singletonList(rows.executionInfo);
+    }
+
+    /**
+     * The rows of a fully fetched result set
+     */
+    static class Rows {
+
+        private final ColumnDefinitions columnDefinitions;
+        private final ExecutionInfo executionInfo;
+        private final boolean applied;
+        private final List<Row> rows;
+
+        /**
+         * Reads the remaining rows of the result set, which must be fully fetched
+         */
+        Rows(ResultSet rs) {
+            columnDefinitions = rs.getColumnDefinitions();
+            executionInfo = rs.getExecutionInfo();
+            applied = rs.wasApplied();
+            rows = Collections.unmodifiableList(rs.all());
+        }
+
+        int size() {
+            return rows.size();
+        }
+    }
+
+}
@@ -0,0 +1,57 @@
+package com.englishtown.vertx.cassandra.impl;
+
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.ResultSetFuture;
+import com.datastax.driver.core.exceptions.DriverException;
+import com.datastax.driver.core.exceptions.DriverInternalError;
+import com.google.common.util.concurrent.ForwardingListenableFuture;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.Uninterruptibles;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Exposes the result of the session's execution chain (result cache, write coalescing, backoff retries and the
+ * concurrency limit) as a driver {@link ResultSetFuture}
+ */
+class ChainedResultSetFuture extends ForwardingListenableFuture.SimpleForwardingListenableFuture<ResultSet>
+        implements ResultSetFuture {
+
+    ChainedResultSetFuture(ListenableFuture<ResultSet> future) {
+        super(future);
+    }
+
+    @Override
+    public ResultSet getUninterruptibly() {
+        try {
+            return Uninterruptibles.getUninterruptibly(this);
+        } catch (ExecutionException e) {
+            throw propagateCause(e);
+        }
+    }
+
+    @Override
+    public ResultSet getUninterruptibly(long timeout, TimeUnit unit) throws TimeoutException {
+        try {
+            return Uninterruptibles.getUninterruptibly(this, timeout, unit);
+        } catch (ExecutionException e) {
+            throw propagateCause(e);
+        }
+    }
+
+    private static RuntimeException propagateCause(ExecutionException e) {
+        Throwable cause = e.getCause();
+        if (cause instanceof DriverException) {
+            // Rethrow a copy so the stack trace includes this call
+            return ((DriverException) cause).copy();
+        } else if (cause instanceof RuntimeException) {
+            return (RuntimeException) cause;
+        } else if (cause instanceof Error) {
+            throw (Error) cause;
+        }
+        return new DriverInternalError("Unexpected exception thrown", cause);
+    }
+
+}
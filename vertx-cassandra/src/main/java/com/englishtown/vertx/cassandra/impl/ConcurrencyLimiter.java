@@ -0,0 +1,144 @@
+package com.englishtown.vertx.cassandra.impl;
+
+import com.datastax.driver.core.exceptions.*;
+import com.englishtown.vertx.cassandra.ConcurrencyLimitOptions;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
+import com.google.common.util.concurrent.Uninterruptibles;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Adaptive limit on the number of in-flight queries.
+ * <p>
+ * Queries over the limit wait in a bounded queue and are started in order as permits are released.  When the queue is
+ * full the query fails immediately with a {@link RejectedExecutionException}.  See {@link ConcurrencyLimitOptions}
+ * for how the limit adapts.
+ */
+class ConcurrencyLimiter {
+
+    private final ConcurrencyLimitOptions options;
+    private final long latencyThresholdNanos;
+    private final Metrics metrics;
+    private final Queue<Runnable> queue = new ArrayDeque<>();
+
+    private double limit;
+    private int inFlight;
+
+    ConcurrencyLimiter(ConcurrencyLimitOptions options, Metrics metrics) {
+        this.options = options;
+        this.metrics = metrics;
+        this.latencyThresholdNanos = TimeUnit.MILLISECONDS.toNanos(options.getLatencyThresholdMillis());
+        this.limit = Math.max(options.getMinLimit(), Math.min(options.getMaxLimit(), options.getInitialLimit()));
+        metrics.registerConcurrencyLimiter(this);
+    }
+
+    /**
+     * Starts the query if a permit is available, otherwise queues or rejects it
+     *
+     * @param query starts the query and returns its future
+     * @param <T>
+     * @return the future for the query result
+     */
+    <T> ListenableFuture<T> submit(Supplier<? extends ListenableFuture<T>> query) {
+
+        synchronized (this) {
+            if (inFlight < getLimit()) {
+                inFlight++;
+            } else if (queue.size() < options.getMaxQueueSize()) {
+                SettableFuture<T> future = SettableFuture.create();
+                queue.add(() -> future.setFuture(start(query)));
+                return future;
+            } else {
+                metrics.onConcurrencyLimitRejected();
+                return Futures.immediateFailedFuture(new RejectedExecutionException(
+                        "Too many in-flight queries: limit " + getLimit() + " and " + queue.size() + " queued"));
+            }
+        }
+
+        return start(query);
+    }
+
+    synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    synchronized int getQueued() {
+        return queue.size();
+    }
+
+    private <T> ListenableFuture<T> start(Supplier<? extends ListenableFuture<T>> query) {
+
+        long start = System.nanoTime();
+        ListenableFuture<T> future;
+
+        try {
+            future = query.get();
+        } catch (RuntimeException e) {
+            future = Futures.immediateFailedFuture(e);
+        }
+
+        ListenableFuture<T> result = future;
+        result.addListener(() -> release(System.nanoTime() - start, isDropped(result)), MoreExecutors.directExecutor());
+        return result;
+    }
+
+    private void release(long latencyNanos, boolean dropped) {
+
+        List<Runnable> next = new ArrayList<>();
+
+        synchronized (this) {
+            inFlight--;
+
+            if (dropped || latencyNanos > latencyThresholdNanos) {
+                limit = Math.max(options.getMinLimit(), limit * options.getBackoffRatio());
+            } else if (inFlight * 2 >= getLimit()) {
+                // Only grow while the current limit is actually being used
+                limit = Math.min(options.getMaxLimit(), limit + 1);
+            }
+
+            while (inFlight < getLimit() && !queue.isEmpty()) {
+                inFlight++;
+                next.add(queue.poll());
+            }
+        }
+
+        next.forEach(Runnable::run);
+    }
+
+    private boolean isDropped(ListenableFuture<?> future) {
+        try {
+            Uninterruptibles.getUninterruptibly(future);
+            return false;
+        } catch (ExecutionException e) {
+            return isOverload(e.getCause());
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    private boolean isOverload(Throwable t) {
+        if (t instanceof NoHostAvailableException) {
+            return ((NoHostAvailableException) t).getErrors().values().stream().anyMatch(this::isOverload);
+        }
+        return t instanceof BusyPoolException
+                || t instanceof OverloadedException
+                || t instanceof OperationTimedOutException
+                || t instanceof ReadTimeoutException
+                || t instanceof WriteTimeoutException;
+    }
+
+}
@@ -0,0 +1,326 @@
+package com.englishtown.vertx.cassandra.impl;
+
+import com.datastax.driver.core.*;
+import com.englishtown.vertx.cassandra.BulkWriteProgress;
+import com.englishtown.vertx.cassandra.BulkWriter;
+import com.englishtown.vertx.cassandra.BulkWriterOptions;
+import com.englishtown.vertx.cassandra.CassandraSession;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+
+import java.nio.ByteBuffer;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link BulkWriter} that routes statements to the primary replica of their token range.
+ * <p>
+ * The ring's tokens are read from the hosts of the {@link Metadata} once.  Each token ends the range of tokens after
+ * the previous one, and the primary replica of each range is resolved on first use per keyspace.  Writes are
+ * buffered, sorted by token and moved to per-host queues when the sort window is full or a host runs out of work, so a
+ * fast producer gets token-ordered batches and a slow one is not delayed.
+ */
+class DefaultBulkWriter implements BulkWriter {
+
+    private static final Comparator<Entry> TOKEN_ORDER =
+            Comparator.comparing((Entry e) -> e.token, Comparator.nullsLast(Comparator.<Token>naturalOrder()));
+
+    private final CassandraSession session;
+    private final BulkWriterOptions options;
+    private final Vertx vertx;
+    private final Metadata metadata;
+    private final ProtocolVersion protocolVersion;
+    private final CodecRegistry codecRegistry;
+
+    // The end tokens of the ring, a token is in the range ending at its ceiling (or the first, wrapping around)
+    private final NavigableSet<Token> ring = new TreeSet<>();
+    private final Map<String, Map<Token, Host>> primaryReplicas = new HashMap<>();
+    private final Map<Host, HostQueue> queues = new HashMap<>();
+    private final HostQueue unrouted = new HostQueue();
+    private final List<Entry> buffer = new ArrayList<>();
+
+    private int writeQueueMaxSize;
+    private int pending;
+    private long written;
+    private long failed;
+    private long startNanos;
+    private long timerId = -1;
+    private boolean ended;
+    private boolean completed;
+    private boolean drainRequested;
+    private Throwable firstFailure;
+
+    private Handler<Throwable> exceptionHandler;
+    private Handler<Void> drainHandler;
+    private Handler<BulkWriteProgress> progressHandler;
+    private Handler<AsyncResult<BulkWriteProgress>> completionHandler;
+
+    DefaultBulkWriter(CassandraSession session, BulkWriterOptions options, Vertx vertx) {
+        this.session = session;
+        this.options = options;
+        this.vertx = vertx;
+        this.writeQueueMaxSize = options.getWriteQueueMaxSize();
+
+        Cluster cluster = session.getCluster();
+        if (cluster == null) {
+            throw new IllegalStateException("The cassandra session is not ready");
+        }
+        Configuration configuration = cluster.getConfiguration();
+        this.metadata = cluster.getMetadata();
+        this.protocolVersion = configuration.getProtocolOptions().getProtocolVersion();
+        this.codecRegistry = configuration.getCodecRegistry();
+
+        for (Host host : metadata.getAllHosts()) {
+            ring.addAll(host.getTokens());
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BulkWriter exceptionHandler(Handler<Throwable> handler) {
+        exceptionHandler = handler;
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BulkWriter write(Statement statement) {
+        if (ended) {
+            throw new IllegalStateException("The bulk writer has ended");
+        }
+        if (startNanos == 0) {
+            startNanos = System.nanoTime();
+            startProgressTimer();
+        }
+
+        pending++;
+        buffer.add(route(statement));
+
+        if (buffer.size() >= options.getSortWindowSize() || !hasInFlight()) {
+            flush();
+        }
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void end() {
+        ended = true;
+        flush();
+        checkCompleted();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BulkWriter setWriteQueueMaxSize(int maxSize) {
+        writeQueueMaxSize = maxSize;
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean writeQueueFull() {
+        boolean full = pending >= writeQueueMaxSize;
+        if (full) {
+            drainRequested = true;
+        }
+        return full;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BulkWriter drainHandler(Handler<Void> handler) {
+        drainHandler = handler;
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BulkWriter progressHandler(Handler<BulkWriteProgress> handler) {
+        progressHandler = handler;
+        if (startNanos != 0) {
+            startProgressTimer();
+        }
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BulkWriter completionHandler(Handler<AsyncResult<BulkWriteProgress>> handler) {
+        completionHandler = handler;
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BulkWriteProgress getProgress() {
+        long elapsed = startNanos == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+        return new BulkWriteProgress(written, failed, pending, elapsed);
+    }
+
+    private Entry route(Statement statement) {
+        String keyspace = statement.getKeyspace();
+        ByteBuffer routingKey = keyspace == null || ring.isEmpty()
+                ? null
+                : statement.getRoutingKey(protocolVersion, codecRegistry);
+        if (routingKey == null) {
+            return new Entry(statement, null, null);
+        }
+
+        Token token = metadata.newToken(routingKey);
+        Token ceiling = ring.ceiling(token);
+        Token end = ceiling != null ? ceiling : ring.first();
+
+        // Every key of the range has the same replicas
+        Host host = primaryReplicas.computeIfAbsent(keyspace, k -> new HashMap<>())
+                .computeIfAbsent(end, e -> primaryReplica(keyspace, routingKey));
+        return new Entry(statement, token, host);
+    }
+
+    private Host primaryReplica(String keyspace, ByteBuffer routingKey) {
+        Set<Host> replicas = metadata.getReplicas(Metadata.quote(keyspace), routingKey);
+        return replicas.isEmpty() ? null : replicas.iterator().next();
+    }
+
+    private void flush() {
+        if (buffer.isEmpty()) {
+            return;
+        }
+
+        buffer.sort(TOKEN_ORDER);
+        for (Entry entry : buffer) {
+            HostQueue queue = entry.host == null ? unrouted : queues.computeIfAbsent(entry.host, h -> new HostQueue());
+            queue.statements.add(entry.statement);
+        }
+        buffer.clear();
+
+        for (HostQueue queue : new ArrayList<>(queues.values())) {
+            dispatch(queue);
+        }
+        dispatch(unrouted);
+    }
+
+    private void dispatch(HostQueue queue) {
+        while (queue.inFlight < options.getMaxConcurrencyPerHost() && !queue.statements.isEmpty()) {
+            Statement statement = queue.statements.poll();
+            queue.inFlight++;
+            session.executeAsync(statement, result -> handleResult(queue, result));
+        }
+    }
+
+    private void handleResult(HostQueue queue, AsyncResult<ResultSet> result) {
+        queue.inFlight--;
+        pending--;
+
+        if (result.succeeded()) {
+            written++;
+        } else {
+            failed++;
+            if (firstFailure == null) {
+                firstFailure = result.cause();
+            }
+            if (exceptionHandler != null) {
+                exceptionHandler.handle(result.cause());
+            }
+        }
+
+        // Keep the host busy with the next sorted window
+        if (queue.statements.isEmpty()) {
+            flush();
+        }
+        dispatch(queue);
+
+        if (drainRequested && pending <= writeQueueMaxSize / 2) {
+            drainRequested = false;
+            if (drainHandler != null) {
+                drainHandler.handle(null);
+            }
+        }
+
+        checkCompleted();
+    }
+
+    private boolean hasInFlight() {
+        if (unrouted.inFlight > 0) {
+            return true;
+        }
+        for (HostQueue queue : queues.values()) {
+            if (queue.inFlight > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void startProgressTimer() {
+        if (progressHandler == null || timerId >= 0 || completed || options.getProgressIntervalMillis() == 0) {
+            return;
+        }
+        timerId = vertx.setPeriodic(options.getProgressIntervalMillis(), id -> {
+            if (progressHandler != null) {
+                progressHandler.handle(getProgress());
+            }
+        });
+    }
+
+    private void checkCompleted() {
+        if (!ended || pending > 0 || completed) {
+            return;
+        }
+        completed = true;
+        if (timerId >= 0) {
+            vertx.cancelTimer(timerId);
+            timerId = -1;
+        }
+
+        BulkWriteProgress progress = getProgress();
+        if (progressHandler != null) {
+            progressHandler.handle(progress);
+        }
+        if (completionHandler != null) {
+            completionHandler.handle(firstFailure == null
+                    ? Future.succeededFuture(progress)
+                    : Future.failedFuture(firstFailure));
+        }
+    }
+
+    private static class Entry {
+
+        private final Statement statement;
+        private final Token token;
+        private final Host host;
+
+        private Entry(Statement statement, Token token, Host host) {
+            this.statement = statement;
+            this.token = token;
+            this.host = host;
+        }
+    }
+
+    private static class HostQueue {
+
+        private final Queue<Statement> statements = new ArrayDeque<>();
+        private int inFlight;
+    }
+
+}
@@ -1,11 +1,18 @@
 package com.englishtown.vertx.cassandra.impl;
 
 import com.datastax.driver.core.*;
+import com.englishtown.vertx.cassandra.BulkWriter;
+import com.englishtown.vertx.cassandra.BulkWriterOptions;
+import com.englishtown.vertx.cassandra.CacheableStatement;
 import com.englishtown.vertx.cassandra.CassandraConfigurator;
+import com.englishtown.vertx.cassandra.CassandraReadStream;
 import com.englishtown.vertx.cassandra.CassandraSession;
 import com.englishtown.vertx.cassandra.FutureUtils;
+import com.englishtown.vertx.cassandra.SchemaOptions;
 import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
 import io.vertx.core.AsyncResult;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
@@ -17,6 +24,7 @@ import javax.inject.Inject;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeoutException;
 
 /**
  * Default implementation of {@link CassandraSession}
@@ -30,11 +38,22 @@ public class DefaultCassandraSession implements CassandraSession {
     protected Cluster cluster;
     protected Session session;
     protected Metrics metrics;
+    protected PreparedStatementCache preparedStatementCache;
+    protected WriteCoalescer writeCoalescer;
+    protected ResultCache resultCache;
+    protected ConcurrencyLimiter concurrencyLimiter;
+    protected BackoffRetryExecutor backoffRetryExecutor;
+    protected SharedCluster sharedCluster;
     protected CassandraConfigurator configurator;
     protected AsyncResult<Void> initResult;
+    protected volatile boolean closed;
 
     private final Logger logger = LoggerFactory.getLogger(DefaultCassandraSession.class);
 
+    public static final long DEFAULT_INIT_TIMEOUT_MILLIS = 30000;
+
+    private static final String NOT_READY_MESSAGE = "Cassandra session is not ready for use yet";
+
     @Inject
     public DefaultCassandraSession(Cluster.Builder clusterBuilder, CassandraConfigurator configurator, Vertx vertx) {
         this.clusterBuilder = clusterBuilder;
@@ -44,15 +63,13 @@ public class DefaultCassandraSession implements CassandraSession {
 
         configurator.onReady(result -> {
             if (result.failed()) {
-                initResult = result;
-                runOnReadyCallbacks(initResult);
+                runOnReadyCallbacks(result);
                 return;
             }
             try {
                 init(configurator);
             } catch (Throwable t) {
-                initResult = Future.failedFuture(t);
-                runOnReadyCallbacks(initResult);
+                runOnReadyCallbacks(Future.failedFuture(t));
             }
         });
     }
@@ -69,8 +86,149 @@ public class DefaultCassandraSession implements CassandraSession {
             throw new RuntimeException("Cassandra seeds are missing");
         }
 
+        Future<Void> result = Future.future();
+
+        Long timeout = configurator.getInitTimeoutMillis();
+        if (timeout == null) {
+            timeout = DEFAULT_INIT_TIMEOUT_MILLIS;
+        }
+        if (timeout > 0) {
+            long timeoutMillis = timeout;
+            long timerId = vertx.setTimer(timeoutMillis, id -> result.tryFail(
+                    new TimeoutException("Cassandra session was not initialized within " + timeoutMillis + "ms")));
+            result.setHandler(ar -> {
+                vertx.cancelTimer(timerId);
+                runOnReadyCallbacks(ar);
+            });
+        } else {
+            result.setHandler(this::runOnReadyCallbacks);
+        }
+
+        try {
+            initHelpers(configurator);
+            connect(configurator, seeds, result);
+        } catch (RuntimeException e) {
+            // Completes the result so the timer is cancelled
+            result.tryFail(e);
+        }
+    }
+
+    private void connect(CassandraConfigurator configurator, List<String> seeds, Future<Void> result) {
+
+        String sharedClusterName = configurator.getSharedClusterName();
+        SharedCluster shared = sharedClusterName == null ? null : SharedCluster.acquire(vertx, sharedClusterName);
+        sharedCluster = shared;
+
+        if (shared != null && !shared.startConnect()) {
+            // Another session is connecting the shared cluster
+            shared.onConnected(vertx, connected -> {
+                if (connected.failed()) {
+                    result.tryFail(connected.cause());
+                    return;
+                }
+                if (closed) {
+                    result.tryFail(new IllegalStateException("The session was closed while connecting"));
+                    return;
+                }
+                cluster = shared.getCluster();
+                session = connected.result();
+                metrics.afterReconnect();
+                result.tryComplete();
+            });
+            return;
+        }
+
+        int port = configurator.getPort() != null ? configurator.getPort() : ProtocolOptions.DEFAULT_PORT;
+        int probeTimeout = configurator.getSocketOptions() != null
+                ? configurator.getSocketOptions().getConnectTimeoutMillis()
+                : SocketOptions.DEFAULT_CONNECT_TIMEOUT_MILLIS;
+
+        // Probe the seeds in parallel, then build and initialize the cluster (DNS lookups and the control connection
+        // block) on a worker thread
+        new SeedProber(vertx, probeTimeout).probe(seeds, port, contactPoints -> vertx.<Cluster>executeBlocking(
+                future -> {
+                    if (closed) {
+                        future.fail(new IllegalStateException("The session was closed while connecting"));
+                        return;
+                    }
+                    Cluster built = buildCluster(configurator, contactPoints);
+                    try {
+                        built.init();
+                    } catch (RuntimeException e) {
+                        built.closeAsync();
+                        throw e;
+                    }
+                    future.complete(built);
+                },
+                false,
+                ar -> {
+                    if (ar.failed()) {
+                        if (shared != null) {
+                            shared.connected(null, Future.failedFuture(ar.cause()));
+                        }
+                        result.tryFail(ar.cause());
+                        return;
+                    }
+                    if (closed) {
+                        // The cluster was built after the session was closed
+                        IllegalStateException e = new IllegalStateException("The session was closed while connecting");
+                        if (shared != null) {
+                            shared.connected(ar.result(), Future.failedFuture(e));
+                        } else {
+                            ar.result().closeAsync();
+                        }
+                        result.tryFail(e);
+                        return;
+                    }
+                    if (result.isComplete() && shared == null) {
+                        // Timed out while initializing
+                        ar.result().closeAsync();
+                        return;
+                    }
+                    cluster = ar.result();
+                    reconnectAsync(connected -> {
+                        if (shared != null) {
+                            shared.connected(ar.result(), connected.succeeded()
+                                    ? Future.succeededFuture(session)
+                                    : Future.failedFuture(connected.cause()));
+                        }
+                        if (connected.succeeded()) {
+                            result.tryComplete();
+                        } else {
+                            result.tryFail(connected.cause());
+                        }
+                    });
+                }));
+
+    }
+
+    private void initHelpers(CassandraConfigurator configurator) {
+
+        preparedStatementCache = new PreparedStatementCache(configurator.getPreparedStatementCacheSize(), metrics);
+
+        if (configurator.getConcurrencyLimitOptions() != null) {
+            concurrencyLimiter = new ConcurrencyLimiter(configurator.getConcurrencyLimitOptions(), metrics);
+        }
+
+        if (configurator.getBackoffRetryOptions() != null) {
+            backoffRetryExecutor = new BackoffRetryExecutor(configurator.getBackoffRetryOptions(), vertx,
+                    () -> cluster.getConfiguration(), metrics);
+        }
+
+        if (configurator.getResultCacheOptions() != null) {
+            resultCache = new ResultCache(configurator.getResultCacheOptions(), metrics);
+        }
+
+        if (configurator.getWriteCoalescingOptions() != null) {
+            writeCoalescer = new WriteCoalescer(configurator.getWriteCoalescingOptions(), vertx,
+                    () -> cluster, this::executeRetrying, metrics);
+        }
+    }
+
+    private Cluster buildCluster(CassandraConfigurator configurator, List<String> contactPoints) {
+
         // Add cassandra cluster contact points
-        for (String seed : seeds) {
+        for (String seed : contactPoints) {
             clusterBuilder.addContactPoint(seed);
         }
 
@@ -85,6 +243,12 @@ public class DefaultCassandraSession implements CassandraSession {
         if (configurator.getReconnectionPolicy() != null) {
             clusterBuilder.withReconnectionPolicy(configurator.getReconnectionPolicy());
         }
+        if (configurator.getSpeculativeExecutionPolicy() != null) {
+            clusterBuilder.withSpeculativeExecutionPolicy(configurator.getSpeculativeExecutionPolicy());
+        }
+        if (configurator.getRetryPolicy() != null) {
+            clusterBuilder.withRetryPolicy(configurator.getRetryPolicy());
+        }
 
         // Add pooling options to cluster builder
         if (configurator.getPoolingOptions() != null) {
@@ -110,16 +274,19 @@ public class DefaultCassandraSession implements CassandraSession {
             clusterBuilder.withAuthProvider(configurator.getAuthProvider());
         }
 
-        // Build cluster and connect
-        cluster = clusterBuilder.build();
-        reconnectAsync(result -> {
-            initResult = result;
-            runOnReadyCallbacks(initResult);
-        });
+        // Complete driver futures on the vert.x event loops when requested
+        if (FutureUtils.getDefaultDispatchMode() == FutureUtils.DispatchMode.EVENT_LOOP) {
+            clusterBuilder.withNettyOptions(new VertxNettyOptions(vertx));
+        }
 
+        return clusterBuilder.build();
     }
 
     private void runOnReadyCallbacks(AsyncResult<Void> result) {
+        if (initResult != null) {
+            // Already initialized or failed, a late timeout or connect must not change the outcome
+            return;
+        }
         initResult = result;
         onReadyCallbacks.forEach(handler -> handler.handle(result));
         onReadyCallbacks.clear();
@@ -163,34 +330,36 @@ public class DefaultCassandraSession implements CassandraSession {
      */
     @Override
     public void reconnect() {
-        logger.debug("Call to reconnect the session has been made");
-        Session oldSession = session;
-        session = cluster.connect();
-        if (oldSession != null) {
-            oldSession.closeAsync();
-        }
-        metrics.afterReconnect();
+        reconnectAsync(result -> {
+            if (result.failed()) {
+                logger.error("Failed to reconnect the session", result.cause());
+            }
+        });
     }
 
     @Override
     public void reconnectAsync(Handler<AsyncResult<Void>> callback) {
         logger.debug("Call to reconnect the session has been made");
         Session oldSession = session;
-        FutureUtils.addCallback(cluster.connectAsync(), new FutureCallback<Session>() {
-            @Override
-            public void onSuccess(Session session) {
-                DefaultCassandraSession.this.session = session;
-                if (oldSession != null) {
+        FutureUtils.addHandler(cluster.connectAsync(), result -> {
+            if (result.failed()) {
+                callback.handle(Future.failedFuture(result.cause()));
+                return;
+            }
+            if (closed) {
+                result.result().closeAsync();
+                callback.handle(Future.failedFuture(new IllegalStateException("The session was closed")));
+                return;
+            }
+            session = result.result();
+            if (oldSession != null) {
+                if (!isShared(oldSession)) {
                     oldSession.closeAsync();
                 }
-                callback.handle(Future.succeededFuture());
-                metrics.afterReconnect();
-            }
-
-            @Override
-            public void onFailure(Throwable throwable) {
-                callback.handle(Future.failedFuture(throwable));
+                preparedStatementCache.invalidateAll();
             }
+            callback.handle(Future.succeededFuture());
+            metrics.afterReconnect();
         }, vertx);
     }
 
@@ -259,7 +428,7 @@ public class DefaultCassandraSession implements CassandraSession {
      */
     @Override
     public ResultSet execute(String query) {
-        return getSession().execute(query);
+        return executeAsync(query).getUninterruptibly();
     }
 
     /**
@@ -267,7 +436,7 @@ public class DefaultCassandraSession implements CassandraSession {
      */
     @Override
     public ResultSet execute(String query, Object... values) {
-        return getSession().execute(query, values);
+        return executeAsync(query, values).getUninterruptibly();
     }
 
     /**
@@ -275,7 +444,7 @@ public class DefaultCassandraSession implements CassandraSession {
      */
     @Override
     public ResultSet execute(String query, Map<String, Object> values) {
-        return getSession().execute(query, values);
+        return executeAsync(query, values).getUninterruptibly();
     }
 
     /**
@@ -283,7 +452,7 @@ public class DefaultCassandraSession implements CassandraSession {
      */
     @Override
     public ResultSet execute(Statement statement) {
-        return getSession().execute(statement);
+        return executeAsync(statement).getUninterruptibly();
     }
 
     /**
@@ -291,7 +460,7 @@ public class DefaultCassandraSession implements CassandraSession {
      */
     @Override
     public ResultSetFuture executeAsync(String query) {
-        return getSession().executeAsync(query);
+        return executeAsync(new SimpleStatement(query));
     }
 
     /**
@@ -299,7 +468,7 @@ public class DefaultCassandraSession implements CassandraSession {
      */
     @Override
     public ResultSetFuture executeAsync(String query, Object... values) {
-        return getSession().executeAsync(query, values);
+        return executeAsync(new SimpleStatement(query, values));
     }
 
     /**
@@ -307,15 +476,20 @@ public class DefaultCassandraSession implements CassandraSession {
      */
     @Override
     public ResultSetFuture executeAsync(String query, Map<String, Object> values) {
-        return getSession().executeAsync(query, values);
+        return executeAsync(new SimpleStatement(query, values));
     }
 
     /**
-     * {@inheritDoc}
+     * Executes a statement through the result cache, write coalescing, backoff retries and concurrency limit enabled on
+     * the session, the same as the callback and handler variants.  The returned future is completed on a driver thread.
+     *
+     * @param statement the statement to execute
+     * @return the future result set
      */
     @Override
     public ResultSetFuture executeAsync(Statement statement) {
-        return getSession().executeAsync(statement);
+        ListenableFuture<ResultSet> future = metrics.timed(metrics.getLabel(statement), executeCached(statement));
+        return new ChainedResultSetFuture(future);
     }
 
     /**
@@ -326,7 +500,8 @@ public class DefaultCassandraSession implements CassandraSession {
      */
     @Override
     public void executeAsync(Statement statement, FutureCallback<ResultSet> callback) {
-        addCallback(executeAsync(statement), callback);
+        FutureCallback<ResultSet> timed = metrics.timed(metrics.getLabel(statement), callback);
+        addCallback(executeCached(statement), timed);
     }
 
     /**
@@ -337,7 +512,97 @@ public class DefaultCassandraSession implements CassandraSession {
      */
     @Override
     public void executeAsync(String query, FutureCallback<ResultSet> callback) {
-        addCallback(executeAsync(query), callback);
+        FutureCallback<ResultSet> timed = metrics.timed(metrics.getLabel(query), callback);
+        addCallback(executeCached(new SimpleStatement(query)), timed);
+    }
+
+    /**
+     * Executes a cassandra statement asynchronously.  Ensures the handler is executed on the correct vert.x context.
+     *
+     * @param statement the statement to execute
+     * @param handler   the handler for the result set
+     */
+    @Override
+    public void executeAsync(Statement statement, Handler<AsyncResult<ResultSet>> handler) {
+        Handler<AsyncResult<ResultSet>> timed = metrics.timed(metrics.getLabel(statement), handler);
+        addHandler(executeCached(statement), timed);
+    }
+
+    /**
+     * Executes a cassandra CQL query asynchronously.  Ensures the handler is executed on the correct vert.x context.
+     *
+     * @param query   the CQL query to execute
+     * @param handler the handler for the result set
+     */
+    @Override
+    public void executeAsync(String query, Handler<AsyncResult<ResultSet>> handler) {
+        Handler<AsyncResult<ResultSet>> timed = metrics.timed(metrics.getLabel(query), handler);
+        addHandler(executeCached(new SimpleStatement(query)), timed);
+    }
+
+    /**
+     * Executes a query and streams the resulting rows.  Pages are fetched asynchronously as the stream is consumed.
+     *
+     * @param statement the statement to execute
+     * @return the stream of rows
+     */
+    @Override
+    public CassandraReadStream<Row> queryStream(Statement statement) {
+        return new PagingReadStream<>(executeRetrying(statement), vertx);
+    }
+
+    /**
+     * Scans a table with parallel token range queries.  Rows are streamed as pages arrive.
+     *
+     * @param keyspace    the keyspace name
+     * @param table       the table name
+     * @param columns     the columns to select, or null for all columns
+     * @param parallelism the maximum number of range queries in flight
+     * @return the stream of rows
+     */
+    @Override
+    public CassandraReadStream<Row> scanTable(String keyspace, String table, List<String> columns, int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be at least 1");
+        }
+        return new ParallelScanStream(TokenRangeScan.statements(this, keyspace, table, columns, parallelism),
+                parallelism, this, vertx);
+    }
+
+    /**
+     * Creates a writer that groups statements by the primary replica of their token range
+     *
+     * @param options the bulk writer options
+     * @return the bulk writer
+     */
+    @Override
+    public BulkWriter bulkWriter(BulkWriterOptions options) {
+        return new DefaultBulkWriter(this, options, vertx);
+    }
+
+    /**
+     * Applies schema statements with the default options
+     *
+     * @param statements the schema statements
+     * @param handler    the handler called once all statements are applied
+     */
+    @Override
+    public void applySchema(List<? extends RegularStatement> statements, Handler<AsyncResult<Void>> handler) {
+        applySchema(statements, new SchemaOptions(), handler);
+    }
+
+    /**
+     * Applies schema statements, pipelining the independent ones and waiting for schema agreement without blocking
+     *
+     * @param statements the schema statements
+     * @param options    the schema options
+     * @param handler    the handler called once all statements are applied
+     */
+    @Override
+    public void applySchema(List<? extends RegularStatement> statements, SchemaOptions options,
+                            Handler<AsyncResult<Void>> handler) {
+        checkInitialized();
+        new SchemaApplier(this, options, vertx).apply(statements, handler);
     }
 
     /**
@@ -380,7 +645,8 @@ public class DefaultCassandraSession implements CassandraSession {
      */
     @Override
     public void prepareAsync(RegularStatement statement, FutureCallback<PreparedStatement> callback) {
-        addCallback(prepareAsync(statement), callback);
+        FutureCallback<PreparedStatement> timed = metrics.timed(Metrics.LABEL_PREPARE, callback);
+        addCallback(prepareAsync(statement), timed);
     }
 
     /**
@@ -391,7 +657,128 @@ public class DefaultCassandraSession implements CassandraSession {
      */
     @Override
     public void prepareAsync(String query, FutureCallback<PreparedStatement> callback) {
-        addCallback(prepareAsync(query), callback);
+        FutureCallback<PreparedStatement> timed = metrics.timed(Metrics.LABEL_PREPARE, callback);
+        addCallback(prepareAsync(query), timed);
+    }
+
+    /**
+     * Prepares the provided query statement.  Ensures the handler is executed on the correct vert.x context.
+     *
+     * @param statement the query statement to prepare
+     * @param handler   the handler for the prepared statement
+     */
+    @Override
+    public void prepareAsync(RegularStatement statement, Handler<AsyncResult<PreparedStatement>> handler) {
+        Handler<AsyncResult<PreparedStatement>> timed = metrics.timed(Metrics.LABEL_PREPARE, handler);
+        addHandler(prepareAsync(statement), timed);
+    }
+
+    /**
+     * Prepares the provided query.  Ensures the handler is executed on the correct vert.x context.
+     *
+     * @param query   the query to prepare
+     * @param handler the handler for the prepared statement
+     */
+    @Override
+    public void prepareAsync(String query, Handler<AsyncResult<PreparedStatement>> handler) {
+        Handler<AsyncResult<PreparedStatement>> timed = metrics.timed(Metrics.LABEL_PREPARE, handler);
+        addHandler(prepareAsync(query), timed);
+    }
+
+    /**
+     * Executes a query asynchronously using a cached prepared statement.  The query is prepared on first use and the
+     * prepared statement is reused for subsequent calls.  Ensures the callback is executed on the correct vert.x context.
+     *
+     * @param query    the CQL query to prepare and execute
+     * @param callback the callback for on completion
+     * @param values   the values to bind to the prepared statement
+     */
+    @Override
+    public void executePreparedAsync(String query, FutureCallback<ResultSet> callback, Object... values) {
+        FutureCallback<ResultSet> timed = metrics.timed(metrics.getLabel(query), callback);
+        addCallback(executePrepared(query, values), timed);
+    }
+
+    /**
+     * Executes a query asynchronously using a cached prepared statement.  Ensures the handler is executed on the
+     * correct vert.x context.
+     *
+     * @param query   the CQL query to prepare and execute
+     * @param handler the handler for the result set
+     * @param values  the values to bind to the prepared statement
+     */
+    @Override
+    public void executePreparedAsync(String query, Handler<AsyncResult<ResultSet>> handler, Object... values) {
+        Handler<AsyncResult<ResultSet>> timed = metrics.timed(metrics.getLabel(query), handler);
+        addHandler(executePrepared(query, values), timed);
+    }
+
+    /**
+     * Gets the cached prepared statement for the query, preparing it on first use.  Ensures the handler is executed on
+     * the correct vert.x context.
+     *
+     * @param query   the CQL query to prepare
+     * @param handler the handler for the prepared statement
+     */
+    @Override
+    public void getPreparedAsync(String query, Handler<AsyncResult<PreparedStatement>> handler) {
+        Handler<AsyncResult<PreparedStatement>> timed = metrics.timed(Metrics.LABEL_PREPARE, handler);
+        addHandler(getPrepared(query), timed);
+    }
+
+    private ListenableFuture<PreparedStatement> getPrepared(String query) {
+        if (!initialized() || preparedStatementCache == null) {
+            return Futures.immediateFailedFuture(new IllegalStateException(NOT_READY_MESSAGE));
+        }
+        return preparedStatementCache.get(query, this::prepareAsync);
+    }
+
+    private ListenableFuture<ResultSet> executePrepared(String query, Object... values) {
+        return Futures.transformAsync(
+                getPrepared(query),
+                prepared -> executeCoalesced(prepared.bind(values)),
+                MoreExecutors.directExecutor());
+    }
+
+    private ListenableFuture<ResultSet> executeCached(Statement statement) {
+        if (resultCache != null && statement instanceof CacheableStatement) {
+            return resultCache.execute((CacheableStatement) statement, this::executeCoalesced);
+        }
+        return executeCoalesced(statement);
+    }
+
+    private ListenableFuture<ResultSet> executeCoalesced(Statement statement) {
+        if (writeCoalescer != null) {
+            ListenableFuture<ResultSet> future = writeCoalescer.execute(statement);
+            if (future != null) {
+                return future;
+            }
+        }
+        return executeRetrying(statement);
+    }
+
+    private ListenableFuture<ResultSet> executeRetrying(Statement statement) {
+        if (backoffRetryExecutor != null) {
+            return backoffRetryExecutor.execute(statement, this::executeLimited);
+        }
+        return executeLimited(statement);
+    }
+
+    private ListenableFuture<ResultSet> executeLimited(Statement statement) {
+        ListenableFuture<ResultSet> future;
+        if (concurrencyLimiter != null) {
+            future = concurrencyLimiter.submit(() -> executeDriver(statement));
+        } else {
+            future = executeDriver(statement);
+        }
+        if (configurator.getSpeculativeExecutionPolicy() != null) {
+            metrics.trackSpeculativeExecutions(future);
+        }
+        return future;
+    }
+
+    private ResultSetFuture executeDriver(Statement statement) {
+        return getSession().executeAsync(statement);
     }
 
     /**
@@ -399,17 +786,32 @@ public class DefaultCassandraSession implements CassandraSession {
      */
     @Override
     public CloseFuture closeAsync() {
-        return getSession().closeAsync();
+        Session session = getSession();
+        if (isShared(session)) {
+            // Still used by other sessions, the shared session is closed with the cluster
+            return CloseFuture.immediateFuture();
+        }
+        return session.closeAsync();
     }
 
     @Override
     public void close() {
         logger.debug("Call to close the session has been made");
+        closed = true;
         if (metrics != null) {
             metrics.close();
             metrics = null;
         }
-        if (cluster != null) {
+        if (sharedCluster != null) {
+            // Only close a session reconnected by this instance, the shared cluster closes with its last user
+            if (session != null && !isShared(session)) {
+                session.closeAsync();
+            }
+            sharedCluster.release();
+            sharedCluster = null;
+            cluster = null;
+            session = null;
+        } else if (cluster != null) {
             cluster.closeAsync().force();
             cluster = null;
             session = null;
@@ -417,13 +819,21 @@ public class DefaultCassandraSession implements CassandraSession {
         clusterBuilder = null;
     }
 
+    private boolean isShared(Session session) {
+        return sharedCluster != null && session == sharedCluster.getSession();
+    }
+
     private <V> void addCallback(final ListenableFuture<V> future, FutureCallback<V> callback) {
         FutureUtils.addCallback(future, callback, vertx);
     }
 
+    private <V> void addHandler(final ListenableFuture<V> future, Handler<AsyncResult<V>> handler) {
+        FutureUtils.addHandler(future, handler, vertx);
+    }
+
     private void checkInitialized() {
         if (!initialized()) {
-            throw new IllegalStateException("Cassandra session is not ready for use yet");
+            throw new IllegalStateException(NOT_READY_MESSAGE);
         }
     }
 
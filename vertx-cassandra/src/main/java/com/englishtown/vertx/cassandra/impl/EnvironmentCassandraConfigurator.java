@@ -19,6 +19,8 @@ public class EnvironmentCassandraConfigurator extends JsonCassandraConfigurator
     // The environment variable that contains the pipe delimited list of seeds
     public static final String ENV_VAR_SEEDS = "CASSANDRA_SEEDS";
     public static final String ENV_VAR_LOCAL_DC = "CASSANDRA_LOCAL_DC";
+    public static final String ENV_VAR_TOKEN_AWARE = "CASSANDRA_TOKEN_AWARE";
+    public static final String ENV_VAR_LATENCY_AWARE = "CASSANDRA_LATENCY_AWARE";
     public static final String ENV_VAR_USERNAME = "CASSANDRA_USERNAME";
     public static final String ENV_VAR_PASSWORD = "CASSANDRA_PASSWORD";
 
@@ -59,9 +61,13 @@ public class EnvironmentCassandraConfigurator extends JsonCassandraConfigurator
 
         if (!Strings.isNullOrEmpty(localDC)) {
             logger.debug("Using environment config for Local DC of " + localDC);
-            loadBalancingPolicy = DCAwareRoundRobinPolicy.builder()
-                    .withLocalDc(localDC)
-                    .build();
+            loadBalancingPolicy = wrapLoadBalancingPolicy(
+                    DCAwareRoundRobinPolicy.builder()
+                            .withLocalDc(localDC)
+                            .build(),
+                    new JsonObject()
+                            .put(CONFIG_TOKEN_AWARE, Boolean.parseBoolean(envVarDelegate.get(ENV_VAR_TOKEN_AWARE)))
+                            .put(CONFIG_LATENCY_AWARE, Boolean.parseBoolean(envVarDelegate.get(ENV_VAR_LATENCY_AWARE))));
         } else {
             logger.debug("No environment configuration found for local DC");
         }
@@ -0,0 +1,131 @@
+package com.englishtown.vertx.cassandra.impl;
+
+import com.codahale.metrics.Reservoir;
+import com.codahale.metrics.Snapshot;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramIterationValue;
+import org.HdrHistogram.Recorder;
+
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link Reservoir} backed by an HdrHistogram {@link Recorder}.
+ * <p>
+ * Recording is wait-free and keeps every value at a fixed precision, so high percentiles are not lost to sampling.
+ * Snapshots cover the values recorded in the current and previous window, so old latencies age out after at most two
+ * windows.
+ */
+class HdrHistogramReservoir implements Reservoir {
+
+    private static final int SIGNIFICANT_DIGITS = 2;
+    private static final long DEFAULT_WINDOW_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final Recorder recorder = new Recorder(SIGNIFICANT_DIGITS);
+    private final long windowNanos;
+
+    private Histogram previous = new Histogram(SIGNIFICANT_DIGITS);
+    private Histogram current = new Histogram(SIGNIFICANT_DIGITS);
+    private long windowStart = System.nanoTime();
+
+    HdrHistogramReservoir() {
+        this(DEFAULT_WINDOW_NANOS);
+    }
+
+    HdrHistogramReservoir(long windowNanos) {
+        this.windowNanos = windowNanos;
+    }
+
+    @Override
+    public int size() {
+        return getSnapshot().size();
+    }
+
+    @Override
+    public void update(long value) {
+        recorder.recordValue(value);
+    }
+
+    @Override
+    public synchronized Snapshot getSnapshot() {
+
+        current.add(recorder.getIntervalHistogram());
+
+        long now = System.nanoTime();
+        if (now - windowStart >= windowNanos) {
+            previous = current;
+            current = new Histogram(SIGNIFICANT_DIGITS);
+            windowStart = now;
+        }
+
+        Histogram histogram = previous.copy();
+        histogram.add(current);
+        return new HdrSnapshot(histogram);
+    }
+
+    private static class HdrSnapshot extends Snapshot {
+
+        private final Histogram histogram;
+
+        private HdrSnapshot(Histogram histogram) {
+            this.histogram = histogram;
+        }
+
+        @Override
+        public double getValue(double quantile) {
+            return histogram.getValueAtPercentile(quantile * 100);
+        }
+
+        /**
+         * Returns the distinct recorded values (at the histogram precision) rather than every sample
+         */
+        @Override
+        public long[] getValues() {
+            List<Long> values = new ArrayList<>();
+            for (HistogramIterationValue value : histogram.recordedValues()) {
+                values.add(histogram.highestEquivalentValue(value.getValueIteratedTo()));
+            }
+            return values.stream().mapToLong(Long::longValue).toArray();
+        }
+
+        @Override
+        public int size() {
+            return (int) Math.min(histogram.getTotalCount(), Integer.MAX_VALUE);
+        }
+
+        @Override
+        public long getMax() {
+            return histogram.getTotalCount() == 0 ? 0 : histogram.getMaxValue();
+        }
+
+        @Override
+        public double getMean() {
+            return histogram.getTotalCount() == 0 ? 0 : histogram.getMean();
+        }
+
+        @Override
+        public long getMin() {
+            return histogram.getTotalCount() == 0 ? 0 : histogram.getMinValue();
+        }
+
+        @Override
+        public double getStdDev() {
+            return histogram.getTotalCount() == 0 ? 0 : histogram.getStdDeviation();
+        }
+
+        @Override
+        public void dump(OutputStream output) {
+            try (PrintWriter out = new PrintWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8))) {
+                for (long value : getValues()) {
+                    out.printf("%d%n", value);
+                }
+            }
+        }
+    }
+
+}
@@ -2,7 +2,11 @@ package com.englishtown.vertx.cassandra.impl;
 
 import com.datastax.driver.core.*;
 import com.datastax.driver.core.policies.*;
+import com.englishtown.vertx.cassandra.BackoffRetryOptions;
 import com.englishtown.vertx.cassandra.CassandraConfigurator;
+import com.englishtown.vertx.cassandra.ConcurrencyLimitOptions;
+import com.englishtown.vertx.cassandra.ResultCacheOptions;
+import com.englishtown.vertx.cassandra.WriteCoalescingOptions;
 import com.google.common.base.Strings;
 import com.google.common.collect.ImmutableList;
 import io.vertx.core.AsyncResult;
@@ -15,6 +19,7 @@ import io.vertx.core.json.JsonObject;
 import javax.inject.Inject;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Json configuration based implementation of {@link com.englishtown.vertx.cassandra.CassandraConfigurator}
@@ -25,11 +30,20 @@ public class JsonCassandraConfigurator implements CassandraConfigurator {
     protected Integer port;
     protected LoadBalancingPolicy loadBalancingPolicy;
     protected ReconnectionPolicy reconnectionPolicy;
+    protected SpeculativeExecutionPolicy speculativeExecutionPolicy;
+    protected RetryPolicy retryPolicy;
+    protected BackoffRetryOptions backoffRetryOptions;
     protected PoolingOptions poolingOptions;
     protected SocketOptions socketOptions;
     protected QueryOptions queryOptions;
     protected MetricsOptions metricsOptions;
     protected AuthProvider authProvider;
+    protected Integer preparedStatementCacheSize;
+    protected WriteCoalescingOptions writeCoalescingOptions;
+    protected ConcurrencyLimitOptions concurrencyLimitOptions;
+    protected ResultCacheOptions resultCacheOptions;
+    protected Long initTimeoutMillis;
+    protected String sharedClusterName;
 
     protected final List<String> DEFAULT_SEEDS = ImmutableList.of("127.0.0.1");
 
@@ -38,7 +52,11 @@ public class JsonCassandraConfigurator implements CassandraConfigurator {
     public static final String CONFIG_PORT = "port";
     public static final String CONFIG_POLICIES = "policies";
     public static final String CONFIG_POLICIES_LOAD_BALANCING = "load_balancing";
+    public static final String CONFIG_TOKEN_AWARE = "token_aware";
+    public static final String CONFIG_LATENCY_AWARE = "latency_aware";
     public static final String CONFIG_POLICIES_RECONNECTION = "reconnection";
+    public static final String CONFIG_POLICIES_SPECULATIVE_EXECUTION = "speculative_execution";
+    public static final String CONFIG_POLICIES_RETRY = "retry";
     public static final String CONFIG_POOLING = "pooling";
     public static final String CONFIG_SOCKET = "socket";
     public static final String CONFIG_METRICS = "metrics";
@@ -47,6 +65,12 @@ public class JsonCassandraConfigurator implements CassandraConfigurator {
     public static final String CONFIG_CONSISTENCY_LEVEL = "consistency_level";
     public static final String CONFIG_SERIAL_CONSISTENCY_LEVEL = "serial_consistency_level";
     public static final String CONFIG_FETCH_SIZE = "fetch_size";
+    public static final String CONFIG_PREPARED_STATEMENT_CACHE_SIZE = "prepared_statement_cache_size";
+    public static final String CONFIG_WRITE_COALESCING = "write_coalescing";
+    public static final String CONFIG_CONCURRENCY_LIMIT = "concurrency_limit";
+    public static final String CONFIG_RESULT_CACHE = "result_cache";
+    public static final String CONFIG_INIT_TIMEOUT_MILLIS = "init_timeout_millis";
+    public static final String CONFIG_SHARED_CLUSTER = "shared_cluster";
 
     public static final String CONSISTENCY_ANY = "ANY";
     public static final String CONSISTENCY_ONE = "ONE";
@@ -95,6 +119,21 @@ public class JsonCassandraConfigurator implements CassandraConfigurator {
         return reconnectionPolicy;
     }
 
+    @Override
+    public SpeculativeExecutionPolicy getSpeculativeExecutionPolicy() {
+        return speculativeExecutionPolicy;
+    }
+
+    @Override
+    public RetryPolicy getRetryPolicy() {
+        return retryPolicy;
+    }
+
+    @Override
+    public BackoffRetryOptions getBackoffRetryOptions() {
+        return backoffRetryOptions;
+    }
+
     @Override
     public QueryOptions getQueryOptions() {
         return queryOptions;
@@ -110,6 +149,36 @@ public class JsonCassandraConfigurator implements CassandraConfigurator {
         return authProvider;
     }
 
+    @Override
+    public Integer getPreparedStatementCacheSize() {
+        return preparedStatementCacheSize;
+    }
+
+    @Override
+    public WriteCoalescingOptions getWriteCoalescingOptions() {
+        return writeCoalescingOptions;
+    }
+
+    @Override
+    public ResultCacheOptions getResultCacheOptions() {
+        return resultCacheOptions;
+    }
+
+    @Override
+    public ConcurrencyLimitOptions getConcurrencyLimitOptions() {
+        return concurrencyLimitOptions;
+    }
+
+    @Override
+    public Long getInitTimeoutMillis() {
+        return initTimeoutMillis;
+    }
+
+    @Override
+    public String getSharedClusterName() {
+        return sharedClusterName;
+    }
+
     @Override
     public void onReady(Handler<AsyncResult<Void>> callback) {
         callback.handle(Future.succeededFuture(null));
@@ -135,6 +204,12 @@ public class JsonCassandraConfigurator implements CassandraConfigurator {
         initQueryOptions(config.getJsonObject(CONFIG_QUERY, config));
         initMetricsOptions(config.getJsonObject(CONFIG_METRICS));
         initAuthProvider(config.getJsonObject(CONFIG_AUTH));
+        initPreparedStatementCacheSize(config);
+        initWriteCoalescingOptions(config.getJsonObject(CONFIG_WRITE_COALESCING));
+        initConcurrencyLimitOptions(config.getJsonObject(CONFIG_CONCURRENCY_LIMIT));
+        initResultCacheOptions(config.getJsonObject(CONFIG_RESULT_CACHE));
+        initInitTimeoutMillis(config);
+        initSharedClusterName(config);
 
     }
 
@@ -162,6 +237,126 @@ public class JsonCassandraConfigurator implements CassandraConfigurator {
         port = i;
     }
 
+    protected void initPreparedStatementCacheSize(JsonObject config) {
+        Integer i = config.getInteger(CONFIG_PREPARED_STATEMENT_CACHE_SIZE);
+
+        if (i == null || i < 0) {
+            return;
+        }
+
+        preparedStatementCacheSize = i;
+    }
+
+    protected void initInitTimeoutMillis(JsonObject config) {
+        Long l = config.getLong(CONFIG_INIT_TIMEOUT_MILLIS);
+
+        if (l == null || l < 0) {
+            return;
+        }
+
+        initTimeoutMillis = l;
+    }
+
+    protected void initSharedClusterName(JsonObject config) {
+        String name = config.getString(CONFIG_SHARED_CLUSTER);
+
+        if (Strings.isNullOrEmpty(name)) {
+            return;
+        }
+
+        sharedClusterName = name;
+    }
+
+    protected void initWriteCoalescingOptions(JsonObject coalescing) {
+
+        if (coalescing == null || !coalescing.getBoolean("enabled", true)) {
+            return;
+        }
+
+        writeCoalescingOptions = new WriteCoalescingOptions();
+
+        Integer max_batch_size = coalescing.getInteger("max_batch_size");
+        Long max_delay_millis = coalescing.getLong("max_delay_millis");
+
+        if (max_batch_size != null) {
+            writeCoalescingOptions.setMaxBatchSize(max_batch_size);
+        }
+        if (max_delay_millis != null) {
+            writeCoalescingOptions.setMaxDelayMillis(max_delay_millis);
+        }
+
+    }
+
+    protected void initResultCacheOptions(JsonObject cacheConfig) {
+
+        if (cacheConfig == null || !cacheConfig.getBoolean("enabled", true)) {
+            return;
+        }
+
+        resultCacheOptions = new ResultCacheOptions();
+
+        Long maximum_size = cacheConfig.getLong("maximum_size");
+        Long ttl_millis = cacheConfig.getLong("ttl_millis");
+        JsonObject tables = cacheConfig.getJsonObject("tables");
+
+        if (maximum_size != null) {
+            resultCacheOptions.setMaximumSize(maximum_size);
+        }
+        if (ttl_millis != null) {
+            resultCacheOptions.setTtlMillis(ttl_millis);
+        }
+        if (tables != null) {
+            for (String table : tables.fieldNames()) {
+                String[] parts = table.split("\\.");
+                if (parts.length != 2) {
+                    throw new IllegalArgumentException("Result cache table " + table + " must be keyspace.table");
+                }
+                resultCacheOptions.setTableTtlMillis(parts[0], parts[1], tables.getLong(table));
+            }
+        }
+
+    }
+
+    protected void initConcurrencyLimitOptions(JsonObject limitConfig) {
+
+        if (limitConfig == null || !limitConfig.getBoolean("enabled", true)) {
+            return;
+        }
+
+        concurrencyLimitOptions = new ConcurrencyLimitOptions();
+
+        Integer initial_limit = limitConfig.getInteger("initial_limit");
+        Integer min_limit = limitConfig.getInteger("min_limit");
+        Integer max_limit = limitConfig.getInteger("max_limit");
+        Integer max_queue_size = limitConfig.getInteger("max_queue_size");
+        Double backoff_ratio = limitConfig.getDouble("backoff_ratio");
+        Long latency_threshold_millis = limitConfig.getLong("latency_threshold_millis");
+
+        if (initial_limit != null) {
+            concurrencyLimitOptions.setInitialLimit(initial_limit);
+        }
+        if (min_limit != null) {
+            concurrencyLimitOptions.setMinLimit(min_limit);
+        }
+        if (max_limit != null) {
+            concurrencyLimitOptions.setMaxLimit(max_limit);
+        }
+        if (max_queue_size != null) {
+            concurrencyLimitOptions.setMaxQueueSize(max_queue_size);
+        }
+        if (backoff_ratio != null) {
+            concurrencyLimitOptions.setBackoffRatio(backoff_ratio);
+        }
+        if (latency_threshold_millis != null) {
+            concurrencyLimitOptions.setLatencyThresholdMillis(latency_threshold_millis);
+        }
+
+        if (concurrencyLimitOptions.getMinLimit() > concurrencyLimitOptions.getMaxLimit()) {
+            throw new IllegalArgumentException("min_limit cannot be greater than max_limit");
+        }
+
+    }
+
     protected void initPolicies(JsonObject policyConfig) {
 
         if (policyConfig == null) {
@@ -170,6 +365,8 @@ public class JsonCassandraConfigurator implements CassandraConfigurator {
 
         initLoadBalancingPolicy(policyConfig.getJsonObject(CONFIG_POLICIES_LOAD_BALANCING));
         initReconnectionPolicy(policyConfig.getJsonObject(CONFIG_POLICIES_RECONNECTION));
+        initSpeculativeExecutionPolicy(policyConfig.getJsonObject(CONFIG_POLICIES_SPECULATIVE_EXECUTION));
+        initRetryPolicy(policyConfig.getJsonObject(CONFIG_POLICIES_RETRY));
     }
 
     protected void initLoadBalancingPolicy(JsonObject loadBalancing) {
@@ -198,6 +395,11 @@ public class JsonCassandraConfigurator implements CassandraConfigurator {
                     .withUsedHostsPerRemoteDc(usedHostsPerRemoteDc)
                     .build();
 
+        } else if ("RoundRobinPolicy".equalsIgnoreCase(name) || "round_robin".equalsIgnoreCase(name)
+                || "com.datastax.driver.core.policies.RoundRobinPolicy".equalsIgnoreCase(name)) {
+
+            loadBalancingPolicy = new RoundRobinPolicy();
+
         } else {
 
             Class<?> clazz;
@@ -218,6 +420,72 @@ public class JsonCassandraConfigurator implements CassandraConfigurator {
 
         }
 
+        loadBalancingPolicy = wrapLoadBalancingPolicy(loadBalancingPolicy, loadBalancing);
+
+    }
+
+    /**
+     * Wraps the policy in a {@link LatencyAwarePolicy} and then a {@link TokenAwarePolicy} when the
+     * {@value #CONFIG_LATENCY_AWARE} and {@value #CONFIG_TOKEN_AWARE} fields are set.  Each field is either a boolean
+     * or an object with the wrapper options.
+     *
+     * @param policy        the policy to wrap
+     * @param loadBalancing the load balancing config
+     * @return the wrapped policy
+     */
+    protected LoadBalancingPolicy wrapLoadBalancingPolicy(LoadBalancingPolicy policy, JsonObject loadBalancing) {
+
+        JsonObject latencyAware = getWrapperConfig(loadBalancing, CONFIG_LATENCY_AWARE);
+        if (latencyAware != null) {
+            LatencyAwarePolicy.Builder builder = LatencyAwarePolicy.builder(policy);
+
+            Double exclusion_threshold = latencyAware.getDouble("exclusion_threshold");
+            Long scale_millis = latencyAware.getLong("scale_millis");
+            Long retry_period_millis = latencyAware.getLong("retry_period_millis");
+            Long update_rate_millis = latencyAware.getLong("update_rate_millis");
+            Integer min_measure = latencyAware.getInteger("min_measure");
+
+            if (exclusion_threshold != null) {
+                builder.withExclusionThreshold(exclusion_threshold);
+            }
+            if (scale_millis != null) {
+                builder.withScale(scale_millis, TimeUnit.MILLISECONDS);
+            }
+            if (retry_period_millis != null) {
+                builder.withRetryPeriod(retry_period_millis, TimeUnit.MILLISECONDS);
+            }
+            if (update_rate_millis != null) {
+                builder.withUpdateRate(update_rate_millis, TimeUnit.MILLISECONDS);
+            }
+            if (min_measure != null) {
+                builder.withMininumMeasurements(min_measure);
+            }
+
+            policy = builder.build();
+        }
+
+        JsonObject tokenAware = getWrapperConfig(loadBalancing, CONFIG_TOKEN_AWARE);
+        if (tokenAware != null) {
+            policy = new TokenAwarePolicy(policy, tokenAware.getBoolean("shuffle_replicas", true));
+        }
+
+        return policy;
+    }
+
+    private JsonObject getWrapperConfig(JsonObject loadBalancing, String key) {
+        Object value = loadBalancing.getValue(key);
+
+        if (value instanceof Boolean) {
+            return (Boolean) value ? new JsonObject() : null;
+        }
+        if (value instanceof JsonObject) {
+            JsonObject json = (JsonObject) value;
+            return json.getBoolean("enabled", true) ? json : null;
+        }
+        if (value != null) {
+            throw new IllegalArgumentException(key + " must be a boolean or an object");
+        }
+        return null;
     }
 
     protected void initReconnectionPolicy(JsonObject reconnection) {
@@ -271,6 +539,137 @@ public class JsonCassandraConfigurator implements CassandraConfigurator {
 
     }
 
+    protected void initSpeculativeExecutionPolicy(JsonObject speculativeExecution) {
+
+        if (speculativeExecution == null) {
+            return;
+        }
+
+        String name = speculativeExecution.getString("name");
+
+        if (name == null || name.isEmpty()) {
+            throw new IllegalArgumentException("A speculative execution policy must have a class name field");
+
+        } else if ("ConstantSpeculativeExecutionPolicy".equalsIgnoreCase(name) || "constant".equalsIgnoreCase(name)) {
+            Long delay = speculativeExecution.getLong("delay");
+            Integer maxExecutions = speculativeExecution.getInteger("max_executions");
+
+            if (delay == null || maxExecutions == null) {
+                throw new IllegalArgumentException("ConstantSpeculativeExecutionPolicy requires delay and max_executions in configuration");
+            }
+
+            speculativeExecutionPolicy = new ConstantSpeculativeExecutionPolicy(delay, maxExecutions);
+
+        } else if ("PercentileSpeculativeExecutionPolicy".equalsIgnoreCase(name) || "percentile".equalsIgnoreCase(name)) {
+            Double percentile = speculativeExecution.getDouble("percentile");
+            Integer maxExecutions = speculativeExecution.getInteger("max_executions");
+            long highestTrackableLatency = speculativeExecution.getLong("highest_trackable_latency_millis", 15000L);
+            Long interval = speculativeExecution.getLong("interval_millis");
+            Integer minRecordedValues = speculativeExecution.getInteger("min_recorded_values");
+
+            if (percentile == null || maxExecutions == null) {
+                throw new IllegalArgumentException("PercentileSpeculativeExecutionPolicy requires percentile and max_executions in configuration");
+            }
+
+            PerHostPercentileTracker.Builder builder = PerHostPercentileTracker.builder(highestTrackableLatency);
+            if (interval != null) {
+                builder.withInterval(interval, TimeUnit.MILLISECONDS);
+            }
+            if (minRecordedValues != null) {
+                builder.withMinRecordedValues(minRecordedValues);
+            }
+
+            // The policy registers the tracker with the cluster when it is initialized
+            speculativeExecutionPolicy = new PercentileSpeculativeExecutionPolicy(builder.build(), percentile, maxExecutions);
+
+        } else if ("NoSpeculativeExecutionPolicy".equalsIgnoreCase(name) || "none".equalsIgnoreCase(name)) {
+            speculativeExecutionPolicy = NoSpeculativeExecutionPolicy.INSTANCE;
+
+        } else {
+            Class<?> clazz;
+            try {
+                clazz = Thread.currentThread().getContextClassLoader().loadClass(name);
+            } catch (ClassNotFoundException e) {
+                throw new RuntimeException(e);
+            }
+
+            if (!SpeculativeExecutionPolicy.class.isAssignableFrom(clazz)) {
+                throw new IllegalArgumentException("Class " + name + " does not implement SpeculativeExecutionPolicy");
+            }
+
+            try {
+                speculativeExecutionPolicy = (SpeculativeExecutionPolicy) clazz.newInstance();
+            } catch (IllegalAccessException | InstantiationException e) {
+                throw new RuntimeException(e);
+            }
+        }
+
+    }
+
+    protected void initRetryPolicy(JsonObject retry) {
+
+        if (retry == null) {
+            return;
+        }
+
+        String name = retry.getString("name");
+
+        if (name == null || name.isEmpty()) {
+            throw new IllegalArgumentException("A retry policy must have a class name field");
+
+        } else if ("DefaultRetryPolicy".equalsIgnoreCase(name) || "default".equalsIgnoreCase(name)) {
+            retryPolicy = DefaultRetryPolicy.INSTANCE;
+
+        } else if ("FallthroughRetryPolicy".equalsIgnoreCase(name) || "fallthrough".equalsIgnoreCase(name)) {
+            retryPolicy = FallthroughRetryPolicy.INSTANCE;
+
+        } else if ("DowngradingConsistencyRetryPolicy".equalsIgnoreCase(name) || "downgrading".equalsIgnoreCase(name)) {
+            retryPolicy = DowngradingConsistencyRetryPolicy.INSTANCE;
+
+        } else if ("backoff".equalsIgnoreCase(name)) {
+            // The session retries idempotent statements with a backoff, the driver retries the others as usual
+            backoffRetryOptions = new BackoffRetryOptions();
+            retryPolicy = new BackoffRetryPolicy(backoffRetryOptions);
+
+            Integer max_retries = retry.getInteger("max_retries");
+            Long base_delay_millis = retry.getLong("base_delay_millis");
+            Long max_delay_millis = retry.getLong("max_delay_millis");
+
+            if (max_retries != null) {
+                backoffRetryOptions.setMaxRetries(max_retries);
+            }
+            if (base_delay_millis != null) {
+                backoffRetryOptions.setBaseDelayMillis(base_delay_millis);
+            }
+            if (max_delay_millis != null) {
+                backoffRetryOptions.setMaxDelayMillis(max_delay_millis);
+            }
+
+        } else {
+            Class<?> clazz;
+            try {
+                clazz = Thread.currentThread().getContextClassLoader().loadClass(name);
+            } catch (ClassNotFoundException e) {
+                throw new RuntimeException(e);
+            }
+
+            if (!RetryPolicy.class.isAssignableFrom(clazz)) {
+                throw new IllegalArgumentException("Class " + name + " does not implement RetryPolicy");
+            }
+
+            try {
+                retryPolicy = (RetryPolicy) clazz.newInstance();
+            } catch (IllegalAccessException | InstantiationException e) {
+                throw new RuntimeException(e);
+            }
+        }
+
+        if (retry.getBoolean("logging", false)) {
+            retryPolicy = new LoggingRetryPolicy(retryPolicy);
+        }
+
+    }
+
     protected void initPoolingOptions(JsonObject poolingConfig) {
 
         if (poolingConfig == null) {
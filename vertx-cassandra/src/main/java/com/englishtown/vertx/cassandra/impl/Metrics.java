@@ -1,35 +1,273 @@
 package com.englishtown.vertx.cassandra.impl;
 
+import com.codahale.metrics.Counter;
 import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Histogram;
 import com.codahale.metrics.JmxReporter;
 import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
 import com.datastax.driver.core.*;
+import com.datastax.driver.core.policies.ChainableLoadBalancingPolicy;
 import com.datastax.driver.core.policies.LoadBalancingPolicy;
 import com.datastax.driver.core.policies.Policies;
 import com.datastax.driver.core.policies.ReconnectionPolicy;
 import com.datastax.driver.core.policies.RetryPolicy;
+import com.datastax.driver.core.policies.SpeculativeExecutionPolicy;
+import com.englishtown.vertx.cassandra.BackoffRetryOptions;
+import com.englishtown.vertx.cassandra.CacheableStatement;
 import com.englishtown.vertx.cassandra.CassandraConfigurator;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.Uninterruptibles;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Handler;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 
 import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 /**
  * Metrics container
  */
 class Metrics implements AutoCloseable {
 
+    static final String LATENCY_PREFIX = "latency.";
+    static final String LABEL_OTHER = "other";
+    static final String LABEL_BATCH = "batch";
+    static final String LABEL_PREPARE = "prepare";
+
+    // Bounds the number of latency timers and cached query labels
+    static final int MAX_LATENCY_LABELS = 100;
+    private static final int MAX_CACHED_QUERIES = 1000;
+
+    private static final Pattern QUERY_LABEL = Pattern.compile(
+            "^\\s*(SELECT\\b.*?\\bFROM|INSERT\\s+INTO|UPDATE|DELETE\\b.*?\\bFROM)\\s+(\"?\\w+\"?(?:\\.\"?\\w+\"?)?)",
+            Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+    private static final Pattern FIRST_WORD = Pattern.compile("^\\s*(\\w+)");
+
+    private static final AtomicInteger SESSION_IDS = new AtomicInteger();
+
     private final DefaultCassandraSession session;
+    private final int id = SESSION_IDS.incrementAndGet();
     private final MetricRegistry registry = new MetricRegistry();
     private JmxReporter reporter;
     private GaugeStateListener listener;
 
+    private final Counter preparedCacheHits = registry.counter("prepared-cache-hits");
+    private final Counter preparedCacheMisses = registry.counter("prepared-cache-misses");
+    private final Counter preparedCacheEvictions = registry.counter("prepared-cache-evictions");
+    private final Histogram coalescedBatchSize = registry.histogram("write-coalescing-batch-size");
+    private final Counter concurrencyLimitRejected = registry.counter("concurrency-limit-rejected");
+    private final Counter speculativeExecutions = registry.counter("speculative-executions");
+    private final Counter speculativeExecutionsWon = registry.counter("speculative-executions-won");
+    private final Counter backoffRetries = registry.counter("backoff-retries");
+    private final Counter resultCacheHits = registry.counter("result-cache-hits");
+    private final Counter resultCacheMisses = registry.counter("result-cache-misses");
+    private final Counter resultCacheEvictions = registry.counter("result-cache-evictions");
+
+    private final ConcurrentMap<String, Timer> latencyTimers = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, String> queryLabels = new ConcurrentHashMap<>();
+
     Metrics(DefaultCassandraSession session) {
         this.session = session;
     }
 
+    void registerPreparedCache(LongSupplier size) {
+        String name = "prepared-cache-size";
+        registry.remove(name);
+        registry.<Gauge<Long>>register(name, size::getAsLong);
+    }
+
+    void onPreparedCacheHit() {
+        preparedCacheHits.inc();
+    }
+
+    void onPreparedCacheMiss() {
+        preparedCacheMisses.inc();
+    }
+
+    void onPreparedCacheEviction() {
+        preparedCacheEvictions.inc();
+    }
+
+    void registerResultCache(LongSupplier size) {
+        String name = "result-cache-size";
+        registry.remove(name);
+        registry.<Gauge<Long>>register(name, size::getAsLong);
+    }
+
+    void onResultCacheHit() {
+        resultCacheHits.inc();
+    }
+
+    void onResultCacheMiss() {
+        resultCacheMisses.inc();
+    }
+
+    void onResultCacheEviction() {
+        resultCacheEvictions.inc();
+    }
+
+    void onCoalescedBatch(int size) {
+        coalescedBatchSize.update(size);
+    }
+
+    void registerConcurrencyLimiter(ConcurrencyLimiter limiter) {
+        String name = "concurrency-limit";
+        registry.remove(name);
+        registry.<Gauge<Integer>>register(name, limiter::getLimit);
+
+        name = "concurrency-in-flight";
+        registry.remove(name);
+        registry.<Gauge<Integer>>register(name, limiter::getInFlight);
+
+        name = "concurrency-queued";
+        registry.remove(name);
+        registry.<Gauge<Integer>>register(name, limiter::getQueued);
+    }
+
+    void onConcurrencyLimitRejected() {
+        concurrencyLimitRejected.inc();
+    }
+
+    void onBackoffRetry() {
+        backoffRetries.inc();
+    }
+
+    /**
+     * Counts the speculative executions started for the query, and whether one of them returned the result
+     */
+    void trackSpeculativeExecutions(ListenableFuture<ResultSet> future) {
+        future.addListener(() -> {
+            ResultSet rs;
+            try {
+                rs = Uninterruptibles.getUninterruptibly(future);
+            } catch (ExecutionException | RuntimeException e) {
+                return;
+            }
+            ExecutionInfo info = rs.getExecutionInfo();
+            if (info.getSpeculativeExecutions() > 0) {
+                speculativeExecutions.inc(info.getSpeculativeExecutions());
+            }
+            if (info.getSuccessfulExecutionIndex() > 0) {
+                speculativeExecutionsWon.inc();
+            }
+        }, MoreExecutors.directExecutor());
+    }
+
+    /**
+     * Wraps the callback to record the time from now until the callback is run on the vert.x context
+     */
+    <V> FutureCallback<V> timed(String label, FutureCallback<V> callback) {
+        Timer timer = getLatencyTimer(label);
+        long start = System.nanoTime();
+
+        return new FutureCallback<V>() {
+            @Override
+            public void onSuccess(V result) {
+                timer.update(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                callback.onSuccess(result);
+            }
+
+            @Override
+            public void onFailure(Throwable t) {
+                timer.update(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                callback.onFailure(t);
+            }
+        };
+    }
+
+    /**
+     * Wraps the handler to record the time from now until the handler is run on the vert.x context
+     */
+    <V> Handler<AsyncResult<V>> timed(String label, Handler<AsyncResult<V>> handler) {
+        Timer timer = getLatencyTimer(label);
+        long start = System.nanoTime();
+
+        return result -> {
+            timer.update(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            handler.handle(result);
+        };
+    }
+
+    /**
+     * Records the time from now until the future completes
+     */
+    <V> ListenableFuture<V> timed(String label, ListenableFuture<V> future) {
+        Timer timer = getLatencyTimer(label);
+        long start = System.nanoTime();
+
+        future.addListener(() -> timer.update(System.nanoTime() - start, TimeUnit.NANOSECONDS),
+                MoreExecutors.directExecutor());
+        return future;
+    }
+
+    Timer getLatencyTimer(String label) {
+        Timer timer = latencyTimers.get(label);
+        if (timer != null) {
+            return timer;
+        }
+        if (latencyTimers.size() >= MAX_LATENCY_LABELS && !LABEL_OTHER.equals(label)) {
+            return getLatencyTimer(LABEL_OTHER);
+        }
+        return latencyTimers.computeIfAbsent(label,
+                key -> registry.register(LATENCY_PREFIX + key, new Timer(new HdrHistogramReservoir())));
+    }
+
+    /**
+     * Returns the latency label for a statement: the operation and table for SELECT, INSERT, UPDATE and DELETE
+     * (for example "select.ks.users"), otherwise the first keyword of the query.
+     */
+    String getLabel(Statement statement) {
+        if (statement instanceof CacheableStatement) {
+            statement = ((CacheableStatement) statement).getStatement();
+        }
+        if (statement instanceof BatchStatement) {
+            return LABEL_BATCH;
+        }
+        if (statement instanceof BoundStatement) {
+            return getLabel(((BoundStatement) statement).preparedStatement().getQueryString());
+        }
+        if (statement instanceof RegularStatement) {
+            return getLabel(((RegularStatement) statement).getQueryString());
+        }
+        return LABEL_OTHER;
+    }
+
+    String getLabel(String query) {
+        if (query == null) {
+            return LABEL_OTHER;
+        }
+
+        String label = queryLabels.get(query);
+        if (label != null) {
+            return label;
+        }
+
+        Matcher matcher = QUERY_LABEL.matcher(query);
+        if (matcher.find()) {
+            String operation = matcher.group(1).split("\\s+", 2)[0];
+            label = operation.toLowerCase() + "." + matcher.group(2).replace("\"", "");
+        } else {
+            matcher = FIRST_WORD.matcher(query);
+            label = matcher.find() ? matcher.group(1).toLowerCase() : LABEL_OTHER;
+        }
+
+        if (queryLabels.size() < MAX_CACHED_QUERIES) {
+            queryLabels.put(query, label);
+        }
+        return label;
+    }
+
     protected void afterReconnect() {
 
         // Close any existing metrics
@@ -52,6 +290,10 @@ class Metrics implements AutoCloseable {
 
         if (configuration.getMetricsOptions().isJMXReportingEnabled()) {
             String domain = "et.cass." + cluster.getClusterName() + "-metrics";
+            if (session.getConfigurator().getSharedClusterName() != null) {
+                // Every session sharing the cluster has its own registry, so each needs its own domain
+                domain = "et.cass." + cluster.getClusterName() + "-" + id + "-metrics";
+            }
             reporter = JmxReporter
                     .forRegistry(registry)
                     .inDomain(domain)
@@ -74,17 +316,28 @@ class Metrics implements AutoCloseable {
             seeds.forEach(arr::add);
         }
 
+        json.put("shared_cluster", configurator.getSharedClusterName());
+
         Policies policies = configuration.getPolicies();
         JsonObject policiesJson = new JsonObject();
         json.put("policies", policiesJson);
 
         if (policies != null) {
             LoadBalancingPolicy lbPolicy = policies.getLoadBalancingPolicy();
-            policiesJson.put("load_balancing", lbPolicy == null ? null : lbPolicy.getClass().getSimpleName());
+            policiesJson.put("load_balancing", lbPolicy == null ? null : describe(lbPolicy));
             ReconnectionPolicy reconnectionPolicy = policies.getReconnectionPolicy();
             policiesJson.put("reconnection", reconnectionPolicy == null ? null : reconnectionPolicy.getClass().getSimpleName());
             RetryPolicy retryPolicy = policies.getRetryPolicy();
             policiesJson.put("retry", retryPolicy == null ? null : retryPolicy.getClass().getSimpleName());
+            BackoffRetryOptions backoff = configurator.getBackoffRetryOptions();
+            if (backoff != null) {
+                policiesJson.put("retry_backoff", new JsonObject()
+                        .put("max_retries", backoff.getMaxRetries())
+                        .put("base_delay_millis", backoff.getBaseDelayMillis())
+                        .put("max_delay_millis", backoff.getMaxDelayMillis()));
+            }
+            SpeculativeExecutionPolicy speculativeExecutionPolicy = policies.getSpeculativeExecutionPolicy();
+            policiesJson.put("speculative_execution", speculativeExecutionPolicy == null ? null : speculativeExecutionPolicy.getClass().getSimpleName());
         }
 
         PoolingOptions poolingOptions = configuration.getPoolingOptions();
@@ -131,6 +384,20 @@ class Metrics implements AutoCloseable {
         return json;
     }
 
+    /**
+     * Describes the policy including the policies it wraps, for example TokenAwarePolicy(DCAwareRoundRobinPolicy)
+     */
+    static String describe(LoadBalancingPolicy policy) {
+        String name = policy.getClass().getSimpleName();
+        if (policy instanceof ChainableLoadBalancingPolicy) {
+            LoadBalancingPolicy child = ((ChainableLoadBalancingPolicy) policy).getChildPolicy();
+            if (child != null) {
+                return name + "(" + describe(child) + ")";
+            }
+        }
+        return name;
+    }
+
     @Override
     public void close() {
         if (listener != null) {
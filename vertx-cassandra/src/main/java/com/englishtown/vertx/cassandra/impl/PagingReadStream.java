@@ -0,0 +1,177 @@
+package com.englishtown.vertx.cassandra.impl;
+
+import com.datastax.driver.core.PagingIterable;
+import com.englishtown.vertx.cassandra.CassandraReadStream;
+import com.englishtown.vertx.cassandra.FutureUtils;
+import com.google.common.util.concurrent.ListenableFuture;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+
+/**
+ * {@link CassandraReadStream} over a paged driver result, such as a {@link com.datastax.driver.core.ResultSet} or a
+ * mapped {@code Result}.
+ * <p>
+ * Items are only read when they are available without fetching, so iteration never blocks on a page boundary.  The
+ * next page is fetched asynchronously once half of the current page has been consumed, and no page is fetched while
+ * the stream is paused.  All methods must be called on the vert.x context that created the stream.
+ *
+ * @param <S> the paging iterable type
+ * @param <T> the type of the items emitted
+ */
+public class PagingReadStream<S extends PagingIterable<S, T>, T> implements CassandraReadStream<T> {
+
+    private final Vertx vertx;
+
+    private S results;
+    private int pageSize;
+    private boolean fetching = true;
+    private boolean emitting;
+    private boolean ended;
+    private long demand = Long.MAX_VALUE;
+    private Throwable failure;
+
+    private Handler<T> handler;
+    private Handler<Void> endHandler;
+    private Handler<Throwable> exceptionHandler;
+
+    public PagingReadStream(ListenableFuture<S> future, Vertx vertx) {
+        this.vertx = vertx;
+        FutureUtils.addHandler(future, this::handlePage, vertx);
+    }
+
+    private void handlePage(AsyncResult<S> result) {
+        fetching = false;
+
+        if (result.failed()) {
+            failure = result.cause();
+            if (exceptionHandler != null) {
+                exceptionHandler.handle(failure);
+            }
+            return;
+        }
+
+        results = result.result();
+        pageSize = Math.max(pageSize, results.getAvailableWithoutFetching());
+        drain();
+    }
+
+    private void drain() {
+        if (emitting || ended || results == null || handler == null) {
+            return;
+        }
+
+        emitting = true;
+        try {
+            while (true) {
+                int available = results.getAvailableWithoutFetching();
+
+                if (available == 0) {
+                    if (results.isFullyFetched()) {
+                        end();
+                    } else if (demand > 0) {
+                        fetchMore();
+                    }
+                    return;
+                }
+
+                if (demand == 0 || handler == null) {
+                    return;
+                }
+
+                // Prefetch the next page once half of the current one has been consumed
+                if (available <= pageSize / 2) {
+                    fetchMore();
+                }
+
+                if (demand != Long.MAX_VALUE) {
+                    demand--;
+                }
+                handler.handle(results.one());
+            }
+        } finally {
+            emitting = false;
+        }
+    }
+
+    private void fetchMore() {
+        if (fetching || results.isFullyFetched()) {
+            return;
+        }
+        fetching = true;
+        FutureUtils.addHandler(results.fetchMoreResults(), this::handlePage, vertx);
+    }
+
+    private void end() {
+        ended = true;
+        if (endHandler != null) {
+            endHandler.handle(null);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CassandraReadStream<T> exceptionHandler(Handler<Throwable> handler) {
+        exceptionHandler = handler;
+        if (handler != null && failure != null) {
+            handler.handle(failure);
+        }
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CassandraReadStream<T> handler(Handler<T> handler) {
+        this.handler = handler;
+        drain();
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CassandraReadStream<T> pause() {
+        demand = 0;
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CassandraReadStream<T> resume() {
+        demand = Long.MAX_VALUE;
+        drain();
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CassandraReadStream<T> endHandler(Handler<Void> endHandler) {
+        this.endHandler = endHandler;
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CassandraReadStream<T> fetch(long amount) {
+        if (amount > 0) {
+            demand += amount;
+            if (demand < 0) {
+                demand = Long.MAX_VALUE;
+            }
+            drain();
+        }
+        return this;
+    }
+
+}
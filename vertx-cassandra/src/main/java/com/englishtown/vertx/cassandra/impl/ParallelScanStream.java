@@ -0,0 +1,203 @@
+package com.englishtown.vertx.cassandra.impl;
+
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.Row;
+import com.datastax.driver.core.Statement;
+import com.englishtown.vertx.cassandra.CassandraReadStream;
+import com.englishtown.vertx.cassandra.CassandraSession;
+import com.englishtown.vertx.cassandra.FutureUtils;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Queue;
+
+/**
+ * {@link CassandraReadStream} that executes a list of statements, such as the token range queries of a table scan,
+ * with up to {@code parallelism} of them running at once and emits their rows as pages arrive.
+ * <p>
+ * Only rows available without fetching are emitted, and the next page of a statement is fetched once its current page
+ * has been consumed, so at most {@code parallelism} pages are buffered while the stream is paused.  The rows of
+ * different statements are not emitted in any particular order.  All methods must be called on the vert.x context
+ * that created the stream.
+ */
+class ParallelScanStream implements CassandraReadStream<Row> {
+
+    private final CassandraSession session;
+    private final Vertx vertx;
+    private final int parallelism;
+
+    private Queue<Statement> statements;
+    private final Queue<ResultSet> ready = new ArrayDeque<>();
+    private int active;
+    private boolean emitting;
+    private boolean ended;
+    private long demand = Long.MAX_VALUE;
+    private Throwable failure;
+
+    private Handler<Row> handler;
+    private Handler<Void> endHandler;
+    private Handler<Throwable> exceptionHandler;
+
+    ParallelScanStream(Future<List<Statement>> statements, int parallelism, CassandraSession session, Vertx vertx) {
+        this.session = session;
+        this.vertx = vertx;
+        this.parallelism = parallelism;
+
+        statements.setHandler(result -> {
+            if (result.failed()) {
+                fail(result.cause());
+                return;
+            }
+            this.statements = new ArrayDeque<>(result.result());
+            startStatements();
+            drain();
+        });
+    }
+
+    private void startStatements() {
+        while (failure == null && active < parallelism && !statements.isEmpty()) {
+            active++;
+            session.executeAsync(statements.poll(), this::handlePage);
+        }
+    }
+
+    private void handlePage(AsyncResult<ResultSet> result) {
+        if (result.failed()) {
+            fail(result.cause());
+            return;
+        }
+
+        ResultSet rs = result.result();
+        if (rs.getAvailableWithoutFetching() > 0) {
+            ready.add(rs);
+        } else {
+            pageConsumed(rs);
+        }
+        drain();
+    }
+
+    private void pageConsumed(ResultSet rs) {
+        if (rs.isFullyFetched()) {
+            active--;
+            startStatements();
+        } else {
+            FutureUtils.addHandler(rs.fetchMoreResults(), this::handlePage, vertx);
+        }
+    }
+
+    private void drain() {
+        if (emitting || ended || failure != null || statements == null) {
+            return;
+        }
+
+        emitting = true;
+        try {
+            while (demand > 0 && handler != null && !ready.isEmpty()) {
+                ResultSet rs = ready.peek();
+                if (demand != Long.MAX_VALUE) {
+                    demand--;
+                }
+                handler.handle(rs.one());
+
+                if (rs.getAvailableWithoutFetching() == 0) {
+                    ready.poll();
+                    pageConsumed(rs);
+                }
+            }
+
+            if (active == 0 && statements.isEmpty() && failure == null) {
+                end();
+            }
+        } finally {
+            emitting = false;
+        }
+    }
+
+    private void fail(Throwable t) {
+        if (failure != null) {
+            return;
+        }
+        failure = t;
+        ready.clear();
+        if (exceptionHandler != null) {
+            exceptionHandler.handle(t);
+        }
+    }
+
+    private void end() {
+        ended = true;
+        if (endHandler != null) {
+            endHandler.handle(null);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CassandraReadStream<Row> exceptionHandler(Handler<Throwable> handler) {
+        exceptionHandler = handler;
+        if (handler != null && failure != null) {
+            handler.handle(failure);
+        }
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CassandraReadStream<Row> handler(Handler<Row> handler) {
+        this.handler = handler;
+        drain();
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CassandraReadStream<Row> pause() {
+        demand = 0;
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CassandraReadStream<Row> resume() {
+        demand = Long.MAX_VALUE;
+        drain();
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CassandraReadStream<Row> endHandler(Handler<Void> endHandler) {
+        this.endHandler = endHandler;
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CassandraReadStream<Row> fetch(long amount) {
+        if (amount > 0) {
+            demand += amount;
+            if (demand < 0) {
+                demand = Long.MAX_VALUE;
+            }
+            drain();
+        }
+        return this;
+    }
+
+}
@@ -0,0 +1,89 @@
+package com.englishtown.vertx.cassandra.impl;
+
+import com.datastax.driver.core.PreparedStatement;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+
+import java.util.concurrent.ExecutionException;
+import java.util.function.Function;
+
+/**
+ * Bounded cache of prepared statements keyed by CQL text.
+ * <p>
+ * The cache holds the prepare future rather than the prepared statement so concurrent prepares of the same query
+ * share a single network call.  Failed prepares are removed so they can be retried.
+ */
+class PreparedStatementCache {
+
+    public static final int DEFAULT_MAXIMUM_SIZE = 1000;
+
+    private final Cache<String, ListenableFuture<PreparedStatement>> cache;
+    private final Metrics metrics;
+
+    PreparedStatementCache(Integer maximumSize, Metrics metrics) {
+        this.metrics = metrics;
+        this.cache = CacheBuilder.newBuilder()
+                .maximumSize(maximumSize == null ? DEFAULT_MAXIMUM_SIZE : maximumSize)
+                .<String, ListenableFuture<PreparedStatement>>removalListener(notification -> {
+                    if (notification.wasEvicted()) {
+                        metrics.onPreparedCacheEviction();
+                    }
+                })
+                .build();
+
+        metrics.registerPreparedCache(cache::size);
+    }
+
+    /**
+     * Returns the cached prepare future for the query, or prepares it with the provided loader
+     *
+     * @param query  the CQL query
+     * @param loader the function to prepare the query on a cache miss
+     * @return the prepare future
+     */
+    ListenableFuture<PreparedStatement> get(String query, Function<String, ListenableFuture<PreparedStatement>> loader) {
+
+        ListenableFuture<PreparedStatement> future = cache.getIfPresent(query);
+        if (future != null) {
+            metrics.onPreparedCacheHit();
+            return future;
+        }
+
+        metrics.onPreparedCacheMiss();
+
+        ListenableFuture<PreparedStatement> loaded;
+        try {
+            loaded = cache.get(query, () -> loader.apply(query));
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            return Futures.immediateFailedFuture(e.getCause());
+        }
+
+        // Remove failed prepares outside the loader so an already failed future is never left behind
+        Futures.addCallback(loaded, new FutureCallback<PreparedStatement>() {
+            @Override
+            public void onSuccess(PreparedStatement result) {
+            }
+
+            @Override
+            public void onFailure(Throwable t) {
+                cache.asMap().remove(query, loaded);
+            }
+        }, MoreExecutors.directExecutor());
+
+        return loaded;
+
+    }
+
+    /**
+     * Discards all cached prepared statements
+     */
+    void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+}
@@ -0,0 +1,212 @@
+package com.englishtown.vertx.cassandra.impl;
+
+import com.datastax.driver.core.*;
+import com.englishtown.vertx.cassandra.CacheableStatement;
+import com.englishtown.vertx.cassandra.ResultCacheOptions;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Read-through cache of single page results for {@link CacheableStatement}s.
+ * <p>
+ * The cache holds the future for the rows so concurrent misses for the same statement share a single query.  Entries
+ * expire after the TTL of their table, and results that span more than one page, or that failed, are not cached.
+ * Statements with a paging state or a fetch size of their own bypass the cache.
+ */
+class ResultCache {
+
+    private final ResultCacheOptions options;
+    private final Metrics metrics;
+    private final Cache<Key, Entry> cache;
+
+    ResultCache(ResultCacheOptions options, Metrics metrics) {
+        this.options = options;
+        this.metrics = metrics;
+        this.cache = CacheBuilder.newBuilder()
+                .maximumSize(options.getMaximumSize())
+                // Per table TTLs are checked on read, this removes entries that are never read again
+                .expireAfterWrite(options.getMaxTtlMillis(), TimeUnit.MILLISECONDS)
+                .<Key, Entry>removalListener(notification -> {
+                    if (notification.wasEvicted()) {
+                        metrics.onResultCacheEviction();
+                    }
+                })
+                .build();
+
+        metrics.registerResultCache(cache::size);
+    }
+
+    /**
+     * Returns the cached result for the statement, or executes it and caches the result
+     *
+     * @param statement the cacheable statement
+     * @param executor  executes the statement on a miss
+     * @return the future for the result
+     */
+    ListenableFuture<ResultSet> execute(CacheableStatement statement,
+                                        Function<Statement, ListenableFuture<ResultSet>> executor) {
+
+        if (statement.hasPagingState() || statement.getFetchSize() > 0) {
+            // The key does not include the page, so only first page queries with the default fetch size are cached
+            return executor.apply(statement);
+        }
+
+        Key key = new Key(statement);
+        long now = System.nanoTime();
+
+        Entry entry = cache.getIfPresent(key);
+        if (entry != null && entry.isExpired(now)) {
+            cache.asMap().remove(key, entry);
+            entry = null;
+        }
+        if (entry != null) {
+            metrics.onResultCacheHit();
+            return fromEntry(entry, statement, executor);
+        }
+
+        metrics.onResultCacheMiss();
+
+        Entry loading = new Entry(now + TimeUnit.MILLISECONDS.toNanos(getTtlMillis(statement.getStatement())));
+        Entry existing = cache.asMap().putIfAbsent(key, loading);
+        if (existing != null) {
+            // Another request is loading the same result
+            return fromEntry(existing, statement, executor);
+        }
+
+        ListenableFuture<ResultSet> future;
+        try {
+            future = executor.apply(statement);
+        } catch (RuntimeException e) {
+            future = Futures.immediateFailedFuture(e);
+        }
+
+        SettableFuture<ResultSet> result = SettableFuture.create();
+        Futures.addCallback(future, new FutureCallback<ResultSet>() {
+            @Override
+            public void onSuccess(ResultSet rs) {
+                if (!rs.isFullyFetched()) {
+                    // Too large to cache, requests waiting on this entry execute the statement themselves
+                    cache.asMap().remove(key, loading);
+                    loading.rows.set(null);
+                    result.set(rs);
+                    return;
+                }
+                CachedResultSet.Rows rows = new CachedResultSet.Rows(rs);
+                loading.rows.set(rows);
+                result.set(new CachedResultSet(rows));
+            }
+
+            @Override
+            public void onFailure(Throwable t) {
+                cache.asMap().remove(key, loading);
+                loading.rows.setException(t);
+                result.setException(t);
+            }
+        }, MoreExecutors.directExecutor());
+
+        return result;
+    }
+
+    private ListenableFuture<ResultSet> fromEntry(Entry entry, Statement statement,
+                                                  Function<Statement, ListenableFuture<ResultSet>> executor) {
+        return Futures.transformAsync(entry.rows,
+                rows -> rows != null
+                        ? Futures.<ResultSet>immediateFuture(new CachedResultSet(rows))
+                        : executor.apply(statement),
+                MoreExecutors.directExecutor());
+    }
+
+    private long getTtlMillis(BoundStatement statement) {
+        ColumnDefinitions variables = statement.preparedStatement().getVariables();
+        if (variables.size() == 0) {
+            return options.getTtlMillis();
+        }
+        return options.getTtlMillis(variables.getKeyspace(0), variables.getTable(0));
+    }
+
+    /**
+     * Discards all cached results
+     */
+    void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    long size() {
+        return cache.size();
+    }
+
+    private static class Entry {
+
+        private final SettableFuture<CachedResultSet.Rows> rows = SettableFuture.create();
+        private final long expiresAtNanos;
+
+        private Entry(long expiresAtNanos) {
+            this.expiresAtNanos = expiresAtNanos;
+        }
+
+        private boolean isExpired(long now) {
+            return now - expiresAtNanos > 0;
+        }
+    }
+
+    /**
+     * Prepared query, bound values and consistency level
+     */
+    private static class Key {
+
+        private final String keyspace;
+        private final String query;
+        private final List<ByteBuffer> values;
+        private final ConsistencyLevel consistencyLevel;
+        private final int hashCode;
+
+        private Key(CacheableStatement cacheable) {
+            BoundStatement statement = cacheable.getStatement();
+            PreparedStatement prepared = statement.preparedStatement();
+            keyspace = prepared.getQueryKeyspace();
+            query = prepared.getQueryString();
+            consistencyLevel = cacheable.getConsistencyLevel();
+
+            int size = prepared.getVariables().size();
+            values = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                values.add(statement.isSet(i) ? statement.getBytesUnsafe(i) : null);
+            }
+            hashCode = Objects.hash(keyspace, query, values, consistencyLevel);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return hashCode == other.hashCode
+                    && Objects.equals(query, other.query)
+                    && Objects.equals(keyspace, other.keyspace)
+                    && Objects.equals(values, other.values)
+                    && consistencyLevel == other.consistencyLevel;
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
+}
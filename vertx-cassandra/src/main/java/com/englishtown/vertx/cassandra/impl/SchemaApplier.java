@@ -0,0 +1,245 @@
+package com.englishtown.vertx.cassandra.impl;
+
+import com.datastax.driver.core.Host;
+import com.datastax.driver.core.RegularStatement;
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.Row;
+import com.englishtown.vertx.cassandra.CassandraSession;
+import com.englishtown.vertx.cassandra.SchemaOptions;
+import com.englishtown.vertx.cassandra.keyspacebuilder.BuiltKeyspaceStatement;
+import com.englishtown.vertx.cassandra.tablebuilder.BuiltTableStatement;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.CompositeFuture;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Executes schema statements asynchronously, waiting for schema agreement before the statements that depend on them.
+ * <p>
+ * A statement depends on the earlier statements on its table or keyspace: a keyspace statement waits for everything
+ * before it in the keyspace, and a table statement for the earlier statements on the same table and its keyspace.
+ * Statements not built by {@link com.englishtown.vertx.cassandra.tablebuilder.TableBuilder} or
+ * {@link com.englishtown.vertx.cassandra.keyspacebuilder.KeyspaceBuilder} could touch anything, so they wait for all
+ * the statements before them and all the statements after them wait for them.  Independent statements are pipelined.
+ * <p>
+ * The driver already waits for schema agreement before completing a schema change, up to its
+ * {@code maxSchemaAgreementWaitSeconds}.  If it gave up, the schema versions of {@code system.local} and
+ * {@code system.peers} are polled with vert.x timers until every live host is known to be on the same version.
+ * Versions are collected by host id across polls, as each poll may reach a different coordinator.
+ * <p>
+ * All state is only touched from the vert.x context of the caller.
+ */
+class SchemaApplier {
+
+    static final String LOCAL_VERSIONS = "SELECT host_id, schema_version FROM system.local";
+    static final String PEER_VERSIONS = "SELECT host_id, schema_version FROM system.peers";
+
+    private final CassandraSession session;
+    private final SchemaOptions options;
+    private final Vertx vertx;
+    private final Deque<Node> ready = new ArrayDeque<>();
+
+    private Handler<AsyncResult<Void>> handler;
+    private int remaining;
+    private int inFlight;
+    private boolean completed;
+    private Throwable failure;
+
+    SchemaApplier(CassandraSession session, SchemaOptions options, Vertx vertx) {
+        this.session = session;
+        this.options = options;
+        this.vertx = vertx;
+    }
+
+    /**
+     * Applies the statements.  The handler fails with the first statement or agreement failure, after the statements
+     * in flight complete, and no more statements are started once one failed.
+     *
+     * @param statements the schema statements in the order they were written
+     * @param handler    the handler called once all statements are applied
+     */
+    void apply(List<? extends RegularStatement> statements, Handler<AsyncResult<Void>> handler) {
+        if (this.handler != null) {
+            throw new IllegalStateException("Schema statements have already been applied");
+        }
+        this.handler = handler;
+
+        List<Node> nodes = new ArrayList<>(statements.size());
+        for (RegularStatement statement : statements) {
+            Node node = new Node(statement);
+            for (Node earlier : nodes) {
+                if (earlier.conflicts(node)) {
+                    earlier.dependents.add(node);
+                    node.waitingOn++;
+                }
+            }
+            if (node.waitingOn == 0) {
+                ready.add(node);
+            }
+            nodes.add(node);
+        }
+        remaining = nodes.size();
+
+        run();
+    }
+
+    private void run() {
+        while (failure == null && inFlight < options.getMaxConcurrency() && !ready.isEmpty()) {
+            execute(ready.poll());
+        }
+        if (inFlight == 0 && (failure != null || remaining == 0) && !completed) {
+            completed = true;
+            handler.handle(failure == null ? Future.succeededFuture() : Future.failedFuture(failure));
+        }
+    }
+
+    private void execute(Node node) {
+        inFlight++;
+        session.executeAsync(node.statement, result -> {
+            if (result.failed()) {
+                applied(node, result.cause());
+            } else if (result.result().getExecutionInfo().isSchemaInAgreement()) {
+                applied(node, null);
+            } else {
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(options.getAgreementTimeoutMillis());
+                awaitAgreement(new HashMap<>(), deadline, agreed -> applied(node, agreed.cause()));
+            }
+        });
+    }
+
+    private void applied(Node node, Throwable cause) {
+        inFlight--;
+        remaining--;
+        if (cause != null) {
+            if (failure == null) {
+                failure = cause;
+            }
+        } else {
+            for (Node dependent : node.dependents) {
+                if (--dependent.waitingOn == 0) {
+                    ready.add(dependent);
+                }
+            }
+        }
+        run();
+    }
+
+    private void awaitAgreement(Map<UUID, UUID> versions, long deadline, Handler<AsyncResult<Void>> agreed) {
+        Future<ResultSet> local = Future.future();
+        Future<ResultSet> peers = Future.future();
+        session.executeAsync(LOCAL_VERSIONS, local.completer());
+        session.executeAsync(PEER_VERSIONS, peers.completer());
+
+        CompositeFuture.all(local, peers).setHandler(result -> {
+            if (result.succeeded()) {
+                addVersions(versions, local.result());
+                addVersions(versions, peers.result());
+                if (inAgreement(versions)) {
+                    agreed.handle(Future.succeededFuture());
+                    return;
+                }
+            }
+            // A failed poll is retried until the deadline like a disagreement
+            if (System.nanoTime() - deadline >= 0) {
+                TimeoutException e = new TimeoutException("Schema agreement was not reached within "
+                        + options.getAgreementTimeoutMillis() + "ms");
+                if (result.failed()) {
+                    e.initCause(result.cause());
+                }
+                agreed.handle(Future.failedFuture(e));
+                return;
+            }
+            vertx.setTimer(options.getAgreementPollIntervalMillis(), id -> awaitAgreement(versions, deadline, agreed));
+        });
+    }
+
+    private static void addVersions(Map<UUID, UUID> versions, ResultSet resultSet) {
+        for (Row row : resultSet) {
+            UUID hostId = row.getUUID("host_id");
+            UUID version = row.getUUID("schema_version");
+            if (hostId != null && version != null) {
+                versions.put(hostId, version);
+            }
+        }
+    }
+
+    private boolean inAgreement(Map<UUID, UUID> versions) {
+        Set<UUID> distinct = new HashSet<>();
+        for (Host host : session.getCluster().getMetadata().getAllHosts()) {
+            // Down hosts will get the schema when they come back up
+            if (!host.isUp() || host.getHostId() == null) {
+                continue;
+            }
+            UUID version = versions.get(host.getHostId());
+            if (version == null) {
+                return false;
+            }
+            distinct.add(version);
+        }
+        if (distinct.isEmpty()) {
+            distinct.addAll(versions.values());
+        }
+        return distinct.size() == 1;
+    }
+
+    /**
+     * Normalizes a CQL identifier for comparison: unquoted identifiers are case insensitive
+     */
+    private static String identifier(String name) {
+        if (name == null) {
+            return null;
+        }
+        if (name.length() > 1 && name.startsWith("\"") && name.endsWith("\"")) {
+            return name.substring(1, name.length() - 1).replace("\"\"", "\"");
+        }
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    private class Node {
+
+        private final RegularStatement statement;
+        private final boolean barrier;
+        private final String keyspace;
+        private final String table;
+        private final List<Node> dependents = new ArrayList<>();
+        private int waitingOn;
+
+        private Node(RegularStatement statement) {
+            this.statement = statement;
+            if (statement instanceof BuiltKeyspaceStatement) {
+                barrier = false;
+                keyspace = identifier(statement.getKeyspace());
+                table = null;
+            } else if (statement instanceof BuiltTableStatement) {
+                String name = statement.getKeyspace();
+                barrier = false;
+                keyspace = identifier(name == null ? session.getLoggedKeyspace() : name);
+                table = identifier(((BuiltTableStatement) statement).getTable());
+            } else {
+                barrier = true;
+                keyspace = null;
+                table = null;
+            }
+        }
+
+        /**
+         * Whether a later statement has to wait for this one
+         */
+        private boolean conflicts(Node later) {
+            if (barrier || later.barrier) {
+                return true;
+            }
+            if (!Objects.equals(keyspace, later.keyspace)) {
+                return false;
+            }
+            return table == null || later.table == null || table.equals(later.table);
+        }
+
+    }
+
+}
@@ -0,0 +1,67 @@
+package com.englishtown.vertx.cassandra.impl;
+
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.logging.Logger;
+import io.vertx.core.logging.LoggerFactory;
+import io.vertx.core.net.NetClient;
+import io.vertx.core.net.NetClientOptions;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Opens a TCP connection to every seed in parallel so the driver is only given the seeds that answered, fastest
+ * first.  The driver tries contact points one at a time, so each unreachable seed would otherwise add a full connect
+ * timeout to startup.
+ */
+class SeedProber {
+
+    private final Vertx vertx;
+    private final int connectTimeoutMillis;
+
+    private static final Logger logger = LoggerFactory.getLogger(SeedProber.class);
+
+    SeedProber(Vertx vertx, int connectTimeoutMillis) {
+        this.vertx = vertx;
+        this.connectTimeoutMillis = connectTimeoutMillis;
+    }
+
+    /**
+     * Probes the seeds.  If none answer, all seeds are returned so the driver reports the failure.
+     *
+     * @param seeds   the seeds to probe
+     * @param port    the native transport port
+     * @param handler receives the reachable seeds in the order they answered
+     */
+    void probe(List<String> seeds, int port, Handler<List<String>> handler) {
+
+        // Nothing to choose between
+        if (seeds.size() < 2) {
+            handler.handle(seeds);
+            return;
+        }
+
+        NetClient client = vertx.createNetClient(new NetClientOptions().setConnectTimeout(connectTimeoutMillis));
+        List<String> reachable = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger remaining = new AtomicInteger(seeds.size());
+
+        for (String seed : seeds) {
+            client.connect(port, seed, result -> {
+                if (result.succeeded()) {
+                    reachable.add(seed);
+                    result.result().close();
+                } else {
+                    logger.warn("Cassandra seed " + seed + ":" + port + " is unreachable: " + result.cause().getMessage());
+                }
+                if (remaining.decrementAndGet() == 0) {
+                    client.close();
+                    handler.handle(reachable.isEmpty() ? seeds : reachable);
+                }
+            });
+        }
+    }
+
+}
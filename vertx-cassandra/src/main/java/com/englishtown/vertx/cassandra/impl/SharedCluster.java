@@ -0,0 +1,166 @@
+package com.englishtown.vertx.cassandra.impl;
+
+import com.datastax.driver.core.Cluster;
+import com.datastax.driver.core.Session;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.shareddata.LocalMap;
+import io.vertx.core.shareddata.Shareable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A driver {@link Cluster} and {@link Session} shared by every {@link DefaultCassandraSession} in a vert.x instance
+ * configured with the same shared cluster name.  The first session to acquire it connects, the others wait for that
+ * connection.  The cluster is closed when the last session releases it.
+ * <p>
+ * Instances are kept in a vert.x local map, so they are scoped to one {@link Vertx} instance.
+ */
+class SharedCluster implements Shareable {
+
+    static final String MAP_NAME = "__vertx.cassandra.clusters";
+
+    private final String name;
+    private final LocalMap<String, SharedCluster> map;
+    private final List<Handler<AsyncResult<Session>>> connectHandlers = new ArrayList<>();
+
+    // Guarded by map
+    private int refCount;
+
+    // Guarded by this
+    private boolean connecting;
+    private boolean closed;
+    private AsyncResult<Session> connectResult;
+    private Cluster cluster;
+
+    private SharedCluster(String name, LocalMap<String, SharedCluster> map) {
+        this.name = name;
+        this.map = map;
+    }
+
+    /**
+     * Gets the shared cluster with the name, creating it if needed, and increments its reference count
+     *
+     * @param vertx the vert.x instance
+     * @param name  the shared cluster name
+     * @return the shared cluster
+     */
+    static SharedCluster acquire(Vertx vertx, String name) {
+        LocalMap<String, SharedCluster> map = vertx.sharedData().getLocalMap(MAP_NAME);
+        synchronized (map) {
+            SharedCluster shared = map.get(name);
+            if (shared == null) {
+                shared = new SharedCluster(name, map);
+                map.put(name, shared);
+            }
+            shared.refCount++;
+            return shared;
+        }
+    }
+
+    /**
+     * Claims the connection of the shared cluster.  Only the first caller gets true and must call
+     * {@link #connected(Cluster, AsyncResult)} once the session is connected.
+     *
+     * @return true if the caller must connect the cluster
+     */
+    synchronized boolean startConnect() {
+        if (connecting) {
+            return false;
+        }
+        connecting = true;
+        return true;
+    }
+
+    /**
+     * Completes the connection started by {@link #startConnect()}
+     *
+     * @param cluster the initialized cluster, or null if it could not be built
+     * @param result  the connected session
+     */
+    void connected(Cluster cluster, AsyncResult<Session> result) {
+
+        List<Handler<AsyncResult<Session>>> handlers;
+        boolean close;
+
+        synchronized (this) {
+            this.cluster = cluster;
+            connectResult = result;
+            close = closed;
+            handlers = new ArrayList<>(connectHandlers);
+            connectHandlers.clear();
+        }
+
+        if (result.failed()) {
+            // Let the next session try again
+            remove();
+        }
+        if ((close || result.failed()) && cluster != null) {
+            cluster.closeAsync();
+        }
+
+        handlers.forEach(handler -> handler.handle(result));
+    }
+
+    /**
+     * Registers a handler for the shared session.  The handler is called on the current vert.x context.
+     *
+     * @param vertx   the vert.x instance
+     * @param handler the handler for the connected session
+     */
+    void onConnected(Vertx vertx, Handler<AsyncResult<Session>> handler) {
+        Context context = vertx.getOrCreateContext();
+        Handler<AsyncResult<Session>> contextHandler = result -> context.runOnContext(aVoid -> handler.handle(result));
+
+        AsyncResult<Session> result;
+        synchronized (this) {
+            result = connectResult;
+            if (result == null) {
+                connectHandlers.add(contextHandler);
+                return;
+            }
+        }
+        contextHandler.handle(result);
+    }
+
+    synchronized Cluster getCluster() {
+        return cluster;
+    }
+
+    synchronized Session getSession() {
+        return connectResult != null && connectResult.succeeded() ? connectResult.result() : null;
+    }
+
+    /**
+     * Decrements the reference count, closing the cluster when it is no longer used
+     */
+    void release() {
+        synchronized (map) {
+            if (--refCount > 0) {
+                return;
+            }
+            remove();
+        }
+
+        Cluster cluster;
+        synchronized (this) {
+            closed = true;
+            cluster = this.cluster;
+        }
+        if (cluster != null) {
+            cluster.closeAsync();
+        }
+    }
+
+    private void remove() {
+        synchronized (map) {
+            if (map.get(name) == this) {
+                map.remove(name);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,139 @@
+package com.englishtown.vertx.cassandra.impl;
+
+import com.datastax.driver.core.*;
+import com.englishtown.vertx.cassandra.CassandraSession;
+import io.vertx.core.CompositeFuture;
+import io.vertx.core.Future;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Builds the token range queries for a full table scan.
+ * <p>
+ * The ring's token ranges are split so there are at least {@link #SPLITS_PER_QUERY} ranges per parallel query, and
+ * ordered round robin by primary replica so the queries running at once read data owned by different nodes.  Each
+ * range becomes a {@code token(pk) > ? AND token(pk) <= ?} query; the range that ends at the minimum token has no
+ * upper bound.
+ */
+final class TokenRangeScan {
+
+    static final int SPLITS_PER_QUERY = 4;
+
+    private TokenRangeScan() {
+    }
+
+    /**
+     * Prepares the range queries and binds one statement per token range
+     *
+     * @param session     the session, which must be ready
+     * @param keyspace    the keyspace name
+     * @param table       the table name
+     * @param columns     the columns to select, all columns if null or empty
+     * @param parallelism the number of queries that will run at once
+     * @return a future for the statements
+     */
+    static Future<List<Statement>> statements(CassandraSession session, String keyspace, String table,
+                                              List<String> columns, int parallelism) {
+
+        Metadata metadata = session.getMetadata();
+        if (metadata == null) {
+            throw new IllegalStateException("The cassandra session is not ready");
+        }
+
+        KeyspaceMetadata keyspaceMetadata = metadata.getKeyspace(keyspace);
+        TableMetadata tableMetadata = keyspaceMetadata == null ? null : keyspaceMetadata.getTable(table);
+        if (tableMetadata == null) {
+            throw new IllegalArgumentException("Table " + keyspace + "." + table + " does not exist");
+        }
+
+        List<TokenRange> ranges = split(metadata, keyspaceMetadata.getName(), parallelism * SPLITS_PER_QUERY);
+
+        Future<PreparedStatement> bounded = Future.future();
+        Future<PreparedStatement> unbounded = Future.future();
+        session.getPreparedAsync(query(tableMetadata, columns, true), bounded);
+        session.getPreparedAsync(query(tableMetadata, columns, false), unbounded);
+
+        return CompositeFuture.all(bounded, unbounded).map(v -> {
+            List<Statement> statements = new ArrayList<>(ranges.size());
+            for (TokenRange range : ranges) {
+                if (range.getEnd().compareTo(range.getStart()) > 0) {
+                    statements.add(bounded.result().bind()
+                            .setToken(0, range.getStart())
+                            .setToken(1, range.getEnd()));
+                } else {
+                    statements.add(unbounded.result().bind()
+                            .setToken(0, range.getStart()));
+                }
+            }
+            return statements;
+        });
+    }
+
+    static String query(TableMetadata table, List<String> columns, boolean bounded) {
+        String partitionKey = table.getPartitionKey().stream()
+                .map(column -> Metadata.quote(column.getName()))
+                .collect(Collectors.joining(", ", "token(", ")"));
+
+        StringBuilder query = new StringBuilder("SELECT ")
+                .append(columns == null || columns.isEmpty() ? "*" : String.join(", ", columns))
+                .append(" FROM ")
+                .append(Metadata.quote(table.getKeyspace().getName()))
+                .append('.')
+                .append(Metadata.quote(table.getName()))
+                .append(" WHERE ")
+                .append(partitionKey)
+                .append(" > ?");
+
+        if (bounded) {
+            query.append(" AND ").append(partitionKey).append(" <= ?");
+        }
+        return query.toString();
+    }
+
+    /**
+     * Splits the ring into at least {@code minSplits} non-wrapping ranges, ordered round robin by primary replica
+     */
+    static List<TokenRange> split(Metadata metadata, String keyspace, int minSplits) {
+
+        Set<TokenRange> ranges = metadata.getTokenRanges();
+        if (ranges.isEmpty()) {
+            throw new IllegalStateException("The cluster metadata has no token ranges");
+        }
+
+        int splitsPerRange = (minSplits + ranges.size() - 1) / ranges.size();
+        Map<Host, Deque<TokenRange>> byReplica = new LinkedHashMap<>();
+        Deque<TokenRange> noReplica = new ArrayDeque<>();
+
+        for (TokenRange range : ranges) {
+            // A single range from a token to itself is the whole ring, split it so each part has a lower and upper bound
+            int count = range.getStart().equals(range.getEnd()) ? Math.max(2, splitsPerRange) : splitsPerRange;
+            List<TokenRange> splits = count > 1 ? range.splitEvenly(count) : Collections.singletonList(range);
+
+            Set<Host> replicas = metadata.getReplicas(Metadata.quote(keyspace), range);
+            Deque<TokenRange> queue = replicas.isEmpty()
+                    ? noReplica
+                    : byReplica.computeIfAbsent(replicas.iterator().next(), h -> new ArrayDeque<>());
+            for (TokenRange split : splits) {
+                queue.addAll(split.unwrap());
+            }
+        }
+
+        List<TokenRange> result = new ArrayList<>();
+        List<Deque<TokenRange>> queues = new ArrayList<>(byReplica.values());
+        queues.add(noReplica);
+        boolean added = true;
+        while (added) {
+            added = false;
+            for (Deque<TokenRange> queue : queues) {
+                TokenRange range = queue.poll();
+                if (range != null) {
+                    result.add(range);
+                    added = true;
+                }
+            }
+        }
+        return result;
+    }
+
+}
@@ -0,0 +1,52 @@
+package com.englishtown.vertx.cassandra.impl;
+
+import com.datastax.driver.core.NettyOptions;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import io.vertx.core.Vertx;
+import io.vertx.core.impl.VertxInternal;
+
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * {@link NettyOptions} that run the cassandra driver on the vert.x netty event loops so driver futures complete on
+ * vert.x event loop threads.
+ */
+class VertxNettyOptions extends NettyOptions {
+
+    private final Vertx vertx;
+
+    VertxNettyOptions(Vertx vertx) {
+        this.vertx = vertx;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public EventLoopGroup eventLoopGroup(ThreadFactory threadFactory) {
+        return ((VertxInternal) vertx).getEventLoopGroup();
+    }
+
+    /**
+     * The channel class must match the transport of the vert.x event loops.  The driver default already selects epoll
+     * when it is available, so only the NIO case needs to be forced.
+     *
+     * @return the socket channel class
+     */
+    @Override
+    public Class<? extends SocketChannel> channelClass() {
+        return vertx.isNativeTransportEnabled() ? super.channelClass() : NioSocketChannel.class;
+    }
+
+    /**
+     * The event loops belong to vert.x and must not be shut down with the cluster
+     *
+     * @param eventLoopGroup the vert.x event loop group
+     */
+    @Override
+    public void onClusterClose(EventLoopGroup eventLoopGroup) {
+    }
+
+}
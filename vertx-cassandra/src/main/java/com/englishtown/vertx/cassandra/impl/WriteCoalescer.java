@@ -0,0 +1,289 @@
+package com.englishtown.vertx.cassandra.impl;
+
+import com.datastax.driver.core.*;
+import com.englishtown.vertx.cassandra.WriteCoalescingOptions;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
+import io.vertx.core.Vertx;
+
+import java.nio.ByteBuffer;
+import java.util.*;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Groups single partition writes into UNLOGGED batches.
+ * <p>
+ * Writes are grouped by keyspace, table, consistency and the routing key the driver computes for the statement.  A
+ * group is sent when it reaches the maximum batch size or when the maximum delay expires, and every caller's future
+ * is completed individually with the batch result.
+ * <p>
+ * Cassandra gives every statement of a batch the same write timestamp, so two writes to the same row in one batch
+ * would no longer be applied in order.  A group only holds one write per row: a write to a row already in the group,
+ * or a write whose row is not known, sends the group first and starts a new one.  The row is only known for bound
+ * statements that bind every primary key column with an equality, so simple statements and partition or range
+ * deletes are never batched with other writes.
+ * <p>
+ * Only INSERT, UPDATE and DELETE statements with a routing key are coalesced.  Conditional (IF) statements and
+ * updates that read the current value (counters, collection appends and prepends) are always executed directly.  A
+ * batch applies its own options to all its statements, so statements with a default timestamp, retry policy, fetch
+ * size, read timeout, tracing or payload of their own are executed directly too.  Statements are only grouped with
+ * statements of the same idempotence.
+ */
+class WriteCoalescer {
+
+    private static final Pattern WRITE = Pattern.compile(
+            "^\\s*(?:INSERT\\s+INTO|UPDATE|DELETE\\b.*?\\bFROM)\\s+(\"?\\w+\"?(?:\\.\"?\\w+\"?)?)",
+            Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+    private static final Pattern CONDITIONAL = Pattern.compile("\\sIF\\s", Pattern.CASE_INSENSITIVE);
+    // An assignment whose first operand is followed by + or -, e.g. c = c + ?, c = ? + c or l = ['a'] + l
+    private static final Pattern RELATIVE_UPDATE =
+            Pattern.compile("=\\s*(?:\"?\\w+\"?|\\?|:\\w+|'[^']*'|\\[[^\\]]*]|\\{[^}]*})\\s*[+-]");
+    // A range or IN restriction, which can write more than one row
+    private static final Pattern MULTI_ROW =
+            Pattern.compile("\\sWHERE\\s.*(?:[<>]|\\sIN\\b)", Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+
+    private final WriteCoalescingOptions options;
+    private final Vertx vertx;
+    private final Supplier<Cluster> cluster;
+    private final Function<Statement, ListenableFuture<ResultSet>> executor;
+    private final Metrics metrics;
+    private final Map<List<Object>, Batch> batches = new HashMap<>();
+
+    WriteCoalescer(WriteCoalescingOptions options, Vertx vertx, Supplier<Cluster> cluster,
+                   Function<Statement, ListenableFuture<ResultSet>> executor, Metrics metrics) {
+        this.options = options;
+        this.vertx = vertx;
+        this.cluster = cluster;
+        this.executor = executor;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Adds the statement to a batch if it can be coalesced
+     *
+     * @param statement the statement to execute
+     * @return the future for the statement result, or null if the statement cannot be coalesced
+     */
+    ListenableFuture<ResultSet> execute(Statement statement) {
+
+        if (statement instanceof BatchStatement || hasOwnOptions(statement)) {
+            return null;
+        }
+
+        Cluster cluster = this.cluster.get();
+        Configuration config = cluster.getConfiguration();
+        CodecRegistry codecRegistry = config.getCodecRegistry();
+
+        String query = getQueryString(statement, codecRegistry);
+        if (!isCoalescable(query)) {
+            return null;
+        }
+
+        ByteBuffer routingKey = statement.getRoutingKey(config.getProtocolOptions().getProtocolVersion(), codecRegistry);
+        if (routingKey == null) {
+            return null;
+        }
+
+        List<Object> key = Arrays.asList(statement.getKeyspace(), getTable(query),
+                statement.getConsistencyLevel(), statement.getSerialConsistencyLevel(), statement.isIdempotent(),
+                routingKey);
+        List<Object> row = getRow(statement, query, cluster.getMetadata());
+        SettableFuture<ResultSet> future = SettableFuture.create();
+        List<Batch> ready = new ArrayList<>(2);
+
+        synchronized (this) {
+            Batch batch = batches.get(key);
+            if (batch != null && !batch.canAdd(row)) {
+                // Send the earlier writes first so the row keeps the order of its writes
+                batches.remove(key);
+                ready.add(batch);
+                batch = null;
+            }
+            if (batch == null) {
+                batch = new Batch(key);
+                batches.put(key, batch);
+                Batch scheduled = batch;
+                batch.timerId = vertx.setTimer(options.getMaxDelayMillis(), id -> flush(scheduled));
+            }
+
+            batch.add(statement, row, future);
+
+            if (batch.size() >= options.getMaxBatchSize()) {
+                batches.remove(key);
+                ready.add(batch);
+            }
+        }
+
+        for (Batch batch : ready) {
+            vertx.cancelTimer(batch.timerId);
+            send(batch);
+        }
+
+        return future;
+    }
+
+    boolean isCoalescable(String query) {
+        return getTable(query) != null
+                && !CONDITIONAL.matcher(query).find()
+                && !RELATIVE_UPDATE.matcher(query).find();
+    }
+
+    private static String getTable(String query) {
+        if (query == null) {
+            return null;
+        }
+        Matcher matcher = WRITE.matcher(query);
+        return matcher.find() ? matcher.group(1) : null;
+    }
+
+    /**
+     * Returns the keyspace, table and primary key values of the row a bound statement writes, or null if the row is
+     * not known
+     */
+    private static List<Object> getRow(Statement statement, String query, Metadata metadata) {
+        if (!(statement instanceof BoundStatement) || MULTI_ROW.matcher(query).find()) {
+            return null;
+        }
+
+        BoundStatement bound = (BoundStatement) statement;
+        ColumnDefinitions variables = bound.preparedStatement().getVariables();
+        if (variables.size() == 0) {
+            return null;
+        }
+
+        String keyspace = variables.getKeyspace(0);
+        String table = variables.getTable(0);
+        KeyspaceMetadata keyspaceMetadata = metadata.getKeyspace(Metadata.quote(keyspace));
+        TableMetadata tableMetadata = keyspaceMetadata == null
+                ? null
+                : keyspaceMetadata.getTable(Metadata.quote(table));
+        if (tableMetadata == null) {
+            return null;
+        }
+
+        List<Object> row = new ArrayList<>();
+        row.add(keyspace);
+        row.add(table);
+        for (ColumnMetadata column : tableMetadata.getPrimaryKey()) {
+            // Primary key columns given as literals or left out (a partition delete) are not bound
+            int i = variables.getIndexOf(Metadata.quote(column.getName()));
+            if (i < 0 || !bound.isSet(i)) {
+                return null;
+            }
+            row.add(bound.getBytesUnsafe(i));
+        }
+        return row;
+    }
+
+    private static boolean hasOwnOptions(Statement statement) {
+        return statement.getDefaultTimestamp() != Long.MIN_VALUE
+                || statement.getRetryPolicy() != null
+                || statement.getFetchSize() > 0
+                || statement.getReadTimeoutMillis() != Integer.MIN_VALUE
+                || statement.isTracing()
+                || statement.getOutgoingPayload() != null;
+    }
+
+    private String getQueryString(Statement statement, CodecRegistry codecRegistry) {
+        if (statement instanceof RegularStatement) {
+            return ((RegularStatement) statement).getQueryString(codecRegistry);
+        }
+        if (statement instanceof BoundStatement) {
+            return ((BoundStatement) statement).preparedStatement().getQueryString();
+        }
+        return null;
+    }
+
+    private void flush(Batch batch) {
+        synchronized (this) {
+            if (batches.get(batch.key) != batch) {
+                // Already sent because it was full
+                return;
+            }
+            batches.remove(batch.key);
+        }
+        send(batch);
+    }
+
+    private void send(Batch batch) {
+
+        metrics.onCoalescedBatch(batch.size());
+
+        Statement statement;
+        if (batch.size() == 1) {
+            statement = batch.statements.get(0);
+        } else {
+            BatchStatement batchStatement = new BatchStatement(BatchStatement.Type.UNLOGGED);
+            batchStatement.addAll(batch.statements);
+            Statement first = batch.statements.get(0);
+            if (first.getConsistencyLevel() != null) {
+                batchStatement.setConsistencyLevel(first.getConsistencyLevel());
+            }
+            if (first.getSerialConsistencyLevel() != null) {
+                batchStatement.setSerialConsistencyLevel(first.getSerialConsistencyLevel());
+            }
+            if (first.isIdempotent() != null) {
+                batchStatement.setIdempotent(first.isIdempotent());
+            }
+            statement = batchStatement;
+        }
+
+        ListenableFuture<ResultSet> future;
+        try {
+            future = executor.apply(statement);
+        } catch (RuntimeException e) {
+            future = Futures.immediateFailedFuture(e);
+        }
+
+        Futures.addCallback(future, new FutureCallback<ResultSet>() {
+            @Override
+            public void onSuccess(ResultSet result) {
+                batch.futures.forEach(f -> f.set(result));
+            }
+
+            @Override
+            public void onFailure(Throwable t) {
+                batch.futures.forEach(f -> f.setException(t));
+            }
+        }, MoreExecutors.directExecutor());
+    }
+
+    private static class Batch {
+
+        private final List<Object> key;
+        private final List<Statement> statements = new ArrayList<>();
+        private final List<SettableFuture<ResultSet>> futures = new ArrayList<>();
+        // The rows written by the batch, null once it holds a write to an unknown row
+        private Set<List<Object>> rows = new HashSet<>();
+        private long timerId;
+
+        private Batch(List<Object> key) {
+            this.key = key;
+        }
+
+        private boolean canAdd(List<Object> row) {
+            return row != null && rows != null && !rows.contains(row);
+        }
+
+        private void add(Statement statement, List<Object> row, SettableFuture<ResultSet> future) {
+            statements.add(statement);
+            futures.add(future);
+            if (row == null) {
+                rows = null;
+            } else if (rows != null) {
+                rows.add(row);
+            }
+        }
+
+        private int size() {
+            return statements.size();
+        }
+    }
+
+}
@@ -3,6 +3,9 @@ package com.englishtown.vertx.cassandra.promises;
 import com.datastax.driver.core.*;
 import com.englishtown.promises.Promise;
 import com.englishtown.vertx.cassandra.CassandraSession;
+import com.englishtown.vertx.cassandra.SchemaOptions;
+
+import java.util.List;
 
 /**
  * When.java wrapper over {@link com.datastax.driver.core.Session}
@@ -34,6 +37,16 @@ public interface WhenCassandraSession extends AutoCloseable {
      */
     Promise<ResultSet> executeAsync(String query, Object... values);
 
+    /**
+     * Executes a CQL query asynchronously using a prepared statement cached by the session.  The query is only prepared
+     * on first use.
+     *
+     * @param query  the CQL query to prepare and execute
+     * @param values the values to bind to the prepared statement
+     * @return the promise for the {@link com.datastax.driver.core.ResultSet}
+     */
+    Promise<ResultSet> executePreparedAsync(String query, Object... values);
+
     /**
      * Prepares the provided query statement
      *
@@ -50,6 +63,24 @@ public interface WhenCassandraSession extends AutoCloseable {
      */
     Promise<PreparedStatement> prepareAsync(String query);
 
+    /**
+     * Applies schema statements with the default {@link SchemaOptions}
+     *
+     * @param statements the schema statements, usually built by the table and keyspace builders
+     * @return the promise for when all statements are applied and the cluster agrees on the schema
+     */
+    Promise<Void> applySchema(List<? extends RegularStatement> statements);
+
+    /**
+     * Applies schema statements without blocking, see
+     * {@link CassandraSession#applySchema(List, SchemaOptions, io.vertx.core.Handler)}
+     *
+     * @param statements the schema statements, usually built by the table and keyspace builders
+     * @param options    the schema options
+     * @return the promise for when all statements are applied and the cluster agrees on the schema
+     */
+    Promise<Void> applySchema(List<? extends RegularStatement> statements, SchemaOptions options);
+
     /**
      * Returns cassandra metadata
      *
@@ -6,12 +6,14 @@ import com.englishtown.promises.Promise;
 import com.englishtown.promises.When;
 import com.englishtown.vertx.cassandra.CassandraSession;
 import com.englishtown.vertx.cassandra.FutureUtils;
+import com.englishtown.vertx.cassandra.SchemaOptions;
 import com.englishtown.vertx.cassandra.promises.WhenCassandraSession;
 import com.google.common.util.concurrent.FutureCallback;
 import com.google.common.util.concurrent.ListenableFuture;
 import io.vertx.core.Vertx;
 
 import javax.inject.Inject;
+import java.util.List;
 
 /**
  * Default implementation of {@link com.englishtown.vertx.cassandra.promises.WhenCassandraSession}
@@ -64,6 +66,33 @@ public class DefaultWhenCassandraSession implements WhenCassandraSession {
         return convertFuture(session.executeAsync(query, values));
     }
 
+    /**
+     * Executes a CQL query asynchronously using a prepared statement cached by the session.  The query is only prepared
+     * on first use.
+     *
+     * @param query  the CQL query to prepare and execute
+     * @param values the values to bind to the prepared statement
+     * @return the promise for the {@link com.datastax.driver.core.ResultSet}
+     */
+    @Override
+    public Promise<ResultSet> executePreparedAsync(String query, Object... values) {
+        Deferred<ResultSet> d = when.defer();
+
+        session.executePreparedAsync(query, new FutureCallback<ResultSet>() {
+            @Override
+            public void onSuccess(ResultSet result) {
+                d.resolve(result);
+            }
+
+            @Override
+            public void onFailure(Throwable t) {
+                d.reject(t);
+            }
+        }, values);
+
+        return d.getPromise();
+    }
+
     /**
      * Prepares the provided query statement
      *
@@ -86,6 +115,39 @@ public class DefaultWhenCassandraSession implements WhenCassandraSession {
         return convertFuture(session.prepareAsync(query));
     }
 
+    /**
+     * Applies schema statements with the default {@link SchemaOptions}
+     *
+     * @param statements the schema statements
+     * @return the promise for when all statements are applied and the cluster agrees on the schema
+     */
+    @Override
+    public Promise<Void> applySchema(List<? extends RegularStatement> statements) {
+        return applySchema(statements, new SchemaOptions());
+    }
+
+    /**
+     * Applies schema statements, pipelining the independent ones and waiting for schema agreement without blocking
+     *
+     * @param statements the schema statements
+     * @param options    the schema options
+     * @return the promise for when all statements are applied and the cluster agrees on the schema
+     */
+    @Override
+    public Promise<Void> applySchema(List<? extends RegularStatement> statements, SchemaOptions options) {
+        Deferred<Void> d = when.defer();
+
+        session.applySchema(statements, options, result -> {
+            if (result.succeeded()) {
+                d.resolve((Void) null);
+            } else {
+                d.reject(result.cause());
+            }
+        });
+
+        return d.getPromise();
+    }
+
     /**
      * Returns cassandra metadata
      *
@@ -80,6 +80,28 @@ public class ZooKeeperCassandraConfigurator extends EnvironmentCassandraConfigur
                     }));
         }
 
+        if (speculativeExecutionPolicy == null) {
+            promises.add(helper.getConfigElement(ZKPaths.makePath(getPathPrefix(), "policies/speculative_execution")).then(
+                    value -> {
+                        JsonObject json = value.asJsonObject();
+                        if (json != null) {
+                            initSpeculativeExecutionPolicy(json);
+                        }
+                        return null;
+                    }));
+        }
+
+        if (retryPolicy == null) {
+            promises.add(helper.getConfigElement(ZKPaths.makePath(getPathPrefix(), "policies/retry")).then(
+                    value -> {
+                        JsonObject json = value.asJsonObject();
+                        if (json != null) {
+                            initRetryPolicy(json);
+                        }
+                        return null;
+                    }));
+        }
+
         if (poolingOptions == null) {
             promises.add(helper.getConfigElement(ZKPaths.makePath(getPathPrefix(), "pooling")).then(
                     value -> {
@@ -0,0 +1,169 @@
+package com.englishtown.vertx.cassandra;
+
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.SettableFuture;
+import io.vertx.core.Context;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.Assert.*;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for {@link FutureUtils}
+ */
+public class FutureUtilsTest {
+
+    private Vertx vertx;
+
+    @Before
+    public void setUp() throws Exception {
+        vertx = Vertx.vertx();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        vertx.close();
+    }
+
+    @Test
+    public void testDefaultDispatchMode() throws Exception {
+        assertEquals(FutureUtils.DispatchMode.INLINE, FutureUtils.getDefaultDispatchMode());
+    }
+
+    @Test
+    public void testDispatchMode_FromString() throws Exception {
+        assertEquals(FutureUtils.DispatchMode.INLINE, FutureUtils.DispatchMode.fromString(null));
+        assertEquals(FutureUtils.DispatchMode.EVENT_LOOP, FutureUtils.DispatchMode.fromString("event_loop"));
+        assertEquals(FutureUtils.DispatchMode.INLINE, FutureUtils.DispatchMode.fromString("invalid"));
+    }
+
+    @Test
+    public void testExecutor_Context() throws Exception {
+
+        Context context = mock(Context.class);
+        Runnable command = mock(Runnable.class);
+
+        FutureUtils.executor(context, FutureUtils.DispatchMode.CONTEXT).execute(command);
+        verify(context).runOnContext(any());
+        verify(command, never()).run();
+
+    }
+
+    @Test
+    public void testExecutor_Inline_OffContext() throws Exception {
+
+        Context context = mock(Context.class);
+        Runnable command = mock(Runnable.class);
+
+        doAnswer(invocation -> {
+            ((Handler<Void>) invocation.getArguments()[0]).handle(null);
+            return null;
+        }).when(context).runOnContext(any());
+
+        FutureUtils.executor(context, FutureUtils.DispatchMode.INLINE).execute(command);
+        verify(context).runOnContext(any());
+        verify(command).run();
+
+    }
+
+    @Test
+    public void testAddCallback_Inline_OnContext() throws Exception {
+
+        CompletableFuture<Boolean> done = new CompletableFuture<>();
+
+        vertx.runOnContext(aVoid -> {
+            AtomicBoolean inline = new AtomicBoolean();
+            SettableFuture<Boolean> future = SettableFuture.create();
+            Context context = vertx.getOrCreateContext();
+
+            FutureUtils.addCallback(future, new FutureCallback<Boolean>() {
+                @Override
+                public void onSuccess(Boolean result) {
+                    assertSame(context, Vertx.currentContext());
+                    inline.set(true);
+                }
+
+                @Override
+                public void onFailure(Throwable t) {
+                    done.completeExceptionally(t);
+                }
+            }, vertx, FutureUtils.DispatchMode.INLINE);
+
+            future.set(true);
+            done.complete(inline.get());
+        });
+
+        assertTrue(done.get(10, TimeUnit.SECONDS));
+
+    }
+
+    @Test
+    public void testAddCallback_Inline_Completed() throws Exception {
+
+        CompletableFuture<Boolean> done = new CompletableFuture<>();
+
+        vertx.runOnContext(aVoid -> {
+            AtomicBoolean inline = new AtomicBoolean();
+            SettableFuture<Boolean> future = SettableFuture.create();
+            future.set(true);
+
+            FutureUtils.addCallback(future, new FutureCallback<Boolean>() {
+                @Override
+                public void onSuccess(Boolean result) {
+                    inline.set(true);
+                }
+
+                @Override
+                public void onFailure(Throwable t) {
+                    done.completeExceptionally(t);
+                }
+            }, vertx, FutureUtils.DispatchMode.INLINE);
+
+            done.complete(inline.get());
+        });
+
+        // A completed future is scheduled instead of run before addCallback returns
+        assertFalse(done.get(10, TimeUnit.SECONDS));
+
+    }
+
+    @Test
+    public void testAddCallback_Context_OnContext() throws Exception {
+
+        CompletableFuture<Boolean> done = new CompletableFuture<>();
+
+        vertx.runOnContext(aVoid -> {
+            AtomicBoolean inline = new AtomicBoolean();
+            SettableFuture<Boolean> future = SettableFuture.create();
+
+            FutureUtils.addCallback(future, new FutureCallback<Boolean>() {
+                @Override
+                public void onSuccess(Boolean result) {
+                    inline.set(true);
+                }
+
+                @Override
+                public void onFailure(Throwable t) {
+                    done.completeExceptionally(t);
+                }
+            }, vertx, FutureUtils.DispatchMode.CONTEXT);
+
+            future.set(true);
+            done.complete(inline.get());
+        });
+
+        // The callback is scheduled for a later event loop tick
+        assertFalse(done.get(10, TimeUnit.SECONDS));
+
+    }
+
+}
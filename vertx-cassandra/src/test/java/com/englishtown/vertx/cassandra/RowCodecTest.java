@@ -0,0 +1,169 @@
+package com.englishtown.vertx.cassandra;
+
+import com.datastax.driver.core.*;
+import com.google.common.collect.ImmutableList;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.UUID;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link RowCodec}
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class RowCodecTest {
+
+    @Mock
+    ColumnDefinitions definitions;
+    @Mock
+    Row row;
+
+    private ProtocolVersion protocolVersion = ProtocolVersion.V4;
+    private UUID uuid = UUID.randomUUID();
+    private RowCodec codec;
+
+    @Before
+    public void setUp() throws Exception {
+        DataType[] types = {
+                DataType.text(),
+                DataType.cint(),
+                DataType.bigint(),
+                DataType.cboolean(),
+                DataType.cdouble(),
+                DataType.uuid(),
+                DataType.blob(),
+                DataType.timestamp(),
+                DataType.list(DataType.text()),
+                DataType.decimal(),
+                DataType.text()
+        };
+        ByteBuffer[] values = {
+                TypeCodec.varchar().serialize("a \"quoted\"\né value", protocolVersion),
+                TypeCodec.cint().serialize(42, protocolVersion),
+                TypeCodec.bigint().serialize(1234567890123L, protocolVersion),
+                TypeCodec.cboolean().serialize(true, protocolVersion),
+                TypeCodec.cdouble().serialize(1.5, protocolVersion),
+                TypeCodec.uuid().serialize(uuid, protocolVersion),
+                TypeCodec.blob().serialize(ByteBuffer.wrap(new byte[]{1, 2, 3}), protocolVersion),
+                TypeCodec.timestamp().serialize(new Date(1234567890123L), protocolVersion),
+                TypeCodec.list(TypeCodec.varchar()).serialize(ImmutableList.of("x", "y"), protocolVersion),
+                TypeCodec.decimal().serialize(new java.math.BigDecimal("1.10"), protocolVersion),
+                null
+        };
+
+        when(definitions.size()).thenReturn(types.length);
+        for (int i = 0; i < types.length; i++) {
+            when(definitions.getType(i)).thenReturn(types[i]);
+            when(definitions.getName(i)).thenReturn("col" + i);
+            when(row.getBytesUnsafe(i)).thenReturn(values[i]);
+        }
+
+        codec = RowCodec.create(definitions, CodecRegistry.DEFAULT_INSTANCE, protocolVersion);
+    }
+
+    private JsonObject expected() {
+        return new JsonObject()
+                .put("col0", "a \"quoted\"\né value")
+                .put("col1", 42)
+                .put("col2", 1234567890123L)
+                .put("col3", true)
+                .put("col4", 1.5)
+                .put("col5", uuid.toString())
+                .put("col6", "AQID")
+                .put("col7", 1234567890123L)
+                .put("col8", new JsonArray().add("x").add("y"))
+                .put("col9", "1.10")
+                .putNull("col10");
+    }
+
+    @Test
+    public void testEncodeJson() throws Exception {
+
+        Buffer buffer = codec.encodeJson(row, Buffer.buffer());
+        assertEquals(expected(), new JsonObject(buffer));
+
+        // Values are not consumed
+        assertEquals(buffer, codec.encodeJson(row, Buffer.buffer()));
+
+    }
+
+    @Test
+    public void testEncodeJson_Direct_ByteBuffer() throws Exception {
+
+        ByteBuffer heap = TypeCodec.varchar().serialize("tab\there", protocolVersion);
+        ByteBuffer direct = ByteBuffer.allocateDirect(heap.remaining());
+        direct.put(heap).flip();
+        when(row.getBytesUnsafe(0)).thenReturn(direct);
+
+        JsonObject json = new JsonObject(codec.encodeJson(row, Buffer.buffer()));
+        assertEquals("tab\there", json.getString("col0"));
+
+    }
+
+    @Test
+    public void testEncodeJson_Float() throws Exception {
+
+        ColumnDefinitions floatDefinitions = mock(ColumnDefinitions.class);
+        Row floatRow = mock(Row.class);
+        when(floatDefinitions.size()).thenReturn(1);
+        when(floatDefinitions.getType(0)).thenReturn(DataType.cfloat());
+        when(floatDefinitions.getName(0)).thenReturn("f");
+        when(floatRow.getBytesUnsafe(0)).thenReturn(TypeCodec.cfloat().serialize(0.1f, protocolVersion));
+
+        RowCodec floatCodec = RowCodec.create(floatDefinitions, CodecRegistry.DEFAULT_INSTANCE, protocolVersion);
+        JsonObject json = new JsonObject(floatCodec.encodeJson(floatRow, Buffer.buffer()));
+        assertEquals(0.1, json.getDouble("f"), 0.0);
+
+    }
+
+    @Test
+    public void testEncodeJsonArray() throws Exception {
+
+        Buffer buffer = codec.encodeJsonArray(Arrays.asList(row, row), Buffer.buffer());
+        assertEquals(new JsonArray().add(expected()).add(expected()), new JsonArray(buffer));
+
+        assertEquals("[]", codec.encodeJsonArray(Arrays.asList(), Buffer.buffer()).toString());
+
+    }
+
+    @Test
+    public void testToJson() throws Exception {
+        assertEquals(expected(), codec.toJson(row));
+    }
+
+    @Test
+    public void testEncodeBinary() throws Exception {
+
+        Buffer buffer = codec.encodeBinary(row, Buffer.buffer());
+
+        int pos = 0;
+        int length = buffer.getInt(pos);
+        pos += 4;
+        String text = TypeCodec.varchar().deserialize(ByteBuffer.wrap(buffer.getBytes(pos, pos + length)), protocolVersion);
+        assertEquals("a \"quoted\"\né value", text);
+        pos += length;
+
+        length = buffer.getInt(pos);
+        pos += 4;
+        assertEquals(4, length);
+        assertEquals(42, buffer.getInt(pos));
+
+        // The last column is null
+        assertEquals(-1, buffer.getInt(buffer.length() - 4));
+
+    }
+
+}
@@ -0,0 +1,231 @@
+package com.englishtown.vertx.cassandra.eventbus;
+
+import com.datastax.driver.core.*;
+import com.englishtown.vertx.cassandra.CassandraSession;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.MultiMap;
+import io.vertx.core.Vertx;
+import io.vertx.core.eventbus.DeliveryOptions;
+import io.vertx.core.eventbus.EventBus;
+import io.vertx.core.eventbus.Message;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import java.util.Collections;
+import java.util.UUID;
+
+import static org.junit.Assert.*;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for {@link CassandraEventBusService}
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class CassandraEventBusServiceTest {
+
+    @Mock
+    CassandraSession session;
+    @Mock
+    Vertx vertx;
+    @Mock
+    EventBus eventBus;
+    @Mock
+    Message<JsonObject> message;
+    @Mock
+    PreparedStatement prepared;
+    @Mock
+    ColumnDefinitions variables;
+    @Mock
+    BoundStatement bound;
+    @Mock
+    ResultSet resultSet;
+    @Mock
+    ColumnDefinitions columns;
+    @Mock
+    Cluster cluster;
+    @Mock
+    Configuration configuration;
+    @Mock
+    ProtocolOptions protocolOptions;
+    @Mock
+    ExecutionInfo executionInfo;
+
+    private MultiMap headers = MultiMap.caseInsensitiveMultiMap();
+    private CassandraEventBusService service;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setUp() throws Exception {
+        when(vertx.eventBus()).thenReturn(eventBus);
+        when(message.headers()).thenReturn(headers);
+
+        doAnswer(invocation -> {
+            Handler<AsyncResult<PreparedStatement>> handler = (Handler<AsyncResult<PreparedStatement>>) invocation.getArguments()[1];
+            handler.handle(Future.succeededFuture(prepared));
+            return null;
+        }).when(session).getPreparedAsync(anyString(), any(Handler.class));
+
+        when(prepared.getVariables()).thenReturn(variables);
+        when(prepared.bind(anyVararg())).thenReturn(bound);
+        when(variables.size()).thenReturn(2);
+        when(variables.getType(0)).thenReturn(DataType.uuid());
+        when(variables.getType(1)).thenReturn(DataType.bigint());
+
+        doAnswer(invocation -> {
+            Handler<AsyncResult<ResultSet>> handler = (Handler<AsyncResult<ResultSet>>) invocation.getArguments()[1];
+            handler.handle(Future.succeededFuture(resultSet));
+            return null;
+        }).when(session).executeAsync(any(Statement.class), any(Handler.class));
+
+        when(session.getCluster()).thenReturn(cluster);
+        when(cluster.getConfiguration()).thenReturn(configuration);
+        when(configuration.getProtocolOptions()).thenReturn(protocolOptions);
+        when(resultSet.getColumnDefinitions()).thenReturn(columns);
+        when(resultSet.getExecutionInfo()).thenReturn(executionInfo);
+
+        service = new CassandraEventBusService(session, vertx);
+    }
+
+    private void send(String action, JsonObject body) {
+        headers.set(CassandraEventBusService.HEADER_ACTION, action);
+        when(message.body()).thenReturn(body);
+        service.handle(message);
+    }
+
+    @Test
+    public void testSetSharedReplies() throws Exception {
+
+        service.setSharedReplies(true);
+        verify(eventBus).registerCodec(any(SharedJsonObjectCodec.class));
+
+        when(resultSet.wasApplied()).thenReturn(true);
+        send(CassandraEventBusService.ACTION_BATCH, new JsonObject()
+                .put("statements", new JsonArray().add(new JsonObject().put("query", "TRUNCATE ks.table"))));
+
+        ArgumentCaptor<DeliveryOptions> captor = ArgumentCaptor.forClass(DeliveryOptions.class);
+        verify(message).reply(any(), captor.capture());
+        assertEquals(SharedJsonObjectCodec.NAME, captor.getValue().getCodecName());
+
+    }
+
+    @Test
+    public void testExecute_Params() throws Exception {
+
+        UUID id = UUID.randomUUID();
+
+        send(CassandraEventBusService.ACTION_EXECUTE, new JsonObject()
+                .put("query", "UPDATE ks.table SET value = ? WHERE id = ?")
+                .put("params", new JsonArray().add(id.toString()).add(10))
+                .put("consistency", "local_quorum"));
+
+        verify(prepared).bind(eq(id), eq(10L));
+        verify(bound).setConsistencyLevel(ConsistencyLevel.LOCAL_QUORUM);
+        verify(session).executeAsync(eq(bound), any(Handler.class));
+
+        ArgumentCaptor<JsonObject> captor = ArgumentCaptor.forClass(JsonObject.class);
+        verify(message).reply(captor.capture(), any(DeliveryOptions.class));
+        assertEquals(0, captor.getValue().getJsonArray("rows").size());
+        assertFalse(captor.getValue().containsKey("paging_state"));
+
+    }
+
+    @Test
+    public void testExecute_Wrong_Param_Count() throws Exception {
+
+        send(CassandraEventBusService.ACTION_EXECUTE, new JsonObject()
+                .put("query", "SELECT * FROM ks.table WHERE id = ? AND key = ?")
+                .put("params", new JsonArray().add(UUID.randomUUID().toString())));
+
+        verify(message).fail(eq(CassandraEventBusService.FAILURE_BAD_REQUEST), anyString());
+        verify(session, never()).executeAsync(any(Statement.class), any(Handler.class));
+
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testExecute_Failure() throws Exception {
+
+        doAnswer(invocation -> {
+            Handler<AsyncResult<ResultSet>> handler = (Handler<AsyncResult<ResultSet>>) invocation.getArguments()[1];
+            handler.handle(Future.failedFuture(new RuntimeException("Unit test exception")));
+            return null;
+        }).when(session).executeAsync(any(Statement.class), any(Handler.class));
+
+        send(CassandraEventBusService.ACTION_EXECUTE, new JsonObject().put("query", "SELECT * FROM ks.table"));
+
+        verify(message).fail(CassandraEventBusService.FAILURE_EXECUTION, "Unit test exception");
+
+    }
+
+    @Test
+    public void testPrepare() throws Exception {
+
+        ColumnDefinitions.Definition definition = mock(ColumnDefinitions.Definition.class);
+        when(definition.getName()).thenReturn("id");
+        when(definition.getType()).thenReturn(DataType.uuid());
+        when(variables.iterator()).thenReturn(Collections.singletonList(definition).iterator());
+
+        send(CassandraEventBusService.ACTION_PREPARE, new JsonObject().put("query", "SELECT * FROM ks.table WHERE id = ?"));
+
+        ArgumentCaptor<JsonObject> captor = ArgumentCaptor.forClass(JsonObject.class);
+        verify(message).reply(captor.capture(), any(DeliveryOptions.class));
+        JsonObject variable = captor.getValue().getJsonArray("variables").getJsonObject(0);
+        assertEquals("id", variable.getString("name"));
+        assertEquals("uuid", variable.getString("type"));
+
+    }
+
+    @Test
+    public void testBatch() throws Exception {
+
+        when(resultSet.wasApplied()).thenReturn(true);
+
+        send(CassandraEventBusService.ACTION_BATCH, new JsonObject()
+                .put("type", "unlogged")
+                .put("statements", new JsonArray()
+                        .add(new JsonObject()
+                                .put("query", "INSERT INTO ks.table (id, value) VALUES (?, ?)")
+                                .put("params", new JsonArray().add(UUID.randomUUID().toString()).add(1)))
+                        .add(new JsonObject().put("query", "DELETE FROM ks.table WHERE id = 1"))));
+
+        ArgumentCaptor<Statement> statementCaptor = ArgumentCaptor.forClass(Statement.class);
+        verify(session).executeAsync(statementCaptor.capture(), any(Handler.class));
+        BatchStatement batch = (BatchStatement) statementCaptor.getValue();
+        assertEquals(2, batch.size());
+
+        ArgumentCaptor<JsonObject> captor = ArgumentCaptor.forClass(JsonObject.class);
+        verify(message).reply(captor.capture(), any(DeliveryOptions.class));
+        assertTrue(captor.getValue().getBoolean("applied"));
+
+    }
+
+    @Test
+    public void testUnknown_Action() throws Exception {
+
+        send("drop", new JsonObject());
+        verify(message).fail(eq(CassandraEventBusService.FAILURE_BAD_REQUEST), anyString());
+        verifyZeroInteractions(session);
+
+    }
+
+    @Test
+    public void testMissing_Query() throws Exception {
+
+        send(CassandraEventBusService.ACTION_EXECUTE, new JsonObject());
+        verify(message).fail(eq(CassandraEventBusService.FAILURE_BAD_REQUEST), anyString());
+        verify(session, never()).executeAsync(any(Statement.class), any(Handler.class));
+
+    }
+
+}
@@ -0,0 +1,58 @@
+package com.englishtown.vertx.cassandra.eventbus;
+
+import com.datastax.driver.core.DataType;
+import com.datastax.driver.core.LocalDate;
+import org.junit.Test;
+
+import java.net.InetAddress;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Unit tests for {@link JsonValues}
+ */
+public class JsonValuesTest {
+
+    @Test
+    public void testConvert_Integers() throws Exception {
+        assertEquals(42, JsonValues.convert(42L, DataType.cint()));
+        assertEquals(42, JsonValues.convert(42.0, DataType.cint()));
+        assertEquals(42, JsonValues.convert("42", DataType.cint()));
+        assertEquals((short) 7, JsonValues.convert(7, DataType.smallint()));
+        assertEquals((byte) -1, JsonValues.convert(-1, DataType.tinyint()));
+        assertEquals(1234567890123L, JsonValues.convert(1234567890123L, DataType.bigint()));
+        assertEquals(LocalDate.fromDaysSinceEpoch(10), JsonValues.convert(10, DataType.date()));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConvert_Int_Overflow() throws Exception {
+        JsonValues.convert(1L << 32, DataType.cint());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConvert_Int_Fraction() throws Exception {
+        JsonValues.convert(1.5, DataType.cint());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConvert_Tinyint_Overflow() throws Exception {
+        JsonValues.convert(128, DataType.tinyint());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConvert_Date_Overflow() throws Exception {
+        JsonValues.convert(Long.MAX_VALUE, DataType.date());
+    }
+
+    @Test
+    public void testConvert_Inet() throws Exception {
+        assertEquals(InetAddress.getByName("127.0.0.1"), JsonValues.convert("127.0.0.1", DataType.inet()));
+        assertEquals(InetAddress.getByName("::1"), JsonValues.convert("::1", DataType.inet()));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConvert_Inet_Host_Name() throws Exception {
+        JsonValues.convert("localhost", DataType.inet());
+    }
+
+}
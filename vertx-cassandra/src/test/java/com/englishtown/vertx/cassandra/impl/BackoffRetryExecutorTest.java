@@ -0,0 +1,150 @@
+package com.englishtown.vertx.cassandra.impl;
+
+import com.datastax.driver.core.*;
+import com.datastax.driver.core.exceptions.OperationTimedOutException;
+import com.datastax.driver.core.exceptions.SyntaxError;
+import com.englishtown.vertx.cassandra.BackoffRetryOptions;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.SettableFuture;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.Assert.*;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for {@link BackoffRetryExecutor}
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class BackoffRetryExecutorTest {
+
+    @Mock
+    Vertx vertx;
+    @Mock
+    Metrics metrics;
+    @Mock
+    Configuration configuration;
+    @Mock
+    ResultSet resultSet;
+    @Mock
+    Statement statement;
+
+    private BackoffRetryOptions options = new BackoffRetryOptions()
+            .setMaxRetries(2)
+            .setBaseDelayMillis(100)
+            .setMaxDelayMillis(150);
+    private List<SettableFuture<ResultSet>> attempts = new ArrayList<>();
+    private BackoffRetryExecutor executor;
+
+    @Before
+    public void setUp() throws Exception {
+        when(configuration.getQueryOptions()).thenReturn(new QueryOptions());
+        when(statement.isIdempotent()).thenReturn(true);
+        executor = new BackoffRetryExecutor(options, vertx, () -> configuration, metrics);
+    }
+
+    private ListenableFuture<ResultSet> execute() {
+        return executor.execute(statement, s -> {
+            SettableFuture<ResultSet> future = SettableFuture.create();
+            attempts.add(future);
+            return future;
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private void fireTimer(int times) {
+        ArgumentCaptor<Handler> captor = ArgumentCaptor.forClass(Handler.class);
+        verify(vertx, times(times)).setTimer(anyLong(), captor.capture());
+        captor.getValue().handle(1L);
+    }
+
+    private OperationTimedOutException timeout() {
+        return new OperationTimedOutException(new InetSocketAddress(9042));
+    }
+
+    @Test
+    public void testExecute_Retry_Success() throws Exception {
+
+        ListenableFuture<ResultSet> future = execute();
+        attempts.get(0).setException(timeout());
+        assertFalse(future.isDone());
+        verify(metrics).onBackoffRetry();
+
+        fireTimer(1);
+        assertEquals(2, attempts.size());
+        attempts.get(1).set(resultSet);
+        assertEquals(resultSet, future.get());
+
+    }
+
+    @Test
+    public void testExecute_Retries_Exhausted() throws Exception {
+
+        ListenableFuture<ResultSet> future = execute();
+        attempts.get(0).setException(timeout());
+        fireTimer(1);
+        attempts.get(1).setException(timeout());
+        fireTimer(2);
+
+        OperationTimedOutException e = timeout();
+        attempts.get(2).setException(e);
+
+        try {
+            future.get();
+            fail();
+        } catch (ExecutionException ex) {
+            assertEquals(e, ex.getCause());
+        }
+        assertEquals(3, attempts.size());
+
+    }
+
+    @Test
+    public void testExecute_Not_Transient() throws Exception {
+
+        ListenableFuture<ResultSet> future = execute();
+        attempts.get(0).setException(new SyntaxError(new InetSocketAddress(9042), "Unit test exception"));
+
+        assertTrue(future.isDone());
+        verifyZeroInteractions(vertx);
+
+    }
+
+    @Test
+    public void testExecute_Not_Idempotent() throws Exception {
+
+        when(statement.isIdempotent()).thenReturn(null);
+
+        // Falls back to the default idempotence, which is false
+        ListenableFuture<ResultSet> future = execute();
+        assertSame(attempts.get(0), future);
+
+    }
+
+    @Test
+    public void testGetDelay() throws Exception {
+
+        for (int i = 0; i < 100; i++) {
+            long delay = executor.getDelay(0);
+            assertTrue(delay >= 50 && delay <= 100);
+
+            // Capped by the max delay
+            delay = executor.getDelay(5);
+            assertTrue(delay >= 75 && delay <= 150);
+        }
+
+    }
+
+}
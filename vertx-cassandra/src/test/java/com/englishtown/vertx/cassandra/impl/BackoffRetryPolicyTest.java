@@ -0,0 +1,81 @@
+package com.englishtown.vertx.cassandra.impl;
+
+import com.datastax.driver.core.*;
+import com.datastax.driver.core.exceptions.ConnectionException;
+import com.datastax.driver.core.exceptions.OperationTimedOutException;
+import com.datastax.driver.core.policies.RetryPolicy.RetryDecision;
+import com.englishtown.vertx.cassandra.BackoffRetryOptions;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import java.net.InetSocketAddress;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link BackoffRetryPolicy}
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class BackoffRetryPolicyTest {
+
+    @Mock
+    Cluster cluster;
+    @Mock
+    Configuration configuration;
+    @Mock
+    Statement statement;
+
+    private BackoffRetryOptions options = new BackoffRetryOptions();
+    private BackoffRetryPolicy policy;
+
+    @Before
+    public void setUp() throws Exception {
+        when(cluster.getConfiguration()).thenReturn(configuration);
+        when(configuration.getQueryOptions()).thenReturn(new QueryOptions());
+        policy = new BackoffRetryPolicy(options);
+        policy.init(cluster);
+    }
+
+    private RetryDecision.Type onUnavailable() {
+        return policy.onUnavailable(statement, ConsistencyLevel.ONE, 1, 0, 0).getType();
+    }
+
+    @Test
+    public void testIdempotent_Rethrows() throws Exception {
+        when(statement.isIdempotent()).thenReturn(true);
+
+        assertEquals(RetryDecision.Type.RETHROW, onUnavailable());
+        assertEquals(RetryDecision.Type.RETHROW, policy.onRequestError(statement, ConsistencyLevel.ONE,
+                new OperationTimedOutException(new InetSocketAddress(9042)), 0).getType());
+    }
+
+    @Test
+    public void testIdempotent_Connection_Error_Tries_Next_Host() throws Exception {
+        when(statement.isIdempotent()).thenReturn(true);
+
+        assertEquals(RetryDecision.Type.RETRY, policy.onRequestError(statement, ConsistencyLevel.ONE,
+                new ConnectionException(new InetSocketAddress(9042), "Unit test exception"), 0).getType());
+    }
+
+    @Test
+    public void testNot_Idempotent_Uses_Default_Policy() throws Exception {
+        // Falls back to the default idempotence of the query options, which is false
+        assertEquals(RetryDecision.Type.RETRY, onUnavailable());
+
+        when(statement.isIdempotent()).thenReturn(false);
+        assertEquals(RetryDecision.Type.RETRY, onUnavailable());
+    }
+
+    @Test
+    public void testNo_Retries_Uses_Default_Policy() throws Exception {
+        when(statement.isIdempotent()).thenReturn(true);
+        options.setMaxRetries(0);
+
+        assertEquals(RetryDecision.Type.RETRY, onUnavailable());
+    }
+
+}
@@ -0,0 +1,110 @@
+package com.englishtown.vertx.cassandra.impl;
+
+import com.datastax.driver.core.exceptions.OverloadedException;
+import com.englishtown.vertx.cassandra.ConcurrencyLimitOptions;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.SettableFuture;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Unit tests for {@link ConcurrencyLimiter}
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class ConcurrencyLimiterTest {
+
+    @Mock
+    Metrics metrics;
+
+    private ConcurrencyLimitOptions options = new ConcurrencyLimitOptions()
+            .setInitialLimit(2)
+            .setMinLimit(1)
+            .setMaxLimit(4)
+            .setMaxQueueSize(1)
+            .setBackoffRatio(0.5);
+    private List<SettableFuture<String>> started = new ArrayList<>();
+    private ConcurrencyLimiter limiter;
+
+    @Before
+    public void setUp() throws Exception {
+        limiter = new ConcurrencyLimiter(options, metrics);
+        verify(metrics).registerConcurrencyLimiter(limiter);
+    }
+
+    private ListenableFuture<String> submit() {
+        return limiter.submit(() -> {
+            SettableFuture<String> future = SettableFuture.create();
+            started.add(future);
+            return future;
+        });
+    }
+
+    @Test
+    public void testSubmit_Queue_And_Reject() throws Exception {
+
+        submit();
+        submit();
+        ListenableFuture<String> queued = submit();
+        assertEquals(2, started.size());
+        assertEquals(2, limiter.getInFlight());
+        assertEquals(1, limiter.getQueued());
+
+        ListenableFuture<String> rejected = submit();
+        try {
+            rejected.get();
+            fail();
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof RejectedExecutionException);
+        }
+        verify(metrics).onConcurrencyLimitRejected();
+
+        // Completing a query starts the queued one
+        started.get(0).set("a");
+        assertEquals(3, started.size());
+        assertEquals(0, limiter.getQueued());
+
+        started.get(2).set("c");
+        assertEquals("c", queued.get());
+
+    }
+
+    @Test
+    public void testLimit_Increase() throws Exception {
+
+        submit();
+        submit();
+        assertEquals(2, limiter.getLimit());
+
+        // Completed fast with the limit in use
+        started.get(0).set("a");
+        assertEquals(3, limiter.getLimit());
+
+    }
+
+    @Test
+    public void testLimit_Decrease() throws Exception {
+
+        submit();
+        submit();
+        started.get(0).setException(new OverloadedException(new InetSocketAddress(9042), "Unit test exception"));
+        assertEquals(1, limiter.getLimit());
+
+        started.get(1).setException(new RuntimeException("Not an overload"));
+        assertEquals(1, limiter.getLimit());
+        assertEquals(0, limiter.getInFlight());
+
+    }
+
+}
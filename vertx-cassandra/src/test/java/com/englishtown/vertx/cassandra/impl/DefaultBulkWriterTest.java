@@ -0,0 +1,283 @@
+package com.englishtown.vertx.cassandra.impl;
+
+import com.datastax.driver.core.*;
+import com.englishtown.vertx.cassandra.BulkWriteProgress;
+import com.englishtown.vertx.cassandra.BulkWriter;
+import com.englishtown.vertx.cassandra.BulkWriterOptions;
+import com.englishtown.vertx.cassandra.CassandraSession;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import java.nio.ByteBuffer;
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for {@link DefaultBulkWriter}
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class DefaultBulkWriterTest {
+
+    @Mock
+    CassandraSession session;
+    @Mock
+    Vertx vertx;
+    @Mock
+    Cluster cluster;
+    @Mock
+    Configuration configuration;
+    @Mock
+    ProtocolOptions protocolOptions;
+    @Mock
+    Metadata metadata;
+    @Mock
+    Statement statement;
+    @Mock
+    ResultSet resultSet;
+    @Mock
+    Handler<AsyncResult<BulkWriteProgress>> completionHandler;
+    @Mock
+    Host host1;
+    @Mock
+    Host host2;
+
+    private List<Statement> executed = new ArrayList<>();
+    private List<Handler<AsyncResult<ResultSet>>> inFlight = new ArrayList<>();
+    private Map<Statement, Host> primaries = new HashMap<>();
+    private BulkWriterOptions options = new BulkWriterOptions().setMaxConcurrencyPerHost(2);
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setUp() throws Exception {
+        when(session.getCluster()).thenReturn(cluster);
+        when(cluster.getConfiguration()).thenReturn(configuration);
+        when(cluster.getMetadata()).thenReturn(metadata);
+        when(configuration.getProtocolOptions()).thenReturn(protocolOptions);
+        when(metadata.getAllHosts()).thenReturn(Collections.emptySet());
+
+        doAnswer(invocation -> {
+            executed.add((Statement) invocation.getArguments()[0]);
+            inFlight.add((Handler<AsyncResult<ResultSet>>) invocation.getArguments()[1]);
+            return null;
+        }).when(session).executeAsync(any(Statement.class), any(Handler.class));
+    }
+
+    private BulkWriter create() {
+        return new DefaultBulkWriter(session, options, vertx).completionHandler(completionHandler);
+    }
+
+    private void complete(int index) {
+        inFlight.get(index).handle(Future.succeededFuture(resultSet));
+    }
+
+    private void complete(Statement statement) {
+        complete(executed.indexOf(statement));
+    }
+
+    private static Token token(long value) {
+        Token token = mock(Token.class);
+        when(token.getValue()).thenReturn(value);
+        when(token.compareTo(any(Token.class))).thenAnswer(invocation ->
+                Long.compare(value, (Long) ((Token) invocation.getArguments()[0]).getValue()));
+        return token;
+    }
+
+    /**
+     * A ring where host1 owns the ranges ending at 100 and 300, and host2 the range ending at 200
+     */
+    private void ring() {
+        Set<Token> tokens1 = new HashSet<>(Arrays.asList(token(100), token(300)));
+        Set<Token> tokens2 = Collections.singleton(token(200));
+        when(host1.getTokens()).thenReturn(tokens1);
+        when(host2.getTokens()).thenReturn(tokens2);
+        when(metadata.getAllHosts()).thenReturn(new HashSet<>(Arrays.asList(host1, host2)));
+    }
+
+    private Statement write(long tokenValue, Host primary) {
+        Statement statement = mock(Statement.class);
+        ByteBuffer routingKey = ByteBuffer.allocate(8).putLong(0, tokenValue);
+        Token token = token(tokenValue);
+        Set<Host> replicas = new LinkedHashSet<>(Arrays.asList(primary, primary == host1 ? host2 : host1));
+
+        when(statement.getKeyspace()).thenReturn("ks");
+        when(statement.getRoutingKey(any(ProtocolVersion.class), any(CodecRegistry.class))).thenReturn(routingKey);
+        when(metadata.newToken(routingKey)).thenReturn(token);
+        when(metadata.getReplicas("\"ks\"", routingKey)).thenReturn(replicas);
+        primaries.put(statement, primary);
+        return statement;
+    }
+
+    private List<Statement> executedOn(Host host) {
+        return executed.stream().filter(s -> primaries.get(s) == host).collect(Collectors.toList());
+    }
+
+    @Test
+    public void testWrite_Token_Order() throws Exception {
+
+        options.setMaxConcurrencyPerHost(10);
+        ring();
+        Statement s50 = write(50, host1);
+        Statement s60 = write(60, host1);
+        Statement s120 = write(120, host2);
+        Statement s150 = write(150, host2);
+        Statement s250 = write(250, host1);
+        // Past the last token, wraps around to the range ending at 100
+        Statement s350 = write(350, host1);
+
+        BulkWriter writer = create();
+        writer.write(s50);
+        writer.write(s350);
+        writer.write(s250);
+        writer.write(s150);
+        writer.write(s60);
+        writer.write(s120);
+        assertEquals(Collections.singletonList(s50), executed);
+
+        // The buffered writes are sent to their primary replica in token order
+        complete(s50);
+        assertEquals(Arrays.asList(s50, s60, s250, s350), executedOn(host1));
+        assertEquals(Arrays.asList(s120, s150), executedOn(host2));
+
+        // The primary replica is resolved once per range
+        verify(metadata, times(3)).getReplicas(anyString(), any(ByteBuffer.class));
+
+    }
+
+    @Test
+    public void testWrite_Concurrency_Per_Replica() throws Exception {
+
+        ring();
+        Statement s50 = write(50, host1);
+        Statement s60 = write(60, host1);
+        Statement s70 = write(70, host1);
+        Statement s80 = write(80, host1);
+        Statement s120 = write(120, host2);
+        Statement s130 = write(130, host2);
+        Statement s140 = write(140, host2);
+
+        BulkWriter writer = create();
+        for (Statement statement : Arrays.asList(s50, s60, s70, s80, s120, s130, s140)) {
+            writer.write(statement);
+        }
+
+        // Each host has at most 2 writes in flight
+        complete(s50);
+        assertEquals(Arrays.asList(s50, s60, s70), executedOn(host1));
+        assertEquals(Arrays.asList(s120, s130), executedOn(host2));
+
+        // A completed write only frees its own host
+        complete(s120);
+        assertEquals(Arrays.asList(s50, s60, s70), executedOn(host1));
+        assertEquals(Arrays.asList(s120, s130, s140), executedOn(host2));
+
+        complete(s60);
+        assertEquals(Arrays.asList(s50, s60, s70, s80), executedOn(host1));
+
+    }
+
+    @Test
+    public void testWrite_Concurrency_Per_Host() throws Exception {
+
+        BulkWriter writer = create();
+        for (int i = 0; i < 5; i++) {
+            writer.write(statement);
+        }
+
+        // The first write is sent immediately, the rest are buffered while it is in flight
+        assertEquals(1, inFlight.size());
+        assertEquals(5, writer.getProgress().getPending());
+
+        // The buffer is flushed when the host runs out of work, limited to 2 in flight
+        complete(0);
+        assertEquals(3, inFlight.size());
+
+        writer.end();
+        complete(1);
+        complete(2);
+        assertEquals(5, inFlight.size());
+        verifyZeroInteractions(completionHandler);
+
+        complete(3);
+        complete(4);
+
+        ArgumentCaptor<AsyncResult<BulkWriteProgress>> captor = ArgumentCaptor.forClass((Class) AsyncResult.class);
+        verify(completionHandler).handle(captor.capture());
+        assertTrue(captor.getValue().succeeded());
+        assertEquals(5, captor.getValue().result().getWritten());
+        assertEquals(0, captor.getValue().result().getPending());
+
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testWriteQueueFull() throws Exception {
+
+        Handler<Void> drainHandler = mock(Handler.class);
+        BulkWriter writer = create().setWriteQueueMaxSize(2).drainHandler(drainHandler);
+
+        writer.write(statement);
+        assertFalse(writer.writeQueueFull());
+        writer.write(statement);
+        assertTrue(writer.writeQueueFull());
+
+        complete(0);
+        verify(drainHandler).handle(null);
+
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testWrite_Failure() throws Exception {
+
+        Handler<Throwable> exceptionHandler = mock(Handler.class);
+        BulkWriter writer = create().exceptionHandler(exceptionHandler);
+
+        writer.write(statement);
+        writer.write(statement);
+        writer.end();
+
+        Throwable t = new RuntimeException("Unit test exception");
+        inFlight.get(0).handle(Future.failedFuture(t));
+        complete(1);
+
+        verify(exceptionHandler).handle(t);
+        ArgumentCaptor<AsyncResult<BulkWriteProgress>> captor = ArgumentCaptor.forClass((Class) AsyncResult.class);
+        verify(completionHandler).handle(captor.capture());
+        assertEquals(t, captor.getValue().cause());
+        assertEquals(1, writer.getProgress().getWritten());
+        assertEquals(1, writer.getProgress().getFailed());
+
+    }
+
+    @Test
+    public void testEnd_Empty() throws Exception {
+
+        BulkWriter writer = create();
+        writer.end();
+
+        verify(completionHandler).handle(any());
+        verifyZeroInteractions(vertx);
+
+        try {
+            writer.write(statement);
+            fail();
+        } catch (IllegalStateException e) {
+            // Expected
+        }
+
+    }
+
+}
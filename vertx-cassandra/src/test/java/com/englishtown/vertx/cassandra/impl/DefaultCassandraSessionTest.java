@@ -2,17 +2,22 @@ package com.englishtown.vertx.cassandra.impl;
 
 import com.datastax.driver.core.*;
 import com.datastax.driver.core.policies.LoadBalancingPolicy;
+import com.datastax.driver.core.policies.SpeculativeExecutionPolicy;
 import com.datastax.driver.core.querybuilder.QueryBuilder;
 import com.englishtown.vertx.cassandra.CassandraConfigurator;
 import com.google.common.util.concurrent.FutureCallback;
 import com.google.common.util.concurrent.ListenableFuture;
 import com.google.common.util.concurrent.SettableFuture;
 import io.vertx.core.*;
+import io.vertx.core.net.NetClient;
+import io.vertx.core.net.NetClientOptions;
+import io.vertx.core.net.NetSocket;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
+import org.mockito.Matchers;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 
@@ -21,12 +26,17 @@ import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executor;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
+import static org.mockito.Matchers.anyBoolean;
+import static org.mockito.Matchers.anyInt;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Mockito.*;
 
@@ -65,8 +75,6 @@ public class DefaultCassandraSessionTest {
     @Captor
     ArgumentCaptor<Statement> statementCaptor;
     @Captor
-    ArgumentCaptor<String> queryCaptor;
-    @Captor
     ArgumentCaptor<Runnable> runnableCaptor;
     @Captor
     ArgumentCaptor<Handler<Void>> handlerCaptor;
@@ -133,6 +141,18 @@ public class DefaultCassandraSessionTest {
             handler.handle(null);
             return null;
         }).when(context).runOnContext(any());
+        doAnswer(invocation -> {
+            Handler<Future<Object>> blockingHandler = (Handler<Future<Object>>) invocation.getArguments()[0];
+            Handler<AsyncResult<Object>> resultHandler = (Handler<AsyncResult<Object>>) invocation.getArguments()[2];
+            Future<Object> future = Future.future();
+            try {
+                blockingHandler.handle(future);
+            } catch (Throwable t) {
+                future.tryFail(t);
+            }
+            resultHandler.handle(future);
+            return null;
+        }).when(vertx).executeBlocking(any(), anyBoolean(), any());
 
         when(clusterBuilder.build()).thenReturn(cluster);
         when(cluster.getConfiguration()).thenReturn(configuration);
@@ -165,6 +185,14 @@ public class DefaultCassandraSessionTest {
         seeds.add("127.0.0.2");
         seeds.add("127.0.0.3");
 
+        NetClient netClient = mock(NetClient.class);
+        when(vertx.createNetClient(any(NetClientOptions.class))).thenReturn(netClient);
+        doAnswer(invocation -> {
+            Handler<AsyncResult<NetSocket>> handler = (Handler<AsyncResult<NetSocket>>) invocation.getArguments()[2];
+            handler.handle(Future.succeededFuture(mock(NetSocket.class)));
+            return netClient;
+        }).when(netClient).connect(anyInt(), anyString(), any());
+
         LoadBalancingPolicy lbPolicy = mock(LoadBalancingPolicy.class);
         when(configurator.getLoadBalancingPolicy()).thenReturn(lbPolicy);
         PoolingOptions poolingOptions = mock(PoolingOptions.class);
@@ -175,11 +203,14 @@ public class DefaultCassandraSessionTest {
         when(configurator.getQueryOptions()).thenReturn(queryOptions);
         MetricsOptions metricsOptions = mock(MetricsOptions.class);
         when(configurator.getMetricsOptions()).thenReturn(metricsOptions);
+        SpeculativeExecutionPolicy speculativeExecutionPolicy = mock(SpeculativeExecutionPolicy.class);
+        when(configurator.getSpeculativeExecutionPolicy()).thenReturn(speculativeExecutionPolicy);
 
         cassandraSession.init(configurator);
         verify(clusterBuilder, times(4)).addContactPoint(anyString());
         verify(clusterBuilder).withLoadBalancingPolicy(eq(lbPolicy));
         verify(clusterBuilder).withPoolingOptions(eq(poolingOptions));
+        verify(clusterBuilder).withSpeculativeExecutionPolicy(eq(speculativeExecutionPolicy));
         verify(clusterBuilder, times(2)).build();
         verify(cluster, times(2)).connectAsync();
 
@@ -205,6 +236,56 @@ public class DefaultCassandraSessionTest {
 
     }
 
+    @Test
+    public void testInit_Timeout() throws Exception {
+
+        reset(configurator);
+        when(configurator.getSeeds()).thenReturn(seeds);
+        when(configurator.getInitTimeoutMillis()).thenReturn(100L);
+        when(cluster.connectAsync()).thenReturn(SettableFuture.create());
+
+        DefaultCassandraSession cassandraSession = new DefaultCassandraSession(clusterBuilder, configurator, vertx);
+
+        verify(configurator).onReady(onReadyCaptor.capture());
+        onReadyCaptor.getValue().handle(Future.succeededFuture());
+        assertFalse(cassandraSession.initialized());
+
+        ArgumentCaptor<Handler<Long>> timerCaptor = ArgumentCaptor.forClass((Class) Handler.class);
+        verify(vertx).setTimer(eq(100L), timerCaptor.capture());
+        timerCaptor.getValue().handle(1L);
+
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        onReadyFail.accept(cassandraSession, future);
+        future.get();
+
+    }
+
+    @Test
+    public void testInit_Timeout_After_Ready() throws Exception {
+
+        reset(configurator);
+        when(configurator.getSeeds()).thenReturn(seeds);
+        when(configurator.getInitTimeoutMillis()).thenReturn(100L);
+        when(vertx.setTimer(eq(100L), any())).thenReturn(5L);
+
+        DefaultCassandraSession cassandraSession = new DefaultCassandraSession(clusterBuilder, configurator, vertx);
+
+        verify(configurator).onReady(onReadyCaptor.capture());
+        onReadyCaptor.getValue().handle(Future.succeededFuture());
+        assertTrue(cassandraSession.initialized());
+        verify(vertx).cancelTimer(5L);
+
+        // A timer that fired anyway does not fail the ready session
+        ArgumentCaptor<Handler<Long>> timerCaptor = ArgumentCaptor.forClass((Class) Handler.class);
+        verify(vertx).setTimer(eq(100L), timerCaptor.capture());
+        timerCaptor.getValue().handle(5L);
+
+        CompletableFuture<AsyncResult<Void>> future = new CompletableFuture<>();
+        cassandraSession.onReady(future::complete);
+        assertTrue(future.get().succeeded());
+
+    }
+
     @Test
     public void testCtorInitFail() throws Exception {
 
@@ -273,28 +354,91 @@ public class DefaultCassandraSessionTest {
 
     }
 
+    @Test
+    public void testExecuteAsync_Handler() throws Exception {
+
+        Statement statement = mock(Statement.class);
+        ResultSetFuture future = mock(ResultSetFuture.class);
+        when(session.executeAsync(any(Statement.class))).thenReturn(future);
+        Handler<AsyncResult<ResultSet>> handler = mock(Handler.class);
+
+        cassandraSession.executeAsync(statement, handler);
+        verify(session).executeAsync(eq(statement));
+        verify(future).addListener(runnableCaptor.capture(), executorCaptor.capture());
+
+        ResultSet resultSet = mock(ResultSet.class);
+        RuntimeException e = new RuntimeException("Unit test exception");
+        when(future.get()).thenReturn(resultSet).thenThrow(new ExecutionException(e));
+
+        ArgumentCaptor<AsyncResult<ResultSet>> resultCaptor = ArgumentCaptor.forClass((Class) AsyncResult.class);
+
+        executorCaptor.getValue().execute(runnableCaptor.getValue());
+        verify(context, times(2)).runOnContext(any());
+        verify(handler).handle(resultCaptor.capture());
+        assertTrue(resultCaptor.getValue().succeeded());
+        assertEquals(resultSet, resultCaptor.getValue().result());
+
+        executorCaptor.getValue().execute(runnableCaptor.getValue());
+        verify(context, times(3)).runOnContext(any());
+        verify(handler, times(2)).handle(resultCaptor.capture());
+        assertTrue(resultCaptor.getValue().failed());
+        assertEquals(e, resultCaptor.getValue().cause());
+
+    }
+
     @Test
     public void testExecuteAsync_Query() throws Exception {
 
         String query = "SELECT * FROM table";
         ResultSetFuture future = mock(ResultSetFuture.class);
-        when(session.executeAsync(anyString())).thenReturn(future);
+        when(session.executeAsync(any(Statement.class))).thenReturn(future);
 
         cassandraSession.executeAsync(query, callback);
-        verify(session).executeAsync(queryCaptor.capture());
-        assertEquals(query, queryCaptor.getValue());
+        verify(session).executeAsync(statementCaptor.capture());
+        assertEquals(query, ((SimpleStatement) statementCaptor.getValue()).getQueryString());
         verify(future).addListener(any(Runnable.class), any(Executor.class));
 
     }
 
+    @Test
+    public void testExecuteAsync_Future() throws Exception {
+
+        String query = "SELECT * FROM table WHERE id = ?";
+        ResultSetFuture future = mock(ResultSetFuture.class);
+        ResultSet resultSet = mock(ResultSet.class);
+        when(session.executeAsync(any(Statement.class))).thenReturn(future);
+        when(future.get()).thenReturn(resultSet);
+
+        ResultSetFuture result = cassandraSession.executeAsync(query, 1);
+        verify(session).executeAsync(statementCaptor.capture());
+        SimpleStatement statement = (SimpleStatement) statementCaptor.getValue();
+        assertEquals(query, statement.getQueryString());
+        assertEquals(1, statement.valuesCount());
+        assertEquals(resultSet, result.getUninterruptibly());
+
+        RuntimeException e = new RuntimeException("Unit test exception");
+        when(future.get()).thenThrow(new ExecutionException(e));
+        try {
+            result.getUninterruptibly();
+            fail();
+        } catch (RuntimeException ex) {
+            assertEquals(e, ex);
+        }
+
+    }
+
     @Test
     public void testExecute() throws Exception {
 
         String query = "SELECT * FROM table;";
+        ResultSetFuture future = mock(ResultSetFuture.class);
+        ResultSet resultSet = mock(ResultSet.class);
+        when(session.executeAsync(any(Statement.class))).thenReturn(future);
+        when(future.get()).thenReturn(resultSet);
 
-        cassandraSession.execute(query);
-        verify(session).execute(queryCaptor.capture());
-        assertEquals(query, queryCaptor.getValue());
+        assertEquals(resultSet, cassandraSession.execute(query));
+        verify(session).executeAsync(statementCaptor.capture());
+        assertEquals(query, ((SimpleStatement) statementCaptor.getValue()).getQueryString());
 
     }
 
@@ -317,6 +461,94 @@ public class DefaultCassandraSessionTest {
         verify(preparedStatementFuture).addListener(any(Runnable.class), any(Executor.class));
     }
 
+    @Test
+    public void testExecutePreparedAsync() throws Exception {
+
+        String query = "SELECT * FROM ks.table where id = ?";
+        SettableFuture<PreparedStatement> prepareFuture = SettableFuture.create();
+        when(session.prepareAsync(eq(query))).thenReturn(prepareFuture);
+
+        PreparedStatement prepared = mock(PreparedStatement.class);
+        BoundStatement bound = mock(BoundStatement.class);
+        when(prepared.bind(Matchers.<Object>anyVararg())).thenReturn(bound);
+        ResultSetFuture future = mock(ResultSetFuture.class);
+        when(session.executeAsync(any(Statement.class))).thenReturn(future);
+
+        // Concurrent prepares of the same query share a single prepare call
+        cassandraSession.executePreparedAsync(query, callback, "123");
+        cassandraSession.executePreparedAsync(query, callback, "456");
+        verify(session, times(1)).prepareAsync(eq(query));
+        verify(session, never()).executeAsync(any(Statement.class));
+
+        prepareFuture.set(prepared);
+        verify(session, times(2)).executeAsync(eq(bound));
+
+        // Cached prepared statements are reused
+        cassandraSession.executePreparedAsync(query, callback, "789");
+        verify(session, times(1)).prepareAsync(eq(query));
+        verify(session, times(3)).executeAsync(eq(bound));
+
+    }
+
+    @Test
+    public void testGetPreparedAsync() throws Exception {
+
+        String query = "SELECT * FROM ks.table where id = ?";
+        SettableFuture<PreparedStatement> prepareFuture = SettableFuture.create();
+        when(session.prepareAsync(eq(query))).thenReturn(prepareFuture);
+        Handler<AsyncResult<PreparedStatement>> handler = mock(Handler.class);
+
+        cassandraSession.getPreparedAsync(query, handler);
+        cassandraSession.getPreparedAsync(query, handler);
+        verify(session, times(1)).prepareAsync(eq(query));
+
+        PreparedStatement prepared = mock(PreparedStatement.class);
+        prepareFuture.set(prepared);
+
+        ArgumentCaptor<AsyncResult<PreparedStatement>> resultCaptor = ArgumentCaptor.forClass((Class) AsyncResult.class);
+        verify(handler, times(2)).handle(resultCaptor.capture());
+        assertEquals(prepared, resultCaptor.getValue().result());
+
+    }
+
+    @Test
+    public void testExecutePreparedAsync_PrepareFailure() throws Exception {
+
+        String query = "SELECT * FROM ks.table where id = ?";
+        SettableFuture<PreparedStatement> prepareFuture = SettableFuture.create();
+        when(session.prepareAsync(eq(query))).thenReturn(prepareFuture);
+
+        cassandraSession.executePreparedAsync(query, callback, "123");
+        prepareFuture.setException(new RuntimeException("Unit test exception"));
+        verify(callback).onFailure(any(RuntimeException.class));
+
+        // Failed prepares are not cached
+        cassandraSession.executePreparedAsync(query, callback, "123");
+        verify(session, times(2)).prepareAsync(eq(query));
+
+    }
+
+    @Test
+    public void testExecutePreparedAsync_Not_Ready() throws Exception {
+
+        reset(configurator);
+        DefaultCassandraSession cassandraSession = new DefaultCassandraSession(clusterBuilder, configurator, vertx);
+
+        cassandraSession.executePreparedAsync("SELECT * FROM ks.table where id = ?", callback, "123");
+        verify(callback).onFailure(any(IllegalStateException.class));
+
+    }
+
+    @Test
+    public void testPrepareAsync_Handler() throws Exception {
+        String query = "SELECT * FROM ks.table where id = ?";
+        Handler<AsyncResult<PreparedStatement>> handler = mock(Handler.class);
+
+        cassandraSession.prepareAsync(query, handler);
+        verify(session).prepareAsync(eq(query));
+        verify(preparedStatementFuture).addListener(any(Runnable.class), any(Executor.class));
+    }
+
     @Test
     public void testPrepare_Statement() throws Exception {
         RegularStatement statement = QueryBuilder.select()
@@ -347,4 +579,39 @@ public class DefaultCassandraSessionTest {
         verify(cluster).closeAsync();
         verify(closeFuture).force();
     }
+
+    @Test
+    public void testClose_While_Connecting() throws Exception {
+
+        // The cluster is built, but the result is handled later
+        List<Runnable> results = new ArrayList<>();
+        doAnswer(invocation -> {
+            Handler<Future<Object>> blockingHandler = (Handler<Future<Object>>) invocation.getArguments()[0];
+            Handler<AsyncResult<Object>> resultHandler = (Handler<AsyncResult<Object>>) invocation.getArguments()[2];
+            Future<Object> future = Future.future();
+            blockingHandler.handle(future);
+            results.add(() -> resultHandler.handle(future));
+            return null;
+        }).when(vertx).executeBlocking(any(), anyBoolean(), any());
+
+        reset(configurator);
+        when(configurator.getSeeds()).thenReturn(seeds);
+
+        DefaultCassandraSession cassandraSession = new DefaultCassandraSession(clusterBuilder, configurator, vertx);
+        verify(configurator).onReady(onReadyCaptor.capture());
+        onReadyCaptor.getValue().handle(Future.succeededFuture());
+
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        onReadyFail.accept(cassandraSession, future);
+
+        cassandraSession.close();
+        verify(cluster, never()).closeAsync();
+
+        // The cluster built before the close is closed instead of connected
+        results.get(0).run();
+        verify(cluster).closeAsync();
+        verify(cluster, times(1)).connectAsync();
+        future.get();
+
+    }
 }
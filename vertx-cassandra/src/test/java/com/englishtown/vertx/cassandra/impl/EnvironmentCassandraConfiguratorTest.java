@@ -4,6 +4,7 @@ import com.datastax.driver.core.AuthProvider;
 import com.datastax.driver.core.PlainTextAuthProvider;
 import com.datastax.driver.core.policies.DCAwareRoundRobinPolicy;
 import com.datastax.driver.core.policies.LoadBalancingPolicy;
+import com.datastax.driver.core.policies.TokenAwarePolicy;
 import io.vertx.core.Context;
 import io.vertx.core.Vertx;
 import io.vertx.core.json.JsonArray;
@@ -86,6 +87,18 @@ public class EnvironmentCassandraConfiguratorTest {
         assertThat(loadBalancingPolicy, instanceOf(DCAwareRoundRobinPolicy.class));
     }
 
+    @Test
+    public void testInitPolicies_TokenAware() throws Exception {
+        when(envVarDelegate.get(eq(EnvironmentCassandraConfigurator.ENV_VAR_LOCAL_DC))).thenReturn("LOCAL1");
+        when(envVarDelegate.get(eq(EnvironmentCassandraConfigurator.ENV_VAR_TOKEN_AWARE))).thenReturn("true");
+
+        EnvironmentCassandraConfigurator configurator = new EnvironmentCassandraConfigurator(config, envVarDelegate);
+        LoadBalancingPolicy loadBalancingPolicy = configurator.getLoadBalancingPolicy();
+
+        assertThat(loadBalancingPolicy, instanceOf(TokenAwarePolicy.class));
+        assertThat(((TokenAwarePolicy) loadBalancingPolicy).getChildPolicy(), instanceOf(DCAwareRoundRobinPolicy.class));
+    }
+
     @Test
     public void testInitAuthProvider() throws Exception {
 
@@ -2,6 +2,10 @@ package com.englishtown.vertx.cassandra.impl;
 
 import com.datastax.driver.core.*;
 import com.datastax.driver.core.policies.*;
+import com.englishtown.vertx.cassandra.BackoffRetryOptions;
+import com.englishtown.vertx.cassandra.ConcurrencyLimitOptions;
+import com.englishtown.vertx.cassandra.ResultCacheOptions;
+import com.englishtown.vertx.cassandra.WriteCoalescingOptions;
 import io.vertx.core.Context;
 import io.vertx.core.Vertx;
 import io.vertx.core.json.JsonArray;
@@ -131,6 +135,127 @@ public class JsonCassandraConfiguratorTest {
 
     }
 
+    @Test
+    public void testGetInitTimeoutMillis() throws Exception {
+
+        JsonCassandraConfigurator configurator = new JsonCassandraConfigurator(vertx);
+        assertNull(configurator.getInitTimeoutMillis());
+
+        config.put(JsonCassandraConfigurator.CONFIG_INIT_TIMEOUT_MILLIS, 5000);
+
+        configurator = new JsonCassandraConfigurator(vertx);
+        assertEquals(Long.valueOf(5000), configurator.getInitTimeoutMillis());
+
+    }
+
+    @Test
+    public void testGetSharedClusterName() throws Exception {
+
+        JsonCassandraConfigurator configurator = new JsonCassandraConfigurator(vertx);
+        assertNull(configurator.getSharedClusterName());
+
+        config.put(JsonCassandraConfigurator.CONFIG_SHARED_CLUSTER, "shared");
+
+        configurator = new JsonCassandraConfigurator(vertx);
+        assertEquals("shared", configurator.getSharedClusterName());
+
+    }
+
+    @Test
+    public void testGetPreparedStatementCacheSize() throws Exception {
+
+        JsonCassandraConfigurator configurator = new JsonCassandraConfigurator(vertx);
+        assertNull(configurator.getPreparedStatementCacheSize());
+
+        config.put(JsonCassandraConfigurator.CONFIG_PREPARED_STATEMENT_CACHE_SIZE, 50);
+
+        configurator = new JsonCassandraConfigurator(vertx);
+        assertEquals(Integer.valueOf(50), configurator.getPreparedStatementCacheSize());
+
+    }
+
+    @Test
+    public void testGetWriteCoalescingOptions() throws Exception {
+
+        JsonCassandraConfigurator configurator = new JsonCassandraConfigurator(vertx);
+        assertNull(configurator.getWriteCoalescingOptions());
+
+        config.put(JsonCassandraConfigurator.CONFIG_WRITE_COALESCING, new JsonObject()
+                .put("max_batch_size", 10)
+                .put("max_delay_millis", 5));
+
+        configurator = new JsonCassandraConfigurator(vertx);
+        WriteCoalescingOptions options = configurator.getWriteCoalescingOptions();
+        assertNotNull(options);
+        assertEquals(10, options.getMaxBatchSize());
+        assertEquals(5, options.getMaxDelayMillis());
+
+        config.put(JsonCassandraConfigurator.CONFIG_WRITE_COALESCING, new JsonObject().put("enabled", false));
+        configurator = new JsonCassandraConfigurator(vertx);
+        assertNull(configurator.getWriteCoalescingOptions());
+
+    }
+
+    @Test
+    public void testGetConcurrencyLimitOptions() throws Exception {
+
+        JsonCassandraConfigurator configurator = new JsonCassandraConfigurator(vertx);
+        assertNull(configurator.getConcurrencyLimitOptions());
+
+        config.put(JsonCassandraConfigurator.CONFIG_CONCURRENCY_LIMIT, new JsonObject()
+                .put("initial_limit", 20)
+                .put("min_limit", 2)
+                .put("max_limit", 200)
+                .put("max_queue_size", 0)
+                .put("backoff_ratio", 0.75)
+                .put("latency_threshold_millis", 50));
+
+        configurator = new JsonCassandraConfigurator(vertx);
+        ConcurrencyLimitOptions options = configurator.getConcurrencyLimitOptions();
+        assertNotNull(options);
+        assertEquals(20, options.getInitialLimit());
+        assertEquals(2, options.getMinLimit());
+        assertEquals(200, options.getMaxLimit());
+        assertEquals(0, options.getMaxQueueSize());
+        assertEquals(0.75, options.getBackoffRatio(), 0.0);
+        assertEquals(50, options.getLatencyThresholdMillis());
+
+    }
+
+    @Test
+    public void testGetResultCacheOptions() throws Exception {
+
+        JsonCassandraConfigurator configurator = new JsonCassandraConfigurator(vertx);
+        assertNull(configurator.getResultCacheOptions());
+
+        config.put(JsonCassandraConfigurator.CONFIG_RESULT_CACHE, new JsonObject()
+                .put("maximum_size", 500)
+                .put("ttl_millis", 200)
+                .put("tables", new JsonObject().put("ks.config", 5000)));
+
+        configurator = new JsonCassandraConfigurator(vertx);
+        ResultCacheOptions options = configurator.getResultCacheOptions();
+        assertNotNull(options);
+        assertEquals(500, options.getMaximumSize());
+        assertEquals(200, options.getTtlMillis());
+        assertEquals(5000, options.getTtlMillis("ks", "config"));
+        assertEquals(200, options.getTtlMillis("ks", "other"));
+        assertEquals(5000, options.getMaxTtlMillis());
+
+        config.put(JsonCassandraConfigurator.CONFIG_RESULT_CACHE, new JsonObject().put("enabled", false));
+        configurator = new JsonCassandraConfigurator(vertx);
+        assertNull(configurator.getResultCacheOptions());
+
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testGetConcurrencyLimitOptions_Invalid_Range() throws Exception {
+        config.put(JsonCassandraConfigurator.CONFIG_CONCURRENCY_LIMIT, new JsonObject()
+                .put("min_limit", 10)
+                .put("max_limit", 5));
+        new JsonCassandraConfigurator(vertx);
+    }
+
     @Test
     public void testInitPolicies_LoadBalancing_No_Policies() throws Exception {
         JsonCassandraConfigurator configurator = new JsonCassandraConfigurator(vertx);
@@ -158,6 +283,56 @@ public class JsonCassandraConfiguratorTest {
 
     }
 
+    @Test
+    public void testInitPolicies_LoadBalancing_TokenAware_LatencyAware() throws Exception {
+
+        config.put(JsonCassandraConfigurator.CONFIG_POLICIES, new JsonObject()
+                .put(JsonCassandraConfigurator.CONFIG_POLICIES_LOAD_BALANCING, new JsonObject()
+                        .put("name", "DCAwareRoundRobinPolicy")
+                        .put("local_dc", "US1")
+                        .put(JsonCassandraConfigurator.CONFIG_TOKEN_AWARE, new JsonObject()
+                                .put("shuffle_replicas", false))
+                        .put(JsonCassandraConfigurator.CONFIG_LATENCY_AWARE, new JsonObject()
+                                .put("exclusion_threshold", 2.5)
+                                .put("scale_millis", 100)
+                                .put("min_measure", 10))));
+
+        JsonCassandraConfigurator configurator = new JsonCassandraConfigurator(vertx);
+        LoadBalancingPolicy policy = configurator.getLoadBalancingPolicy();
+        assertThat(policy, instanceOf(TokenAwarePolicy.class));
+
+        policy = ((TokenAwarePolicy) policy).getChildPolicy();
+        assertThat(policy, instanceOf(LatencyAwarePolicy.class));
+        assertThat(((LatencyAwarePolicy) policy).getChildPolicy(), instanceOf(DCAwareRoundRobinPolicy.class));
+
+    }
+
+    @Test
+    public void testInitPolicies_LoadBalancing_TokenAware_Boolean() throws Exception {
+
+        config.put(JsonCassandraConfigurator.CONFIG_POLICIES, new JsonObject()
+                .put(JsonCassandraConfigurator.CONFIG_POLICIES_LOAD_BALANCING, new JsonObject()
+                        .put("name", "round_robin")
+                        .put(JsonCassandraConfigurator.CONFIG_TOKEN_AWARE, true)
+                        .put(JsonCassandraConfigurator.CONFIG_LATENCY_AWARE, false)));
+
+        JsonCassandraConfigurator configurator = new JsonCassandraConfigurator(vertx);
+        LoadBalancingPolicy policy = configurator.getLoadBalancingPolicy();
+        assertThat(policy, instanceOf(TokenAwarePolicy.class));
+        assertThat(((TokenAwarePolicy) policy).getChildPolicy(), instanceOf(RoundRobinPolicy.class));
+        assertEquals("TokenAwarePolicy(RoundRobinPolicy)", Metrics.describe(policy));
+
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInitPolicies_LoadBalancing_TokenAware_Invalid() throws Exception {
+        config.put(JsonCassandraConfigurator.CONFIG_POLICIES, new JsonObject()
+                .put(JsonCassandraConfigurator.CONFIG_POLICIES_LOAD_BALANCING, new JsonObject()
+                        .put("name", "round_robin")
+                        .put(JsonCassandraConfigurator.CONFIG_TOKEN_AWARE, "yes")));
+        new JsonCassandraConfigurator(vertx);
+    }
+
     @Test
     public void testInitPolicies_LoadBalancing_Custom() throws Exception {
 
@@ -214,6 +389,125 @@ public class JsonCassandraConfiguratorTest {
 
     }
 
+    @Test
+    public void testInitPolicies_SpeculativeExecution_No_Policies() throws Exception {
+        JsonCassandraConfigurator configurator = new JsonCassandraConfigurator(vertx);
+        assertNull(configurator.getSpeculativeExecutionPolicy());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInitPolicies_SpeculativeExecution_Missing_Name() throws Exception {
+        config.put(JsonCassandraConfigurator.CONFIG_POLICIES, new JsonObject()
+                .put(JsonCassandraConfigurator.CONFIG_POLICIES_SPECULATIVE_EXECUTION, new JsonObject()));
+        new JsonCassandraConfigurator(vertx);
+    }
+
+    @Test
+    public void testInitPolicies_SpeculativeExecution_Constant() throws Exception {
+
+        config.put(JsonCassandraConfigurator.CONFIG_POLICIES, new JsonObject()
+                .put(JsonCassandraConfigurator.CONFIG_POLICIES_SPECULATIVE_EXECUTION, new JsonObject()
+                        .put("name", "constant")
+                        .put("delay", 100)
+                        .put("max_executions", 2)));
+
+        JsonCassandraConfigurator configurator = new JsonCassandraConfigurator(vertx);
+        assertThat(configurator.getSpeculativeExecutionPolicy(), instanceOf(ConstantSpeculativeExecutionPolicy.class));
+
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInitPolicies_SpeculativeExecution_Constant_Missing_Delay() throws Exception {
+        config.put(JsonCassandraConfigurator.CONFIG_POLICIES, new JsonObject()
+                .put(JsonCassandraConfigurator.CONFIG_POLICIES_SPECULATIVE_EXECUTION, new JsonObject()
+                        .put("name", "constant")
+                        .put("max_executions", 2)));
+        new JsonCassandraConfigurator(vertx);
+    }
+
+    @Test
+    public void testInitPolicies_SpeculativeExecution_Percentile() throws Exception {
+
+        config.put(JsonCassandraConfigurator.CONFIG_POLICIES, new JsonObject()
+                .put(JsonCassandraConfigurator.CONFIG_POLICIES_SPECULATIVE_EXECUTION, new JsonObject()
+                        .put("name", "percentile")
+                        .put("percentile", 99.0)
+                        .put("max_executions", 1)
+                        .put("highest_trackable_latency_millis", 5000)
+                        .put("interval_millis", 10000)
+                        .put("min_recorded_values", 50)));
+
+        JsonCassandraConfigurator configurator = new JsonCassandraConfigurator(vertx);
+        assertThat(configurator.getSpeculativeExecutionPolicy(), instanceOf(PercentileSpeculativeExecutionPolicy.class));
+
+    }
+
+    @Test
+    public void testInitPolicies_SpeculativeExecution_None() throws Exception {
+
+        config.put(JsonCassandraConfigurator.CONFIG_POLICIES, new JsonObject()
+                .put(JsonCassandraConfigurator.CONFIG_POLICIES_SPECULATIVE_EXECUTION, new JsonObject()
+                        .put("name", "none")));
+
+        JsonCassandraConfigurator configurator = new JsonCassandraConfigurator(vertx);
+        assertEquals(NoSpeculativeExecutionPolicy.INSTANCE, configurator.getSpeculativeExecutionPolicy());
+
+    }
+
+    @Test
+    public void testInitPolicies_Retry_No_Policies() throws Exception {
+        JsonCassandraConfigurator configurator = new JsonCassandraConfigurator(vertx);
+        assertNull(configurator.getRetryPolicy());
+        assertNull(configurator.getBackoffRetryOptions());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInitPolicies_Retry_Missing_Name() throws Exception {
+        config.put(JsonCassandraConfigurator.CONFIG_POLICIES, new JsonObject()
+                .put(JsonCassandraConfigurator.CONFIG_POLICIES_RETRY, new JsonObject()));
+        new JsonCassandraConfigurator(vertx);
+    }
+
+    @Test
+    public void testInitPolicies_Retry_Named() throws Exception {
+
+        config.put(JsonCassandraConfigurator.CONFIG_POLICIES, new JsonObject()
+                .put(JsonCassandraConfigurator.CONFIG_POLICIES_RETRY, new JsonObject()
+                        .put("name", "fallthrough")));
+        JsonCassandraConfigurator configurator = new JsonCassandraConfigurator(vertx);
+        assertEquals(FallthroughRetryPolicy.INSTANCE, configurator.getRetryPolicy());
+
+        config.put(JsonCassandraConfigurator.CONFIG_POLICIES, new JsonObject()
+                .put(JsonCassandraConfigurator.CONFIG_POLICIES_RETRY, new JsonObject()
+                        .put("name", "downgrading")
+                        .put("logging", true)));
+        configurator = new JsonCassandraConfigurator(vertx);
+        assertThat(configurator.getRetryPolicy(), instanceOf(LoggingRetryPolicy.class));
+        assertNull(configurator.getBackoffRetryOptions());
+
+    }
+
+    @Test
+    public void testInitPolicies_Retry_Backoff() throws Exception {
+
+        config.put(JsonCassandraConfigurator.CONFIG_POLICIES, new JsonObject()
+                .put(JsonCassandraConfigurator.CONFIG_POLICIES_RETRY, new JsonObject()
+                        .put("name", "backoff")
+                        .put("max_retries", 5)
+                        .put("base_delay_millis", 20)
+                        .put("max_delay_millis", 500)));
+
+        JsonCassandraConfigurator configurator = new JsonCassandraConfigurator(vertx);
+        assertThat(configurator.getRetryPolicy(), instanceOf(BackoffRetryPolicy.class));
+
+        BackoffRetryOptions options = configurator.getBackoffRetryOptions();
+        assertNotNull(options);
+        assertEquals(5, options.getMaxRetries());
+        assertEquals(20, options.getBaseDelayMillis());
+        assertEquals(500, options.getMaxDelayMillis());
+
+    }
+
     @Test
     public void testInitPolicies_Reconnection_Custom() throws Exception {
 
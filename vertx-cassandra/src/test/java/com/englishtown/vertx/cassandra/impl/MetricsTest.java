@@ -0,0 +1,89 @@
+package com.englishtown.vertx.cassandra.impl;
+
+import com.codahale.metrics.Snapshot;
+import com.codahale.metrics.Timer;
+import com.datastax.driver.core.BatchStatement;
+import com.datastax.driver.core.SimpleStatement;
+import com.google.common.util.concurrent.FutureCallback;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Unit tests for {@link Metrics} latency timers
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class MetricsTest {
+
+    @Mock
+    DefaultCassandraSession session;
+    @Mock
+    FutureCallback<String> callback;
+
+    private Metrics metrics;
+
+    @Before
+    public void setUp() throws Exception {
+        metrics = new Metrics(session);
+    }
+
+    @Test
+    public void testGetLabel() throws Exception {
+
+        assertEquals("select.ks.users", metrics.getLabel("SELECT * FROM ks.users WHERE id = ?"));
+        assertEquals("select.users", metrics.getLabel("select id,\n name from users"));
+        assertEquals("insert.ks.users", metrics.getLabel("INSERT INTO \"ks\".\"users\" (id) VALUES (?)"));
+        assertEquals("update.ks.users", metrics.getLabel("UPDATE ks.users SET name = ? WHERE id = ?"));
+        assertEquals("delete.ks.users", metrics.getLabel("DELETE name FROM ks.users WHERE id = ?"));
+        assertEquals("create", metrics.getLabel("CREATE TABLE ks.users (id text PRIMARY KEY)"));
+        assertEquals(Metrics.LABEL_OTHER, metrics.getLabel((String) null));
+
+        assertEquals("select.ks.users", metrics.getLabel(new SimpleStatement("SELECT * FROM ks.users")));
+        assertEquals(Metrics.LABEL_BATCH, metrics.getLabel(new BatchStatement()));
+
+    }
+
+    @Test
+    public void testGetLatencyTimer_Bounded() throws Exception {
+
+        for (int i = 0; i < Metrics.MAX_LATENCY_LABELS; i++) {
+            metrics.getLatencyTimer("label" + i);
+        }
+
+        Timer other = metrics.getLatencyTimer(Metrics.LABEL_OTHER);
+        assertSame(other, metrics.getLatencyTimer("overflow"));
+        assertSame(metrics.getLatencyTimer("label0"), metrics.getLatencyTimer("label0"));
+
+    }
+
+    @Test
+    public void testTimed() throws Exception {
+
+        metrics.timed("select.ks.users", callback).onSuccess("result");
+        verify(callback).onSuccess("result");
+
+        Handler<AsyncResult<String>> handler = mock(Handler.class);
+        AsyncResult<String> result = Future.failedFuture("Unit test failure");
+        metrics.timed("select.ks.users", handler).handle(result);
+        verify(handler).handle(result);
+
+        Timer timer = metrics.getLatencyTimer("select.ks.users");
+        assertEquals(2, timer.getCount());
+
+        Snapshot snapshot = timer.getSnapshot();
+        assertEquals(2, snapshot.size());
+        assertTrue(snapshot.getMax() >= snapshot.getMin());
+        assertTrue(snapshot.get99thPercentile() >= snapshot.getMedian());
+
+    }
+
+}
@@ -0,0 +1,171 @@
+package com.englishtown.vertx.cassandra.impl;
+
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.Row;
+import com.google.common.util.concurrent.SettableFuture;
+import io.vertx.core.Context;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for {@link PagingReadStream}
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class PagingReadStreamTest {
+
+    private static final int PAGE_SIZE = 10;
+    private static final int TOTAL_ROWS = 25;
+
+    @Mock
+    Vertx vertx;
+    @Mock
+    Context context;
+    @Mock
+    ResultSet resultSet;
+
+    private List<Row> rows = new ArrayList<>();
+    private List<Row> emitted = new ArrayList<>();
+    private int position;
+    private int fetched;
+    private int fetchCount;
+    private boolean ended;
+    private SettableFuture<ResultSet> firstPage;
+    private SettableFuture<ResultSet> nextPage;
+
+    @Before
+    public void setUp() throws Exception {
+
+        when(vertx.getOrCreateContext()).thenReturn(context);
+        doAnswer(invocation -> {
+            Handler<Void> handler = (Handler<Void>) invocation.getArguments()[0];
+            handler.handle(null);
+            return null;
+        }).when(context).runOnContext(any());
+
+        for (int i = 0; i < TOTAL_ROWS; i++) {
+            rows.add(mock(Row.class));
+        }
+
+        when(resultSet.getAvailableWithoutFetching()).thenAnswer(invocation -> fetched - position);
+        when(resultSet.isFullyFetched()).thenAnswer(invocation -> fetched == rows.size());
+        when(resultSet.one()).thenAnswer(invocation -> rows.get(position++));
+        when(resultSet.fetchMoreResults()).thenAnswer(invocation -> {
+            fetchCount++;
+            nextPage = SettableFuture.create();
+            return nextPage;
+        });
+
+        firstPage = SettableFuture.create();
+
+    }
+
+    private PagingReadStream<ResultSet, Row> createStream() {
+        PagingReadStream<ResultSet, Row> stream = new PagingReadStream<>(firstPage, vertx);
+        stream.endHandler(aVoid -> ended = true);
+        return stream;
+    }
+
+    private void completePage(SettableFuture<ResultSet> future) {
+        fetched = Math.min(fetched + PAGE_SIZE, rows.size());
+        future.set(resultSet);
+    }
+
+    @Test
+    public void testStream() throws Exception {
+
+        createStream().handler(emitted::add);
+        completePage(firstPage);
+
+        // Half the first page consumed triggers a prefetch
+        assertEquals(1, fetchCount);
+        assertEquals(PAGE_SIZE, emitted.size());
+
+        completePage(nextPage);
+        assertEquals(2, fetchCount);
+        assertEquals(2 * PAGE_SIZE, emitted.size());
+        assertFalse(ended);
+
+        completePage(nextPage);
+        assertEquals(2, fetchCount);
+        assertEquals(rows, emitted);
+        assertTrue(ended);
+
+    }
+
+    @Test
+    public void testPauseResume() throws Exception {
+
+        PagingReadStream<ResultSet, Row> stream = createStream();
+        stream.handler(row -> {
+            emitted.add(row);
+            if (emitted.size() == 3) {
+                stream.pause();
+            }
+        });
+        completePage(firstPage);
+
+        assertEquals(3, emitted.size());
+        assertEquals(0, fetchCount);
+
+        stream.resume();
+        assertEquals(PAGE_SIZE, emitted.size());
+        assertEquals(1, fetchCount);
+
+    }
+
+    @Test
+    public void testFetch() throws Exception {
+
+        PagingReadStream<ResultSet, Row> stream = createStream();
+        stream.pause();
+        stream.handler(emitted::add);
+        completePage(firstPage);
+        assertTrue(emitted.isEmpty());
+
+        stream.fetch(4);
+        assertEquals(4, emitted.size());
+        assertEquals(0, fetchCount);
+
+        stream.fetch(2);
+        assertEquals(6, emitted.size());
+        assertEquals(1, fetchCount);
+
+        // Paused with no more rows available, nothing is emitted until the next page arrives
+        stream.fetch(20);
+        assertEquals(PAGE_SIZE, emitted.size());
+        completePage(nextPage);
+        assertEquals(20, emitted.size());
+        assertEquals(2, fetchCount);
+
+    }
+
+    @Test
+    public void testFailure() throws Exception {
+
+        List<Throwable> errors = new ArrayList<>();
+        PagingReadStream<ResultSet, Row> stream = createStream();
+        stream.handler(emitted::add);
+
+        RuntimeException e = new RuntimeException("Unit test exception");
+        firstPage.setException(e);
+
+        stream.exceptionHandler(errors::add);
+        assertEquals(1, errors.size());
+        assertEquals(e, errors.get(0));
+        assertTrue(emitted.isEmpty());
+        assertFalse(ended);
+
+    }
+
+}
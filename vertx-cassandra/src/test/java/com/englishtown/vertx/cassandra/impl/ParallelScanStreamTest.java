@@ -0,0 +1,168 @@
+package com.englishtown.vertx.cassandra.impl;
+
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.Row;
+import com.datastax.driver.core.Statement;
+import com.englishtown.vertx.cassandra.CassandraSession;
+import com.google.common.util.concurrent.SettableFuture;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for {@link ParallelScanStream}
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class ParallelScanStreamTest {
+
+    @Mock
+    CassandraSession session;
+    @Mock
+    Vertx vertx;
+    @Mock
+    Context context;
+
+    private List<Statement> statements = new ArrayList<>();
+    private List<Handler<AsyncResult<ResultSet>>> executing = new ArrayList<>();
+    private List<Row> emitted = new ArrayList<>();
+    private boolean ended;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setUp() throws Exception {
+
+        when(vertx.getOrCreateContext()).thenReturn(context);
+        doAnswer(invocation -> {
+            Handler<Void> handler = (Handler<Void>) invocation.getArguments()[0];
+            handler.handle(null);
+            return null;
+        }).when(context).runOnContext(any());
+
+        doAnswer(invocation -> {
+            executing.add((Handler<AsyncResult<ResultSet>>) invocation.getArguments()[1]);
+            return null;
+        }).when(session).executeAsync(any(Statement.class), any(Handler.class));
+
+        for (int i = 0; i < 3; i++) {
+            statements.add(mock(Statement.class));
+        }
+    }
+
+    private ParallelScanStream createStream(int parallelism) {
+        ParallelScanStream stream = new ParallelScanStream(Future.succeededFuture(statements), parallelism, session, vertx);
+        stream.endHandler(aVoid -> ended = true);
+        return stream;
+    }
+
+    private ResultSet page(SettableFuture<ResultSet> nextPage, Row... rows) {
+        List<Row> page = new ArrayList<>(Arrays.asList(rows));
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getAvailableWithoutFetching()).thenAnswer(invocation -> page.size());
+        when(rs.one()).thenAnswer(invocation -> page.remove(0));
+        when(rs.isFullyFetched()).thenReturn(nextPage == null);
+        when(rs.fetchMoreResults()).thenReturn(nextPage);
+        return rs;
+    }
+
+    private void complete(int index, ResultSet rs) {
+        executing.get(index).handle(Future.succeededFuture(rs));
+    }
+
+    @Test
+    public void testScan_Parallelism() throws Exception {
+
+        ParallelScanStream stream = createStream(2);
+        stream.handler(emitted::add);
+        assertEquals(2, executing.size());
+
+        complete(1, page(null, mock(Row.class), mock(Row.class)));
+        assertEquals(2, emitted.size());
+        // The finished statement frees a slot for the next one
+        assertEquals(3, executing.size());
+
+        complete(0, page(null, mock(Row.class)));
+        assertFalse(ended);
+        complete(2, page(null));
+
+        assertEquals(3, emitted.size());
+        assertTrue(ended);
+
+    }
+
+    @Test
+    public void testScan_Paused() throws Exception {
+
+        ParallelScanStream stream = createStream(1);
+        stream.handler(emitted::add);
+        stream.pause();
+
+        SettableFuture<ResultSet> nextPage = SettableFuture.create();
+        ResultSet first = page(nextPage, mock(Row.class), mock(Row.class));
+        complete(0, first);
+        assertEquals(0, emitted.size());
+
+        // The next page is only fetched once the current one has been consumed
+        stream.fetch(1);
+        assertEquals(1, emitted.size());
+        verify(first, never()).fetchMoreResults();
+        stream.fetch(1);
+        assertEquals(2, emitted.size());
+        verify(first).fetchMoreResults();
+        assertEquals(1, executing.size());
+
+        stream.resume();
+        nextPage.set(page(null, mock(Row.class)));
+        assertEquals(3, emitted.size());
+        assertEquals(2, executing.size());
+
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testScan_Failure() throws Exception {
+
+        Handler<Throwable> exceptionHandler = mock(Handler.class);
+        ParallelScanStream stream = createStream(2);
+        stream.handler(emitted::add).exceptionHandler(exceptionHandler);
+
+        Throwable t = new RuntimeException("Unit test exception");
+        executing.get(0).handle(Future.failedFuture(t));
+        complete(1, page(null, mock(Row.class)));
+
+        verify(exceptionHandler).handle(t);
+        assertEquals(0, emitted.size());
+        assertEquals(2, executing.size());
+        assertFalse(ended);
+
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testScan_Statements_Failure() throws Exception {
+
+        Handler<Throwable> exceptionHandler = mock(Handler.class);
+        Throwable t = new RuntimeException("Unit test exception");
+        ParallelScanStream stream = new ParallelScanStream(Future.failedFuture(t), 2, session, vertx);
+        stream.exceptionHandler(exceptionHandler);
+
+        verify(exceptionHandler).handle(t);
+        verifyZeroInteractions(session);
+
+    }
+
+}
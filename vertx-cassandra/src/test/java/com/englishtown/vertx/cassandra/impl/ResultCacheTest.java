@@ -0,0 +1,180 @@
+package com.englishtown.vertx.cassandra.impl;
+
+import com.datastax.driver.core.*;
+import com.englishtown.vertx.cassandra.CacheableStatement;
+import com.englishtown.vertx.cassandra.ResultCacheOptions;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.SettableFuture;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for {@link ResultCache}
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class ResultCacheTest {
+
+    @Mock
+    Metrics metrics;
+    @Mock
+    PreparedStatement prepared;
+    @Mock
+    ColumnDefinitions variables;
+    @Mock
+    ResultSet resultSet;
+    @Mock
+    Row row1;
+    @Mock
+    Row row2;
+
+    private ResultCacheOptions options = new ResultCacheOptions();
+    private List<SettableFuture<ResultSet>> executions = new ArrayList<>();
+    private ResultCache cache;
+
+    @Before
+    public void setUp() throws Exception {
+        when(prepared.getQueryString()).thenReturn("SELECT * FROM ks.config WHERE id = ?");
+        when(prepared.getVariables()).thenReturn(variables);
+        when(variables.size()).thenReturn(1);
+        when(variables.getKeyspace(0)).thenReturn("ks");
+        when(variables.getTable(0)).thenReturn("config");
+
+        when(resultSet.isFullyFetched()).thenReturn(true);
+        when(resultSet.all()).thenReturn(Arrays.asList(row1, row2));
+
+        cache = new ResultCache(options, metrics);
+    }
+
+    private CacheableStatement statement(int id) {
+        BoundStatement bound = mock(BoundStatement.class);
+        when(bound.preparedStatement()).thenReturn(prepared);
+        when(bound.isSet(0)).thenReturn(true);
+        when(bound.getBytesUnsafe(0)).thenReturn(ByteBuffer.wrap(new byte[]{(byte) id}));
+        return new CacheableStatement(bound);
+    }
+
+    private ListenableFuture<ResultSet> execute(CacheableStatement statement) {
+        return cache.execute(statement, s -> {
+            SettableFuture<ResultSet> future = SettableFuture.create();
+            executions.add(future);
+            return future;
+        });
+    }
+
+    @Test
+    public void testExecute_Coalesced_And_Cached() throws Exception {
+
+        ListenableFuture<ResultSet> first = execute(statement(1));
+        ListenableFuture<ResultSet> second = execute(statement(1));
+        assertEquals(1, executions.size());
+
+        executions.get(0).set(resultSet);
+        ListenableFuture<ResultSet> third = execute(statement(1));
+        assertEquals(1, executions.size());
+
+        // Each caller reads the rows independently
+        assertEquals(Arrays.asList(row1, row2), first.get().all());
+        assertEquals(Arrays.asList(row1, row2), second.get().all());
+        assertEquals(row1, third.get().one());
+        assertEquals(1, third.get().getAvailableWithoutFetching());
+
+        verify(metrics, times(1)).onResultCacheMiss();
+        verify(metrics, times(2)).onResultCacheHit();
+
+    }
+
+    @Test
+    public void testExecute_Different_Values() throws Exception {
+
+        execute(statement(1));
+        execute(statement(2));
+        assertEquals(2, executions.size());
+
+    }
+
+    @Test
+    public void testExecute_Expired() throws Exception {
+
+        options.setTableTtlMillis("ks", "config", 1);
+        cache = new ResultCache(options, metrics);
+
+        execute(statement(1));
+        executions.get(0).set(resultSet);
+        Thread.sleep(5);
+
+        execute(statement(1));
+        assertEquals(2, executions.size());
+
+    }
+
+    @Test
+    public void testExecute_Paged() throws Exception {
+
+        // The last page of a query is fully fetched, but is not the result of the first page query
+        CacheableStatement lastPage = statement(1);
+        lastPage.setPagingStateUnsafe(new byte[]{1});
+        execute(lastPage);
+        executions.get(0).set(resultSet);
+
+        execute(statement(1));
+        assertEquals(2, executions.size());
+        verify(metrics, never()).onResultCacheHit();
+
+        CacheableStatement fetchSize = statement(1);
+        when(fetchSize.getStatement().getFetchSize()).thenReturn(10);
+        execute(fetchSize);
+        assertEquals(3, executions.size());
+
+    }
+
+    @Test
+    public void testExecute_Not_Fully_Fetched() throws Exception {
+
+        when(resultSet.isFullyFetched()).thenReturn(false);
+
+        ListenableFuture<ResultSet> first = execute(statement(1));
+        ListenableFuture<ResultSet> second = execute(statement(1));
+        executions.get(0).set(resultSet);
+
+        // The first caller gets the paged result set, the coalesced caller executes the statement itself
+        assertSame(resultSet, first.get());
+        assertFalse(second.isDone());
+        assertEquals(2, executions.size());
+
+        execute(statement(1));
+        assertEquals(3, executions.size());
+
+    }
+
+    @Test
+    public void testExecute_Failure() throws Exception {
+
+        ListenableFuture<ResultSet> first = execute(statement(1));
+        Throwable t = new RuntimeException("Unit test exception");
+        executions.get(0).setException(t);
+
+        try {
+            first.get();
+            fail();
+        } catch (ExecutionException e) {
+            assertEquals(t, e.getCause());
+        }
+
+        execute(statement(1));
+        assertEquals(2, executions.size());
+
+    }
+
+}
@@ -0,0 +1,255 @@
+package com.englishtown.vertx.cassandra.impl;
+
+import com.datastax.driver.core.*;
+import com.englishtown.vertx.cassandra.CassandraSession;
+import com.englishtown.vertx.cassandra.SchemaOptions;
+import com.englishtown.vertx.cassandra.keyspacebuilder.KeyspaceBuilder;
+import com.englishtown.vertx.cassandra.tablebuilder.TableBuilder;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import java.util.*;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.Assert.*;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for {@link SchemaApplier}
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class SchemaApplierTest {
+
+    private static final UUID HOST_ID_1 = UUID.randomUUID();
+    private static final UUID HOST_ID_2 = UUID.randomUUID();
+    private static final UUID VERSION_1 = UUID.randomUUID();
+    private static final UUID VERSION_2 = UUID.randomUUID();
+
+    @Mock
+    CassandraSession session;
+    @Mock
+    Vertx vertx;
+    @Mock
+    Cluster cluster;
+    @Mock
+    Metadata metadata;
+    @Mock
+    Host host1;
+    @Mock
+    Host host2;
+    @Mock
+    ResultSet resultSet;
+    @Mock
+    ExecutionInfo executionInfo;
+    @Mock
+    Handler<AsyncResult<Void>> handler;
+
+    private List<Statement> statements = new ArrayList<>();
+    private List<Handler<AsyncResult<ResultSet>>> inFlight = new ArrayList<>();
+    private Deque<UUID> versions = new ArrayDeque<>();
+    private SchemaOptions options = new SchemaOptions();
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setUp() throws Exception {
+        when(session.getCluster()).thenReturn(cluster);
+        when(session.getLoggedKeyspace()).thenReturn("ks");
+        when(cluster.getMetadata()).thenReturn(metadata);
+        when(metadata.getAllHosts()).thenReturn(new HashSet<>(Arrays.asList(host1, host2)));
+        when(host1.isUp()).thenReturn(true);
+        when(host1.getHostId()).thenReturn(HOST_ID_1);
+        when(host2.isUp()).thenReturn(true);
+        when(host2.getHostId()).thenReturn(HOST_ID_2);
+        when(resultSet.getExecutionInfo()).thenReturn(executionInfo);
+        when(executionInfo.isSchemaInAgreement()).thenReturn(true);
+
+        doAnswer(invocation -> {
+            statements.add((Statement) invocation.getArguments()[0]);
+            inFlight.add((Handler<AsyncResult<ResultSet>>) invocation.getArguments()[1]);
+            return null;
+        }).when(session).executeAsync(any(Statement.class), any(Handler.class));
+
+        // The local host reports the next polled version and its peer the one after
+        doAnswer(invocation -> {
+            String query = (String) invocation.getArguments()[0];
+            UUID hostId = SchemaApplier.LOCAL_VERSIONS.equals(query) ? HOST_ID_1 : HOST_ID_2;
+            ResultSet versionResult = versionResult(hostId, versions.poll());
+            ((Handler<AsyncResult<ResultSet>>) invocation.getArguments()[1]).handle(
+                    Future.succeededFuture(versionResult));
+            return null;
+        }).when(session).executeAsync(anyString(), any(Handler.class));
+
+        doAnswer(invocation -> {
+            ((Handler<Long>) invocation.getArguments()[1]).handle(1L);
+            return 1L;
+        }).when(vertx).setTimer(anyLong(), any(Handler.class));
+    }
+
+    private ResultSet versionResult(UUID hostId, UUID version) {
+        Row row = mock(Row.class);
+        when(row.getUUID("host_id")).thenReturn(hostId);
+        when(row.getUUID("schema_version")).thenReturn(version);
+
+        ResultSet versionResult = mock(ResultSet.class);
+        when(versionResult.iterator()).thenAnswer(invocation -> Collections.singletonList(row).iterator());
+        return versionResult;
+    }
+
+    private void apply(RegularStatement... schema) {
+        new SchemaApplier(session, options, vertx).apply(Arrays.asList(schema), handler);
+    }
+
+    private void complete(int index) {
+        inFlight.get(index).handle(Future.succeededFuture(resultSet));
+    }
+
+    @SuppressWarnings("unchecked")
+    private AsyncResult<Void> result() {
+        ArgumentCaptor<AsyncResult<Void>> captor = ArgumentCaptor.forClass((Class) AsyncResult.class);
+        verify(handler).handle(captor.capture());
+        return captor.getValue();
+    }
+
+    @Test
+    public void testApply_Empty() throws Exception {
+
+        apply();
+
+        assertTrue(result().succeeded());
+        verify(session, never()).executeAsync(any(Statement.class), any(Handler.class));
+
+    }
+
+    @Test
+    public void testApply_Pipelines_Independent_Tables() throws Exception {
+
+        RegularStatement keyspace = KeyspaceBuilder.create("ks");
+        RegularStatement table1 = TableBuilder.create("ks", "table1");
+        RegularStatement table2 = TableBuilder.create(null, "table2");
+        RegularStatement alter1 = TableBuilder.alter("KS", "TABLE1");
+        apply(keyspace, table1, table2, alter1);
+
+        // The tables wait for their keyspace
+        assertEquals(Collections.singletonList(keyspace), statements);
+        complete(0);
+        assertEquals(Arrays.asList(keyspace, table1, table2), statements);
+
+        // The alter waits for the create of the same table
+        complete(2);
+        assertEquals(3, statements.size());
+        complete(1);
+        assertEquals(Arrays.asList(keyspace, table1, table2, alter1), statements);
+
+        verifyZeroInteractions(handler);
+        complete(3);
+        assertTrue(result().succeeded());
+
+    }
+
+    @Test
+    public void testApply_Other_Statements_Are_Barriers() throws Exception {
+
+        RegularStatement table1 = TableBuilder.create("ks", "table1");
+        RegularStatement other = new SimpleStatement("CREATE TYPE ks.address (street text)");
+        RegularStatement table2 = TableBuilder.create("ks", "table2");
+        apply(table1, other, table2);
+
+        assertEquals(Collections.singletonList(table1), statements);
+        complete(0);
+        assertEquals(Arrays.asList(table1, other), statements);
+        complete(1);
+        assertEquals(Arrays.asList(table1, other, table2), statements);
+
+    }
+
+    @Test
+    public void testApply_Max_Concurrency() throws Exception {
+
+        options.setMaxConcurrency(2);
+        apply(TableBuilder.create("ks", "table1"), TableBuilder.create("ks", "table2"),
+                TableBuilder.create("other", "table3"));
+
+        assertEquals(2, statements.size());
+        complete(0);
+        assertEquals(3, statements.size());
+
+    }
+
+    @Test
+    public void testApply_Failure() throws Exception {
+
+        apply(TableBuilder.create("ks", "table1"), TableBuilder.create("ks", "table2"),
+                TableBuilder.drop("ks", "table1"));
+
+        RuntimeException e = new RuntimeException("Unit test exception");
+        inFlight.get(0).handle(Future.failedFuture(e));
+
+        // Waits for the statements in flight and starts no more
+        verifyZeroInteractions(handler);
+        complete(1);
+        assertEquals(2, statements.size());
+
+        assertSame(e, result().cause());
+
+    }
+
+    @Test
+    public void testApply_Awaits_Agreement() throws Exception {
+
+        when(executionInfo.isSchemaInAgreement()).thenReturn(false);
+        versions.addAll(Arrays.asList(VERSION_1, VERSION_2, VERSION_2, VERSION_2));
+
+        RegularStatement create = TableBuilder.create("ks", "table1");
+        RegularStatement alter = TableBuilder.alter("ks", "table1");
+        apply(create, alter);
+
+        // Agreed on the second poll
+        complete(0);
+        verify(vertx).setTimer(eq(options.getAgreementPollIntervalMillis()), any());
+        assertEquals(Arrays.asList(create, alter), statements);
+        assertTrue(versions.isEmpty());
+
+    }
+
+    @Test
+    public void testApply_Agreement_Timeout() throws Exception {
+
+        when(executionInfo.isSchemaInAgreement()).thenReturn(false);
+        versions.addAll(Arrays.asList(VERSION_1, VERSION_2));
+        options.setAgreementTimeoutMillis(0);
+
+        apply(TableBuilder.create("ks", "table1"), TableBuilder.alter("ks", "table1"));
+        complete(0);
+
+        assertTrue(result().cause() instanceof TimeoutException);
+        assertEquals(1, statements.size());
+
+    }
+
+    @Test
+    public void testApply_Ignores_Down_Hosts() throws Exception {
+
+        when(executionInfo.isSchemaInAgreement()).thenReturn(false);
+        when(host2.isUp()).thenReturn(false);
+        versions.addAll(Arrays.asList(VERSION_1, VERSION_2));
+
+        apply(TableBuilder.create("ks", "table1"));
+        complete(0);
+
+        assertTrue(result().succeeded());
+        verify(vertx, never()).setTimer(anyLong(), any());
+
+    }
+
+}
@@ -0,0 +1,101 @@
+package com.englishtown.vertx.cassandra.impl;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.net.NetClient;
+import io.vertx.core.net.NetClientOptions;
+import io.vertx.core.net.NetSocket;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for {@link SeedProber}
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class SeedProberTest {
+
+    @Mock
+    Vertx vertx;
+    @Mock
+    NetClient client;
+    @Mock
+    NetSocket socket;
+
+    private List<String> seeds = Arrays.asList("10.0.0.1", "10.0.0.2", "10.0.0.3");
+    private List<String> result;
+    private SeedProber prober;
+
+    @Before
+    public void setUp() throws Exception {
+        when(vertx.createNetClient(any(NetClientOptions.class))).thenReturn(client);
+        prober = new SeedProber(vertx, 1000);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Handler<AsyncResult<NetSocket>> connectHandler(String seed) {
+        ArgumentCaptor<Handler> captor = ArgumentCaptor.forClass(Handler.class);
+        verify(client).connect(eq(9042), eq(seed), captor.capture());
+        return captor.getValue();
+    }
+
+    @Test
+    public void testProbe() throws Exception {
+
+        prober.probe(seeds, 9042, s -> result = s);
+
+        // All seeds are probed at once
+        Handler<AsyncResult<NetSocket>> seed1 = connectHandler("10.0.0.1");
+        Handler<AsyncResult<NetSocket>> seed2 = connectHandler("10.0.0.2");
+        Handler<AsyncResult<NetSocket>> seed3 = connectHandler("10.0.0.3");
+
+        seed3.handle(Future.succeededFuture(socket));
+        seed1.handle(Future.failedFuture("Unit test connection refused"));
+        assertNull(result);
+
+        seed2.handle(Future.succeededFuture(socket));
+        assertEquals(Arrays.asList("10.0.0.3", "10.0.0.2"), result);
+        verify(socket, times(2)).close();
+        verify(client).close();
+
+    }
+
+    @Test
+    public void testProbe_None_Reachable() throws Exception {
+
+        prober.probe(seeds, 9042, s -> result = s);
+
+        for (String seed : seeds) {
+            connectHandler(seed).handle(Future.failedFuture("Unit test connection refused"));
+        }
+        assertEquals(seeds, result);
+
+    }
+
+    @Test
+    public void testProbe_Single_Seed() throws Exception {
+
+        List<String> seeds = Collections.singletonList("10.0.0.1");
+        prober.probe(seeds, 9042, s -> result = s);
+
+        assertEquals(seeds, result);
+        verifyZeroInteractions(vertx);
+
+    }
+
+}
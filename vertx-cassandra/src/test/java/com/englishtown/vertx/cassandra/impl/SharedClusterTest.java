@@ -0,0 +1,128 @@
+package com.englishtown.vertx.cassandra.impl;
+
+import com.datastax.driver.core.Cluster;
+import com.datastax.driver.core.Session;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.shareddata.LocalMap;
+import io.vertx.core.shareddata.SharedData;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for {@link SharedCluster}
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class SharedClusterTest {
+
+    @Mock
+    Vertx vertx;
+    @Mock
+    Context context;
+    @Mock
+    SharedData sharedData;
+    @Mock
+    LocalMap<String, SharedCluster> localMap;
+    @Mock
+    Cluster cluster;
+    @Mock
+    Session session;
+    @Mock
+    Handler<AsyncResult<Session>> handler;
+
+    private Map<String, SharedCluster> map = new HashMap<>();
+
+    @Before
+    public void setUp() throws Exception {
+        when(vertx.sharedData()).thenReturn(sharedData);
+        when(sharedData.<String, SharedCluster>getLocalMap(SharedCluster.MAP_NAME)).thenReturn(localMap);
+        when(localMap.get(anyString())).thenAnswer(invocation -> map.get(invocation.getArguments()[0]));
+        when(localMap.put(anyString(), any())).thenAnswer(invocation ->
+                map.put((String) invocation.getArguments()[0], (SharedCluster) invocation.getArguments()[1]));
+        when(localMap.remove(anyString())).thenAnswer(invocation -> map.remove(invocation.getArguments()[0]));
+
+        when(vertx.getOrCreateContext()).thenReturn(context);
+        doAnswer(invocation -> {
+            Handler<Void> h = (Handler<Void>) invocation.getArguments()[0];
+            h.handle(null);
+            return null;
+        }).when(context).runOnContext(any());
+    }
+
+    @Test
+    public void testAcquire_Release() throws Exception {
+
+        SharedCluster shared = SharedCluster.acquire(vertx, "test");
+        assertSame(shared, SharedCluster.acquire(vertx, "test"));
+        assertNotSame(shared, SharedCluster.acquire(vertx, "other"));
+
+        // Only the first session connects
+        assertTrue(shared.startConnect());
+        assertFalse(shared.startConnect());
+
+        shared.onConnected(vertx, handler);
+        verify(handler, never()).handle(any());
+
+        shared.connected(cluster, Future.succeededFuture(session));
+        verify(handler).handle(any());
+        assertEquals(cluster, shared.getCluster());
+        assertEquals(session, shared.getSession());
+
+        // Sessions registering later get the result immediately
+        Handler<AsyncResult<Session>> late = mock(Handler.class);
+        shared.onConnected(vertx, late);
+        verify(late).handle(any());
+
+        shared.release();
+        verify(cluster, never()).closeAsync();
+        assertSame(shared, map.get("test"));
+
+        shared.release();
+        verify(cluster).closeAsync();
+        assertNull(map.get("test"));
+
+    }
+
+    @Test
+    public void testConnected_Failed() throws Exception {
+
+        SharedCluster shared = SharedCluster.acquire(vertx, "test");
+        assertTrue(shared.startConnect());
+        shared.onConnected(vertx, handler);
+
+        shared.connected(null, Future.failedFuture("Unit test exception"));
+        verify(handler).handle(any());
+        assertNull(shared.getSession());
+
+        // A new session starts over
+        assertNotSame(shared, SharedCluster.acquire(vertx, "test"));
+
+    }
+
+    @Test
+    public void testRelease_While_Connecting() throws Exception {
+
+        SharedCluster shared = SharedCluster.acquire(vertx, "test");
+        assertTrue(shared.startConnect());
+        shared.release();
+
+        shared.connected(cluster, Future.succeededFuture(session));
+        verify(cluster).closeAsync();
+
+    }
+
+}
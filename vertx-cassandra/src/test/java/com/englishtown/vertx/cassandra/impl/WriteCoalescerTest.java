@@ -0,0 +1,314 @@
+package com.englishtown.vertx.cassandra.impl;
+
+import com.datastax.driver.core.*;
+import com.datastax.driver.core.policies.FallthroughRetryPolicy;
+import com.englishtown.vertx.cassandra.WriteCoalescingOptions;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.SettableFuture;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.Assert.*;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for {@link WriteCoalescer}
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class WriteCoalescerTest {
+
+    private static final String INSERT = "INSERT INTO ks.t (id, c, v) VALUES (?, ?, ?)";
+
+    @Mock
+    Vertx vertx;
+    @Mock
+    Metrics metrics;
+    @Mock
+    ResultSet resultSet;
+    @Mock
+    Cluster cluster;
+    @Mock
+    Configuration configuration;
+    @Mock
+    ProtocolOptions protocolOptions;
+    @Mock
+    Metadata metadata;
+    @Mock
+    KeyspaceMetadata keyspaceMetadata;
+    @Mock
+    TableMetadata tableMetadata;
+    @Mock
+    ColumnMetadata idColumn;
+    @Mock
+    ColumnMetadata cColumn;
+    @Mock
+    PreparedStatement prepared;
+    @Mock
+    ColumnDefinitions variables;
+
+    private WriteCoalescingOptions options = new WriteCoalescingOptions().setMaxBatchSize(3);
+    private List<Statement> executed = new ArrayList<>();
+    private List<SettableFuture<ResultSet>> results = new ArrayList<>();
+    private int clustering;
+    private WriteCoalescer coalescer;
+
+    @Before
+    public void setUp() throws Exception {
+
+        when(configuration.getCodecRegistry()).thenReturn(CodecRegistry.DEFAULT_INSTANCE);
+        when(configuration.getProtocolOptions()).thenReturn(protocolOptions);
+        when(protocolOptions.getProtocolVersion()).thenReturn(ProtocolVersion.NEWEST_SUPPORTED);
+        when(vertx.setTimer(anyLong(), any())).thenReturn(1L);
+
+        when(cluster.getConfiguration()).thenReturn(configuration);
+        when(cluster.getMetadata()).thenReturn(metadata);
+        when(metadata.getKeyspace("\"ks\"")).thenReturn(keyspaceMetadata);
+        when(keyspaceMetadata.getTable("\"t\"")).thenReturn(tableMetadata);
+        when(tableMetadata.getPrimaryKey()).thenReturn(Arrays.asList(idColumn, cColumn));
+        when(idColumn.getName()).thenReturn("id");
+        when(cColumn.getName()).thenReturn("c");
+
+        when(prepared.getQueryString()).thenReturn(INSERT);
+        when(prepared.getVariables()).thenReturn(variables);
+        when(variables.size()).thenReturn(3);
+        when(variables.getKeyspace(0)).thenReturn("ks");
+        when(variables.getTable(0)).thenReturn("t");
+        when(variables.getIndexOf("\"id\"")).thenReturn(0);
+        when(variables.getIndexOf("\"c\"")).thenReturn(1);
+
+        coalescer = new WriteCoalescer(options, vertx, () -> cluster, statement -> {
+            executed.add(statement);
+            SettableFuture<ResultSet> future = SettableFuture.create();
+            results.add(future);
+            return future;
+        }, metrics);
+
+    }
+
+    private BoundStatement insert(String key) {
+        return insert(key, String.valueOf(clustering++));
+    }
+
+    private BoundStatement insert(String key, String c) {
+        BoundStatement statement = mock(BoundStatement.class);
+        when(statement.preparedStatement()).thenReturn(prepared);
+        when(statement.getKeyspace()).thenReturn("ks");
+        when(statement.getDefaultTimestamp()).thenReturn(Long.MIN_VALUE);
+        when(statement.getReadTimeoutMillis()).thenReturn(Integer.MIN_VALUE);
+        when(statement.getRoutingKey(any(ProtocolVersion.class), any(CodecRegistry.class))).thenReturn(bytes(key));
+        when(statement.isSet(anyInt())).thenReturn(true);
+        when(statement.getBytesUnsafe(0)).thenReturn(bytes(key));
+        when(statement.getBytesUnsafe(1)).thenReturn(bytes(c));
+        return statement;
+    }
+
+    private SimpleStatement simpleInsert(String key) {
+        return (SimpleStatement) new SimpleStatement(INSERT)
+                .setKeyspace("ks")
+                .setRoutingKey(bytes(key));
+    }
+
+    private static ByteBuffer bytes(String value) {
+        return ByteBuffer.wrap(value.getBytes());
+    }
+
+    @SuppressWarnings("unchecked")
+    private Handler<Long> captureTimer() {
+        ArgumentCaptor<Handler> captor = ArgumentCaptor.forClass(Handler.class);
+        verify(vertx, atLeastOnce()).setTimer(eq(options.getMaxDelayMillis()), captor.capture());
+        return captor.getValue();
+    }
+
+    @Test
+    public void testExecute_Full_Batch() throws Exception {
+
+        ListenableFuture<ResultSet> f1 = coalescer.execute(insert("a"));
+        ListenableFuture<ResultSet> f2 = coalescer.execute(insert("a"));
+        assertTrue(executed.isEmpty());
+
+        ListenableFuture<ResultSet> f3 = coalescer.execute(insert("a"));
+        assertEquals(1, executed.size());
+        verify(vertx).cancelTimer(1L);
+        verify(metrics).onCoalescedBatch(3);
+
+        BatchStatement batch = (BatchStatement) executed.get(0);
+        assertEquals(3, batch.size());
+
+        results.get(0).set(resultSet);
+        assertEquals(resultSet, f1.get());
+        assertEquals(resultSet, f2.get());
+        assertEquals(resultSet, f3.get());
+
+    }
+
+    @Test
+    public void testExecute_Timer() throws Exception {
+
+        coalescer.execute(insert("a"));
+        coalescer.execute(insert("b"));
+        coalescer.execute(insert("a"));
+        assertTrue(executed.isEmpty());
+        verify(vertx, times(2)).setTimer(anyLong(), any());
+
+        captureTimer().handle(1L);
+        assertEquals(1, executed.size());
+
+        // A single statement is sent without a batch
+        coalescer.execute(insert("c"));
+        captureTimer().handle(1L);
+        assertEquals(2, executed.size());
+        assertFalse(executed.get(1) instanceof BatchStatement);
+
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testExecute_Idempotence() throws Exception {
+
+        BoundStatement idempotent1 = insert("a");
+        when(idempotent1.isIdempotent()).thenReturn(true);
+        BoundStatement idempotent2 = insert("a");
+        when(idempotent2.isIdempotent()).thenReturn(true);
+
+        coalescer.execute(idempotent1);
+        coalescer.execute(insert("a"));
+        coalescer.execute(idempotent2);
+        ArgumentCaptor<Handler> captor = ArgumentCaptor.forClass(Handler.class);
+        verify(vertx, times(2)).setTimer(anyLong(), captor.capture());
+
+        captor.getAllValues().get(0).handle(1L);
+        BatchStatement batch = (BatchStatement) executed.get(0);
+        assertEquals(2, batch.size());
+        assertTrue(batch.isIdempotent());
+
+    }
+
+    @Test
+    public void testExecute_Failure() throws Exception {
+
+        ListenableFuture<ResultSet> f1 = coalescer.execute(insert("a"));
+        coalescer.execute(insert("a"));
+        coalescer.execute(insert("a"));
+
+        RuntimeException e = new RuntimeException("Unit test exception");
+        results.get(0).setException(e);
+
+        try {
+            f1.get();
+            fail();
+        } catch (ExecutionException ex) {
+            assertEquals(e, ex.getCause());
+        }
+
+    }
+
+    @Test
+    public void testExecute_Not_Coalesced() throws Exception {
+
+        assertNull(coalescer.execute(new SimpleStatement(INSERT)));
+        assertNull(coalescer.execute(new SimpleStatement("SELECT * FROM ks.t WHERE id = ?")
+                .setRoutingKey(ByteBuffer.wrap("a".getBytes()))));
+        assertNull(coalescer.execute(new BatchStatement()));
+
+        // The batch would drop the statement's own options
+        assertNull(coalescer.execute(simpleInsert("a").setDefaultTimestamp(1L)));
+        assertNull(coalescer.execute(simpleInsert("a").setRetryPolicy(FallthroughRetryPolicy.INSTANCE)));
+        assertNull(coalescer.execute(simpleInsert("a").setReadTimeoutMillis(100)));
+        assertNull(coalescer.execute(simpleInsert("a").enableTracing()));
+        verifyZeroInteractions(vertx);
+
+    }
+
+    @Test
+    public void testExecute_Same_Row() throws Exception {
+
+        BoundStatement first = insert("a", "1");
+        BoundStatement second = insert("a", "2");
+        BoundStatement third = insert("a", "1");
+
+        coalescer.execute(first);
+        coalescer.execute(second);
+        assertTrue(executed.isEmpty());
+
+        // The second write to row a/1 sends the earlier writes before it is added to a new batch
+        coalescer.execute(third);
+        assertEquals(1, executed.size());
+        verify(vertx).cancelTimer(1L);
+        BatchStatement batch = (BatchStatement) executed.get(0);
+        assertEquals(Arrays.asList(first, second), new ArrayList<>(batch.getStatements()));
+
+        captureTimer().handle(1L);
+        assertEquals(2, executed.size());
+        assertEquals(third, executed.get(1));
+
+    }
+
+    @Test
+    public void testExecute_Unknown_Row() throws Exception {
+
+        // The rows of simple statements are not known, so they are never batched with other writes
+        SimpleStatement first = simpleInsert("a");
+        SimpleStatement second = simpleInsert("a");
+        coalescer.execute(first);
+        coalescer.execute(second);
+        assertEquals(Collections.singletonList(first), executed);
+
+        // Neither are deletes of a whole partition
+        when(prepared.getQueryString()).thenReturn("DELETE FROM ks.t WHERE id = ?");
+        when(variables.size()).thenReturn(1);
+        when(variables.getIndexOf("\"c\"")).thenReturn(-1);
+        coalescer.execute(insert("b"));
+        coalescer.execute(insert("b"));
+        assertEquals(2, executed.size());
+
+    }
+
+    @Test
+    public void testExecute_Table() throws Exception {
+
+        coalescer.execute(simpleInsert("a"));
+        coalescer.execute(new SimpleStatement("INSERT INTO ks.other (id, c, v) VALUES (?, ?, ?)")
+                .setKeyspace("ks")
+                .setRoutingKey(bytes("a")));
+
+        // One group per table
+        verify(vertx, times(2)).setTimer(anyLong(), any());
+        assertTrue(executed.isEmpty());
+
+    }
+
+    @Test
+    public void testIsCoalescable() throws Exception {
+
+        assertTrue(coalescer.isCoalescable(INSERT));
+        assertTrue(coalescer.isCoalescable("update ks.t set v = ? where id = ?"));
+        assertTrue(coalescer.isCoalescable("DELETE FROM ks.t WHERE id = ?"));
+
+        assertFalse(coalescer.isCoalescable("SELECT * FROM ks.t"));
+        assertFalse(coalescer.isCoalescable(INSERT + " IF NOT EXISTS"));
+        assertFalse(coalescer.isCoalescable("UPDATE ks.t SET v = ? WHERE id = ? IF v = ?"));
+        assertFalse(coalescer.isCoalescable("UPDATE ks.counts SET total = total + 1 WHERE id = ?"));
+        assertFalse(coalescer.isCoalescable("UPDATE ks.counts SET total = ? + total WHERE id = ?"));
+        assertFalse(coalescer.isCoalescable("UPDATE ks.t SET tags = ['a'] + tags WHERE id = ?"));
+        assertFalse(coalescer.isCoalescable("UPDATE ks.t SET tags = tags - {'a'} WHERE id = ?"));
+        assertFalse(coalescer.isCoalescable(null));
+
+    }
+
+}
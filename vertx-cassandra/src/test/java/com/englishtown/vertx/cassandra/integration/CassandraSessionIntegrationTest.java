@@ -6,11 +6,24 @@ import com.datastax.driver.core.PreparedStatement;
 import com.datastax.driver.core.ProtocolVersion;
 import com.datastax.driver.core.RegularStatement;
 import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.Row;
+import com.datastax.driver.core.SimpleStatement;
+import com.datastax.driver.core.Statement;
 import com.datastax.driver.core.querybuilder.QueryBuilder;
+import com.englishtown.vertx.cassandra.BulkWriteProgress;
+import com.englishtown.vertx.cassandra.BulkWriter;
+import com.englishtown.vertx.cassandra.BulkWriterOptions;
+import com.englishtown.vertx.cassandra.CassandraReadStream;
 import com.google.common.util.concurrent.FutureCallback;
 import io.vertx.core.Context;
+import io.vertx.core.Future;
 import org.junit.Test;
 
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
 /**
  * Integration test for {@link com.englishtown.vertx.cassandra.CassandraSession}
  */
@@ -61,4 +74,202 @@ public abstract class CassandraSessionIntegrationTest extends IntegrationTestBas
 
     }
 
+    @Test
+    public void testExecuteAsync_Future() throws Exception {
+
+        vertx.runOnContext(aVoid -> {
+
+            Context context = vertx.getOrCreateContext();
+
+            Future<ResultSet> create = Future.future();
+            session.executeAsync(createTestTableStatement, create);
+
+            create.compose(result -> {
+                assertEquals(context, vertx.getOrCreateContext());
+                Future<PreparedStatement> prepare = Future.future();
+                session.prepareAsync("SELECT * FROM " + keyspace + ".test WHERE id = ?", prepare);
+                return prepare;
+            }).compose(prepared -> {
+                assertEquals(context, vertx.getOrCreateContext());
+                Future<ResultSet> select = Future.future();
+                session.executeAsync(prepared.bind("123"), select);
+                return select;
+            }).setHandler(result -> {
+                if (result.failed()) {
+                    handleThrowable(result.cause());
+                    return;
+                }
+                assertEquals(context, vertx.getOrCreateContext());
+                assertNotNull(result.result());
+                testComplete();
+            });
+
+        });
+
+        await();
+
+    }
+
+    @Test
+    public void testQueryStream() throws Exception {
+
+        session.execute(createTestTableStatement);
+        int count = 55;
+        for (int i = 0; i < count; i++) {
+            session.execute("INSERT INTO " + keyspace + ".test (id, value) VALUES (?, ?)", "id" + i, "value" + i);
+        }
+
+        vertx.runOnContext(aVoid -> {
+
+            Context context = vertx.getOrCreateContext();
+            Statement statement = new SimpleStatement("SELECT * FROM " + keyspace + ".test").setFetchSize(10);
+            AtomicInteger rows = new AtomicInteger();
+
+            CassandraReadStream<Row> stream = session.queryStream(statement);
+            stream.exceptionHandler(this::handleThrowable)
+                    .endHandler(v -> {
+                        assertEquals(context, vertx.getOrCreateContext());
+                        assertEquals(count, rows.get());
+                        testComplete();
+                    })
+                    .handler(row -> {
+                        assertEquals(context, vertx.getOrCreateContext());
+                        assertNotNull(row.getString("id"));
+                        rows.incrementAndGet();
+
+                        // Consume the stream in small batches
+                        if (rows.get() % 7 == 0) {
+                            stream.pause();
+                            vertx.setTimer(1, id -> stream.fetch(7));
+                        }
+                    });
+
+        });
+
+        await();
+
+    }
+
+    @Test
+    public void testScanTable() throws Exception {
+
+        session.execute(createTestTableStatement);
+        int count = 500;
+        for (int i = 0; i < count; i++) {
+            session.execute("INSERT INTO " + keyspace + ".test (id, value) VALUES (?, ?)", "id" + i, "value" + i);
+        }
+
+        vertx.runOnContext(aVoid -> {
+
+            Set<String> ids = new HashSet<>();
+            CassandraReadStream<Row> stream = session.scanTable(keyspace, "test", Arrays.asList("id", "value"), 4);
+
+            stream.exceptionHandler(this::handleThrowable)
+                    .endHandler(v -> {
+                        // Every row is read exactly once
+                        assertEquals(count, ids.size());
+                        testComplete();
+                    })
+                    .handler(row -> assertTrue(ids.add(row.getString("id"))));
+
+        });
+
+        await();
+
+    }
+
+    @Test
+    public void testBulkWriter() throws Exception {
+
+        session.execute(createTestTableStatement);
+        PreparedStatement prepared = session.prepare("INSERT INTO " + keyspace + ".test (id, value) VALUES (?, ?)");
+        int count = 20000;
+
+        vertx.runOnContext(aVoid -> {
+
+            BulkWriter writer = session.bulkWriter(new BulkWriterOptions().setWriteQueueMaxSize(2000));
+            AtomicInteger next = new AtomicInteger();
+
+            writer.exceptionHandler(this::handleThrowable)
+                    .completionHandler(result -> {
+                        if (result.failed()) {
+                            handleThrowable(result.cause());
+                            return;
+                        }
+                        BulkWriteProgress progress = result.result();
+                        assertEquals(count, progress.getWritten());
+                        assertEquals(0, progress.getPending());
+                        assertEquals(0, progress.getFailed());
+                        assertTrue(progress.getRate() > 0);
+
+                        long rows = session.execute("SELECT COUNT(*) FROM " + keyspace + ".test").one().getLong(0);
+                        assertEquals(count, rows);
+                        testComplete();
+                    });
+
+            // Write until the queue is full, then continue from the drain handler
+            Runnable[] pump = new Runnable[1];
+            pump[0] = () -> {
+                while (next.get() < count && !writer.writeQueueFull()) {
+                    int i = next.getAndIncrement();
+                    writer.write(prepared.bind("id" + i, "value" + i));
+                }
+                if (next.get() == count) {
+                    writer.drainHandler(null);
+                    writer.end();
+                }
+            };
+            writer.drainHandler(v -> pump[0].run());
+            pump[0].run();
+
+        });
+
+        await();
+
+    }
+
+    @Test
+    public void testExecutePreparedAsync() throws Exception {
+
+        session.execute(createTestTableStatement);
+        String query = "SELECT * FROM " + keyspace + ".test WHERE id = ?";
+
+        vertx.runOnContext(aVoid -> {
+
+            Context context = vertx.getOrCreateContext();
+
+            session.executePreparedAsync(query, new FutureCallback<ResultSet>() {
+                @Override
+                public void onSuccess(ResultSet result) {
+                    assertEquals(context, vertx.getOrCreateContext());
+                    assertNotNull(result);
+
+                    // Second execution reuses the cached prepared statement
+                    session.executePreparedAsync(query, new FutureCallback<ResultSet>() {
+                        @Override
+                        public void onSuccess(ResultSet result) {
+                            assertEquals(context, vertx.getOrCreateContext());
+                            assertNotNull(result);
+                            testComplete();
+                        }
+
+                        @Override
+                        public void onFailure(Throwable t) {
+                            handleThrowable(t);
+                        }
+                    }, "456");
+                }
+
+                @Override
+                public void onFailure(Throwable t) {
+                    handleThrowable(t);
+                }
+            }, "123");
+
+        });
+
+        await();
+
+    }
+
 }
@@ -1,13 +1,17 @@
 package com.englishtown.vertx.cassandra.integration;
 
+import com.datastax.driver.core.KeyspaceMetadata;
+import com.datastax.driver.core.RegularStatement;
 import com.datastax.driver.core.Statement;
 import com.datastax.driver.core.TableMetadata;
 import com.datastax.driver.core.exceptions.QueryValidationException;
 import com.englishtown.vertx.cassandra.tablebuilder.AlterTable;
 import com.englishtown.vertx.cassandra.tablebuilder.CreateTable;
 import com.englishtown.vertx.cassandra.tablebuilder.TableBuilder;
+import io.vertx.core.Future;
 import org.junit.Test;
 
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -88,4 +92,50 @@ public abstract class TableBuilderIntegrationTest extends IntegrationTestBase {
 
     }
 
+    @Test
+    public void testApplySchema() throws Exception {
+
+        List<RegularStatement> create = Arrays.asList(
+                TableBuilder.create(keyspace, "schema_table1")
+                        .column("col1", "text")
+                        .column("col2", "text")
+                        .primaryKey("col1"),
+                TableBuilder.create(keyspace, "schema_table2")
+                        .column("col1", "text")
+                        .primaryKey("col1"),
+                TableBuilder.alter(keyspace, "schema_table2")
+                        .addColumn("col2", "int"));
+
+        List<RegularStatement> drop = Arrays.asList(
+                TableBuilder.drop(keyspace, "schema_table1"),
+                TableBuilder.drop(keyspace, "schema_table2"));
+
+        vertx.runOnContext(aVoid -> {
+
+            Future<Void> created = Future.future();
+            session.applySchema(create, created);
+
+            created.compose(result -> {
+                KeyspaceMetadata keyspaceMetadata = session.getMetadata().getKeyspace(keyspace);
+                assertNotNull(keyspaceMetadata.getTable("schema_table1"));
+                assertEquals(2, keyspaceMetadata.getTable("schema_table2").getColumns().size());
+
+                Future<Void> dropped = Future.future();
+                session.applySchema(drop, dropped);
+                return dropped;
+            }).setHandler(result -> {
+                if (result.failed()) {
+                    handleThrowable(result.cause());
+                    return;
+                }
+                assertNull(session.getMetadata().getKeyspace(keyspace).getTable("schema_table1"));
+                testComplete();
+            });
+
+        });
+
+        await();
+
+    }
+
 }